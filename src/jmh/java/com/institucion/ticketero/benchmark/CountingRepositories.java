@@ -0,0 +1,62 @@
+package com.institucion.ticketero.benchmark;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+/**
+ * Q-Insight: Benchmark support for repositories.
+ * Builds in-memory stand-ins for Spring Data repository interfaces with a dynamic proxy.
+ * Every call on a stand-in counts as one SQL statement, which lets a benchmark report how many
+ * round trips an application service issues without needing a database.
+ */
+public final class CountingRepositories {
+
+    private CountingRepositories() {
+    }
+
+    /**
+     * Creates a counting stand-in for a repository interface.
+     *
+     * @param type The repository interface.
+     * @param statements The counter incremented on every call.
+     * @param answers Custom answers; return {@code null} to fall back to a default value for the return type.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T create(Class<T> type, LongAdder statements, BiFunction<Method, Object[], Object> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> type.getSimpleName() + "Stub";
+                };
+            }
+            statements.increment();
+            Object answer = answers.apply(method, args);
+            return answer != null ? answer : defaultValue(method.getReturnType());
+        });
+    }
+
+    private static Object defaultValue(Class<?> returnType) {
+        if (returnType == long.class || returnType == Long.class) {
+            return 0L;
+        }
+        if (returnType == int.class || returnType == Integer.class) {
+            return 0;
+        }
+        if (returnType == boolean.class || returnType == Boolean.class) {
+            return false;
+        }
+        if (returnType == Optional.class) {
+            return Optional.empty();
+        }
+        if (List.class.isAssignableFrom(returnType)) {
+            return List.of();
+        }
+        return null;
+    }
+}
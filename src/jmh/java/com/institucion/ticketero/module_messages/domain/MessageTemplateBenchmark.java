@@ -0,0 +1,49 @@
+package com.institucion.ticketero.module_messages.domain;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Q-Insight: Benchmark for message rendering.
+ * Compares {@link String#format} on the raw template, which parses the format string on every call, with the
+ * {@link CompiledTemplate} behind {@link MessageTemplate#render}, for the longest template ("ticket created",
+ * three values) and the one with the most text values ("es tu turno"). The compiled path also HTML-escapes
+ * its values, so it does strictly more work per call than {@code String.format}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MessageTemplateBenchmark {
+
+    private String ticketNumber = "C-128";
+    private int position = 14;
+    private long waitMinutes = 42;
+    private String module = "Modulo 7";
+    private String executiveName = "Maria Jose Fernandez";
+
+    @Benchmark
+    public String ticketCreated_stringFormat() {
+        return String.format(MessageTemplate.TOTEM_TICKET_CREADO.getTemplate(), ticketNumber, position, waitMinutes);
+    }
+
+    @Benchmark
+    public String ticketCreated_compiled() {
+        return MessageTemplate.TOTEM_TICKET_CREADO.render(ticketNumber, position, waitMinutes);
+    }
+
+    @Benchmark
+    public String turnActive_stringFormat() {
+        return String.format(MessageTemplate.TOTEM_ES_TU_TURNO.getTemplate(), ticketNumber, module, executiveName);
+    }
+
+    @Benchmark
+    public String turnActive_compiled() {
+        return MessageTemplate.TOTEM_ES_TU_TURNO.render(ticketNumber, module, executiveName);
+    }
+}
@@ -0,0 +1,92 @@
+package com.institucion.ticketero.module_notifications.infrastructure;
+
+import com.institucion.ticketero.benchmark.CountingRepositories;
+import com.institucion.ticketero.module_executives.domain.Executive;
+import com.institucion.ticketero.module_messages.domain.Message;
+import com.institucion.ticketero.module_messages.infrastructure.MessageRepository;
+import com.institucion.ticketero.module_notifications.application.TurnActiveAlertCommand;
+import com.institucion.ticketero.module_queues.domain.AttentionType;
+import com.institucion.ticketero.module_tickets.domain.Ticket;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Q-Insight: Benchmark for the notification enqueue path.
+ * Measures what a dispatch pass pays per "es tu turno" alert, against a counting repository stand-in:
+ * - {@code captureCommand}: copying the ticket and executive fields into a {@link TurnActiveAlertCommand};
+ * - {@code enqueueTurnActiveAlert}: capturing the command, fanning it out (Telegram only), rendering the message
+ *   and writing it to the outbox.
+ * SampleTime mode prints the latency distribution; the gc profiler configured in build.gradle adds
+ * {@code gc.alloc.rate.norm}, the bytes allocated per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NotificationEnqueueBenchmark {
+
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder alerts = new LongAdder();
+    private FanOutNotificationService notificationService;
+    private Ticket ticket;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        AtomicLong ids = new AtomicLong();
+        MessageRepository messageRepository = CountingRepositories.create(MessageRepository.class, statements, (method, args) -> {
+            if (method.getName().equals("save")) {
+                Message message = (Message) args[0];
+                message.setId(ids.incrementAndGet());
+                return message;
+            }
+            return null;
+        });
+        NotificationOutbox outbox = new NotificationOutbox(messageRepository, event -> { });
+        // Telegram only; the chat registry, rate limiter and contact directory are not on the enqueue path.
+        TelegramNotificationService telegram = new TelegramNotificationService("benchmark-token", "http://127.0.0.1:1/bot", 1_000,
+                "benchmark-bot", "Welcome %d", null, null, outbox);
+        notificationService = new FanOutNotificationService(List.of(telegram), telegram, null, outbox, null);
+
+        Executive executive = new Executive();
+        executive.setId(1L);
+        executive.setFullName("Executive 1");
+        executive.setModule("Modulo 1");
+        ticket = new Ticket();
+        ticket.setId(1L);
+        ticket.setTicketNumber("C-1");
+        ticket.setNationalId("12345678-9");
+        ticket.setAttentionType(AttentionType.CAJA);
+        ticket.setTelefono("123456789");
+        ticket.setExecutive(executive);
+    }
+
+    @Benchmark
+    public TurnActiveAlertCommand captureCommand() {
+        return TurnActiveAlertCommand.of(ticket);
+    }
+
+    @Benchmark
+    public void enqueueTurnActiveAlert() {
+        alerts.increment();
+        notificationService.sendTurnActiveAlert(TurnActiveAlertCommand.of(ticket));
+    }
+
+    @TearDown(Level.Trial)
+    public void report() {
+        if (alerts.sum() > 0) {
+            System.out.printf("%nSQL statements per alert: %.2f (%d statements / %d alerts)%n",
+                    (double) statements.sum() / alerts.sum(), statements.sum(), alerts.sum());
+        }
+    }
+}
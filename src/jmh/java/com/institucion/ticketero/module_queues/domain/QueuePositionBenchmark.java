@@ -0,0 +1,119 @@
+package com.institucion.ticketero.module_queues.domain;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Q-Insight: Benchmark for "position in queue" lookups.
+ * Compares the COUNT query the status endpoints used to run on every refresh with the
+ * {@link QueueRankIndex} behind {@link LiveQueue#positionOf(long)}, for a queue of {@code queueSize}
+ * waiting tickets per attention type. The query runs against a throwaway Postgres container migrated
+ * with the application's Flyway scripts, so Docker must be available when running {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class QueuePositionBenchmark {
+
+    private static final String COUNT_EARLIER_WAITING_TICKETS =
+            "SELECT COUNT(*) FROM tickets WHERE attention_type = ? AND workday_id = ? AND status = 'EN_ESPERA' AND created_at < ?";
+
+    @Param({"10000"})
+    private int queueSize;
+
+    private final LocalDateTime firstTicketAt = LocalDateTime.now().minusDays(1);
+    private PostgreSQLContainer<?> postgres;
+    private Connection connection;
+    private PreparedStatement countQuery;
+    private long workdayId;
+    private LiveQueue liveQueue;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        postgres = new PostgreSQLContainer<>("postgres:16");
+        postgres.start();
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .load()
+                .migrate();
+        connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+
+        try (Statement statement = connection.createStatement();
+             ResultSet workday = statement.executeQuery(
+                     "INSERT INTO workdays (start_time, status) VALUES (NOW(), 'OPEN') RETURNING id")) {
+            workday.next();
+            workdayId = workday.getLong(1);
+        }
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO tickets (codigo_referencia, ticket_number, national_id, status, attention_type, created_at, workday_id, sequence_number) "
+                        + "SELECT gen_random_uuid(), ? || '-' || s, '11111111-1', 'EN_ESPERA', ?, ? + s * INTERVAL '1 second', ?, s "
+                        + "FROM generate_series(1, ?) s")) {
+            for (AttentionType attentionType : AttentionType.values()) {
+                insert.setString(1, attentionType.getPrefix());
+                insert.setString(2, attentionType.name());
+                insert.setTimestamp(3, Timestamp.valueOf(firstTicketAt));
+                insert.setLong(4, workdayId);
+                insert.setInt(5, queueSize);
+                insert.executeUpdate();
+            }
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE tickets");
+        }
+        countQuery = connection.prepareStatement(COUNT_EARLIER_WAITING_TICKETS);
+
+        liveQueue = new LiveQueue();
+        for (long sequence = 1; sequence <= queueSize; sequence++) {
+            liveQueue.add(new WaitingTicket(sequence, "C-" + sequence, sequence, workdayId, firstTicketAt.plusSeconds(sequence)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        countQuery.close();
+        connection.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public long countQuery() throws SQLException {
+        long sequence = randomSequence();
+        countQuery.setString(1, AttentionType.CAJA.name());
+        countQuery.setLong(2, workdayId);
+        countQuery.setTimestamp(3, Timestamp.valueOf(firstTicketAt.plusSeconds(sequence)));
+        try (ResultSet result = countQuery.executeQuery()) {
+            result.next();
+            return result.getLong(1) + 1;
+        }
+    }
+
+    @Benchmark
+    public int rankIndex() {
+        return liveQueue.positionOf(randomSequence());
+    }
+
+    private long randomSequence() {
+        return ThreadLocalRandom.current().nextLong(1, queueSize + 1);
+    }
+}
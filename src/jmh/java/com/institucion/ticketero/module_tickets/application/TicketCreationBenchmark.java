@@ -0,0 +1,115 @@
+package com.institucion.ticketero.module_tickets.application;
+
+import com.institucion.ticketero.benchmark.CountingRepositories;
+import com.institucion.ticketero.module_audit.application.AuditService;
+import com.institucion.ticketero.module_executives.application.ExecutiveAvailabilityIndex;
+import com.institucion.ticketero.module_executives.infrastructure.ExecutiveRepository;
+import com.institucion.ticketero.module_notifications.application.NotificationService;
+import com.institucion.ticketero.module_queues.application.LiveQueueEngine;
+import com.institucion.ticketero.module_queues.application.QueueService;
+import com.institucion.ticketero.module_queues.domain.AttentionType;
+import com.institucion.ticketero.module_tickets.api.CreateTicketRequest;
+import com.institucion.ticketero.module_tickets.api.CreateTicketResponse;
+import com.institucion.ticketero.module_tickets.domain.Ticket;
+import com.institucion.ticketero.module_tickets.infrastructure.TicketRepository;
+import com.institucion.ticketero.module_tickets.infrastructure.TicketSequenceRepository;
+import com.institucion.ticketero.module_workday.application.WorkdayService;
+import com.institucion.ticketero.module_workday.domain.Workday;
+import com.institucion.ticketero.module_workday.domain.WorkdayStatus;
+import com.institucion.ticketero.module_workday.infrastructure.WorkdayRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Q-Insight: Benchmark for the ticket creation path.
+ * Drives {@link TicketService#createTicket} against counting repository stand-ins and reports:
+ * - the latency distribution of a kiosk press (SampleTime mode prints p50/p99/p99.9), and
+ * - the number of SQL statements issued per ticket, printed at the end of each trial.
+ * Run it on two revisions with {@code ./gradlew jmh} to compare before and after a change.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TicketCreationBenchmark {
+
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder tickets = new LongAdder();
+    private TicketService ticketService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        AtomicLong ids = new AtomicLong();
+        Workday workday = new Workday(LocalDateTime.now(), null, WorkdayStatus.OPEN);
+        workday.setId(1L);
+
+        TicketRepository ticketRepository = CountingRepositories.create(TicketRepository.class, statements, (method, args) -> {
+            if (method.getName().startsWith("save")) {
+                Ticket ticket = (Ticket) args[0];
+                if (ticket.getId() == null) {
+                    ticket.setId(ids.incrementAndGet());
+                    ticket.setCreatedAt(LocalDateTime.now());
+                }
+                return ticket;
+            }
+            return null;
+        });
+        WorkdayRepository workdayRepository = CountingRepositories.create(WorkdayRepository.class, statements,
+                (method, args) -> method.getName().equals("findByStatus") ? Optional.of(workday) : null);
+        TicketSequenceRepository ticketSequenceRepository = new TicketSequenceRepository(null) {
+            private final AtomicLong lastValue = new AtomicLong();
+
+            @Override
+            public long reserveBlock(Long workdayId, AttentionType attentionType, int blockSize) {
+                statements.increment();
+                return lastValue.addAndGet(blockSize);
+            }
+        };
+
+        LiveQueueEngine liveQueueEngine = new LiveQueueEngine(ticketRepository);
+        ExecutiveRepository executiveRepository = CountingRepositories.create(ExecutiveRepository.class, statements, (method, args) -> null);
+        ticketService = new TicketService(
+                ticketRepository,
+                executiveRepository,
+                noOpNotifications(),
+                new QueueService(liveQueueEngine),
+                new WorkdayService(workdayRepository),
+                // Audit events are written in batches by a background writer, so they are not counted here.
+                new AuditService(record -> { }),
+                new TicketNumberAllocator(ticketSequenceRepository, 20),
+                liveQueueEngine,
+                new ExecutiveAvailabilityIndex(executiveRepository),
+                event -> { });
+    }
+
+    @Benchmark
+    public CreateTicketResponse createTicket() {
+        tickets.increment();
+        return ticketService.createTicket(new CreateTicketRequest("12345678-9", AttentionType.CAJA, null, "Casa Matriz"));
+    }
+
+    @TearDown(Level.Trial)
+    public void report() {
+        System.out.printf("%nSQL statements per ticket: %.2f (%d statements / %d tickets)%n",
+                (double) statements.sum() / Math.max(1, tickets.sum()), statements.sum(), tickets.sum());
+    }
+
+    private static NotificationService noOpNotifications() {
+        return (NotificationService) Proxy.newProxyInstance(NotificationService.class.getClassLoader(),
+                new Class<?>[]{NotificationService.class},
+                (proxy, method, args) -> method.getReturnType() == Optional.class ? Optional.empty() : null);
+    }
+}
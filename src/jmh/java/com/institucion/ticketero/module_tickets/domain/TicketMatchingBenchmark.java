@@ -0,0 +1,136 @@
+package com.institucion.ticketero.module_tickets.domain;
+
+import com.institucion.ticketero.benchmark.CountingRepositories;
+import com.institucion.ticketero.module_queues.application.LiveQueueEngine;
+import com.institucion.ticketero.module_queues.domain.AttentionType;
+import com.institucion.ticketero.module_queues.domain.WaitingTicket;
+import com.institucion.ticketero.module_tickets.infrastructure.TicketRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Q-Insight: Benchmark for one dispatch pass.
+ * One queue per attention type (4) holding {@code ticketsPerQueue} waiting tickets each, and {@code executives}
+ * available executives with random overlapping skills. Each invocation reads the queue heads from a {@link LiveQueueEngine} and matches them:
+ * - {@code batchMatching}: the {@link TicketMatcher}.
+ * - {@code declarationOrderGreedy}: the previous rule (executives longest idle first, first supported attention
+ *   type in declaration order), kept as a baseline.
+ * The tickets served and their summed priority are printed at the end of each trial to compare assignment quality.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TicketMatchingBenchmark {
+
+    @Param({"200"})
+    private int executives;
+
+    @Param({"5000"})
+    private int ticketsPerQueue;
+
+    private final TicketMatcher ticketMatcher = new TicketMatcher();
+    private final LocalDateTime now = LocalDateTime.now();
+    private LiveQueueEngine liveQueueEngine;
+    private List<AvailableExecutive> available;
+    private List<TicketAssignment> lastBatch = List.of();
+    private List<TicketAssignment> lastGreedy = List.of();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        liveQueueEngine = new LiveQueueEngine(CountingRepositories.create(TicketRepository.class, new LongAdder(), (method, args) -> null));
+        long ticketId = 0;
+        for (AttentionType type : AttentionType.values()) {
+            for (long sequence = 1; sequence <= ticketsPerQueue; sequence++) {
+                liveQueueEngine.onTicketStatusChanged(new TicketStatusChangedEvent(
+                        ++ticketId, type.getPrefix() + "-" + sequence, sequence, type, 1L,
+                        now.minusSeconds(ticketsPerQueue - sequence + 1), null, TicketStatus.EN_ESPERA, null));
+            }
+        }
+
+        available = new ArrayList<>(executives);
+        for (long id = 1; id <= executives; id++) {
+            Set<AttentionType> skills = EnumSet.noneOf(AttentionType.class);
+            while (skills.isEmpty()) {
+                for (AttentionType type : AttentionType.values()) {
+                    if (random.nextInt(3) == 0) {
+                        skills.add(type);
+                    }
+                }
+            }
+            available.add(new AvailableExecutive(id, skills, now.minusSeconds(random.nextInt(600))));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%nbatch matching: %d tickets, priority sum %d; declaration-order greedy: %d tickets, priority sum %d%n",
+                lastBatch.size(), prioritySum(lastBatch), lastGreedy.size(), prioritySum(lastGreedy));
+    }
+
+    @Benchmark
+    public List<TicketAssignment> batchMatching() {
+        lastBatch = ticketMatcher.match(available, queueHeads(), now);
+        return lastBatch;
+    }
+
+    @Benchmark
+    public List<TicketAssignment> declarationOrderGreedy() {
+        List<AvailableExecutive> byIdleTime = new ArrayList<>(available);
+        byIdleTime.sort((a, b) -> a.availableSince().compareTo(b.availableSince()));
+        Map<AttentionType, List<WaitingTicket>> heads = queueHeads();
+        Map<AttentionType, Integer> taken = new EnumMap<>(AttentionType.class);
+        List<TicketAssignment> assignments = new ArrayList<>();
+        for (AvailableExecutive executive : byIdleTime) {
+            for (AttentionType type : AttentionType.values()) {
+                int next = taken.getOrDefault(type, 0);
+                if (executive.skills().contains(type) && next < heads.get(type).size()) {
+                    assignments.add(new TicketAssignment(executive.executiveId(), type, heads.get(type).get(next)));
+                    taken.put(type, next + 1);
+                    break;
+                }
+            }
+        }
+        lastGreedy = assignments;
+        return assignments;
+    }
+
+    private Map<AttentionType, List<WaitingTicket>> queueHeads() {
+        Map<AttentionType, List<WaitingTicket>> heads = new EnumMap<>(AttentionType.class);
+        for (AttentionType type : AttentionType.values()) {
+            heads.put(type, liveQueueEngine.peek(type, executives));
+        }
+        return heads;
+    }
+
+    private static long prioritySum(List<TicketAssignment> assignments) {
+        Set<Long> executivesUsed = new HashSet<>();
+        long sum = 0;
+        for (TicketAssignment assignment : assignments) {
+            if (executivesUsed.add(assignment.executiveId())) {
+                sum += assignment.attentionType().getPriority();
+            }
+        }
+        return sum;
+    }
+}
@@ -1,16 +1,22 @@
 package com.institucion.ticketero.common.scheduling;
 
+import com.institucion.ticketero.module_executives.application.ExecutiveAvailabilityIndex;
 import com.institucion.ticketero.module_notifications.application.NotificationService;
-import com.institucion.ticketero.module_tickets.application.TicketService;
+import com.institucion.ticketero.module_notifications.application.PreArrivalAlertCommand;
+import com.institucion.ticketero.module_queues.application.LiveQueueEngine;
+import com.institucion.ticketero.module_queues.application.NowServingBoard;
+import com.institucion.ticketero.module_queues.domain.WaitingTicket;
+import com.institucion.ticketero.module_tickets.application.DispatchMode;
+import com.institucion.ticketero.module_tickets.application.TicketDispatcher;
 import com.institucion.ticketero.module_tickets.infrastructure.TicketRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
-import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -24,42 +30,80 @@ public class ScheduledTasks {
     private static final Logger logger = LoggerFactory.getLogger(ScheduledTasks.class);
     private static final int PRE_ARRIVAL_POSITION = 3;
 
-    private final TicketService ticketService;
+    private final TicketDispatcher ticketDispatcher;
     private final TicketRepository ticketRepository;
     private final NotificationService notificationService;
+    private final LiveQueueEngine liveQueueEngine;
+    private final ExecutiveAvailabilityIndex executiveAvailabilityIndex;
+    private final NowServingBoard nowServingBoard;
+    private final DispatchMode dispatchMode;
 
     // A set to keep track of tickets that have already been notified to avoid sending duplicate alerts.
     private final Set<Long> notifiedTickets = ConcurrentHashMap.newKeySet();
 
-    public ScheduledTasks(TicketService ticketService, TicketRepository ticketRepository, NotificationService notificationService) {
-        this.ticketService = ticketService;
+    public ScheduledTasks(TicketDispatcher ticketDispatcher, TicketRepository ticketRepository, NotificationService notificationService,
+                          LiveQueueEngine liveQueueEngine, ExecutiveAvailabilityIndex executiveAvailabilityIndex,
+                          NowServingBoard nowServingBoard,
+                          @Value("${ticketero.dispatch.mode:LOCAL}") DispatchMode dispatchMode) {
+        this.ticketDispatcher = ticketDispatcher;
         this.ticketRepository = ticketRepository;
         this.notificationService = notificationService;
+        this.liveQueueEngine = liveQueueEngine;
+        this.executiveAvailabilityIndex = executiveAvailabilityIndex;
+        this.nowServingBoard = nowServingBoard;
+        this.dispatchMode = dispatchMode;
     }
 
     /**
-     * Q-Insight: Automatic Ticket Assignment Job.
-     * This scheduled task runs every 10 seconds and attempts to assign a pending ticket to an available executive.
-     * This implements the core automatic assignment logic (RF-004). The rate can be configured.
+     * Q-Insight: Automatic Ticket Assignment Safety Net.
+     * Assignment (RF-004) is event-driven through {@link TicketDispatcher}; this sweep only requests an extra
+     * dispatch pass in case a trigger was lost (e.g. the process stopped between a commit and its event).
+     * The executive availability index is reloaded first, so an executive missed by an event is picked up too.
+     * The rate can be configured.
      */
-    @Scheduled(fixedRate = 10000) // 10 seconds
+    @Scheduled(fixedRateString = "${ticketero.dispatch.sweep-interval-ms:60000}")
     public void assignTickets() {
-        logger.debug("Running scheduled job: assignNextAvailableTicket");
-        ticketService.assignNextAvailableTicket();
+        logger.debug("Running scheduled job: dispatch sweep");
+        executiveAvailabilityIndex.rebuild();
+        ticketDispatcher.requestDispatch();
+    }
+
+    /**
+     * Q-Insight: Cluster Resynchronisation.
+     * In clustered dispatch mode the live queues, the availability index and the now-serving board of this node miss the changes
+     * made on other nodes, so they are reloaded from the database on a short interval. Positions and ETAs
+     * served by this node are at most one interval stale. Does nothing in local mode.
+     */
+    @Scheduled(fixedDelayString = "${ticketero.dispatch.resync-interval-ms:5000}")
+    public void resyncClusterState() {
+        if (dispatchMode != DispatchMode.CLUSTERED) {
+            return;
+        }
+        logger.debug("Running scheduled job: resyncClusterState");
+        liveQueueEngine.rebuild();
+        executiveAvailabilityIndex.rebuild();
+        nowServingBoard.rebuild();
     }
 
     /**
      * Q-Insight: Pre-Arrival Notification Job.
      * This task runs every 15 seconds to check for customers who are nearing the front of the line
      * and sends them a pre-arrival notification (RF-002, Message 2).
+     * Candidates come from the live queues; only tickets not yet notified are loaded from the database.
      */
     @Scheduled(fixedRate = 15000) // 15 seconds
     public void checkForPreArrivalAlerts() {
         logger.debug("Running scheduled job: checkForPreArrivalAlerts");
-        ticketRepository.findTicketsAtPositionInQueue(PRE_ARRIVAL_POSITION).forEach(ticket -> {
-            if (!notifiedTickets.contains(ticket.getId())) {
-                notificationService.sendPreArrivalAlert(ticket);
-                notifiedTickets.add(ticket.getId());
+        List<Long> candidates = liveQueueEngine.ticketsAtPosition(PRE_ARRIVAL_POSITION).stream()
+                .map(WaitingTicket::ticketId)
+                .filter(ticketId -> !notifiedTickets.contains(ticketId))
+                .toList();
+        if (candidates.isEmpty()) {
+            return;
+        }
+        ticketRepository.findAllById(candidates).forEach(ticket -> {
+            if (notifiedTickets.add(ticket.getId())) {
+                notificationService.sendPreArrivalAlert(PreArrivalAlertCommand.of(ticket));
                 logger.info("Sent pre-arrival alert for ticket {}", ticket.getTicketNumber());
             }
         });
@@ -0,0 +1,66 @@
+package com.institucion.ticketero.module_audit.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.institucion.ticketero.module_audit.application.AuditQueryService;
+import com.institucion.ticketero.module_audit.domain.AuditLogFilter;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Q-Insight: API Controller for the Audit Log.
+ * {@code GET /api/audit} returns a page of entries matching the filters, newest first, with a cursor to the next one.
+ * {@code GET /api/audit/export} streams every matching entry as newline-delimited JSON, without paging or
+ * holding the result in memory.
+ */
+@RestController
+@RequestMapping("/api/audit")
+public class AuditController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final AuditQueryService auditQueryService;
+    private final ObjectMapper objectMapper;
+
+    public AuditController(AuditQueryService auditQueryService, ObjectMapper objectMapper) {
+        this.auditQueryService = auditQueryService;
+        this.objectMapper = objectMapper;
+    }
+
+    @GetMapping
+    public AuditPageResponse search(AuditSearchRequest request,
+                                    @RequestParam(required = false) String cursor,
+                                    @RequestParam(required = false) Integer limit) {
+        return auditQueryService.search(request.toFilter(), cursor, limit);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(AuditSearchRequest request) {
+        AuditLogFilter filter = request.toFilter();
+        // Before the 200 is committed; errors while streaming can only cut the body short.
+        auditQueryService.validate(filter);
+        StreamingResponseBody body = out -> {
+            try {
+                auditQueryService.export(filter, entry -> {
+                    try {
+                        out.write(objectMapper.writeValueAsBytes(entry));
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                // The client went away; stop reading the audit log for it.
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+}
@@ -0,0 +1,22 @@
+package com.institucion.ticketero.module_audit.api;
+
+import com.institucion.ticketero.module_audit.domain.AuditEvent;
+import com.institucion.ticketero.module_audit.domain.AuditPayload;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for one audit log entry.
+ * @param payload The event's fields; {@code null} for entries recorded before payloads were structured.
+ * @param details The event as text.
+ */
+public record AuditLogResponse(
+    Long id,
+    LocalDateTime timestamp,
+    AuditEvent eventType,
+    String actor,
+    String entityType,
+    Long entityId,
+    AuditPayload payload,
+    String details
+) {}
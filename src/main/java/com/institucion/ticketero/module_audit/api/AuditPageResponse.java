@@ -0,0 +1,11 @@
+package com.institucion.ticketero.module_audit.api;
+
+import java.util.List;
+
+/**
+ * DTO for a page of the audit log.
+ * @param entries The entries, newest first.
+ * @param nextCursor Pass as {@code cursor} to get the next page; {@code null} on the last page.
+ */
+public record AuditPageResponse(List<AuditLogResponse> entries, String nextCursor) {
+}
@@ -0,0 +1,29 @@
+package com.institucion.ticketero.module_audit.api;
+
+import com.institucion.ticketero.module_audit.domain.AuditEvent;
+import com.institucion.ticketero.module_audit.domain.AuditLogFilter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for the audit search filters, bound from query parameters. All optional; the time range is {@code [from, to)}.
+ */
+public record AuditSearchRequest(
+    String entityType,
+    Long entityId,
+    AuditEvent eventType,
+    String actor,
+    String ticketNumber,
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+) {
+
+    public AuditLogFilter toFilter() {
+        return new AuditLogFilter(blankToNull(entityType), entityId, eventType, blankToNull(actor), blankToNull(ticketNumber), from, to);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
@@ -0,0 +1,106 @@
+package com.institucion.ticketero.module_audit.application;
+
+import com.institucion.ticketero.common.exceptions.InvalidRequestException;
+import com.institucion.ticketero.module_audit.api.AuditLogResponse;
+import com.institucion.ticketero.module_audit.api.AuditPageResponse;
+import com.institucion.ticketero.module_audit.domain.AuditCursor;
+import com.institucion.ticketero.module_audit.domain.AuditLog;
+import com.institucion.ticketero.module_audit.domain.AuditLogFilter;
+import com.institucion.ticketero.module_audit.infrastructure.AuditLogQueryRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Q-Insight: Audit Log Search.
+ * Pages are found by keyset, never by offset: each page carries a cursor to the entry it ended at, and the next
+ * page seeks past it. Deep pages cost the same as the first, and entries written meanwhile do not shift pages.
+ * An export walks the same pages internally, so a result of any size is streamed with one page in memory.
+ */
+@Service
+public class AuditQueryService {
+
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+    static final int EXPORT_CHUNK_SIZE = 1_000;
+
+    private final AuditLogQueryRepository queryRepository;
+
+    public AuditQueryService(AuditLogQueryRepository queryRepository) {
+        this.queryRepository = queryRepository;
+    }
+
+    /**
+     * Q-Insight: Finds one page of entries, newest first.
+     * @param cursor The previous page's {@code nextCursor}, or {@code null} for the first page.
+     * @param limit The page size, up to {@value #MAX_PAGE_SIZE}; {@value #DEFAULT_PAGE_SIZE} if {@code null}.
+     * @throws InvalidRequestException If the cursor, the page size or the time range is invalid.
+     */
+    public AuditPageResponse search(AuditLogFilter filter, String cursor, Integer limit) {
+        validate(filter);
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        // One extra row tells whether there is a next page.
+        List<AuditLog> rows = queryRepository.findPage(filter, decode(cursor), pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<AuditLogResponse> entries = new ArrayList<>(Math.min(rows.size(), pageSize));
+        for (int i = 0; i < rows.size() && i < pageSize; i++) {
+            entries.add(toResponse(rows.get(i)));
+        }
+        String nextCursor = null;
+        if (hasMore) {
+            AuditLogResponse last = entries.get(entries.size() - 1);
+            nextCursor = new AuditCursor(last.timestamp(), last.id()).encode();
+        }
+        return new AuditPageResponse(entries, nextCursor);
+    }
+
+    /**
+     * Q-Insight: Hands every matching entry to {@code sink}, newest first, {@value #EXPORT_CHUNK_SIZE} rows at a time.
+     * @throws InvalidRequestException If the time range is invalid.
+     */
+    public void export(AuditLogFilter filter, Consumer<AuditLogResponse> sink) {
+        validate(filter);
+        AuditCursor after = null;
+        List<AuditLog> rows;
+        do {
+            rows = queryRepository.findPage(filter, after, EXPORT_CHUNK_SIZE);
+            for (AuditLog row : rows) {
+                sink.accept(toResponse(row));
+            }
+            if (!rows.isEmpty()) {
+                AuditLog last = rows.get(rows.size() - 1);
+                after = new AuditCursor(last.timestamp(), last.id());
+            }
+        } while (rows.size() == EXPORT_CHUNK_SIZE);
+    }
+
+    /**
+     * @throws InvalidRequestException If the time range is empty or reversed.
+     */
+    public void validate(AuditLogFilter filter) {
+        if (filter.from() != null && filter.to() != null && !filter.from().isBefore(filter.to())) {
+            throw new InvalidRequestException("from must be before to");
+        }
+    }
+
+    private static AuditCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return AuditCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+    }
+
+    private static AuditLogResponse toResponse(AuditLog auditLog) {
+        return new AuditLogResponse(auditLog.id(), auditLog.timestamp(), auditLog.eventType(), auditLog.actor(),
+                auditLog.entityType(), auditLog.entityId(), auditLog.payload(), auditLog.render());
+    }
+}
@@ -1,31 +1,27 @@
 package com.institucion.ticketero.module_audit.application;
 
-import com.institucion.ticketero.module_audit.domain.AuditEvent;
-import com.institucion.ticketero.module_audit.domain.AuditLog;
-import com.institucion.ticketero.module_audit.infrastructure.AuditLogRepository;
-import org.springframework.scheduling.annotation.Async;
+import com.institucion.ticketero.module_audit.domain.AuditPayload;
+import com.institucion.ticketero.module_audit.domain.AuditRecord;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 
+/**
+ * Q-Insight: Audit Trail Service.
+ * Stamps an event with the time it happened and hands it to the {@link AuditSink}, which writes it in the
+ * background, batched with other events. Recording an event costs the caller no database round trip and no string
+ * building: the event is a small {@link AuditPayload} record, encoded and rendered elsewhere.
+ */
 @Service
 public class AuditService {
 
-    private final AuditLogRepository auditLogRepository;
+    private final AuditSink auditSink;
 
-    public AuditService(AuditLogRepository auditLogRepository) {
-        this.auditLogRepository = auditLogRepository;
+    public AuditService(AuditSink auditSink) {
+        this.auditSink = auditSink;
     }
 
-    @Async
-    public void recordEvent(AuditEvent eventType, String actor, String entityType, Long entityId, String details) {
-        AuditLog auditLog = new AuditLog();
-        auditLog.setTimestamp(LocalDateTime.now());
-        auditLog.setEventType(eventType);
-        auditLog.setActor(actor);
-        auditLog.setEntityType(entityType);
-        auditLog.setEntityId(entityId);
-        auditLog.setDetails(details);
-        auditLogRepository.save(auditLog);
+    public void recordEvent(String actor, String entityType, Long entityId, AuditPayload payload) {
+        auditSink.submit(new AuditRecord(LocalDateTime.now(), actor, entityType, entityId, payload));
     }
 }
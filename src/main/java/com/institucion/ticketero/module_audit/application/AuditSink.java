@@ -0,0 +1,12 @@
+package com.institucion.ticketero.module_audit.application;
+
+import com.institucion.ticketero.module_audit.domain.AuditRecord;
+
+/**
+ * Q-Insight: Where Audit Records Go.
+ * Implementations must return without waiting on the database; the caller is usually inside a business transaction.
+ */
+public interface AuditSink {
+
+    void submit(AuditRecord record);
+}
@@ -0,0 +1,35 @@
+package com.institucion.ticketero.module_audit.domain;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Q-Insight: Keyset Position in the Audit Log.
+ * The last entry of a page, by {@code (timestamp, id)}; the next page starts strictly after it. Handed to clients as
+ * an opaque URL-safe token so they do not build positions of their own.
+ */
+public record AuditCursor(LocalDateTime timestamp, long id) {
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((timestamp + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException If the token was not produced by {@link #encode()}.
+     */
+    public static AuditCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Malformed audit cursor");
+            }
+            return new AuditCursor(LocalDateTime.parse(decoded.substring(0, separator)), Long.parseLong(decoded.substring(separator + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed audit cursor", e);
+        }
+    }
+}
@@ -1,12 +1,28 @@
 package com.institucion.ticketero.module_audit.domain;
 
+/**
+ * Q-Insight: Kinds of Audit Event, each with the {@link AuditPayload} record that describes it.
+ */
 public enum AuditEvent {
-    TICKET_CREADO,
-    TICKET_ASIGNADO,
-    TICKET_COMPLETADO,
-    TICKET_CANCELADO,
-    MENSAJE_ENVIADO,
-    MENSAJE_FALLIDO,
-    ADVISOR_STATUS_CHANGED,
-    POSITION_RECALCULATED
+    TICKET_CREADO(TicketCreatedAudit.class),
+    TICKET_ASIGNADO(TicketAssignedAudit.class),
+    TICKET_COMPLETADO(TicketCompletedAudit.class),
+    TICKET_CANCELADO(TicketCancelledAudit.class),
+    MENSAJE_ENVIADO(MessageSentAudit.class),
+    MENSAJE_FALLIDO(MessageFailedAudit.class),
+    ADVISOR_STATUS_CHANGED(ExecutiveStatusChangedAudit.class),
+    POSITION_RECALCULATED(PositionRecalculatedAudit.class);
+
+    private final Class<? extends AuditPayload> payloadType;
+
+    AuditEvent(Class<? extends AuditPayload> payloadType) {
+        this.payloadType = payloadType;
+    }
+
+    /**
+     * @return The record the event's stored payload is read back into.
+     */
+    public Class<? extends AuditPayload> payloadType() {
+        return payloadType;
+    }
 }
@@ -1,87 +1,26 @@
 package com.institucion.ticketero.module_audit.domain;
 
-import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
-@Entity
-@Table(name = "audit_logs")
-public class AuditLog {
-
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
-    @Column(nullable = false)
-    private LocalDateTime timestamp;
-
-    @Enumerated(EnumType.STRING)
-    @Column(nullable = false)
-    private AuditEvent eventType;
-
-    private String actor;
-
-    private String entityType;
-
-    private Long entityId;
-
-    @Lob
-    private String details;
-    
-    // Getters and Setters
-
-    public Long getId() {
-        return id;
-    }
-
-    public void setId(Long id) {
-        this.id = id;
-    }
-
-    public LocalDateTime getTimestamp() {
-        return timestamp;
-    }
-
-    public void setTimestamp(LocalDateTime timestamp) {
-        this.timestamp = timestamp;
-    }
-
-    public AuditEvent getEventType() {
-        return eventType;
-    }
-
-    public void setEventType(AuditEvent eventType) {
-        this.eventType = eventType;
-    }
-
-    public String getActor() {
-        return actor;
-    }
-
-    public void setActor(String actor) {
-        this.actor = actor;
-    }
-
-    public String getEntityType() {
-        return entityType;
-    }
-
-    public void setEntityType(String entityType) {
-        this.entityType = entityType;
-    }
-
-    public Long getEntityId() {
-        return entityId;
-    }
-
-    public void setEntityId(Long entityId) {
-        this.entityId = entityId;
-    }
-
-    public String getDetails() {
-        return details;
-    }
-
-    public void setDetails(String details) {
-        this.details = details;
+/**
+ * Q-Insight: An Entry Read Back from the Audit Log.
+ * Entries written before payloads were structured (V13) only have their text in {@code details}.
+ */
+public record AuditLog(
+    long id,
+    LocalDateTime timestamp,
+    AuditEvent eventType,
+    String actor,
+    String entityType,
+    Long entityId,
+    AuditPayload payload,
+    String details
+) {
+
+    /**
+     * @return The entry as text; rendered from the payload on each call, so only for entries actually shown.
+     */
+    public String render() {
+        return payload != null ? payload.render() : details;
     }
 }
@@ -0,0 +1,17 @@
+package com.institucion.ticketero.module_audit.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * Q-Insight: Criteria for Searching the Audit Log.
+ * Every field is optional; {@code null} means "any". The time range is {@code [from, to)}.
+ */
+public record AuditLogFilter(
+    String entityType,
+    Long entityId,
+    AuditEvent eventType,
+    String actor,
+    String ticketNumber,
+    LocalDateTime from,
+    LocalDateTime to
+) {}
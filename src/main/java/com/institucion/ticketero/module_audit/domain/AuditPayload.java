@@ -0,0 +1,18 @@
+package com.institucion.ticketero.module_audit.domain;
+
+/**
+ * Q-Insight: What an Audit Event Says, as Fields.
+ * One record per {@link AuditEvent}. Recording an event only allocates the record; it is stored as JSONB by the
+ * audit writer, off the caller's thread, and turned into text by {@link #render()} only when someone reads it.
+ * Fields are stored by name, so they can be searched and indexed (e.g. {@code payload->>'ticketNumber'}).
+ */
+public sealed interface AuditPayload permits TicketCreatedAudit, TicketAssignedAudit, TicketCompletedAudit,
+        TicketCancelledAudit, MessageSentAudit, MessageFailedAudit, ExecutiveStatusChangedAudit, PositionRecalculatedAudit {
+
+    AuditEvent eventType();
+
+    /**
+     * @return The event as a sentence for people reading the audit log.
+     */
+    String render();
+}
@@ -0,0 +1,20 @@
+package com.institucion.ticketero.module_audit.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * Q-Insight: An Audit Event on its Way to the Audit Log.
+ * Immutable, so it can be handed from the thread that recorded it to the audit writer without copying.
+ */
+public record AuditRecord(
+    LocalDateTime timestamp,
+    String actor,
+    String entityType,
+    Long entityId,
+    AuditPayload payload
+) {
+
+    public AuditEvent eventType() {
+        return payload.eventType();
+    }
+}
@@ -0,0 +1,14 @@
+package com.institucion.ticketero.module_audit.domain;
+
+public record ExecutiveStatusChangedAudit(String executiveName, String previousStatus, String newStatus) implements AuditPayload {
+
+    @Override
+    public AuditEvent eventType() {
+        return AuditEvent.ADVISOR_STATUS_CHANGED;
+    }
+
+    @Override
+    public String render() {
+        return "Executive " + executiveName + " changed from " + previousStatus + " to " + newStatus;
+    }
+}
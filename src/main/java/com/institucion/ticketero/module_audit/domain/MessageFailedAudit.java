@@ -0,0 +1,14 @@
+package com.institucion.ticketero.module_audit.domain;
+
+public record MessageFailedAudit(Long messageId, String channel, int attempts, String reason) implements AuditPayload {
+
+    @Override
+    public AuditEvent eventType() {
+        return AuditEvent.MENSAJE_FALLIDO;
+    }
+
+    @Override
+    public String render() {
+        return "Message " + messageId + " failed on " + channel + " after " + attempts + " attempts: " + reason;
+    }
+}
@@ -0,0 +1,14 @@
+package com.institucion.ticketero.module_audit.domain;
+
+public record MessageSentAudit(Long messageId, String channel, String template) implements AuditPayload {
+
+    @Override
+    public AuditEvent eventType() {
+        return AuditEvent.MENSAJE_ENVIADO;
+    }
+
+    @Override
+    public String render() {
+        return "Message " + messageId + " (" + template + ") sent by " + channel;
+    }
+}
@@ -0,0 +1,14 @@
+package com.institucion.ticketero.module_audit.domain;
+
+public record PositionRecalculatedAudit(String ticketNumber, int position) implements AuditPayload {
+
+    @Override
+    public AuditEvent eventType() {
+        return AuditEvent.POSITION_RECALCULATED;
+    }
+
+    @Override
+    public String render() {
+        return "Ticket " + ticketNumber + " is now at position " + position;
+    }
+}
@@ -0,0 +1,14 @@
+package com.institucion.ticketero.module_audit.domain;
+
+public record TicketAssignedAudit(String ticketNumber, Long executiveId, String executiveName, String module) implements AuditPayload {
+
+    @Override
+    public AuditEvent eventType() {
+        return AuditEvent.TICKET_ASIGNADO;
+    }
+
+    @Override
+    public String render() {
+        return "Ticket " + ticketNumber + " assigned to executive " + executiveName + " at " + module;
+    }
+}
@@ -0,0 +1,14 @@
+package com.institucion.ticketero.module_audit.domain;
+
+public record TicketCancelledAudit(String ticketNumber) implements AuditPayload {
+
+    @Override
+    public AuditEvent eventType() {
+        return AuditEvent.TICKET_CANCELADO;
+    }
+
+    @Override
+    public String render() {
+        return "Ticket " + ticketNumber + " cancelled";
+    }
+}
@@ -0,0 +1,14 @@
+package com.institucion.ticketero.module_audit.domain;
+
+public record TicketCompletedAudit(String ticketNumber, Long executiveId, String executiveName) implements AuditPayload {
+
+    @Override
+    public AuditEvent eventType() {
+        return AuditEvent.TICKET_COMPLETADO;
+    }
+
+    @Override
+    public String render() {
+        return "Ticket " + ticketNumber + " completed by executive " + executiveName;
+    }
+}
@@ -0,0 +1,14 @@
+package com.institucion.ticketero.module_audit.domain;
+
+public record TicketCreatedAudit(String ticketNumber, String attentionType) implements AuditPayload {
+
+    @Override
+    public AuditEvent eventType() {
+        return AuditEvent.TICKET_CREADO;
+    }
+
+    @Override
+    public String render() {
+        return "Ticket created with number: " + ticketNumber + " (" + attentionType + ")";
+    }
+}
@@ -0,0 +1,249 @@
+package com.institucion.ticketero.module_audit.infrastructure;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.institucion.ticketero.module_audit.application.AuditSink;
+import com.institucion.ticketero.module_audit.domain.AuditRecord;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Q-Insight: Local Append-Only Audit Journal.
+ * With {@code ticketero.audit.sink=journal}, audit records are appended to memory-mapped segment files
+ * ({@link JournalSegment}) in {@code ticketero.audit.journal.directory} instead of being queued for the database;
+ * the {@link AuditJournalShipper} replays them into {@code audit_logs}. Recording an event is an encode and a memory
+ * copy, and the database can be down for as long as the disk has room.
+ * - Segments are {@code segment-size-mb} each; when a record does not fit, the segment is flushed, sealed and the
+ *   next one is created.
+ * - {@code fsync}: {@code EVERY_RECORD} flushes the segment after each append (nothing acknowledged is lost to a
+ *   power cut, at the cost of a disk flush per event); {@code INTERVAL} flushes every {@code fsync-interval-ms}; {@code NEVER}
+ *   leaves it to the OS (a process crash loses nothing, a machine crash may lose recent records).
+ * - On startup, existing segments are reopened; only the last one can hold a torn record, so only it is scanned.
+ * Metrics: {@code ticketero.audit.journal.appended}, {@code ticketero.audit.journal.dropped},
+ * {@code ticketero.audit.journal.segments}.
+ */
+@Component
+@ConditionalOnProperty(name = "ticketero.audit.sink", havingValue = "journal")
+public class AuditJournal implements AuditSink {
+
+    /**
+     * Q-Insight: When appended records are flushed to disk.
+     */
+    public enum FsyncPolicy {
+        NEVER, INTERVAL, EVERY_RECORD
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditJournal.class);
+    private static final Pattern SEGMENT_FILE = Pattern.compile("audit-(\\d{20})\\.seg");
+
+    private final Path directory;
+    private final int segmentSize;
+    private final FsyncPolicy fsyncPolicy;
+    private final AuditRecordCodec codec;
+    private final Counter appended;
+    private final Counter dropped;
+    // Oldest first; the last one is the one being written.
+    private final List<JournalSegment> segments = new CopyOnWriteArrayList<>();
+    // Guards appends, rolling and the checksum.
+    private final ReentrantLock lock = new ReentrantLock();
+    private final CRC32C crc = new CRC32C();
+    private final long fsyncIntervalMillis;
+    private final ScheduledExecutorService fsyncScheduler;
+    private volatile JournalSegment current;
+    private volatile boolean closed;
+
+    public AuditJournal(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                        @Value("${ticketero.audit.journal.directory:./data/audit-journal}") Path directory,
+                        @Value("${ticketero.audit.journal.segment-size-mb:64}") int segmentSizeMb,
+                        @Value("${ticketero.audit.journal.fsync:INTERVAL}") FsyncPolicy fsyncPolicy,
+                        @Value("${ticketero.audit.journal.fsync-interval-ms:1000}") long fsyncIntervalMillis) throws IOException {
+        if (segmentSizeMb < 1 || segmentSizeMb > 1024) {
+            throw new IllegalArgumentException("Audit journal segment size must be between 1 and 1024 MB");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSizeMb * 1024 * 1024;
+        this.fsyncPolicy = fsyncPolicy;
+        this.fsyncIntervalMillis = fsyncIntervalMillis;
+        this.codec = new AuditRecordCodec(objectMapper);
+        Files.createDirectories(directory);
+        open();
+        Gauge.builder("ticketero.audit.journal.segments", segments, List::size)
+                .description("Audit journal segment files not yet shipped to audit_logs")
+                .register(meterRegistry);
+        this.appended = Counter.builder("ticketero.audit.journal.appended")
+                .description("Audit events appended to the local journal")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("ticketero.audit.journal.dropped")
+                .description("Audit events that could not be appended to the local journal")
+                .register(meterRegistry);
+        if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+            this.fsyncScheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("audit-journal-fsync").daemon().factory());
+        } else {
+            this.fsyncScheduler = null;
+        }
+    }
+
+    /**
+     * Q-Insight: Starts the periodic flush when {@code fsync} is {@code INTERVAL}.
+     */
+    @PostConstruct
+    public void start() {
+        if (fsyncScheduler != null) {
+            fsyncScheduler.scheduleWithFixedDelay(this::force, fsyncIntervalMillis, fsyncIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void open() throws IOException {
+        List<Long> indexes = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                Matcher matcher = SEGMENT_FILE.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    indexes.add(Long.parseLong(matcher.group(1)));
+                }
+            });
+        }
+        indexes.sort(null);
+        for (int i = 0; i < indexes.size(); i++) {
+            long index = indexes.get(i);
+            boolean last = i == indexes.size() - 1;
+            segments.add(JournalSegment.open(JournalSegment.fileName(directory, index), index, !last));
+        }
+        if (segments.isEmpty()) {
+            segments.add(JournalSegment.create(directory, 0, segmentSize));
+        }
+        current = segments.get(segments.size() - 1);
+        logger.info("Audit journal opened in {}: {} segments, appending to segment {} at offset {}",
+                directory, segments.size(), current.index(), current.committed());
+    }
+
+    @Override
+    public void submit(AuditRecord record) {
+        byte[] encoded;
+        try {
+            encoded = codec.encode(record);
+        } catch (IllegalStateException e) {
+            dropped.increment();
+            logger.error("Could not encode {} for {} {}", record.eventType(), record.entityType(), record.entityId(), e);
+            return;
+        }
+        if (JournalSegment.FRAME_HEADER_BYTES + encoded.length > segmentSize) {
+            dropped.increment();
+            logger.error("Audit record of {} bytes does not fit in a journal segment; dropped {} for {} {}",
+                    encoded.length, record.eventType(), record.entityType(), record.entityId());
+            return;
+        }
+        lock.lock();
+        try {
+            if (closed) {
+                dropped.increment();
+                logger.warn("Audit journal closed; dropped {} for {} {}", record.eventType(), record.entityType(), record.entityId());
+                return;
+            }
+            if (!current.append(encoded, crc)) {
+                roll();
+                current.append(encoded, crc);
+            }
+            if (fsyncPolicy == FsyncPolicy.EVERY_RECORD) {
+                current.force();
+            }
+            appended.increment();
+        } catch (IOException e) {
+            dropped.increment();
+            logger.error("Could not roll the audit journal in {}; dropped {} for {} {}",
+                    directory, record.eventType(), record.entityType(), record.entityId(), e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Called with the lock held.
+    private void roll() throws IOException {
+        JournalSegment next = JournalSegment.create(directory, current.index() + 1, segmentSize);
+        current.force();
+        current.seal();
+        segments.add(next);
+        current = next;
+        logger.debug("Audit journal rolled to segment {}", next.index());
+    }
+
+    /**
+     * Q-Insight: Flushes the segment being written to disk.
+     */
+    public void force() {
+        try {
+            current.force();
+        } catch (RuntimeException e) {
+            logger.warn("Could not flush the audit journal", e);
+        }
+    }
+
+    Path directory() {
+        return directory;
+    }
+
+    /**
+     * @return The segments on disk, oldest first; only the last one is still being written.
+     */
+    List<JournalSegment> segments() {
+        return List.copyOf(segments);
+    }
+
+    /**
+     * @throws IllegalArgumentException If the bytes are not an encoded record.
+     */
+    AuditRecord decode(ByteBuffer record) {
+        return codec.decode(record);
+    }
+
+    /**
+     * Q-Insight: Deletes a sealed segment once everything in it has been shipped.
+     * The mapping itself is released when the segment is garbage collected.
+     */
+    void release(JournalSegment segment) throws IOException {
+        if (!segment.isSealed()) {
+            throw new IllegalArgumentException("Segment " + segment.index() + " is still being written");
+        }
+        segments.remove(segment);
+        segment.delete();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (fsyncScheduler != null) {
+            fsyncScheduler.shutdownNow();
+        }
+        lock.lock();
+        try {
+            closed = true;
+            if (fsyncPolicy != FsyncPolicy.NEVER) {
+                current.force();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
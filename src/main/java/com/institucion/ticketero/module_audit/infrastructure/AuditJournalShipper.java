@@ -0,0 +1,226 @@
+package com.institucion.ticketero.module_audit.infrastructure;
+
+import com.institucion.ticketero.module_audit.domain.AuditRecord;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Q-Insight: Ships the Audit Journal into {@code audit_logs}.
+ * Every {@code ship-interval-ms} the shipper reads the records appended to the {@link AuditJournal} since its
+ * checkpoint and inserts them {@code ship-batch-size} at a time ({@link AuditLogBatchRepository}). After each batch
+ * the checkpoint (segment and offset, in {@code shipped.checkpoint}) moves past it; a segment that is sealed and
+ * fully shipped is deleted.
+ * - Delivery is at least once: a crash between an insert and its checkpoint ships that batch again on restart.
+ * - The shipper reads what is in memory, which may not be on disk yet ({@code fsync} other than {@code EVERY_RECORD}).
+ *   The segment is flushed up to a checkpoint before the checkpoint is saved, so recovery after a power cut never
+ *   ends a segment before its checkpoint; a checkpoint found past the recovered end anyway is moved back to it.
+ * - If the database is unavailable the round stops where it is and the next one resumes from the checkpoint; the
+ *   journal keeps growing meanwhile.
+ * - A record that passed its checksum but cannot be decoded is logged and skipped.
+ * Metrics: {@code ticketero.audit.journal.shipped}, {@code ticketero.audit.journal.skipped}.
+ */
+@Component
+@ConditionalOnProperty(name = "ticketero.audit.sink", havingValue = "journal")
+public class AuditJournalShipper {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditJournalShipper.class);
+    static final String CHECKPOINT_FILE = "shipped.checkpoint";
+
+    /**
+     * Q-Insight: Where shipping resumes: the next frame to ship is at {@code offset} in segment {@code segment}.
+     */
+    record Checkpoint(long segment, int offset) {
+    }
+
+    private final AuditJournal journal;
+    private final AuditLogBatchRepository repository;
+    private final int batchSize;
+    private final long intervalMillis;
+    private final Path checkpointFile;
+    private final Counter shipped;
+    private final Counter skipped;
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("audit-journal-shipper").daemon().factory());
+    // Guarded by this.
+    private Checkpoint checkpoint;
+
+    public AuditJournalShipper(AuditJournal journal, AuditLogBatchRepository repository, MeterRegistry meterRegistry,
+                               @Value("${ticketero.audit.journal.ship-batch-size:500}") int batchSize,
+                               @Value("${ticketero.audit.journal.ship-interval-ms:1000}") long intervalMillis) {
+        if (batchSize < 1 || batchSize > AuditLogBatchRepository.MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Audit ship batch size must be between 1 and " + AuditLogBatchRepository.MAX_BATCH_SIZE);
+        }
+        this.journal = journal;
+        this.repository = repository;
+        this.batchSize = batchSize;
+        this.intervalMillis = intervalMillis;
+        this.checkpointFile = journal.directory().resolve(CHECKPOINT_FILE);
+        this.checkpoint = reconcile(readCheckpoint());
+        this.shipped = Counter.builder("ticketero.audit.journal.shipped")
+                .description("Audit events shipped from the local journal into audit_logs")
+                .register(meterRegistry);
+        this.skipped = Counter.builder("ticketero.audit.journal.skipped")
+                .description("Audit journal records skipped because they could not be decoded")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::shipSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void shipSafely() {
+        try {
+            ship();
+        } catch (RuntimeException e) {
+            logger.warn("Audit journal shipping stopped at segment {} offset {}; retrying in {} ms",
+                    checkpoint().segment(), checkpoint().offset(), intervalMillis, e);
+        }
+    }
+
+    /**
+     * Q-Insight: Ships everything appended so far, oldest segment first.
+     * @return How many records were inserted.
+     * @throws RuntimeException If an insert fails; what was shipped before it stays shipped.
+     */
+    synchronized int ship() {
+        int total = 0;
+        for (JournalSegment segment : journal.segments()) {
+            if (segment.index() < checkpoint.segment() && segment.isSealed()) {
+                // Shipped before a restart, but not deleted.
+                release(segment);
+                continue;
+            }
+            int offset = segment.index() == checkpoint.segment() ? checkpoint.offset() : 0;
+            List<ByteBuffer> frames = new ArrayList<>(batchSize);
+            while (true) {
+                frames.clear();
+                int next = segment.read(offset, batchSize, frames);
+                if (frames.isEmpty()) {
+                    break;
+                }
+                List<AuditRecord> batch = decode(segment, frames);
+                if (!batch.isEmpty()) {
+                    repository.insertAll(batch);
+                    shipped.increment(batch.size());
+                    total += batch.size();
+                }
+                offset = next;
+                segment.force(offset);
+                saveCheckpoint(new Checkpoint(segment.index(), offset));
+            }
+            if (!segment.isExhaustedAt(offset)) {
+                // The segment being written: the rest is shipped next round.
+                break;
+            }
+            saveCheckpoint(new Checkpoint(segment.index() + 1, 0));
+            release(segment);
+        }
+        return total;
+    }
+
+    synchronized Checkpoint checkpoint() {
+        return checkpoint;
+    }
+
+    private List<AuditRecord> decode(JournalSegment segment, List<ByteBuffer> frames) {
+        List<AuditRecord> batch = new ArrayList<>(frames.size());
+        for (ByteBuffer frame : frames) {
+            try {
+                batch.add(journal.decode(frame));
+            } catch (IllegalArgumentException e) {
+                skipped.increment();
+                logger.error("Skipped an undecodable record in audit journal segment {}", segment.index(), e);
+            }
+        }
+        return batch;
+    }
+
+    private void release(JournalSegment segment) {
+        try {
+            journal.release(segment);
+        } catch (IOException e) {
+            logger.warn("Could not delete shipped audit journal segment {}", segment.index(), e);
+        }
+    }
+
+    private Checkpoint readCheckpoint() {
+        if (!Files.exists(checkpointFile)) {
+            return new Checkpoint(-1, 0);
+        }
+        try {
+            String[] parts = Files.readString(checkpointFile, StandardCharsets.UTF_8).trim().split(" ");
+            return new Checkpoint(Long.parseLong(parts[0]), Integer.parseInt(parts[1]));
+        } catch (IOException | RuntimeException e) {
+            // Shipping again from the start duplicates rows; losing them would be worse.
+            logger.warn("Unreadable audit journal checkpoint {}; shipping every segment again", checkpointFile, e);
+            return new Checkpoint(-1, 0);
+        }
+    }
+
+    /**
+     * Q-Insight: Moves a checkpoint that points past the data recovered in the journal's last segment back to its end.
+     * Otherwise new records would be written below the checkpoint and the shipper would resume mid-frame, skip them
+     * as unreadable and eventually delete the segment with them.
+     */
+    private Checkpoint reconcile(Checkpoint saved) {
+        List<JournalSegment> segments = journal.segments();
+        JournalSegment last = segments.get(segments.size() - 1);
+        if (saved.segment() > last.index()
+                || (saved.segment() == last.index() && saved.offset() > last.committed())) {
+            Checkpoint moved = new Checkpoint(last.index(), saved.segment() == last.index() ? last.committed() : 0);
+            logger.warn("Audit journal checkpoint segment {} offset {} is past the recovered journal; resuming from segment {} offset {}",
+                    saved.segment(), saved.offset(), moved.segment(), moved.offset());
+            saveCheckpoint(moved);
+            return moved;
+        }
+        return saved;
+    }
+
+    private void saveCheckpoint(Checkpoint next) {
+        Path temp = checkpointFile.resolveSibling(CHECKPOINT_FILE + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                channel.write(ByteBuffer.wrap((next.segment() + " " + next.offset()).getBytes(StandardCharsets.UTF_8)));
+                channel.force(true);
+            }
+            Files.move(temp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not save the audit journal checkpoint " + checkpointFile, e);
+        }
+        checkpoint = next;
+    }
+
+    /**
+     * Q-Insight: Stops the schedule and ships what is left before the data source closes.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        scheduler.shutdown();
+        scheduler.awaitTermination(intervalMillis + 10_000, TimeUnit.MILLISECONDS);
+        shipSafely();
+    }
+}
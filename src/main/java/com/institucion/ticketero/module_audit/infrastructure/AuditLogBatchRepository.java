@@ -0,0 +1,73 @@
+package com.institucion.ticketero.module_audit.infrastructure;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.institucion.ticketero.module_audit.domain.AuditRecord;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Q-Insight: Infrastructure Repository for Writing Audit Logs in Bulk.
+ * A batch is one multi-row {@code INSERT ... VALUES (...), (...)}: one statement and one transaction however many
+ * events it holds. The ids come from the table's sequence, so nothing has to be read back.
+ * Payloads are encoded to JSON here, on the audit writer's thread, and stored as JSONB.
+ */
+@Repository
+public class AuditLogBatchRepository {
+
+    /**
+     * Postgres takes at most 65535 bind parameters per statement.
+     */
+    public static final int MAX_BATCH_SIZE = 65_535 / 6;
+
+    private static final String INSERT_SQL = "INSERT INTO audit_logs (timestamp, event_type, actor, entity_type, entity_id, payload) VALUES ";
+    private static final String ROW = "(?, ?, ?, ?, ?, CAST(? AS JSONB))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public AuditLogBatchRepository(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Q-Insight: Inserts the records, in order, in a single statement.
+     * @param records At most {@link #MAX_BATCH_SIZE} records.
+     */
+    public void insertAll(List<AuditRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        if (records.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " audit records per insert");
+        }
+        StringBuilder sql = new StringBuilder(INSERT_SQL.length() + records.size() * (ROW.length() + 2)).append(INSERT_SQL);
+        Object[] args = new Object[records.size() * 6];
+        int i = 0;
+        for (AuditRecord record : records) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW);
+            args[i++] = Timestamp.valueOf(record.timestamp());
+            args[i++] = record.eventType().name();
+            args[i++] = record.actor();
+            args[i++] = record.entityType();
+            args[i++] = record.entityId();
+            args[i++] = encode(record);
+        }
+        jdbcTemplate.update(sql.toString(), args);
+    }
+
+    private String encode(AuditRecord record) {
+        try {
+            return objectMapper.writeValueAsString(record.payload());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode " + record.eventType() + " audit payload", e);
+        }
+    }
+}
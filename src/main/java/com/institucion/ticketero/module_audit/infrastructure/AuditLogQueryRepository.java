@@ -0,0 +1,113 @@
+package com.institucion.ticketero.module_audit.infrastructure;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.institucion.ticketero.module_audit.domain.AuditCursor;
+import com.institucion.ticketero.module_audit.domain.AuditEvent;
+import com.institucion.ticketero.module_audit.domain.AuditLog;
+import com.institucion.ticketero.module_audit.domain.AuditLogFilter;
+import com.institucion.ticketero.module_audit.domain.AuditPayload;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Q-Insight: Infrastructure Repository for Searching the Audit Log.
+ * Pages newest first with a seek on {@code (timestamp, id)} instead of OFFSET: a page reads LIMIT index entries
+ * through the V12 index matching the filter, however deep into the history it is. A time range also prunes the
+ * monthly partitions (V11) that cannot match. Payloads are decoded into the event's record; they are rendered as
+ * text later, and only for the entries returned.
+ */
+@Repository
+public class AuditLogQueryRepository {
+
+    private static final String SELECT_SQL =
+            "SELECT id, timestamp, event_type, actor, entity_type, entity_id, payload, details FROM audit_logs";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public AuditLogQueryRepository(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Q-Insight: Finds one page of matching entries, newest first.
+     * @param after The last entry of the previous page, or {@code null} for the first page.
+     * @param limit The largest page to return.
+     */
+    public List<AuditLog> findPage(AuditLogFilter filter, AuditCursor after, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        List<Object> args = new ArrayList<>();
+        String conjunction = " WHERE ";
+        if (filter.entityType() != null) {
+            sql.append(conjunction).append("entity_type = ?");
+            args.add(filter.entityType());
+            conjunction = " AND ";
+        }
+        if (filter.entityId() != null) {
+            sql.append(conjunction).append("entity_id = ?");
+            args.add(filter.entityId());
+            conjunction = " AND ";
+        }
+        if (filter.eventType() != null) {
+            sql.append(conjunction).append("event_type = ?");
+            args.add(filter.eventType().name());
+            conjunction = " AND ";
+        }
+        if (filter.actor() != null) {
+            sql.append(conjunction).append("actor = ?");
+            args.add(filter.actor());
+            conjunction = " AND ";
+        }
+        if (filter.ticketNumber() != null) {
+            sql.append(conjunction).append("payload ->> 'ticketNumber' = ?");
+            args.add(filter.ticketNumber());
+            conjunction = " AND ";
+        }
+        if (filter.from() != null) {
+            sql.append(conjunction).append("timestamp >= ?");
+            args.add(Timestamp.valueOf(filter.from()));
+            conjunction = " AND ";
+        }
+        if (filter.to() != null) {
+            sql.append(conjunction).append("timestamp < ?");
+            args.add(Timestamp.valueOf(filter.to()));
+            conjunction = " AND ";
+        }
+        if (after != null) {
+            sql.append(conjunction).append("(timestamp, id) < (?, ?)");
+            args.add(Timestamp.valueOf(after.timestamp()));
+            args.add(after.id());
+        }
+        sql.append(" ORDER BY timestamp DESC, id DESC LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> mapRow(rs), args.toArray());
+    }
+
+    private AuditLog mapRow(ResultSet rs) throws SQLException {
+        AuditEvent eventType = AuditEvent.valueOf(rs.getString("event_type"));
+        long entityIdValue = rs.getLong("entity_id");
+        Long entityId = rs.wasNull() ? null : entityIdValue;
+        return new AuditLog(rs.getLong("id"), rs.getTimestamp("timestamp").toLocalDateTime(), eventType,
+                rs.getString("actor"), rs.getString("entity_type"), entityId,
+                decode(eventType, rs.getString("payload")), rs.getString("details"));
+    }
+
+    private AuditPayload decode(AuditEvent eventType, String json) throws SQLException {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, eventType.payloadType());
+        } catch (JsonProcessingException e) {
+            throw new SQLException("Unreadable " + eventType + " audit payload", e);
+        }
+    }
+}
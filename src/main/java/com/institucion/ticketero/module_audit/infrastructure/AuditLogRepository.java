@@ -1,9 +0,0 @@
-package com.institucion.ticketero.module_audit.infrastructure;
-
-import com.institucion.ticketero.module_audit.domain.AuditLog;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.stereotype.Repository;
-
-@Repository
-public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
-}
@@ -0,0 +1,16 @@
+package com.institucion.ticketero.module_audit.infrastructure;
+
+/**
+ * Q-Insight: What Recording an Audit Event Does When the Audit Buffer is Full.
+ */
+public enum AuditOverflowPolicy {
+    /**
+     * Wait up to {@code block-timeout-ms} for the writer to make room, then drop. Slows callers down while the
+     * database is behind, but never stalls them for longer than the timeout.
+     */
+    BLOCK,
+    /**
+     * Drop the event at once. Callers never wait; dropped events are counted.
+     */
+    DROP
+}
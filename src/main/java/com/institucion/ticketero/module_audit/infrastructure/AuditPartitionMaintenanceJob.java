@@ -0,0 +1,93 @@
+package com.institucion.ticketero.module_audit.infrastructure;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.YearMonth;
+
+/**
+ * Q-Insight: Audit Log Partition Maintenance.
+ * Keeps the monthly partitions of audit_logs (V11) ahead of time and behind retention:
+ * - creates the partitions for this month and the next {@code months-ahead}, so events never land in the default
+ *   partition;
+ * - removes months older than {@code retention-months} whole, by detaching them (the table is kept for archiving)
+ *   or dropping them, according to {@code expired-action}. Either is a catalog change, however many rows the month held.
+ * Each partition is handled on its own, so one failure does not stop the rest; the job runs at startup and daily.
+ */
+@Component
+public class AuditPartitionMaintenanceJob {
+
+    /**
+     * Q-Insight: What happens to a partition past retention.
+     */
+    public enum ExpiredAction {
+        DETACH,
+        DROP
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditPartitionMaintenanceJob.class);
+
+    private final AuditPartitionRepository partitionRepository;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final ExpiredAction expiredAction;
+    private final Clock clock;
+
+    @Autowired
+    public AuditPartitionMaintenanceJob(AuditPartitionRepository partitionRepository,
+                                        @Value("${ticketero.audit.partitions.months-ahead:3}") int monthsAhead,
+                                        @Value("${ticketero.audit.partitions.retention-months:12}") int retentionMonths,
+                                        @Value("${ticketero.audit.partitions.expired-action:DETACH}") ExpiredAction expiredAction) {
+        this(partitionRepository, monthsAhead, retentionMonths, expiredAction, Clock.systemDefaultZone());
+    }
+
+    AuditPartitionMaintenanceJob(AuditPartitionRepository partitionRepository, int monthsAhead, int retentionMonths,
+                                 ExpiredAction expiredAction, Clock clock) {
+        if (retentionMonths < 1) {
+            throw new IllegalArgumentException("Audit retention must keep at least the current month");
+        }
+        this.partitionRepository = partitionRepository;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.expiredAction = expiredAction;
+        this.clock = clock;
+    }
+
+    @Scheduled(initialDelayString = "${ticketero.audit.partitions.initial-delay-ms:10000}",
+            fixedDelayString = "${ticketero.audit.partitions.interval-ms:86400000}")
+    public void maintain() {
+        YearMonth current = YearMonth.now(clock);
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            try {
+                partitionRepository.createPartition(month);
+            } catch (DataAccessException e) {
+                logger.error("Could not create audit partition {}", AuditPartitionRepository.partitionName(month), e);
+            }
+        }
+
+        // The oldest month still kept; everything before it has expired.
+        YearMonth oldestKept = current.minusMonths(retentionMonths - 1L);
+        for (YearMonth month : partitionRepository.findPartitionMonths()) {
+            if (!month.isBefore(oldestKept)) {
+                continue;
+            }
+            try {
+                if (expiredAction == ExpiredAction.DROP) {
+                    partitionRepository.dropPartition(month);
+                } else {
+                    partitionRepository.detachPartition(month);
+                }
+                logger.info("Audit partition {} expired: {}", AuditPartitionRepository.partitionName(month), expiredAction);
+            } catch (DataAccessException e) {
+                logger.error("Could not remove expired audit partition {}", AuditPartitionRepository.partitionName(month), e);
+            }
+        }
+    }
+}
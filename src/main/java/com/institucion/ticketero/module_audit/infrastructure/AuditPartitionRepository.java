@@ -0,0 +1,74 @@
+package com.institucion.ticketero.module_audit.infrastructure;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Q-Insight: Infrastructure Repository for the Monthly Partitions of audit_logs.
+ * Partitions are named {@code audit_logs_YYYY_MM} (see V11). DDL cannot take bind parameters, so identifiers and
+ * bounds are only ever built from a {@link YearMonth}, never from outside input.
+ */
+@Repository
+public class AuditPartitionRepository {
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("audit_logs_(\\d{4})_(\\d{2})");
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private static final String LIST_PARTITIONS_SQL = """
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'audit_logs'::regclass
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AuditPartitionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return The months that have a partition attached to audit_logs, the default partition aside.
+     */
+    public List<YearMonth> findPartitionMonths() {
+        List<YearMonth> months = new ArrayList<>();
+        jdbcTemplate.query(LIST_PARTITIONS_SQL, rs -> {
+            Matcher matcher = PARTITION_NAME.matcher(rs.getString("relname"));
+            if (matcher.matches()) {
+                months.add(YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+            }
+        });
+        return months;
+    }
+
+    /**
+     * Q-Insight: Creates the month's partition if it does not exist.
+     * Fails if the default partition already holds rows for that month.
+     */
+    public void createPartition(YearMonth month) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(month) + " PARTITION OF audit_logs FOR VALUES FROM ('"
+                + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+    }
+
+    /**
+     * Q-Insight: Detaches the month's partition; the table and its rows stay, outside audit_logs, for archiving.
+     */
+    public void detachPartition(YearMonth month) {
+        jdbcTemplate.execute("ALTER TABLE audit_logs DETACH PARTITION " + partitionName(month));
+    }
+
+    public void dropPartition(YearMonth month) {
+        jdbcTemplate.execute("DROP TABLE " + partitionName(month));
+    }
+
+    static String partitionName(YearMonth month) {
+        return "audit_logs_" + month.format(SUFFIX);
+    }
+}
@@ -0,0 +1,101 @@
+package com.institucion.ticketero.module_audit.infrastructure;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.institucion.ticketero.module_audit.domain.AuditEvent;
+import com.institucion.ticketero.module_audit.domain.AuditPayload;
+import com.institucion.ticketero.module_audit.domain.AuditRecord;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Q-Insight: Binary Encoding of an Audit Record for the Journal.
+ * Layout: timestamp (epoch second and nano, as a wall-clock time), event type, actor, entity type, entity id and
+ * the payload as JSON. Strings are a length (-1 for null) followed by UTF-8 bytes.
+ * Framing and checksums are the segment's business ({@link JournalSegment}).
+ */
+final class AuditRecordCodec {
+
+    private final ObjectMapper objectMapper;
+
+    AuditRecordCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    byte[] encode(AuditRecord record) {
+        byte[] eventType = utf8(record.eventType().name());
+        byte[] actor = utf8(record.actor());
+        byte[] entityType = utf8(record.entityType());
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(record.payload());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode " + record.eventType() + " audit payload", e);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES + Integer.BYTES + sized(eventType) + sized(actor)
+                + sized(entityType) + 1 + Long.BYTES + sized(payload));
+        buffer.putLong(record.timestamp().toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(record.timestamp().getNano());
+        put(buffer, eventType);
+        put(buffer, actor);
+        put(buffer, entityType);
+        buffer.put((byte) (record.entityId() != null ? 1 : 0));
+        buffer.putLong(record.entityId() != null ? record.entityId() : 0);
+        put(buffer, payload);
+        return buffer.array();
+    }
+
+    /**
+     * @throws IllegalArgumentException If the bytes are not an encoded record.
+     */
+    AuditRecord decode(ByteBuffer buffer) {
+        try {
+            LocalDateTime timestamp = LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+            AuditEvent eventType = AuditEvent.valueOf(string(buffer));
+            String actor = string(buffer);
+            String entityType = string(buffer);
+            boolean hasEntityId = buffer.get() != 0;
+            long entityId = buffer.getLong();
+            byte[] payload = bytes(buffer);
+            AuditPayload decoded = objectMapper.readValue(payload, eventType.payloadType());
+            return new AuditRecord(timestamp, actor, entityType, hasEntityId ? entityId : null, decoded);
+        } catch (RuntimeException | IOException e) {
+            throw new IllegalArgumentException("Unreadable audit journal record", e);
+        }
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static int sized(byte[] bytes) {
+        return Integer.BYTES + (bytes != null ? bytes.length : 0);
+    }
+
+    private static void put(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(bytes.length).put(bytes);
+        }
+    }
+
+    private static String string(ByteBuffer buffer) {
+        byte[] bytes = bytes(buffer);
+        return bytes != null ? new String(bytes, StandardCharsets.UTF_8) : null;
+    }
+
+    private static byte[] bytes(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
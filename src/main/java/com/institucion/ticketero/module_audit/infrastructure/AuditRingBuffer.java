@@ -0,0 +1,95 @@
+package com.institucion.ticketero.module_audit.infrastructure;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Q-Insight: Bounded Lock-Free Ring Buffer, Many Producers and One Consumer.
+ * Every slot carries a sequence number telling whose turn it is: a producer claims the next position with one CAS on
+ * the tail and publishes its element by advancing the slot's sequence; the consumer takes elements in position order
+ * and hands each slot back by advancing its sequence a lap. Producers never wait on each other or on the consumer:
+ * when the buffer is full {@link #offer} just says no, and the caller applies its overflow policy.
+ * Only one thread may call {@link #drainTo}.
+ */
+final class AuditRingBuffer<E> {
+
+    private final Object[] elements;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    // Written by the consumer only; volatile so producers can read the size.
+    private volatile long head;
+
+    AuditRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.elements = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * @return False if the buffer is full.
+     */
+    boolean offer(E element) {
+        long position;
+        int slot;
+        while (true) {
+            position = tail.get();
+            slot = (int) position & mask;
+            long lag = sequences.get(slot) - position;
+            if (lag == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (lag < 0) {
+                // The slot still holds the element from a lap ago.
+                return false;
+            }
+            // Otherwise another producer took this position first; try the next one.
+        }
+        elements[slot] = element;
+        sequences.set(slot, position + 1);
+        return true;
+    }
+
+    /**
+     * Q-Insight: Moves up to {@code max} elements, oldest first, into {@code target}. Consumer thread only.
+     * Stops early at a position a producer has claimed but not yet published.
+     * @return How many elements were moved.
+     */
+    @SuppressWarnings("unchecked")
+    int drainTo(List<? super E> target, int max) {
+        long position = head;
+        int drained = 0;
+        while (drained < max) {
+            int slot = (int) position & mask;
+            if (sequences.get(slot) != position + 1) {
+                break;
+            }
+            target.add((E) elements[slot]);
+            elements[slot] = null;
+            sequences.set(slot, position + elements.length);
+            position++;
+            drained++;
+        }
+        head = position;
+        return drained;
+    }
+
+    /**
+     * Q-Insight: Elements claimed and not yet drained; a snapshot that may be stale by the time it is read.
+     */
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    int capacity() {
+        return elements.length;
+    }
+}
@@ -0,0 +1,195 @@
+package com.institucion.ticketero.module_audit.infrastructure;
+
+import com.institucion.ticketero.module_audit.application.AuditSink;
+import com.institucion.ticketero.module_audit.domain.AuditRecord;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Q-Insight: Batching Audit Writer.
+ * Audit events are queued in a bounded {@link AuditRingBuffer} and written by a single writer thread in batches:
+ * a batch goes out once it holds {@code batch-size} events or its oldest event has waited {@code flush-interval-ms},
+ * as one multi-row insert ({@link AuditLogBatchRepository}). Recording an event is a CAS, never a database call.
+ * - When the buffer is full the {@link AuditOverflowPolicy} applies; dropped events are counted.
+ * - A batch that fails to insert is retried a few times and then counted as failed.
+ * - On shutdown the writer flushes everything queued before the application context closes the data source;
+ *   events recorded after that are written synchronously.
+ * Metrics: {@code ticketero.audit.queue.depth}, {@code ticketero.audit.written}, {@code ticketero.audit.dropped},
+ * {@code ticketero.audit.failed}.
+ * This is the default sink; {@code ticketero.audit.sink=journal} replaces it with the {@link AuditJournal}.
+ */
+@Component
+@ConditionalOnProperty(name = "ticketero.audit.sink", havingValue = "database", matchIfMissing = true)
+public class BatchingAuditWriter implements AuditSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchingAuditWriter.class);
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+    private static final long RETRY_DELAY_MILLIS = 500;
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final AuditLogBatchRepository repository;
+    private final AuditRingBuffer<AuditRecord> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final AuditOverflowPolicy overflowPolicy;
+    private final long blockTimeoutNanos;
+    private final long shutdownTimeoutMillis;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter failed;
+    private volatile Thread writer;
+    private volatile boolean running = true;
+
+    @Autowired
+    public BatchingAuditWriter(AuditLogBatchRepository repository, MeterRegistry meterRegistry,
+                               @Value("${ticketero.audit.writer.buffer-capacity:8192}") int bufferCapacity,
+                               @Value("${ticketero.audit.writer.batch-size:500}") int batchSize,
+                               @Value("${ticketero.audit.writer.flush-interval-ms:200}") long flushIntervalMillis,
+                               @Value("${ticketero.audit.writer.overflow-policy:BLOCK}") AuditOverflowPolicy overflowPolicy,
+                               @Value("${ticketero.audit.writer.block-timeout-ms:50}") long blockTimeoutMillis,
+                               @Value("${ticketero.audit.writer.shutdown-timeout-ms:10000}") long shutdownTimeoutMillis) {
+        if (batchSize < 1 || batchSize > AuditLogBatchRepository.MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Audit batch size must be between 1 and " + AuditLogBatchRepository.MAX_BATCH_SIZE);
+        }
+        this.repository = repository;
+        this.buffer = new AuditRingBuffer<>(bufferCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(blockTimeoutMillis);
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+        Gauge.builder("ticketero.audit.queue.depth", buffer, AuditRingBuffer::size)
+                .description("Audit events waiting for the audit writer")
+                .register(meterRegistry);
+        this.written = Counter.builder("ticketero.audit.written")
+                .description("Audit events inserted into audit_logs")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("ticketero.audit.dropped")
+                .description("Audit events dropped because the audit buffer was full")
+                .register(meterRegistry);
+        this.failed = Counter.builder("ticketero.audit.failed")
+                .description("Audit events lost because their batch could not be inserted")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Q-Insight: Starts the writer thread. Events submitted before this wait in the buffer.
+     */
+    @PostConstruct
+    public void start() {
+        writer = Thread.ofPlatform().name("audit-writer").daemon().start(this::run);
+    }
+
+    @Override
+    public void submit(AuditRecord record) {
+        if (!running) {
+            write(List.of(record));
+            return;
+        }
+        if (buffer.offer(record)) {
+            int queued = buffer.size();
+            // Wake the writer to start the flush interval, or because a full batch is waiting.
+            if (queued == 1 || queued >= batchSize) {
+                LockSupport.unpark(writer);
+            }
+            return;
+        }
+        LockSupport.unpark(writer);
+        if (overflowPolicy == AuditOverflowPolicy.BLOCK) {
+            long deadline = System.nanoTime() + blockTimeoutNanos;
+            while (System.nanoTime() - deadline < 0) {
+                LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                if (buffer.offer(record)) {
+                    return;
+                }
+            }
+        }
+        dropped.increment();
+        logger.debug("Audit buffer full; dropped {} for {} {}", record.eventType(), record.entityType(), record.entityId());
+    }
+
+    private void run() {
+        List<AuditRecord> batch = new ArrayList<>(batchSize);
+        // When the writer first saw the events now queued; they are flushed flush-interval-ms after that.
+        long queuedSince = 0;
+        boolean waiting = false;
+        while (running || buffer.size() > 0) {
+            int queued = buffer.size();
+            long now = System.nanoTime();
+            if (queued == 0) {
+                waiting = false;
+                LockSupport.parkNanos(this, flushIntervalNanos);
+                continue;
+            }
+            if (!waiting) {
+                waiting = true;
+                queuedSince = now;
+            }
+            if (queued >= batchSize || !running || now - queuedSince >= flushIntervalNanos) {
+                batch.clear();
+                buffer.drainTo(batch, batchSize);
+                if (!batch.isEmpty()) {
+                    write(batch);
+                }
+                waiting = false;
+            } else {
+                LockSupport.parkNanos(this, flushIntervalNanos - (now - queuedSince));
+            }
+        }
+    }
+
+    private void write(List<AuditRecord> batch) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                repository.insertAll(batch);
+                written.increment(batch.size());
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= MAX_WRITE_ATTEMPTS || !running) {
+                    failed.increment(batch.size());
+                    logger.error("Could not write {} audit events after {} attempts", batch.size(), attempt, e);
+                    return;
+                }
+                logger.warn("Audit batch insert failed (attempt {}), retrying", attempt, e);
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(RETRY_DELAY_MILLIS * attempt));
+            }
+        }
+    }
+
+    /**
+     * Q-Insight: Stops taking events into the buffer and waits for the writer to flush what is queued.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        Thread writer = this.writer;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+            writer.join(shutdownTimeoutMillis);
+        }
+        if (writer != null && writer.isAlive()) {
+            logger.warn("Audit writer did not finish within {} ms; {} events may be lost", shutdownTimeoutMillis, buffer.size());
+            return;
+        }
+        // Events that raced the stop flag into the buffer after the writer's last drain.
+        List<AuditRecord> rest = new ArrayList<>();
+        while (buffer.drainTo(rest, batchSize) > 0) {
+            write(rest);
+            rest.clear();
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.institucion.ticketero.module_audit.infrastructure;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Q-Insight: One Memory-Mapped Segment File of the Audit Journal.
+ * A fixed-size file mapped into memory and filled front to back with frames: record length (4 bytes), CRC32C of
+ * the record (4 bytes), then the record. A length of 0 marks the end of what was written; the file starts zeroed.
+ * Appending is a copy into the mapping, so it costs no system call; the OS writes the pages back on its own, and
+ * {@link #force()} makes them durable.
+ * - Appends are made by one thread at a time (the {@link AuditJournal} holds a lock); {@link #committed()} is
+ *   published after each frame, so the shipper can read up to it concurrently.
+ * - Opening the last segment after a crash scans it ({@link #recover()}): the first frame that is cut short or fails
+ *   its checksum is where the segment ends, and everything after it is zeroed so it cannot be mistaken for data.
+ * - Once full, a segment is sealed and never written again.
+ */
+final class JournalSegment {
+
+    static final int FRAME_HEADER_BYTES = 8;
+    private static final int ZERO_CHUNK = 64 * 1024;
+
+    private final long index;
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private volatile int committed;
+    private volatile boolean sealed;
+
+    private JournalSegment(long index, Path path, MappedByteBuffer buffer) {
+        this.index = index;
+        this.path = path;
+        this.buffer = buffer;
+    }
+
+    static Path fileName(Path directory, long index) {
+        return directory.resolve(String.format("audit-%020d.seg", index));
+    }
+
+    /**
+     * Q-Insight: Creates the segment file, zero-filled to {@code size} bytes.
+     */
+    static JournalSegment create(Path directory, long index, int size) throws IOException {
+        Path path = fileName(directory, index);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return new JournalSegment(index, path, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+    }
+
+    /**
+     * Q-Insight: Opens an existing segment. A sealed one is read as it is; the others are recovered.
+     */
+    static JournalSegment open(Path path, long index, boolean sealed) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            JournalSegment segment = new JournalSegment(index, path, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+            if (sealed) {
+                segment.sealed = true;
+            } else {
+                segment.recover();
+            }
+            return segment;
+        }
+    }
+
+    long index() {
+        return index;
+    }
+
+    boolean isSealed() {
+        return sealed;
+    }
+
+    /**
+     * @return The end of the last complete frame; where the next one goes.
+     */
+    int committed() {
+        return committed;
+    }
+
+    /**
+     * @return How far a reader may go: the committed end, or the whole file once sealed.
+     */
+    int readLimit() {
+        return sealed ? buffer.capacity() : committed;
+    }
+
+    /**
+     * Q-Insight: Appends one record as a frame.
+     * @return False if the record does not fit in what is left of the segment.
+     */
+    boolean append(byte[] record, CRC32C crc) {
+        int position = committed;
+        if (sealed || (long) position + FRAME_HEADER_BYTES + record.length > buffer.capacity()) {
+            return false;
+        }
+        crc.reset();
+        crc.update(record);
+        buffer.put(position + FRAME_HEADER_BYTES, record);
+        buffer.putInt(position + Integer.BYTES, (int) crc.getValue());
+        // The length goes in last: a frame cut short by a crash reads as either no frame or a failed checksum.
+        buffer.putInt(position, record.length);
+        committed = position + FRAME_HEADER_BYTES + record.length;
+        return true;
+    }
+
+    /**
+     * Q-Insight: Reads complete frames from {@code from}, up to {@code max} of them, never past {@link #readLimit()}.
+     * @param records Receives a read-only view of each record.
+     * @return The offset after the last frame read: where to continue from.
+     */
+    int read(int from, int max, List<ByteBuffer> records) {
+        int limit = readLimit();
+        int position = from;
+        CRC32C crc = new CRC32C();
+        while (records.size() < max) {
+            int end = frameEnd(position, limit, crc);
+            if (end < 0) {
+                break;
+            }
+            records.add(buffer.slice(position + FRAME_HEADER_BYTES, end - position - FRAME_HEADER_BYTES).asReadOnlyBuffer());
+            position = end;
+        }
+        return position;
+    }
+
+    /**
+     * Q-Insight: True once no frame can follow {@code offset}: the segment is sealed and there is no valid frame there.
+     */
+    boolean isExhaustedAt(int offset) {
+        return sealed && frameEnd(offset, buffer.capacity(), new CRC32C()) < 0;
+    }
+
+    void seal() {
+        sealed = true;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    /**
+     * Q-Insight: Flushes the first {@code length} bytes to disk.
+     */
+    void force(int length) {
+        buffer.force(0, length);
+    }
+
+    void delete() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    private void recover() {
+        int limit = buffer.capacity();
+        int position = 0;
+        CRC32C crc = new CRC32C();
+        int end;
+        while ((end = frameEnd(position, limit, crc)) >= 0) {
+            position = end;
+        }
+        committed = position;
+        // Clear a torn frame and anything after it.
+        byte[] zeros = new byte[ZERO_CHUNK];
+        for (int offset = position; offset < limit; offset += ZERO_CHUNK) {
+            buffer.put(offset, zeros, 0, Math.min(ZERO_CHUNK, limit - offset));
+        }
+        buffer.force();
+    }
+
+    /**
+     * @return The end of the valid frame at {@code position}, or -1 if there is none.
+     */
+    private int frameEnd(int position, int limit, CRC32C crc) {
+        if ((long) position + FRAME_HEADER_BYTES > limit) {
+            return -1;
+        }
+        int length = buffer.getInt(position);
+        if (length <= 0 || (long) position + FRAME_HEADER_BYTES + length > limit) {
+            return -1;
+        }
+        crc.reset();
+        crc.update(buffer.slice(position + FRAME_HEADER_BYTES, length));
+        if ((int) crc.getValue() != buffer.getInt(position + Integer.BYTES)) {
+            return -1;
+        }
+        return position + FRAME_HEADER_BYTES + length;
+    }
+}
@@ -0,0 +1,126 @@
+package com.institucion.ticketero.module_executives.application;
+
+import com.institucion.ticketero.module_executives.domain.Executive;
+import com.institucion.ticketero.module_executives.domain.ExecutiveStatus;
+import com.institucion.ticketero.module_executives.domain.ExecutiveStatusChangedEvent;
+import com.institucion.ticketero.module_executives.infrastructure.ExecutiveRepository;
+import com.institucion.ticketero.module_queues.domain.AttentionType;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Q-Insight: In-Memory Availability Index of Executives.
+ * Keeps, for every attention type, the AVAILABLE executives able to serve it in the order they became
+ * available, so "who can take a CAJA ticket now" is answered in O(1) without SQL.
+ * It is loaded from the executives table when the application starts and then kept current from
+ * {@link ExecutiveStatusChangedEvent}s. Its listener runs before other after-commit listeners, so a
+ * dispatch pass triggered by the same commit already sees the change.
+ */
+@Component
+public class ExecutiveAvailabilityIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutiveAvailabilityIndex.class);
+
+    private final ExecutiveRepository executiveRepository;
+    private final Map<AttentionType, Deque<Long>> availableBySkill = new EnumMap<>(AttentionType.class);
+    // Skills of every AVAILABLE executive, in the order they became available.
+    private final Map<Long, Set<AttentionType>> availableExecutives = new LinkedHashMap<>();
+
+    public ExecutiveAvailabilityIndex(ExecutiveRepository executiveRepository) {
+        this.executiveRepository = executiveRepository;
+        for (AttentionType type : AttentionType.values()) {
+            availableBySkill.put(type, new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Q-Insight: Reloads the index from the executives table.
+     */
+    @PostConstruct
+    public synchronized void rebuild() {
+        availableExecutives.clear();
+        availableBySkill.values().forEach(Deque::clear);
+        List<Executive> executives = executiveRepository.findAllByStatusOrderByLastStatusChangeAsc(ExecutiveStatus.AVAILABLE);
+        for (Executive executive : executives) {
+            markAvailable(executive.getId(), executive.getSupportedAttentionTypes());
+        }
+        logger.info("Executive availability index rebuilt with {} available executives", executives.size());
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onExecutiveStatusChanged(ExecutiveStatusChangedEvent event) {
+        if (event.status() == ExecutiveStatus.AVAILABLE) {
+            markAvailable(event.executiveId(), event.skills());
+        } else {
+            markUnavailable(event.executiveId());
+        }
+    }
+
+    /**
+     * Q-Insight: Adds an executive, or updates the skills of one already available without losing their place.
+     */
+    public synchronized void markAvailable(Long executiveId, Set<AttentionType> skills) {
+        Set<AttentionType> newSkills = skills == null || skills.isEmpty() ? EnumSet.noneOf(AttentionType.class) : EnumSet.copyOf(skills);
+        Set<AttentionType> oldSkills = availableExecutives.put(executiveId, newSkills);
+        for (AttentionType type : AttentionType.values()) {
+            boolean had = oldSkills != null && oldSkills.contains(type);
+            boolean has = newSkills.contains(type);
+            if (has && !had) {
+                availableBySkill.get(type).addLast(executiveId);
+            } else if (had && !has) {
+                availableBySkill.get(type).remove(executiveId);
+            }
+        }
+    }
+
+    public synchronized void markUnavailable(Long executiveId) {
+        Set<AttentionType> skills = availableExecutives.remove(executiveId);
+        if (skills != null) {
+            for (AttentionType type : skills) {
+                availableBySkill.get(type).remove(executiveId);
+            }
+        }
+    }
+
+    /**
+     * Q-Insight: The executive who has been available the longest among those able to serve a queue, in O(1).
+     */
+    public synchronized Optional<Long> nextAvailable(AttentionType attentionType) {
+        return Optional.ofNullable(availableBySkill.get(attentionType).peekFirst());
+    }
+
+    /**
+     * Q-Insight: Number of available executives able to serve a queue, in O(1).
+     */
+    public synchronized int availableCount(AttentionType attentionType) {
+        return availableBySkill.get(attentionType).size();
+    }
+
+    /**
+     * Q-Insight: Ids of all available executives, longest available first.
+     */
+    public synchronized List<Long> availableExecutives() {
+        return new ArrayList<>(availableExecutives.keySet());
+    }
+
+    public synchronized boolean hasAvailableExecutives() {
+        return !availableExecutives.isEmpty();
+    }
+}
@@ -5,12 +5,15 @@ import com.institucion.ticketero.module_executives.api.CreateExecutiveRequest;
 import com.institucion.ticketero.module_executives.api.ExecutiveDetailsResponse;
 import com.institucion.ticketero.module_executives.api.UpdateExecutiveRequest;
 import com.institucion.ticketero.module_executives.domain.Executive;
+import com.institucion.ticketero.module_executives.domain.ExecutiveStatusChangedEvent;
 import com.institucion.ticketero.module_executives.domain.ExecutiveStatus;
 import com.institucion.ticketero.module_executives.infrastructure.ExecutiveRepository;
 import com.institucion.ticketero.module_queues.domain.AttentionType;
 import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -19,9 +22,11 @@ import java.util.stream.Collectors;
 public class ExecutiveService {
 
     private final ExecutiveRepository executiveRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ExecutiveService(ExecutiveRepository executiveRepository) {
+    public ExecutiveService(ExecutiveRepository executiveRepository, ApplicationEventPublisher eventPublisher) {
         this.executiveRepository = executiveRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -30,8 +35,10 @@ public class ExecutiveService {
         executive.setFullName(request.fullName());
         executive.setModule(request.module());
         executive.setStatus(ExecutiveStatus.AVAILABLE); // New executives are available by default
+        executive.setLastStatusChange(LocalDateTime.now());
         executive.setSupportedAttentionTypes(new HashSet<>(request.supportedAttentionTypes()));
         Executive savedExecutive = executiveRepository.save(executive);
+        eventPublisher.publishEvent(ExecutiveStatusChangedEvent.of(savedExecutive));
         return mapToExecutiveDetailsResponse(savedExecutive);
     }
 
@@ -57,6 +64,7 @@ public class ExecutiveService {
         // Status is managed separately, not via this update request
         executive.setSupportedAttentionTypes(new HashSet<>(request.supportedAttentionTypes()));
         Executive updatedExecutive = executiveRepository.save(executive);
+        eventPublisher.publishEvent(ExecutiveStatusChangedEvent.of(updatedExecutive));
         return mapToExecutiveDetailsResponse(updatedExecutive);
     }
 
@@ -66,6 +74,7 @@ public class ExecutiveService {
             throw new ResourceNotFoundException("Executive not found with ID: " + executiveId);
         }
         executiveRepository.deleteById(executiveId);
+        eventPublisher.publishEvent(ExecutiveStatusChangedEvent.removed(executiveId));
     }
 
     @Transactional
@@ -75,6 +84,7 @@ public class ExecutiveService {
         
         executive.setSupportedAttentionTypes(new HashSet<>(attentionTypes));
         executiveRepository.save(executive);
+        eventPublisher.publishEvent(ExecutiveStatusChangedEvent.of(executive));
     }
 
     private ExecutiveDetailsResponse mapToExecutiveDetailsResponse(Executive executive) {
@@ -1,5 +1,6 @@
 package com.institucion.ticketero.module_executives.domain;
 
+import com.institucion.ticketero.module_executives.infrastructure.AttentionTypeMaskConverter;
 import com.institucion.ticketero.module_queues.domain.AttentionType;
 import jakarta.persistence.*;
 
@@ -50,11 +51,10 @@ public class Executive {
      * Q-Insight: Supported Attention Types.
      * A set of attention types that this executive is qualified to handle.
      * This allows for flexible assignment rules (e.g., a versatile executive can handle both CAJA and PERSONAL_BANKER).
+     * Stored as a bitmask in the executives row itself, so loading executives needs no join.
      */
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "executive_attention_types", joinColumns = @JoinColumn(name = "executive_id"))
-    @Enumerated(EnumType.STRING)
-    @Column(name = "attention_type", nullable = false)
+    @Convert(converter = AttentionTypeMaskConverter.class)
+    @Column(name = "skill_mask", nullable = false)
     private Set<AttentionType> supportedAttentionTypes;
 
     /**
@@ -0,0 +1,54 @@
+package com.institucion.ticketero.module_executives.domain;
+
+import com.institucion.ticketero.module_queues.domain.AttentionType;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Q-Insight: Domain Event for Executive Availability Changes.
+ * Published whenever an executive is created, updated, deleted, changes status or changes skills, so that the
+ * availability index, the dispatcher and the dashboard snapshot can react without querying the executives table.
+ * Listeners are expected to react after the surrounding transaction commits.
+ *
+ * @param executiveId The executive's primary key.
+ * @param fullName The executive's name ({@code null} once deleted).
+ * @param module The executive's service module ({@code null} once deleted).
+ * @param status The executive's status after the change ({@code OFFLINE} once deleted).
+ * @param skills The attention types the executive supports after the change.
+ * @param since When the executive entered this status.
+ */
+public record ExecutiveStatusChangedEvent(
+    Long executiveId,
+    String fullName,
+    String module,
+    ExecutiveStatus status,
+    Set<AttentionType> skills,
+    LocalDateTime since
+) {
+
+    /**
+     * Q-Insight: Builds the event from the executive's current state.
+     */
+    public static ExecutiveStatusChangedEvent of(Executive executive) {
+        return new ExecutiveStatusChangedEvent(
+                executive.getId(),
+                executive.getFullName(),
+                executive.getModule(),
+                executive.getStatus(),
+                executive.getSupportedAttentionTypes() != null ? Set.copyOf(executive.getSupportedAttentionTypes()) : Set.of(),
+                executive.getLastStatusChange()
+        );
+    }
+
+    public static ExecutiveStatusChangedEvent removed(Long executiveId) {
+        return new ExecutiveStatusChangedEvent(executiveId, null, null, ExecutiveStatus.OFFLINE, Set.of(), LocalDateTime.now());
+    }
+
+    /**
+     * Q-Insight: Whether the executive was deleted rather than just changing status.
+     */
+    public boolean isRemoved() {
+        return fullName == null;
+    }
+}
@@ -0,0 +1,50 @@
+package com.institucion.ticketero.module_executives.infrastructure;
+
+import com.institucion.ticketero.module_queues.domain.AttentionType;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Q-Insight: JPA Converter for Executive Skills.
+ * Stores a set of attention types as an integer bitmask in a single column, so loading an executive never
+ * joins a collection table. Bit {@code n} stands for the attention type with ordinal {@code n}; new
+ * attention types must therefore be appended to the enum, never inserted or reordered.
+ */
+@Converter
+public class AttentionTypeMaskConverter implements AttributeConverter<Set<AttentionType>, Integer> {
+
+    private static final AttentionType[] TYPES = AttentionType.values();
+
+    @Override
+    public Integer convertToDatabaseColumn(Set<AttentionType> attentionTypes) {
+        return toMask(attentionTypes);
+    }
+
+    @Override
+    public Set<AttentionType> convertToEntityAttribute(Integer mask) {
+        return fromMask(mask != null ? mask : 0);
+    }
+
+    public static int toMask(Set<AttentionType> attentionTypes) {
+        int mask = 0;
+        if (attentionTypes != null) {
+            for (AttentionType type : attentionTypes) {
+                mask |= 1 << type.ordinal();
+            }
+        }
+        return mask;
+    }
+
+    public static Set<AttentionType> fromMask(int mask) {
+        Set<AttentionType> attentionTypes = EnumSet.noneOf(AttentionType.class);
+        for (AttentionType type : TYPES) {
+            if ((mask & (1 << type.ordinal())) != 0) {
+                attentionTypes.add(type);
+            }
+        }
+        return attentionTypes;
+    }
+}
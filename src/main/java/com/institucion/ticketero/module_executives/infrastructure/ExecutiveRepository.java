@@ -2,12 +2,11 @@ package com.institucion.ticketero.module_executives.infrastructure;
 
 import com.institucion.ticketero.module_executives.domain.Executive;
 import com.institucion.ticketero.module_executives.domain.ExecutiveStatus;
-import com.institucion.ticketero.module_queues.domain.AttentionType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
-import java.util.Optional;
 
 /**
  * Q-Insight: Infrastructure Repository for Executives.
@@ -16,14 +15,23 @@ import java.util.Optional;
 @Repository
 public interface ExecutiveRepository extends JpaRepository<Executive, Long> {
 
+    List<Executive> findAllByStatus(ExecutiveStatus status);
+
     /**
-     * Q-Insight: Finds an available executive for a specific queue type.
-     * This is a key query for the automatic ticket assignment algorithm (RF-004).
-     * It looks for an executive who is AVAILABLE and supports the required AttentionType.
-     * The `findFirst` part implies a selection strategy (e.g., could be ordered by `lastStatusChange` for load balancing).
+     * Q-Insight: Executives in a status, longest in that status first.
+     * Used to load the availability index, longest idle first.
      */
-    Optional<Executive> findFirstByStatusAndSupportedAttentionTypesContainingOrderByLastStatusChangeAsc(
-            ExecutiveStatus status, AttentionType attentionType);
+    List<Executive> findAllByStatusOrderByLastStatusChangeAsc(ExecutiveStatus status);
 
-    List<Executive> findAllByStatus(ExecutiveStatus status);
+    /**
+     * Q-Insight: Claims the available executives for a clustered dispatch pass, longest available first.
+     * The rows stay locked until the pass commits; executives locked by another node's pass are skipped.
+     */
+    @Query(value = """
+        SELECT * FROM executives
+        WHERE status = 'AVAILABLE'
+        ORDER BY last_status_change NULLS FIRST
+        FOR UPDATE SKIP LOCKED
+    """, nativeQuery = true)
+    List<Executive> claimAvailableExecutives();
 }
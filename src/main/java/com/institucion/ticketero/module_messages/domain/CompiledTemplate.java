@@ -0,0 +1,113 @@
+package com.institucion.ticketero.module_messages.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Q-Insight: A Message Template Parsed Once.
+ * Understands the subset of {@link String#format} the message templates use ({@code %s}, {@code %d} and
+ * {@code %%}) and splits the template into literal segments and placeholders when it is compiled, so rendering
+ * is a straight walk over the segments instead of a regex-driven parse per call.
+ * Rendering writes into a per-thread {@link StringBuilder} that is reused from call to call.
+ * Templates are Telegram HTML ({@code ParseMode.HTML}): the literal markup is kept as is, while every
+ * interpolated {@code %s} value is HTML-escaped so a name containing {@code <} or {@code &} cannot break the message.
+ */
+public final class CompiledTemplate {
+
+    private static final int RETAINED_BUFFER_CAPACITY = 4096;
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    private final String[] literals;
+    private final boolean[] numeric;
+
+    private CompiledTemplate(String[] literals, boolean[] numeric) {
+        this.literals = literals;
+        this.numeric = numeric;
+    }
+
+    /**
+     * Q-Insight: Parses a template.
+     * @throws IllegalArgumentException If the template uses a specifier other than {@code %s}, {@code %d} or {@code %%}.
+     */
+    public static CompiledTemplate compile(String template) {
+        List<String> literals = new ArrayList<>();
+        List<Boolean> numeric = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        for (int i = 0; i < template.length(); i++) {
+            char c = template.charAt(i);
+            if (c != '%') {
+                literal.append(c);
+                continue;
+            }
+            char specifier = i + 1 < template.length() ? template.charAt(++i) : '\0';
+            switch (specifier) {
+                case '%' -> literal.append('%');
+                case 's', 'd' -> {
+                    literals.add(literal.toString());
+                    literal.setLength(0);
+                    numeric.add(specifier == 'd');
+                }
+                default -> throw new IllegalArgumentException("Unsupported format specifier %" + specifier + " in template: " + template);
+            }
+        }
+        literals.add(literal.toString());
+        boolean[] kinds = new boolean[numeric.size()];
+        for (int i = 0; i < kinds.length; i++) {
+            kinds[i] = numeric.get(i);
+        }
+        return new CompiledTemplate(literals.toArray(String[]::new), kinds);
+    }
+
+    /**
+     * Q-Insight: Renders the template with its placeholders filled in order.
+     * @throws IllegalArgumentException If the number of values does not match, or a {@code %d} value is not an integer.
+     */
+    public String render(Object... values) {
+        if (values.length != numeric.length) {
+            throw new IllegalArgumentException("Template expects " + numeric.length + " values but got " + values.length);
+        }
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+        for (int i = 0; i < numeric.length; i++) {
+            out.append(literals[i]);
+            if (numeric[i]) {
+                appendInteger(out, values[i]);
+            } else {
+                appendEscaped(out, String.valueOf(values[i]));
+            }
+        }
+        out.append(literals[numeric.length]);
+        String rendered = out.toString();
+        if (out.capacity() > RETAINED_BUFFER_CAPACITY) {
+            // Do not keep an unusually large buffer alive for the rest of the thread's life.
+            BUFFER.remove();
+        }
+        return rendered;
+    }
+
+    private static void appendInteger(StringBuilder out, Object value) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            out.append(((Number) value).longValue());
+        } else {
+            throw new IllegalArgumentException("%d needs an integer value, got: " + value);
+        }
+    }
+
+    private static void appendEscaped(StringBuilder out, String value) {
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            String entity = switch (value.charAt(i)) {
+                case '&' -> "&amp;";
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '"' -> "&quot;";
+                default -> null;
+            };
+            if (entity != null) {
+                out.append(value, start, i).append(entity);
+                start = i + 1;
+            }
+        }
+        out.append(value, start, value.length());
+    }
+}
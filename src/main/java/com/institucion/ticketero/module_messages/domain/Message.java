@@ -1,6 +1,5 @@
 package com.institucion.ticketero.module_messages.domain;
 
-import com.institucion.ticketero.module_tickets.domain.Ticket;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
@@ -12,9 +11,9 @@ public class Message {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "ticket_id")
-    private Ticket ticket;
+    // Kept as the raw key: the outbox never needs the ticket itself.
+    @Column(name = "ticket_id")
+    private Long ticketId;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
@@ -24,6 +23,10 @@ public class Message {
     @Column(nullable = false)
     private MessageStatus estadoEnvio;
 
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private MessageChannel canal = MessageChannel.TELEGRAM;
+
     @Column(nullable = false)
     private LocalDateTime fechaProgramada;
 
@@ -34,11 +37,16 @@ public class Message {
     @Column(nullable = false)
     private int intentos = 0;
 
+    // The recipient on the message's channel: a Telegram chat, a phone number or an e-mail address.
     @Column(nullable = false)
     private String chatId;
 
-    @Lob
+    // A plain TEXT column: @Lob would map to a PostgreSQL large object and cost an extra lookup per read.
+    @Column(columnDefinition = "TEXT")
     private String content;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime fechaCreacion;
     
     // Getters and Setters
 
@@ -50,12 +58,12 @@ public class Message {
         this.id = id;
     }
 
-    public Ticket getTicket() {
-        return ticket;
+    public Long getTicketId() {
+        return ticketId;
     }
 
-    public void setTicket(Ticket ticket) {
-        this.ticket = ticket;
+    public void setTicketId(Long ticketId) {
+        this.ticketId = ticketId;
     }
 
     public MessageTemplate getPlantilla() {
@@ -74,6 +82,14 @@ public class Message {
         this.estadoEnvio = estadoEnvio;
     }
 
+    public MessageChannel getCanal() {
+        return canal;
+    }
+
+    public void setCanal(MessageChannel canal) {
+        this.canal = canal;
+    }
+
     public LocalDateTime getFechaProgramada() {
         return fechaProgramada;
     }
@@ -121,4 +137,12 @@ public class Message {
     public void setContent(String content) {
         this.content = content;
     }
+
+    public LocalDateTime getFechaCreacion() {
+        return fechaCreacion;
+    }
+
+    public void setFechaCreacion(LocalDateTime fechaCreacion) {
+        this.fechaCreacion = fechaCreacion;
+    }
 }
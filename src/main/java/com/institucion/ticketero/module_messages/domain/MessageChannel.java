@@ -0,0 +1,11 @@
+package com.institucion.ticketero.module_messages.domain;
+
+/**
+ * Q-Insight: The channel a message is delivered through.
+ * Each channel has its own outbox relay, so a slow or failing channel never holds up the others.
+ */
+public enum MessageChannel {
+    TELEGRAM,
+    SMS,
+    EMAIL
+}
@@ -0,0 +1,33 @@
+package com.institucion.ticketero.module_messages.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * Q-Insight: Outcome of one delivery attempt, recorded back into the outbox.
+ *
+ * @param messageId The message's primary key.
+ * @param status {@code ENVIADO}, {@code FALLIDO}, or {@code PENDIENTE} to be tried again.
+ * @param at When it was sent ({@code ENVIADO}) or when to try again ({@code PENDIENTE}).
+ * @param telegramMessageId The id Telegram gave the sent message, if any.
+ * @param attempted Whether a send was attempted; messages held back behind a failed one of the same chat were not.
+ */
+public record MessageDeliveryResult(
+    long messageId,
+    MessageStatus status,
+    LocalDateTime at,
+    String telegramMessageId,
+    boolean attempted
+) {
+
+    public static MessageDeliveryResult sent(long messageId, LocalDateTime sentAt, String telegramMessageId) {
+        return new MessageDeliveryResult(messageId, MessageStatus.ENVIADO, sentAt, telegramMessageId, true);
+    }
+
+    public static MessageDeliveryResult retryAt(long messageId, LocalDateTime nextAttempt, boolean attempted) {
+        return new MessageDeliveryResult(messageId, MessageStatus.PENDIENTE, nextAttempt, null, attempted);
+    }
+
+    public static MessageDeliveryResult failed(long messageId) {
+        return new MessageDeliveryResult(messageId, MessageStatus.FALLIDO, null, null, true);
+    }
+}
@@ -0,0 +1,10 @@
+package com.institucion.ticketero.module_messages.domain;
+
+/**
+ * Q-Insight: Domain Event for a Message Written to the Outbox.
+ * Lets the outbox relay of its channel deliver it as soon as the enqueuing transaction commits, instead of on its next poll.
+ *
+ * @param messageId The message's primary key.
+ * @param channel The channel the message goes out through.
+ */
+public record MessageEnqueuedEvent(Long messageId, MessageChannel channel) {}
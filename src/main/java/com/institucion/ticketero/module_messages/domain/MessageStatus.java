@@ -2,6 +2,15 @@ package com.institucion.ticketero.module_messages.domain;
 
 public enum MessageStatus {
     PENDIENTE,
+    /**
+     * Claimed by an outbox relay that is sending it; {@code fechaProgramada} holds when the claim expires.
+     */
+    EN_PROCESO,
     ENVIADO,
-    FALLIDO
+    FALLIDO,
+    /**
+     * Never sent because it went stale first: a newer message for the same ticket superseded it, or it outlived the
+     * outbox TTL.
+     */
+    DESCARTADO
 }
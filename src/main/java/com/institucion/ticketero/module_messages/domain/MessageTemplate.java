@@ -3,15 +3,27 @@ package com.institucion.ticketero.module_messages.domain;
 public enum MessageTemplate {
     TOTEM_TICKET_CREADO("✅ <b>Ticket Creado</b>\n\nTu número de turno: <b>%s</b>\nPosición en cola: <b>#%d</b>\nTiempo estimado: <b>%d minutos</b>\n\nTe notificaremos cuando estés próximo."),
     TOTEM_PROXIMO_TURNO("⏰ <b>¡Pronto será tu turno!</b>\n\nTurno: <b>%s</b>\nFaltan aproximadamente 3 turnos.\n\nPor favor, acércate a la sucursal."),
-    TOTEM_ES_TU_TURNO("🔔 <b>¡ES TU TURNO %s!</b>\n\nDirígete al módulo: <b>%s</b>\nAsesor: <b>%s</b>");
+    TOTEM_ES_TU_TURNO("🔔 <b>¡ES TU TURNO %s!</b>\n\nDirígete al módulo: <b>%s</b>\nAsesor: <b>%s</b>"),
+    // The text actually sent is telegram.bot.welcome.message; the constant records which message it was.
+    TELEGRAM_BIENVENIDA("¡Hola! Soy el bot de turnos. Tu ID de chat es: <code>%d</code>"),
+    TELEGRAM_REGISTRO_CONFIRMADO("📲 <b>¡Listo!</b>\n\nTe avisaremos por aquí de los turnos del RUT <b>%s</b>.");
 
     private final String template;
+    private final CompiledTemplate compiled;
 
     MessageTemplate(String template) {
         this.template = template;
+        this.compiled = CompiledTemplate.compile(template);
     }
 
     public String getTemplate() {
         return template;
     }
+
+    /**
+     * Q-Insight: Renders the message, HTML-escaping the values. See {@link CompiledTemplate}.
+     */
+    public String render(Object... values) {
+        return compiled.render(values);
+    }
 }
@@ -0,0 +1,23 @@
+package com.institucion.ticketero.module_messages.domain;
+
+import java.util.List;
+
+/**
+ * Q-Insight: The result of one outbox claim.
+ * Stale messages found by the claim are discarded on the spot, so only the rest are handed out for delivery.
+ *
+ * @param messages The messages to send, oldest first.
+ * @param discarded How many claimed messages were marked DESCARTADO instead.
+ */
+public record OutboxBatch(
+    List<OutboxMessage> messages,
+    int discarded
+) {
+
+    /**
+     * Q-Insight: How many rows the claim took, sent or not; a full batch means more may be due.
+     */
+    public int claimed() {
+        return messages.size() + discarded;
+    }
+}
@@ -0,0 +1,17 @@
+package com.institucion.ticketero.module_messages.domain;
+
+/**
+ * Q-Insight: A message claimed from the outbox for delivery.
+ * The minimal, immutable view of a {@link Message} row that the relay needs to send it.
+ *
+ * @param id The message's primary key.
+ * @param chatId The recipient on the message's channel (for Telegram, the chat).
+ * @param content The rendered message text.
+ * @param intentos Delivery attempts made before this one.
+ */
+public record OutboxMessage(
+    long id,
+    String chatId,
+    String content,
+    int intentos
+) {}
@@ -0,0 +1,46 @@
+package com.institucion.ticketero.module_messages.domain;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Q-Insight: Retry Schedule for Outbox Messages.
+ * Exponential backoff with jitter: the n-th failed attempt waits {@code initialDelay * multiplier^(n-1)},
+ * capped at {@code maxDelay}, and then shortened by a random fraction of up to {@code jitter}. The jitter
+ * spreads out messages that failed together (e.g. during a Telegram outage) so they do not all retry at once.
+ * The delay only ever becomes a {@code fecha_programada} in the messages table; nothing waits for it.
+ */
+public final class RetryBackoff {
+
+    private final long initialDelayMillis;
+    private final double multiplier;
+    private final long maxDelayMillis;
+    private final double jitter;
+    private final DoubleSupplier random;
+
+    public RetryBackoff(Duration initialDelay, double multiplier, Duration maxDelay, double jitter) {
+        this(initialDelay, multiplier, maxDelay, jitter, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    RetryBackoff(Duration initialDelay, double multiplier, Duration maxDelay, double jitter, DoubleSupplier random) {
+        if (initialDelay.isNegative() || multiplier < 1 || maxDelay.compareTo(initialDelay) < 0 || jitter < 0 || jitter > 1) {
+            throw new IllegalArgumentException("Invalid retry backoff");
+        }
+        this.initialDelayMillis = initialDelay.toMillis();
+        this.multiplier = multiplier;
+        this.maxDelayMillis = maxDelay.toMillis();
+        this.jitter = jitter;
+        this.random = random;
+    }
+
+    /**
+     * Q-Insight: How long to wait after the given failed attempt.
+     * @param attempt The attempt that just failed, starting at 1.
+     */
+    public Duration delayAfter(int attempt) {
+        double exponential = initialDelayMillis * Math.pow(multiplier, Math.max(0, attempt - 1));
+        double capped = Math.min(exponential, maxDelayMillis);
+        return Duration.ofMillis((long) (capped * (1 - jitter * random.getAsDouble())));
+    }
+}
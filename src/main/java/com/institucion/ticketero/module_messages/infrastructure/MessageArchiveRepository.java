@@ -0,0 +1,56 @@
+package com.institucion.ticketero.module_messages.infrastructure;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Q-Insight: Infrastructure Repository for the Messages Archive.
+ * Moves finished messages (ENVIADO, FALLIDO, DESCARTADO) out of the messages table in one statement per chunk:
+ * the rows are deleted and inserted into messages_archive together, so a chunk is either moved whole or not at all.
+ */
+@Repository
+public class MessageArchiveRepository {
+
+    /*
+     * Oldest first through idx_messages_created_at. SKIP LOCKED keeps two nodes running the job from waiting on each
+     * other. Messages still being delivered are never picked.
+     */
+    private static final String ARCHIVE_CHUNK_SQL = """
+        WITH moved AS (
+            DELETE FROM messages
+            WHERE id IN (
+                SELECT id FROM messages
+                WHERE fecha_creacion < ? AND estado_envio IN ('ENVIADO', 'FALLIDO', 'DESCARTADO')
+                ORDER BY fecha_creacion
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING id, ticket_id, plantilla, estado_envio, fecha_programada, fecha_envio, telegram_message_id,
+                      intentos, chat_id, content, fecha_creacion, canal
+        )
+        INSERT INTO messages_archive (id, ticket_id, plantilla, estado_envio, fecha_programada, fecha_envio,
+                                      telegram_message_id, intentos, chat_id, content, fecha_creacion, canal)
+        SELECT id, ticket_id, plantilla, estado_envio, fecha_programada, fecha_envio, telegram_message_id,
+               intentos, chat_id, content, fecha_creacion, canal
+        FROM moved
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MessageArchiveRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Q-Insight: Moves one chunk of finished messages to the archive, in its own transaction.
+     * @param enqueuedBefore Only messages enqueued before this are moved.
+     * @param limit The largest chunk to move.
+     * @return How many messages were moved.
+     */
+    public int archiveChunk(LocalDateTime enqueuedBefore, int limit) {
+        return jdbcTemplate.update(ARCHIVE_CHUNK_SQL, Timestamp.valueOf(enqueuedBefore), limit);
+    }
+}
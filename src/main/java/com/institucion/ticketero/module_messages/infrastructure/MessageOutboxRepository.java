@@ -0,0 +1,129 @@
+package com.institucion.ticketero.module_messages.infrastructure;
+
+import com.institucion.ticketero.module_messages.domain.MessageChannel;
+import com.institucion.ticketero.module_messages.domain.MessageDeliveryResult;
+import com.institucion.ticketero.module_messages.domain.OutboxBatch;
+import com.institucion.ticketero.module_messages.domain.OutboxMessage;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Q-Insight: Infrastructure Repository for the Message Outbox.
+ * Claims due messages for delivery and records the results, both through JDBC so each is a single
+ * round trip: a claim is one {@code UPDATE ... RETURNING}, and results are written as batched updates.
+ */
+@Repository
+public class MessageOutboxRepository {
+
+    /*
+     * Each channel's relay claims only its own channel's messages.
+     * Due messages are PENDIENTE ones whose time has come, plus EN_PROCESO ones whose claim expired
+     * (their relay died mid-send). SKIP LOCKED lets relays on several nodes claim disjoint batches.
+     * The scan uses the partial index idx_messages_due and the supersession check idx_messages_ticket_channel (V10).
+     * A due message is stale when a newer message exists for the same ticket on the same channel (it superseded this one) or when it
+     * was enqueued before the TTL cut-off; stale messages are marked DESCARTADO by the same statement instead of
+     * being claimed.
+     */
+    private static final String CLAIM_SQL = """
+        WITH due AS (
+            SELECT c.id,
+                   c.fecha_creacion < ?
+                       OR EXISTS (SELECT 1 FROM messages n WHERE n.ticket_id = c.ticket_id AND n.canal = c.canal AND n.id > c.id) AS stale
+            FROM messages c
+            WHERE c.canal = ? AND c.estado_envio IN ('PENDIENTE', 'EN_PROCESO') AND c.fecha_programada <= ?
+            ORDER BY c.fecha_programada, c.id
+            LIMIT ?
+            FOR UPDATE OF c SKIP LOCKED
+        )
+        UPDATE messages m
+        SET estado_envio = CASE WHEN due.stale THEN 'DESCARTADO' ELSE 'EN_PROCESO' END,
+            fecha_programada = CASE WHEN due.stale THEN m.fecha_programada ELSE ? END
+        FROM due
+        WHERE m.id = due.id
+        RETURNING m.id, m.chat_id, m.content, m.intentos, due.stale
+        """;
+
+    private static final String MARK_SENT_SQL = """
+        UPDATE messages
+        SET estado_envio = 'ENVIADO', fecha_envio = ?, telegram_message_id = ?, intentos = intentos + 1
+        WHERE id = ?
+        """;
+
+    private static final String RESCHEDULE_SQL = """
+        UPDATE messages
+        SET estado_envio = 'PENDIENTE', fecha_programada = ?, intentos = intentos + ?
+        WHERE id = ?
+        """;
+
+    private static final String MARK_FAILED_SQL = """
+        UPDATE messages
+        SET estado_envio = 'FALLIDO', intentos = intentos + 1
+        WHERE id = ?
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MessageOutboxRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Q-Insight: Claims a batch of due messages on one channel.
+     * Claimed messages move to {@code EN_PROCESO} until {@code claimUntil}; if their results are not recorded
+     * by then, they become due again. Stale ones are discarded rather than claimed.
+     * @param channel The channel whose messages to claim.
+     * @param limit The largest batch to claim.
+     * @param now The current time.
+     * @param claimUntil When the claim expires.
+     * @param expiredBefore Messages enqueued before this are discarded.
+     * @return The messages to send, oldest first, and how many were discarded.
+     */
+    public OutboxBatch claimBatch(MessageChannel channel, int limit, LocalDateTime now, LocalDateTime claimUntil, LocalDateTime expiredBefore) {
+        List<OutboxMessage> claimed = new ArrayList<>();
+        int[] discarded = {0};
+        jdbcTemplate.query(CLAIM_SQL, rs -> {
+            if (rs.getBoolean("stale")) {
+                discarded[0]++;
+            } else {
+                claimed.add(new OutboxMessage(rs.getLong("id"), rs.getString("chat_id"), rs.getString("content"), rs.getInt("intentos")));
+            }
+        }, Timestamp.valueOf(expiredBefore), channel.name(), Timestamp.valueOf(now), limit, Timestamp.valueOf(claimUntil));
+        // RETURNING does not keep the sub-select order; ids follow enqueue order.
+        claimed.sort(Comparator.comparingLong(OutboxMessage::id));
+        return new OutboxBatch(claimed, discarded[0]);
+    }
+
+    /**
+     * Q-Insight: Records the results of a batch, one batched update per outcome.
+     */
+    @Transactional
+    public void saveResults(List<MessageDeliveryResult> results) {
+        List<Object[]> sent = new ArrayList<>();
+        List<Object[]> rescheduled = new ArrayList<>();
+        List<Object[]> failed = new ArrayList<>();
+        for (MessageDeliveryResult result : results) {
+            switch (result.status()) {
+                case ENVIADO -> sent.add(new Object[]{Timestamp.valueOf(result.at()), result.telegramMessageId(), result.messageId()});
+                case PENDIENTE -> rescheduled.add(new Object[]{Timestamp.valueOf(result.at()), result.attempted() ? 1 : 0, result.messageId()});
+                case FALLIDO -> failed.add(new Object[]{result.messageId()});
+                default -> throw new IllegalArgumentException("Not a delivery outcome: " + result.status());
+            }
+        }
+        batchUpdate(MARK_SENT_SQL, sent);
+        batchUpdate(RESCHEDULE_SQL, rescheduled);
+        batchUpdate(MARK_FAILED_SQL, failed);
+    }
+
+    private void batchUpdate(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows);
+        }
+    }
+}
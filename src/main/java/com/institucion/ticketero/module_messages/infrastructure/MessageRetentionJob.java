@@ -0,0 +1,93 @@
+package com.institucion.ticketero.module_messages.infrastructure;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+
+/**
+ * Q-Insight: Messages Retention Job.
+ * Keeps the messages table as small as the outbox needs it: finished messages older than {@code retention-days}
+ * are moved to messages_archive in chunks of {@code chunk-size}, each its own short transaction, with a pause
+ * between chunks so the job never holds locks or floods the WAL for long. A run stops after {@code max-chunks-per-run};
+ * whatever is left waits for the next run. Moved messages are counted by {@code ticketero.messages.archived}.
+ */
+@Component
+public class MessageRetentionJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageRetentionJob.class);
+
+    private final MessageArchiveRepository archiveRepository;
+    private final Counter archived;
+    private final int retentionDays;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+    private final long pauseMillis;
+    private final Clock clock;
+
+    @Autowired
+    public MessageRetentionJob(MessageArchiveRepository archiveRepository, MeterRegistry meterRegistry,
+                               @Value("${ticketero.messages.retention.days:30}") int retentionDays,
+                               @Value("${ticketero.messages.retention.chunk-size:1000}") int chunkSize,
+                               @Value("${ticketero.messages.retention.max-chunks-per-run:500}") int maxChunksPerRun,
+                               @Value("${ticketero.messages.retention.pause-ms:100}") long pauseMillis) {
+        this(archiveRepository, meterRegistry, retentionDays, chunkSize, maxChunksPerRun, pauseMillis, Clock.systemDefaultZone());
+    }
+
+    MessageRetentionJob(MessageArchiveRepository archiveRepository, MeterRegistry meterRegistry, int retentionDays,
+                        int chunkSize, int maxChunksPerRun, long pauseMillis, Clock clock) {
+        this.archiveRepository = archiveRepository;
+        this.archived = Counter.builder("ticketero.messages.archived")
+                .description("Finished messages moved to messages_archive")
+                .register(meterRegistry);
+        this.retentionDays = retentionDays;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+        this.pauseMillis = pauseMillis;
+        this.clock = clock;
+    }
+
+    @Scheduled(initialDelayString = "${ticketero.messages.retention.initial-delay-ms:60000}",
+            fixedDelayString = "${ticketero.messages.retention.interval-ms:3600000}")
+    public void archiveOldMessages() {
+        try {
+            int moved = run();
+            if (moved > 0) {
+                logger.info("Archived {} messages older than {} days", moved, retentionDays);
+            }
+        } catch (RuntimeException e) {
+            // Chunks already moved stay moved; the rest is retried on the next run.
+            logger.error("Message retention run failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Q-Insight: Moves chunks until one comes back short or the run's chunk budget is spent.
+     * @return How many messages were moved.
+     */
+    int run() throws InterruptedException {
+        LocalDateTime cutoff = LocalDateTime.now(clock).minusDays(retentionDays);
+        int total = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            int moved = archiveRepository.archiveChunk(cutoff, chunkSize);
+            total += moved;
+            archived.increment(moved);
+            if (moved < chunkSize) {
+                break;
+            }
+            if (pauseMillis > 0) {
+                Thread.sleep(pauseMillis);
+            }
+        }
+        return total;
+    }
+}
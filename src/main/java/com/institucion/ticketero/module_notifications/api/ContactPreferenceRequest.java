@@ -0,0 +1,22 @@
+package com.institucion.ticketero.module_notifications.api;
+
+import com.institucion.ticketero.module_messages.domain.MessageChannel;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Q-Insight: API DTO Record for a Customer's Notification Contact.
+ *
+ * @param channel SMS or EMAIL; Telegram chats are registered through the bot link printed with the ticket.
+ * @param address The phone number or e-mail address to notify.
+ * @param enabled Whether the customer wants to be notified on this channel.
+ */
+public record ContactPreferenceRequest(
+    @NotNull(message = "Channel must be specified.")
+    MessageChannel channel,
+
+    @NotBlank(message = "Address cannot be blank.")
+    String address,
+
+    boolean enabled
+) {}
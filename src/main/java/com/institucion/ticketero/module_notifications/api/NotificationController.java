@@ -1,8 +1,12 @@
 package com.institucion.ticketero.module_notifications.api;
 
 import com.institucion.ticketero.module_notifications.application.NotificationService;
+import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -20,4 +24,10 @@ public class NotificationController {
     public ResponseEntity<String> getTelegramBotUsername() {
         return ResponseEntity.ok(notificationService.getBotUsername());
     }
+
+    @PutMapping("/contacts/{nationalId}")
+    public ResponseEntity<Void> updateContact(@PathVariable String nationalId, @Valid @RequestBody ContactPreferenceRequest request) {
+        notificationService.updateContact(nationalId, request.channel(), request.address(), request.enabled());
+        return ResponseEntity.noContent().build();
+    }
 }
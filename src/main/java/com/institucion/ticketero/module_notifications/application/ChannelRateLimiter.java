@@ -0,0 +1,24 @@
+package com.institucion.ticketero.module_notifications.application;
+
+/**
+ * Q-Insight: Pacing for a notification channel's provider.
+ * Providers limit how fast they accept messages; sends are spread out to stay under the limit, and when the
+ * provider throttles anyway every send is paused for as long as it asked.
+ */
+public interface ChannelRateLimiter {
+
+    /**
+     * Q-Insight: Blocks until {@code recipient} may be sent a message.
+     */
+    void acquire(String recipient);
+
+    /**
+     * Q-Insight: How much longer sends are paused after the provider throttled us; 0 if they are not.
+     */
+    long pausedForNanos();
+
+    /**
+     * Q-Insight: Pauses every send after the provider answered "too many requests".
+     */
+    void onRateLimited(int retryAfterSeconds);
+}
@@ -0,0 +1,48 @@
+package com.institucion.ticketero.module_notifications.application;
+
+/**
+ * Q-Insight: A message a notification channel's provider did not accept.
+ * Carries an HTTP-style status so the relay can tell throttling (429) and provider outages (5xx, or 0 when the
+ * provider could not be reached) from a message the provider will never accept (other 4xx).
+ */
+public class ChannelSendException extends RuntimeException {
+
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private final int errorCode;
+    private final int retryAfterSeconds;
+
+    public ChannelSendException(int errorCode, String message, int retryAfterSeconds) {
+        super(message);
+        this.errorCode = errorCode;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public ChannelSendException(int errorCode, String message, Throwable cause) {
+        super(message, cause);
+        this.errorCode = errorCode;
+        this.retryAfterSeconds = 0;
+    }
+
+    public int getErrorCode() {
+        return errorCode;
+    }
+
+    /**
+     * Q-Insight: Seconds the provider asked us to wait, or 0 if it did not say.
+     */
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public boolean isRateLimited() {
+        return errorCode == TOO_MANY_REQUESTS;
+    }
+
+    /**
+     * Q-Insight: Whether the provider, rather than this message, is at fault.
+     */
+    public boolean isProviderFailure() {
+        return errorCode == 0 || errorCode >= 500;
+    }
+}
@@ -0,0 +1,39 @@
+package com.institucion.ticketero.module_notifications.application;
+
+import com.institucion.ticketero.module_messages.domain.MessageChannel;
+
+import java.util.Optional;
+
+/**
+ * Q-Insight: Service Provider Interface for a Notification Channel.
+ * Every notification fans out to each channel that has a recipient for it, as one outbox message per channel.
+ * Each channel is delivered by its own outbox relay, with its own batch, concurrency limit, rate limiter and
+ * circuit breaker, so a slow SMS gateway cannot delay a Telegram message.
+ * Adding a channel is adding a Spring bean implementing this interface.
+ */
+public interface NotificationChannel {
+
+    MessageChannel type();
+
+    /**
+     * Q-Insight: Where this channel should deliver a notification.
+     * @return The recipient (chat, phone number, address), or empty if the customer has not enabled this channel.
+     */
+    Optional<String> recipientFor(NotificationCommand command);
+
+    /**
+     * Q-Insight: Adapts a rendered message to the channel. Messages are rendered as Telegram HTML.
+     */
+    default String format(String content) {
+        return content;
+    }
+
+    /**
+     * Q-Insight: Sends one message. Called by the channel's outbox relay, paced by {@link #rateLimiter()}.
+     * @return The id the provider gave the message, or {@code null} if it gives none.
+     * @throws ChannelSendException If the provider rejected the message.
+     */
+    String send(String recipient, String content);
+
+    ChannelRateLimiter rateLimiter();
+}
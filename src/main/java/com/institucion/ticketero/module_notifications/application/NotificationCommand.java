@@ -0,0 +1,31 @@
+package com.institucion.ticketero.module_notifications.application;
+
+/**
+ * Q-Insight: A Notification to Send, Captured as Plain Data.
+ * Commands are built by the ticket module inside its transaction, from the attached entities, and carry
+ * everything the notification needs. Notification code therefore never reads a JPA entity: no lazy association
+ * can be touched outside its session, and nothing is loaded just to render a message.
+ */
+public sealed interface NotificationCommand permits TicketConfirmationCommand, PreArrivalAlertCommand, TurnActiveAlertCommand {
+
+    /**
+     * @return The ticket the notification is about; messages for one ticket supersede each other.
+     */
+    Long ticketId();
+
+    String ticketNumber();
+
+    /**
+     * @return The customer's national id, which channels use to find their contact details.
+     */
+    String nationalId();
+
+    /**
+     * @return The customer's Telegram chat, or {@code null} if they did not give one.
+     */
+    String chatId();
+
+    default boolean hasChat() {
+        return chatId() != null && !chatId().isBlank();
+    }
+}
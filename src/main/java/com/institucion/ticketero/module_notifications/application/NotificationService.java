@@ -1,33 +1,63 @@
 package com.institucion.ticketero.module_notifications.application;
 
-import com.institucion.ticketero.module_tickets.domain.Ticket;
+import com.institucion.ticketero.common.exceptions.InvalidRequestException;
+import com.institucion.ticketero.module_messages.domain.MessageChannel;
+
+import java.util.Optional;
 
 /**
  * Q-Insight: Application Service Interface for Notifications.
- * This interface defines the contract for sending notifications to customers, abstracting the specific delivery mechanism (e.g., Telegram).
+ * This interface defines the contract for sending notifications to customers, abstracting the delivery channels
+ * (Telegram, SMS, e-mail; see {@link NotificationChannel}).
  * It supports the key notification events required by the business logic (RF-002).
+ * Each notification is described by an immutable {@link NotificationCommand} captured by the caller inside its
+ * transaction, so implementations never depend on JPA entities.
  */
 public interface NotificationService {
 
     /**
      * Q-Insight: Sends a confirmation message when a ticket is created.
-     * @param ticket The newly created ticket.
-     * @param positionInQueue The ticket's initial position in the queue.
-     * @param estimatedWaitTimeMinutes The initial estimated wait time.
+     * @param command The newly created ticket, with its initial position and estimated wait.
      */
-    void sendTicketConfirmation(Ticket ticket, int positionInQueue, long estimatedWaitTimeMinutes);
+    void sendTicketConfirmation(TicketConfirmationCommand command);
 
     /**
      * Q-Insight: Sends a pre-arrival alert when the customer is nearing the front of the queue.
-     * @param ticket The ticket that is a few places away from being called.
+     * @param command The ticket that is a few places away from being called.
      */
-    void sendPreArrivalAlert(Ticket ticket);
+    void sendPreArrivalAlert(PreArrivalAlertCommand command);
 
     /**
      * Q-Insight: Sends an alert when the ticket is called to be served.
-     * @param ticket The ticket that has just been assigned to an executive.
+     * @param command The ticket that has just been assigned, with its executive's module and name.
+     */
+    void sendTurnActiveAlert(TurnActiveAlertCommand command);
+
+    /**
+     * Q-Insight: Finds the chat a customer registered for their national id, so a ticket can be notified
+     * without the customer supplying a chat id when it is created.
+     * @param nationalId The customer's national id (RUT), in any common spelling.
+     * @return The registered chat id, if any.
+     */
+    Optional<String> findChatId(String nationalId);
+
+    /**
+     * Q-Insight: The bot link that registers the chat opening it for a customer's national id.
+     * Handed out only with the customer's own ticket: opening it is what proves the chat belongs to the RUT's owner.
+     * @param nationalId The customer's national id (RUT), in any common spelling.
+     * @return The link, or empty if the national id is not a RUT.
+     */
+    Optional<String> telegramLinkFor(String nationalId);
+
+    /**
+     * Q-Insight: Enables, changes or disables the SMS or e-mail contact a customer is notified at.
+     * @param nationalId The customer's national id (RUT).
+     * @param channel {@link MessageChannel#SMS} or {@link MessageChannel#EMAIL}; Telegram chats are registered through the bot link.
+     * @param address The phone number or e-mail address.
+     * @param enabled Whether to notify the customer on this channel.
+     * @throws InvalidRequestException If the national id is not a RUT or the channel is Telegram.
      */
-    void sendTurnActiveAlert(Ticket ticket);
+    void updateContact(String nationalId, MessageChannel channel, String address, boolean enabled);
 
     /**
      * Retrieves the configured username of the Telegram bot.
@@ -0,0 +1,27 @@
+package com.institucion.ticketero.module_notifications.application;
+
+import com.institucion.ticketero.module_tickets.domain.Ticket;
+
+/**
+ * Q-Insight: Command for the pre-arrival alert (RF-002, Message 2).
+ *
+ * @param ticketId The ticket's primary key.
+ * @param ticketNumber The human-readable ticket number.
+ * @param nationalId The customer's national id.
+ * @param chatId The customer's Telegram chat.
+ */
+public record PreArrivalAlertCommand(
+    Long ticketId,
+    String ticketNumber,
+    String nationalId,
+    String chatId
+) implements NotificationCommand {
+
+    /**
+     * Q-Insight: Captures the command from a ticket. Must be called inside the transaction.
+     */
+    public static PreArrivalAlertCommand of(Ticket ticket) {
+        return new PreArrivalAlertCommand(ticket.getId(), ticket.getTicketNumber(), ticket.getNationalId(),
+                ticket.getTelefono());
+    }
+}
@@ -0,0 +1,31 @@
+package com.institucion.ticketero.module_notifications.application;
+
+import com.institucion.ticketero.module_tickets.domain.Ticket;
+
+/**
+ * Q-Insight: Command for the "ticket created" confirmation (RF-002, Message 1).
+ *
+ * @param ticketId The ticket's primary key.
+ * @param ticketNumber The human-readable ticket number.
+ * @param nationalId The customer's national id.
+ * @param chatId The customer's Telegram chat.
+ * @param positionInQueue The ticket's initial position in the queue.
+ * @param estimatedWaitMinutes The initial estimated wait time.
+ */
+public record TicketConfirmationCommand(
+    Long ticketId,
+    String ticketNumber,
+    String nationalId,
+    String chatId,
+    int positionInQueue,
+    long estimatedWaitMinutes
+) implements NotificationCommand {
+
+    /**
+     * Q-Insight: Captures the command from a ticket. Must be called inside the transaction.
+     */
+    public static TicketConfirmationCommand of(Ticket ticket, int positionInQueue, long estimatedWaitMinutes) {
+        return new TicketConfirmationCommand(ticket.getId(), ticket.getTicketNumber(), ticket.getNationalId(),
+                ticket.getTelefono(), positionInQueue, estimatedWaitMinutes);
+    }
+}
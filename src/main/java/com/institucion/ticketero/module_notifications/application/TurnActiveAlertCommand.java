@@ -0,0 +1,35 @@
+package com.institucion.ticketero.module_notifications.application;
+
+import com.institucion.ticketero.module_executives.domain.Executive;
+import com.institucion.ticketero.module_tickets.domain.Ticket;
+
+/**
+ * Q-Insight: Command for the "it's your turn" alert (RF-002, Message 3).
+ *
+ * @param ticketId The ticket's primary key.
+ * @param ticketNumber The human-readable ticket number.
+ * @param nationalId The customer's national id.
+ * @param chatId The customer's Telegram chat.
+ * @param module The module the customer is called to.
+ * @param executiveName The executive who will attend them.
+ */
+public record TurnActiveAlertCommand(
+    Long ticketId,
+    String ticketNumber,
+    String nationalId,
+    String chatId,
+    String module,
+    String executiveName
+) implements NotificationCommand {
+
+    /**
+     * Q-Insight: Captures the command from a ticket and its assigned executive.
+     * Must be called inside the transaction, while the executive association can still be read.
+     */
+    public static TurnActiveAlertCommand of(Ticket ticket) {
+        Executive executive = ticket.getExecutive();
+        return new TurnActiveAlertCommand(ticket.getId(), ticket.getTicketNumber(), ticket.getNationalId(), ticket.getTelefono(),
+                executive != null ? executive.getModule() : null,
+                executive != null ? executive.getFullName() : null);
+    }
+}
@@ -0,0 +1,292 @@
+package com.institucion.ticketero.module_notifications.infrastructure;
+
+import com.institucion.ticketero.module_messages.domain.MessageChannel;
+import com.institucion.ticketero.module_messages.domain.MessageDeliveryResult;
+import com.institucion.ticketero.module_messages.domain.MessageStatus;
+import com.institucion.ticketero.module_messages.domain.OutboxBatch;
+import com.institucion.ticketero.module_messages.domain.OutboxMessage;
+import com.institucion.ticketero.module_messages.domain.RetryBackoff;
+import com.institucion.ticketero.module_messages.infrastructure.MessageOutboxRepository;
+import com.institucion.ticketero.module_notifications.application.ChannelRateLimiter;
+import com.institucion.ticketero.module_notifications.application.ChannelSendException;
+import com.institucion.ticketero.module_notifications.application.NotificationChannel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Q-Insight: Outbox Relay for One Notification Channel (RF-002).
+ * Delivers the messages the {@link NotificationOutbox} writes to the messages table for its channel. There is one
+ * relay per {@link NotificationChannel}, each with its own relay thread, claim batch (its bounded queue), senders,
+ * concurrency limit, rate limiter and circuit breaker, so a slow or failing channel only holds up itself.
+ * - Woken right after a transaction that enqueued a message on its channel commits, plus a short poll for retries
+ *   that became due and for messages enqueued on other nodes (see {@link NotificationRelays}). Wake-ups are
+ *   coalesced into one drain at a time.
+ * - A drain claims due messages in batches ({@link MessageOutboxRepository#claimBatch}, {@code FOR UPDATE SKIP LOCKED}),
+ *   so relays on several nodes never send the same message.
+ * - The claim coalesces per ticket: a message superseded by a newer one for the same ticket (e.g. "pronto sera tu
+ *   turno" once "es tu turno" is queued), or enqueued more than {@code ttl-ms} ago, is marked DESCARTADO instead of
+ *   sent. After an outage customers get the current state of their ticket, not its history.
+ * - A batch is sent on virtual threads, paced by the channel's {@link ChannelRateLimiter}. At most
+ *   {@code max-concurrency} requests are in flight (the bulkhead); a sender that cannot get a slot within
+ *   {@code bulkhead-wait-ms}, because the provider is holding every slot, hands its message back instead of queueing. Messages to the same recipient are sent one after another in enqueue order,
+ *   so "ticket created" never arrives after "es tu turno"; if one fails, the later ones wait for its retry.
+ * - Results are written back with one batched update per outcome.
+ * Retries are data, not waiting threads: a failed attempt increments {@code intentos} and moves {@code fecha_programada}
+ * forward by the {@link RetryBackoff}, and a later drain claims the message again once it is due. After
+ * {@code max-attempts} the message is marked FALLIDO. A 429 is not counted as an attempt: the message is
+ * rescheduled for the {@code retry_after} the provider gave, and so is every message claimed while that pause lasts.
+ * While the channel's {@link CircuitBreaker} is open (too many failed or slow calls) nothing is claimed, and messages
+ * it or the bulkhead refuse mid-batch are rescheduled without counting an attempt.
+ * Metrics are tagged with the channel: {@code ticketero.notifications.queue.depth} (claimed, not yet sent),
+ * {@code ticketero.notifications.send.latency}, {@code ticketero.notifications.discarded},
+ * {@code ticketero.notifications.bulkhead.rejected} and {@code ticketero.notifications.breaker.state}
+ * (0 closed, 1 half-open, 2 open). {@link #status()} backs the {@link NotificationChannelsEndpoint}.
+ */
+public class ChannelOutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChannelOutboxRelay.class);
+    private static final long MIN_DEFERRAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final NotificationChannel channel;
+    private final MessageOutboxRepository outboxRepository;
+    private final ChannelRateLimiter rateLimiter;
+    private final CircuitBreaker circuitBreaker;
+    private final int batchSize;
+    private final long claimMillis;
+    private final long ttlMillis;
+    private final RetryBackoff retryBackoff;
+    private final int maxAttempts;
+    private final int maxConcurrency;
+    private final long bulkheadWaitNanos;
+    private final Semaphore inFlight;
+    private final ExecutorService relayThread;
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicBoolean drainPending = new AtomicBoolean();
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final Counter discarded;
+    private final Counter bulkheadRejected;
+    private final Timer sendLatency;
+
+    ChannelOutboxRelay(NotificationChannel channel, MessageOutboxRepository outboxRepository, MeterRegistry meterRegistry,
+                       int batchSize, int maxConcurrency, long bulkheadWaitMillis, long claimMillis, long ttlMillis, RetryBackoff retryBackoff,
+                       int maxAttempts, CircuitBreaker circuitBreaker) {
+        this.channel = channel;
+        this.outboxRepository = outboxRepository;
+        this.rateLimiter = channel.rateLimiter();
+        this.circuitBreaker = circuitBreaker;
+        this.batchSize = batchSize;
+        this.claimMillis = claimMillis;
+        this.ttlMillis = ttlMillis;
+        this.retryBackoff = retryBackoff;
+        this.maxAttempts = maxAttempts;
+        this.maxConcurrency = maxConcurrency;
+        this.bulkheadWaitNanos = TimeUnit.MILLISECONDS.toNanos(bulkheadWaitMillis);
+        this.inFlight = new Semaphore(maxConcurrency);
+        String name = channel.type().name().toLowerCase(Locale.ROOT);
+        this.relayThread = Executors.newSingleThreadExecutor(Thread.ofPlatform().name(name + "-outbox-relay").daemon().factory());
+        Gauge.builder("ticketero.notifications.queue.depth", queueDepth, AtomicInteger::get)
+                .description("Messages claimed by the channel's relay and not yet sent")
+                .tag("channel", name)
+                .register(meterRegistry);
+        Gauge.builder("ticketero.notifications.breaker.state", circuitBreaker, breaker -> breaker.state().ordinal())
+                .description("The channel's circuit breaker: 0 closed, 1 half-open, 2 open")
+                .tag("channel", name)
+                .register(meterRegistry);
+        this.discarded = Counter.builder("ticketero.notifications.discarded")
+                .description("Messages dropped unsent because they were superseded or expired")
+                .tag("channel", name)
+                .register(meterRegistry);
+        this.bulkheadRejected = Counter.builder("ticketero.notifications.bulkhead.rejected")
+                .description("Messages handed back because every in-flight slot stayed taken")
+                .tag("channel", name)
+                .register(meterRegistry);
+        this.sendLatency = Timer.builder("ticketero.notifications.send.latency")
+                .description("Time the channel's provider took to accept or reject a message")
+                .tag("channel", name)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    public MessageChannel channel() {
+        return channel.type();
+    }
+
+    /**
+     * Q-Insight: A snapshot of the channel's circuit breaker and bulkhead, for operators.
+     */
+    public ChannelRelayStatus status() {
+        return new ChannelRelayStatus(circuitBreaker.state().name(), circuitBreaker.failureRate(), circuitBreaker.bufferedCalls(),
+                TimeUnit.NANOSECONDS.toMillis(circuitBreaker.openForNanos()), maxConcurrency - inFlight.availablePermits(),
+                maxConcurrency, queueDepth.get());
+    }
+
+    /**
+     * Q-Insight: Asks for a drain of the outbox; returns immediately.
+     */
+    public void wakeUp() {
+        if (drainPending.compareAndSet(false, true)) {
+            relayThread.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        drainPending.set(false);
+        if (circuitBreaker.openForNanos() > 0) {
+            // Leave the messages in the outbox until a probe may go through.
+            return;
+        }
+        try {
+            OutboxBatch batch;
+            do {
+                LocalDateTime now = LocalDateTime.now();
+                batch = outboxRepository.claimBatch(channel.type(), batchSize, now, now.plusNanos(claimMillis * 1_000_000L),
+                        now.minusNanos(ttlMillis * 1_000_000L));
+                discarded.increment(batch.discarded());
+                if (!batch.messages().isEmpty()) {
+                    outboxRepository.saveResults(deliver(batch.messages()));
+                }
+            } while (batch.claimed() == batchSize);
+        } catch (RuntimeException e) {
+            // Claimed messages become due again when their claim expires.
+            logger.error("{} outbox drain failed", channel.type(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Q-Insight: Sends a claimed batch, one virtual thread per recipient.
+     */
+    List<MessageDeliveryResult> deliver(List<OutboxMessage> batch) throws InterruptedException {
+        Map<String, List<OutboxMessage>> byChat = new LinkedHashMap<>();
+        for (OutboxMessage message : batch) {
+            byChat.computeIfAbsent(message.chatId(), chatId -> new ArrayList<>()).add(message);
+        }
+        List<Callable<List<MessageDeliveryResult>>> tasks = new ArrayList<>(byChat.size());
+        byChat.values().forEach(messages -> tasks.add(() -> deliverInOrder(messages)));
+
+        queueDepth.addAndGet(batch.size());
+        List<MessageDeliveryResult> results = new ArrayList<>(batch.size());
+        for (Future<List<MessageDeliveryResult>> future : senders.invokeAll(tasks)) {
+            try {
+                results.addAll(future.get());
+            } catch (ExecutionException e) {
+                logger.error("{} delivery task failed", channel.type(), e.getCause());
+            }
+        }
+        return results;
+    }
+
+    private List<MessageDeliveryResult> deliverInOrder(List<OutboxMessage> messages) throws InterruptedException {
+        List<MessageDeliveryResult> results = new ArrayList<>(messages.size());
+        LocalDateTime heldUntil = null;
+        try {
+            for (OutboxMessage message : messages) {
+                if (heldUntil != null) {
+                    // An earlier message to this recipient will be retried; keep the order by retrying this one after it.
+                    results.add(MessageDeliveryResult.retryAt(message.id(), heldUntil, false));
+                } else {
+                    MessageDeliveryResult result = deliverOne(message);
+                    if (result.status() == MessageStatus.PENDIENTE) {
+                        heldUntil = result.at();
+                    }
+                    results.add(result);
+                }
+                queueDepth.decrementAndGet();
+            }
+        } finally {
+            queueDepth.addAndGet(results.size() - messages.size());
+        }
+        return results;
+    }
+
+    private MessageDeliveryResult deliverOne(OutboxMessage message) throws InterruptedException {
+        long pausedNanos = rateLimiter.pausedForNanos();
+        if (pausedNanos > 0) {
+            // The provider asked us to back off; hand the message back rather than wait the pause out.
+            return MessageDeliveryResult.retryAt(message.id(), LocalDateTime.now().plusNanos(pausedNanos), false);
+        }
+        rateLimiter.acquire(message.chatId());
+        if (!inFlight.tryAcquire(bulkheadWaitNanos, TimeUnit.NANOSECONDS)) {
+            // Every slot is held by a call the provider has not answered yet; don't pile more threads up behind them.
+            bulkheadRejected.increment();
+            return MessageDeliveryResult.retryAt(message.id(), LocalDateTime.now().plusNanos(MIN_DEFERRAL_NANOS), false);
+        }
+        try {
+            if (!circuitBreaker.tryAcquire()) {
+                long deferNanos = Math.max(MIN_DEFERRAL_NANOS, circuitBreaker.openForNanos());
+                return MessageDeliveryResult.retryAt(message.id(), LocalDateTime.now().plusNanos(deferNanos), false);
+            }
+            return send(message);
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    private MessageDeliveryResult send(OutboxMessage message) {
+        long started = System.nanoTime();
+        try {
+            String providerMessageId = channel.send(message.chatId(), message.content());
+            circuitBreaker.onSuccess(System.nanoTime() - started);
+            return MessageDeliveryResult.sent(message.id(), LocalDateTime.now(), providerMessageId);
+        } catch (ChannelSendException e) {
+            if (e.isProviderFailure()) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.onSuccess(System.nanoTime() - started);
+            }
+            if (!e.isRateLimited()) {
+                return failedAttempt(message, e);
+            }
+            int retryAfterSeconds = Math.max(1, e.getRetryAfterSeconds());
+            rateLimiter.onRateLimited(retryAfterSeconds);
+            logger.warn("{} throttled message {} to {}; retrying in {}s", channel.type(), message.id(), message.chatId(), retryAfterSeconds);
+            return MessageDeliveryResult.retryAt(message.id(), LocalDateTime.now().plusSeconds(retryAfterSeconds), false);
+        } catch (RuntimeException e) {
+            circuitBreaker.onFailure();
+            return failedAttempt(message, e);
+        } finally {
+            sendLatency.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private MessageDeliveryResult failedAttempt(OutboxMessage message, RuntimeException e) {
+        int attempts = message.intentos() + 1;
+        if (attempts >= maxAttempts) {
+            logger.error("Failed to send {} message {} to {} after {} attempts. Reason: {}", channel.type(),
+                    message.id(), message.chatId(), attempts, e.getMessage());
+            return MessageDeliveryResult.failed(message.id());
+        }
+        logger.warn("{} message {} to {} failed (attempt {}), retrying. Reason: {}", channel.type(),
+                message.id(), message.chatId(), attempts, e.getMessage());
+        return MessageDeliveryResult.retryAt(message.id(), LocalDateTime.now().plus(retryBackoff.delayAfter(attempts)), true);
+    }
+
+    void shutdown() throws InterruptedException {
+        relayThread.shutdown();
+        if (!relayThread.awaitTermination(5, TimeUnit.SECONDS)) {
+            relayThread.shutdownNow();
+        }
+        senders.shutdown();
+    }
+}
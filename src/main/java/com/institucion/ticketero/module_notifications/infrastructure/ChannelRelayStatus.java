@@ -0,0 +1,15 @@
+package com.institucion.ticketero.module_notifications.infrastructure;
+
+/**
+ * Q-Insight: Health of One Channel's Relay, as Shown on the Actuator.
+ * @param breakerState CLOSED, HALF_OPEN or OPEN.
+ * @param failureRate The share of failed or slow calls in the breaker's window (0 until it holds enough calls).
+ * @param bufferedCalls How many calls the window holds.
+ * @param openForMillis How much longer the breaker refuses every call.
+ * @param inFlight Sends waiting on the provider right now.
+ * @param maxConcurrency The bulkhead's size.
+ * @param queued Messages claimed and not yet sent.
+ */
+public record ChannelRelayStatus(String breakerState, double failureRate, int bufferedCalls, long openForMillis,
+                                 int inFlight, int maxConcurrency, int queued) {
+}
@@ -0,0 +1,156 @@
+package com.institucion.ticketero.module_notifications.infrastructure;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Q-Insight: Circuit Breaker for a Notification Provider.
+ * Tracks the outcome of the last {@code windowSize} calls. Once at least {@code minimumCalls} are recorded and the
+ * share of bad calls reaches {@code failureRateThreshold}, the breaker opens: calls are refused for {@code openNanos},
+ * so a provider that is down or crawling is not hammered and its messages wait in the outbox instead of burning
+ * attempts and sender threads. After that one probe call is let through (half-open); if it goes well the breaker
+ * closes, otherwise it opens again.
+ * A call is bad when it fails or when it succeeds but takes {@code slowCallNanos} or longer: a provider that answers
+ * every request just before the HTTP timeout is as unhealthy as one that errors. Only provider failures count; a
+ * message the provider rejects on its merits is a success as far as the breaker goes.
+ */
+final class CircuitBreaker {
+
+    enum State {
+        CLOSED,
+        HALF_OPEN,
+        OPEN
+    }
+
+    private final boolean[] window;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+    private final long slowCallNanos;
+    private final LongSupplier nanoClock;
+    // Guarded by this.
+    private State state = State.CLOSED;
+    private int next;
+    private int calls;
+    private int failures;
+    private long openUntil;
+    private boolean probeInFlight;
+
+    CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, long openNanos, long slowCallNanos,
+                   LongSupplier nanoClock) {
+        if (windowSize < 1 || minimumCalls < 1 || minimumCalls > windowSize || failureRateThreshold <= 0 || failureRateThreshold > 1
+                || slowCallNanos <= 0) {
+            throw new IllegalArgumentException("Invalid circuit breaker settings");
+        }
+        this.window = new boolean[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = openNanos;
+        this.slowCallNanos = slowCallNanos;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Q-Insight: Asks to make a call. Every call allowed must be reported with {@link #onSuccess(long)} or {@link #onFailure()}.
+     * @return False while the breaker is open, or half-open with its probe still out.
+     */
+    synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED -> {
+                return true;
+            }
+            case OPEN -> {
+                if (nanoClock.getAsLong() - openUntil < 0) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                probeInFlight = true;
+                return true;
+            }
+            default -> {
+                if (probeInFlight) {
+                    return false;
+                }
+                probeInFlight = true;
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Q-Insight: Reports a call the provider answered.
+     * @param elapsedNanos How long the call took; at {@code slowCallNanos} or more it counts against the provider.
+     */
+    synchronized void onSuccess(long elapsedNanos) {
+        onOutcome(elapsedNanos >= slowCallNanos);
+    }
+
+    synchronized void onFailure() {
+        onOutcome(true);
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    /**
+     * Q-Insight: How much longer the breaker refuses every call; 0 once a probe may go through.
+     */
+    synchronized long openForNanos() {
+        return state == State.OPEN ? Math.max(0, openUntil - nanoClock.getAsLong()) : 0;
+    }
+
+    /**
+     * Q-Insight: The share of bad calls in the window, or 0 while it holds fewer than {@code minimumCalls}.
+     */
+    synchronized double failureRate() {
+        return calls < minimumCalls ? 0 : (double) failures / calls;
+    }
+
+    synchronized int bufferedCalls() {
+        return calls;
+    }
+
+    private void onOutcome(boolean bad) {
+        if (state == State.HALF_OPEN) {
+            if (bad) {
+                open();
+            } else {
+                close();
+            }
+            return;
+        }
+        record(bad);
+        if (state == State.CLOSED && calls >= minimumCalls && failures >= failureRateThreshold * calls) {
+            open();
+        }
+    }
+
+    private void record(boolean failed) {
+        if (calls == window.length) {
+            if (window[next]) {
+                failures--;
+            }
+        } else {
+            calls++;
+        }
+        window[next] = failed;
+        if (failed) {
+            failures++;
+        }
+        next = (next + 1) % window.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openUntil = nanoClock.getAsLong() + openNanos;
+        probeInFlight = false;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        probeInFlight = false;
+        next = 0;
+        calls = 0;
+        failures = 0;
+    }
+}
@@ -0,0 +1,93 @@
+package com.institucion.ticketero.module_notifications.infrastructure;
+
+import com.institucion.ticketero.common.exceptions.InvalidRequestException;
+import com.institucion.ticketero.module_messages.domain.MessageChannel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Q-Insight: Directory of the SMS and E-mail Contacts Customers Enabled.
+ * Every notification asks each channel for a recipient, so lookups sit on the ticket hot path. A bounded LRU
+ * cache in front of {@code customer_contacts} keeps each customer's contacts (including "none", the common case)
+ * for {@code cache-ttl-ms}; updates made on this node are visible at once, those made on other nodes once the
+ * entry expires.
+ */
+@Component
+public class CustomerContactDirectory {
+
+    private final CustomerContactRepository repository;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    // Most recently used last; guarded by this.
+    private final LinkedHashMap<String, CachedContacts> cache;
+
+    @Autowired
+    public CustomerContactDirectory(CustomerContactRepository repository,
+                                    @Value("${ticketero.notifications.contacts.cache-size:10000}") int cacheSize,
+                                    @Value("${ticketero.notifications.contacts.cache-ttl-ms:60000}") long cacheTtlMillis) {
+        this(repository, cacheSize, cacheTtlMillis, System::nanoTime);
+    }
+
+    CustomerContactDirectory(CustomerContactRepository repository, int cacheSize, long cacheTtlMillis, LongSupplier nanoClock) {
+        this.repository = repository;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(cacheTtlMillis);
+        this.nanoClock = nanoClock;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedContacts> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Q-Insight: Where a customer asked to be notified on {@code channel}, if they enabled it.
+     */
+    public Optional<String> addressOf(String nationalId, MessageChannel channel) {
+        String key = TelegramChatRegistry.normalize(nationalId);
+        if (key == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(contactsOf(key).get(channel));
+    }
+
+    /**
+     * Q-Insight: Sets, changes or disables a customer's contact on a channel.
+     * @throws InvalidRequestException If {@code nationalId} is not a RUT.
+     */
+    public void update(String nationalId, MessageChannel channel, String address, boolean enabled) {
+        String key = TelegramChatRegistry.normalize(nationalId);
+        if (key == null) {
+            throw new InvalidRequestException("Not a national id: " + nationalId);
+        }
+        repository.upsert(key, channel, address, enabled);
+        synchronized (this) {
+            cache.remove(key);
+        }
+    }
+
+    private Map<MessageChannel, String> contactsOf(String nationalId) {
+        long now = nanoClock.getAsLong();
+        synchronized (this) {
+            CachedContacts cached = cache.get(nationalId);
+            if (cached != null && now - cached.loadedAt() < ttlNanos) {
+                return cached.addresses();
+            }
+        }
+        Map<MessageChannel, String> addresses = repository.findEnabled(nationalId);
+        synchronized (this) {
+            cache.put(nationalId, new CachedContacts(addresses, now));
+        }
+        return addresses;
+    }
+
+    private record CachedContacts(Map<MessageChannel, String> addresses, long loadedAt) {
+    }
+}
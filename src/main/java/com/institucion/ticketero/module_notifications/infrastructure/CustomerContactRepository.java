@@ -0,0 +1,47 @@
+package com.institucion.ticketero.module_notifications.infrastructure;
+
+import com.institucion.ticketero.module_messages.domain.MessageChannel;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Q-Insight: Infrastructure Repository for Customer Contacts.
+ * One row per customer and channel. All of a customer's enabled contacts are read in one query, since a
+ * notification fans out to every channel at once.
+ */
+@Repository
+public class CustomerContactRepository {
+
+    private static final String FIND_ENABLED_SQL =
+            "SELECT channel, address FROM customer_contacts WHERE national_id = ? AND enabled";
+
+    private static final String UPSERT_SQL = """
+        INSERT INTO customer_contacts (national_id, channel, address, enabled, updated_at)
+        VALUES (?, ?, ?, ?, ?)
+        ON CONFLICT (national_id, channel)
+        DO UPDATE SET address = EXCLUDED.address, enabled = EXCLUDED.enabled, updated_at = EXCLUDED.updated_at
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CustomerContactRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Map<MessageChannel, String> findEnabled(String nationalId) {
+        Map<MessageChannel, String> contacts = new EnumMap<>(MessageChannel.class);
+        jdbcTemplate.query(FIND_ENABLED_SQL, rs -> {
+            contacts.put(MessageChannel.valueOf(rs.getString("channel")), rs.getString("address"));
+        }, nationalId);
+        return contacts;
+    }
+
+    public void upsert(String nationalId, MessageChannel channel, String address, boolean enabled) {
+        jdbcTemplate.update(UPSERT_SQL, nationalId, channel.name(), address, enabled, Timestamp.valueOf(LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,89 @@
+package com.institucion.ticketero.module_notifications.infrastructure;
+
+import com.institucion.ticketero.module_messages.domain.MessageChannel;
+import com.institucion.ticketero.module_notifications.application.ChannelRateLimiter;
+import com.institucion.ticketero.module_notifications.application.ChannelSendException;
+import com.institucion.ticketero.module_notifications.application.NotificationChannel;
+import com.institucion.ticketero.module_notifications.application.NotificationCommand;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Q-Insight: E-mail Notification Channel.
+ * Sends the rendered message as an HTML e-mail through the SMTP server configured under {@code spring.mail.*}
+ * (locally, an SMTP stand-in such as MailHog on port 1025). Customers enable it with an address in the
+ * {@link CustomerContactDirectory}.
+ * Registered only when {@code ticketero.notifications.channels.email.enabled} is true.
+ */
+@Component
+@ConditionalOnProperty(prefix = "ticketero.notifications.channels.email", name = "enabled", havingValue = "true")
+public class EmailNotificationChannel implements NotificationChannel {
+
+    private static final int BAD_REQUEST = 400;
+
+    private final JavaMailSender mailSender;
+    private final String from;
+    private final String subject;
+    private final CustomerContactDirectory contactDirectory;
+    private final ChannelRateLimiter rateLimiter;
+
+    public EmailNotificationChannel(JavaMailSender mailSender,
+                                    @Value("${ticketero.notifications.channels.email.from}") String from,
+                                    @Value("${ticketero.notifications.channels.email.subject:Tu turno}") String subject,
+                                    @Value("${ticketero.notifications.channels.email.rate-per-second:5}") double ratePerSecond,
+                                    CustomerContactDirectory contactDirectory) {
+        this.mailSender = mailSender;
+        this.from = from;
+        this.subject = subject;
+        this.contactDirectory = contactDirectory;
+        this.rateLimiter = new TokenBucketRateLimiter(ratePerSecond, Math.max(1, (int) ratePerSecond));
+    }
+
+    @Override
+    public MessageChannel type() {
+        return MessageChannel.EMAIL;
+    }
+
+    @Override
+    public Optional<String> recipientFor(NotificationCommand command) {
+        return contactDirectory.addressOf(command.nationalId(), MessageChannel.EMAIL);
+    }
+
+    @Override
+    public String format(String content) {
+        return content.replace("\n", "<br>");
+    }
+
+    @Override
+    public String send(String address, String content) {
+        try {
+            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+            helper.setFrom(from);
+            helper.setTo(address);
+            helper.setSubject(subject);
+            helper.setText(content, true);
+            mailSender.send(message);
+            return message.getMessageID();
+        } catch (MessagingException | MailParseException e) {
+            // The address or the message is malformed; sending it again will not help.
+            throw new ChannelSendException(BAD_REQUEST, "Invalid e-mail to " + address, e);
+        } catch (MailException e) {
+            throw new ChannelSendException(0, "SMTP server error", e);
+        }
+    }
+
+    @Override
+    public ChannelRateLimiter rateLimiter() {
+        return rateLimiter;
+    }
+}
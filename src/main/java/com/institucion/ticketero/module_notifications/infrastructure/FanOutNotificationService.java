@@ -0,0 +1,121 @@
+package com.institucion.ticketero.module_notifications.infrastructure;
+
+import com.institucion.ticketero.common.exceptions.InvalidRequestException;
+import com.institucion.ticketero.module_messages.domain.MessageChannel;
+import com.institucion.ticketero.module_messages.domain.MessageTemplate;
+import com.institucion.ticketero.module_notifications.application.NotificationChannel;
+import com.institucion.ticketero.module_notifications.application.NotificationCommand;
+import com.institucion.ticketero.module_notifications.application.NotificationService;
+import com.institucion.ticketero.module_notifications.application.PreArrivalAlertCommand;
+import com.institucion.ticketero.module_notifications.application.TicketConfirmationCommand;
+import com.institucion.ticketero.module_notifications.application.TurnActiveAlertCommand;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Q-Insight: Notification Service that Fans Out to Every Channel (RF-002).
+ * A notification becomes one outbox message per {@link NotificationChannel} that has a recipient for the customer,
+ * written in the caller's transaction. Each channel's relay then delivers its own messages independently, so
+ * channels are sent to in parallel and a slow one never delays the others.
+ * The message is rendered once, and only if some channel will carry it.
+ */
+@Service
+public class FanOutNotificationService implements NotificationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FanOutNotificationService.class);
+
+    private final List<NotificationChannel> channels;
+    private final TelegramNotificationService telegram;
+    private final CustomerContactDirectory contactDirectory;
+    private final NotificationOutbox outbox;
+    private final TelegramLinkTokens linkTokens;
+
+    public FanOutNotificationService(List<NotificationChannel> channels, TelegramNotificationService telegram,
+                                     CustomerContactDirectory contactDirectory, NotificationOutbox outbox,
+                                     TelegramLinkTokens linkTokens) {
+        this.channels = channels;
+        this.telegram = telegram;
+        this.contactDirectory = contactDirectory;
+        this.outbox = outbox;
+        this.linkTokens = linkTokens;
+    }
+
+    @Override
+    public void sendTicketConfirmation(TicketConfirmationCommand command) {
+        int enqueued = fanOut(command, MessageTemplate.TOTEM_TICKET_CREADO, () -> MessageTemplate.TOTEM_TICKET_CREADO.render(
+                command.ticketNumber(),
+                command.positionInQueue(),
+                command.estimatedWaitMinutes()));
+        if (enqueued == 0) {
+            logger.warn("Cannot send confirmation for ticket {}: no notification channel enabled.", command.ticketNumber());
+        }
+    }
+
+    @Override
+    public void sendPreArrivalAlert(PreArrivalAlertCommand command) {
+        fanOut(command, MessageTemplate.TOTEM_PROXIMO_TURNO, () -> MessageTemplate.TOTEM_PROXIMO_TURNO.render(command.ticketNumber()));
+    }
+
+    @Override
+    public void sendTurnActiveAlert(TurnActiveAlertCommand command) {
+        if (command.module() == null) {
+            return;
+        }
+        fanOut(command, MessageTemplate.TOTEM_ES_TU_TURNO, () -> MessageTemplate.TOTEM_ES_TU_TURNO.render(
+                command.ticketNumber(),
+                command.module(),
+                command.executiveName()));
+    }
+
+    @Override
+    public Optional<String> findChatId(String nationalId) {
+        return telegram.findChatId(nationalId);
+    }
+
+    @Override
+    public Optional<String> telegramLinkFor(String nationalId) {
+        return linkTokens.linkFor(nationalId);
+    }
+
+    @Override
+    public void updateContact(String nationalId, MessageChannel channel, String address, boolean enabled) {
+        if (channel == MessageChannel.TELEGRAM) {
+            throw new InvalidRequestException("Telegram chats are registered through the link printed with the ticket");
+        }
+        contactDirectory.update(nationalId, channel, address, enabled);
+    }
+
+    @Override
+    public String getBotUsername() {
+        return telegram.getBotUsername();
+    }
+
+    /**
+     * @return How many channels the notification was enqueued on.
+     */
+    private int fanOut(NotificationCommand command, MessageTemplate template, Supplier<String> renderer) {
+        List<NotificationChannel> targets = new ArrayList<>(channels.size());
+        List<String> recipients = new ArrayList<>(channels.size());
+        for (NotificationChannel channel : channels) {
+            channel.recipientFor(command).ifPresent(recipient -> {
+                targets.add(channel);
+                recipients.add(recipient);
+            });
+        }
+        if (targets.isEmpty()) {
+            return 0;
+        }
+        String content = renderer.get();
+        for (int i = 0; i < targets.size(); i++) {
+            NotificationChannel channel = targets.get(i);
+            outbox.enqueue(channel.type(), command.ticketId(), recipients.get(i), template, channel.format(content));
+        }
+        return targets.size();
+    }
+}
@@ -0,0 +1,48 @@
+package com.institucion.ticketero.module_notifications.infrastructure;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Q-Insight: Actuator Endpoint for the Notification Channels.
+ * {@code /actuator/notificationchannels} shows every channel's circuit breaker and bulkhead, so an operator can see
+ * why a channel's messages are waiting; {@code /actuator/notificationchannels/{channel}} shows one.
+ */
+@Component
+@Endpoint(id = "notificationchannels")
+public class NotificationChannelsEndpoint {
+
+    private final NotificationRelays relays;
+
+    public NotificationChannelsEndpoint(NotificationRelays relays) {
+        this.relays = relays;
+    }
+
+    @ReadOperation
+    public Map<String, ChannelRelayStatus> channels() {
+        Map<String, ChannelRelayStatus> channels = new TreeMap<>();
+        for (ChannelOutboxRelay relay : relays.relays()) {
+            channels.put(relay.channel().name().toLowerCase(Locale.ROOT), relay.status());
+        }
+        return channels;
+    }
+
+    /**
+     * @return The channel's status, or {@code null} (a 404) if it has no relay.
+     */
+    @ReadOperation
+    public ChannelRelayStatus channel(@Selector String channel) {
+        for (ChannelOutboxRelay relay : relays.relays()) {
+            if (relay.channel().name().equalsIgnoreCase(channel)) {
+                return relay.status();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,49 @@
+package com.institucion.ticketero.module_notifications.infrastructure;
+
+import com.institucion.ticketero.module_messages.domain.Message;
+import com.institucion.ticketero.module_messages.domain.MessageChannel;
+import com.institucion.ticketero.module_messages.domain.MessageEnqueuedEvent;
+import com.institucion.ticketero.module_messages.domain.MessageStatus;
+import com.institucion.ticketero.module_messages.domain.MessageTemplate;
+import com.institucion.ticketero.module_messages.infrastructure.MessageRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Q-Insight: Writes Messages to the Outbox.
+ * Called inside the caller's transaction, so a message is stored if and only if the change that caused it
+ * commits. The relay of the message's channel is woken once it does. Older unsent messages for the same ticket
+ * and channel are superseded by a new one and discarded when the relay claims them.
+ */
+@Component
+public class NotificationOutbox {
+
+    private final MessageRepository messageRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public NotificationOutbox(MessageRepository messageRepository, ApplicationEventPublisher eventPublisher) {
+        this.messageRepository = messageRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * @param ticketId The ticket the message is about, or {@code null} for messages that are not about a ticket.
+     * @param recipient The recipient on {@code channel}.
+     */
+    public void enqueue(MessageChannel channel, Long ticketId, String recipient, MessageTemplate template, String content) {
+        LocalDateTime now = LocalDateTime.now();
+        Message message = new Message();
+        message.setTicketId(ticketId);
+        message.setCanal(channel);
+        message.setPlantilla(template);
+        message.setEstadoEnvio(MessageStatus.PENDIENTE);
+        message.setFechaCreacion(now);
+        message.setFechaProgramada(now);
+        message.setChatId(recipient);
+        message.setContent(content);
+        Message saved = messageRepository.save(message);
+        eventPublisher.publishEvent(new MessageEnqueuedEvent(saved.getId(), channel));
+    }
+}
@@ -0,0 +1,93 @@
+package com.institucion.ticketero.module_notifications.infrastructure;
+
+import com.institucion.ticketero.module_messages.domain.MessageChannel;
+import com.institucion.ticketero.module_messages.domain.MessageEnqueuedEvent;
+import com.institucion.ticketero.module_messages.domain.RetryBackoff;
+import com.institucion.ticketero.module_messages.infrastructure.MessageOutboxRepository;
+import com.institucion.ticketero.module_notifications.application.NotificationChannel;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Q-Insight: One Outbox Relay per Notification Channel.
+ * Builds a {@link ChannelOutboxRelay} for every {@link NotificationChannel} bean and routes wake-ups to them.
+ * Claim, TTL and retry settings are shared ({@code ticketero.notifications.outbox.*}); batch size, bulkhead and
+ * circuit breaker are per channel ({@code ticketero.notifications.channels.<channel>.*}), with the batch size and
+ * concurrency falling back to the shared outbox values. Settings are read by key because the channels are only
+ * known at runtime.
+ */
+@Component
+public class NotificationRelays {
+
+    private static final String OUTBOX = "ticketero.notifications.outbox.";
+    private static final String CHANNELS = "ticketero.notifications.channels.";
+
+    private final Map<MessageChannel, ChannelOutboxRelay> relays = new EnumMap<>(MessageChannel.class);
+
+    public NotificationRelays(List<NotificationChannel> channels, MessageOutboxRepository outboxRepository,
+                              MeterRegistry meterRegistry, Environment environment) {
+        long claimMillis = environment.getProperty(OUTBOX + "claim-ms", Long.class, 120_000L);
+        long ttlMillis = environment.getProperty(OUTBOX + "ttl-ms", Long.class, 1_800_000L);
+        int maxAttempts = environment.getProperty(OUTBOX + "max-attempts", Integer.class, 4);
+        RetryBackoff retryBackoff = new RetryBackoff(
+                Duration.ofMillis(environment.getProperty(OUTBOX + "retry.initial-delay-ms", Long.class, 30_000L)),
+                environment.getProperty(OUTBOX + "retry.multiplier", Double.class, 2.0),
+                Duration.ofMillis(environment.getProperty(OUTBOX + "retry.max-delay-ms", Long.class, 240_000L)),
+                environment.getProperty(OUTBOX + "retry.jitter", Double.class, 0.5));
+        int defaultBatchSize = environment.getProperty(OUTBOX + "batch-size", Integer.class, 100);
+        int defaultMaxConcurrency = environment.getProperty(OUTBOX + "max-concurrency", Integer.class, 16);
+        long defaultBulkheadWaitMillis = environment.getProperty(OUTBOX + "bulkhead-wait-ms", Long.class, 1_000L);
+
+        for (NotificationChannel channel : channels) {
+            String prefix = CHANNELS + channel.type().name().toLowerCase(Locale.ROOT) + ".";
+            CircuitBreaker circuitBreaker = new CircuitBreaker(
+                    environment.getProperty(prefix + "circuit-breaker.window-size", Integer.class, 20),
+                    environment.getProperty(prefix + "circuit-breaker.minimum-calls", Integer.class, 10),
+                    environment.getProperty(prefix + "circuit-breaker.failure-rate-threshold", Double.class, 0.5),
+                    TimeUnit.MILLISECONDS.toNanos(environment.getProperty(prefix + "circuit-breaker.open-ms", Long.class, 30_000L)),
+                    TimeUnit.MILLISECONDS.toNanos(environment.getProperty(prefix + "circuit-breaker.slow-call-ms", Long.class, 5_000L)),
+                    System::nanoTime);
+            relays.put(channel.type(), new ChannelOutboxRelay(channel, outboxRepository, meterRegistry,
+                    environment.getProperty(prefix + "batch-size", Integer.class, defaultBatchSize),
+                    environment.getProperty(prefix + "max-concurrency", Integer.class, defaultMaxConcurrency),
+                    environment.getProperty(prefix + "bulkhead-wait-ms", Long.class, defaultBulkheadWaitMillis),
+                    claimMillis, ttlMillis, retryBackoff, maxAttempts, circuitBreaker));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMessageEnqueued(MessageEnqueuedEvent event) {
+        ChannelOutboxRelay relay = relays.get(event.channel());
+        if (relay != null) {
+            relay.wakeUp();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ticketero.notifications.outbox.poll-interval-ms:5000}")
+    public void poll() {
+        relays.values().forEach(ChannelOutboxRelay::wakeUp);
+    }
+
+    Collection<ChannelOutboxRelay> relays() {
+        return relays.values();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        for (ChannelOutboxRelay relay : relays.values()) {
+            relay.shutdown();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.institucion.ticketero.module_notifications.infrastructure;
+
+import com.institucion.ticketero.module_messages.domain.MessageChannel;
+import com.institucion.ticketero.module_notifications.application.ChannelRateLimiter;
+import com.institucion.ticketero.module_notifications.application.ChannelSendException;
+import com.institucion.ticketero.module_notifications.application.NotificationChannel;
+import com.institucion.ticketero.module_notifications.application.NotificationCommand;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Q-Insight: SMS Notification Channel.
+ * Sends through an HTTP SMS gateway: {@code POST <gateway-url>} with {@code {"to": ..., "text": ...}}, answered
+ * with {@code {"id": ...}}. Customers enable it with a phone number in the {@link CustomerContactDirectory}.
+ * SMS is plain text, so the Telegram markup of the rendered messages is stripped.
+ * Registered only when {@code ticketero.notifications.channels.sms.enabled} is true.
+ */
+@Component
+@ConditionalOnProperty(prefix = "ticketero.notifications.channels.sms", name = "enabled", havingValue = "true")
+public class SmsNotificationChannel implements NotificationChannel {
+
+    private static final Pattern TAG = Pattern.compile("<[^>]+>");
+
+    private final RestClient restClient;
+    private final CustomerContactDirectory contactDirectory;
+    private final ChannelRateLimiter rateLimiter;
+
+    public SmsNotificationChannel(@Value("${ticketero.notifications.channels.sms.gateway-url}") String gatewayUrl,
+                                  @Value("${ticketero.notifications.channels.sms.api-key:}") String apiKey,
+                                  @Value("${ticketero.notifications.channels.sms.timeout-ms:5000}") int timeoutMillis,
+                                  @Value("${ticketero.notifications.channels.sms.rate-per-second:10}") double ratePerSecond,
+                                  CustomerContactDirectory contactDirectory) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeoutMillis);
+        requestFactory.setReadTimeout(timeoutMillis);
+        this.restClient = RestClient.builder()
+                .baseUrl(gatewayUrl)
+                .requestFactory(requestFactory)
+                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey)
+                .build();
+        this.contactDirectory = contactDirectory;
+        this.rateLimiter = new TokenBucketRateLimiter(ratePerSecond, Math.max(1, (int) ratePerSecond));
+    }
+
+    @Override
+    public MessageChannel type() {
+        return MessageChannel.SMS;
+    }
+
+    @Override
+    public Optional<String> recipientFor(NotificationCommand command) {
+        return contactDirectory.addressOf(command.nationalId(), MessageChannel.SMS);
+    }
+
+    @Override
+    public String format(String content) {
+        return TAG.matcher(content).replaceAll("")
+                .replace("&lt;", "<")
+                .replace("&gt;", ">")
+                .replace("&quot;", "\"")
+                .replace("&amp;", "&");
+    }
+
+    @Override
+    public String send(String phoneNumber, String content) {
+        try {
+            Map<?, ?> response = restClient.post()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(Map.of("to", phoneNumber, "text", content))
+                    .retrieve()
+                    .body(Map.class);
+            Object id = response != null ? response.get("id") : null;
+            return id != null ? id.toString() : null;
+        } catch (RestClientResponseException e) {
+            String retryAfter = e.getResponseHeaders() != null ? e.getResponseHeaders().getFirst(HttpHeaders.RETRY_AFTER) : null;
+            throw new ChannelSendException(e.getStatusCode().value(), "SMS gateway error " + e.getStatusCode().value(),
+                    parseSeconds(retryAfter));
+        } catch (ResourceAccessException e) {
+            throw new ChannelSendException(0, "SMS gateway unreachable", e);
+        }
+    }
+
+    @Override
+    public ChannelRateLimiter rateLimiter() {
+        return rateLimiter;
+    }
+
+    private static int parseSeconds(String value) {
+        try {
+            return value != null ? Integer.parseInt(value.strip()) : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.institucion.ticketero.module_notifications.infrastructure;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Q-Insight: National Id to Telegram Chat Registry.
+ * Customers register by opening the bot link printed with their ticket, whose signed token proves the RUT is
+ * theirs ({@link TelegramLinkTokens}). The registry is the {@code telegram_chats} table with a bounded LRU cache in front of it,
+ * so the kiosk path usually resolves a returning customer's chat without a query.
+ * National ids are normalised (dots and spaces removed, upper case) both when registered and when looked up.
+ */
+@Component
+public class TelegramChatRegistry {
+
+    private static final Pattern NATIONAL_ID = Pattern.compile("\\d{7,8}-[\\dK]");
+
+    private final TelegramChatRepository repository;
+    // Most recently used last; guarded by this.
+    private final LinkedHashMap<String, String> cache;
+
+    public TelegramChatRegistry(TelegramChatRepository repository,
+                                @Value("${ticketero.notifications.telegram.chat-cache-size:10000}") int cacheSize) {
+        this.repository = repository;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Q-Insight: The chat registered for a national id, if any.
+     */
+    public Optional<String> findChatId(String nationalId) {
+        String key = normalize(nationalId);
+        if (key == null) {
+            return Optional.empty();
+        }
+        synchronized (this) {
+            String cached = cache.get(key);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+        }
+        Optional<String> chatId = repository.findChatId(key);
+        chatId.ifPresent(found -> remember(key, found));
+        return chatId;
+    }
+
+    /**
+     * Q-Insight: Registers a batch of chats, keyed by normalised national id, in one write.
+     */
+    public void registerAll(Map<String, String> chatIdsByNationalId) {
+        if (chatIdsByNationalId.isEmpty()) {
+            return;
+        }
+        repository.upsertAll(chatIdsByNationalId);
+        chatIdsByNationalId.forEach(this::remember);
+    }
+
+    /**
+     * Q-Insight: The canonical form of a national id ({@code 12345678-9}), or {@code null} if it is not one.
+     */
+    public static String normalize(String nationalId) {
+        if (nationalId == null) {
+            return null;
+        }
+        String canonical = nationalId.replace(".", "").replace(" ", "").toUpperCase(Locale.ROOT);
+        return NATIONAL_ID.matcher(canonical).matches() ? canonical : null;
+    }
+
+    private synchronized void remember(String nationalId, String chatId) {
+        cache.put(nationalId, chatId);
+    }
+}
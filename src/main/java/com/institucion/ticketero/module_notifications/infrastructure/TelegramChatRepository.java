@@ -0,0 +1,48 @@
+package com.institucion.ticketero.module_notifications.infrastructure;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Q-Insight: Infrastructure Repository for Registered Telegram Chats.
+ * One row per national id; a later registration for the same id replaces the chat. There is no JPA entity:
+ * registrations arrive in batches and are written with one batched upsert.
+ */
+@Repository
+public class TelegramChatRepository {
+
+    private static final String FIND_CHAT_SQL = "SELECT chat_id FROM telegram_chats WHERE national_id = ?";
+
+    private static final String UPSERT_SQL = """
+        INSERT INTO telegram_chats (national_id, chat_id, updated_at)
+        VALUES (?, ?, ?)
+        ON CONFLICT (national_id)
+        DO UPDATE SET chat_id = EXCLUDED.chat_id, updated_at = EXCLUDED.updated_at
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TelegramChatRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Optional<String> findChatId(String nationalId) {
+        return jdbcTemplate.queryForList(FIND_CHAT_SQL, String.class, nationalId).stream().findFirst();
+    }
+
+    @Transactional
+    public void upsertAll(Map<String, String> chatIdsByNationalId) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(chatIdsByNationalId.size());
+        chatIdsByNationalId.forEach((nationalId, chatId) -> rows.add(new Object[]{nationalId, chatId, now}));
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+    }
+}
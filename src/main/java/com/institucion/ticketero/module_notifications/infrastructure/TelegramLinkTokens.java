@@ -0,0 +1,115 @@
+package com.institucion.ticketero.module_notifications.infrastructure;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Q-Insight: Signed Deep-Link Tokens that Prove a Chat Belongs to a RUT's Owner.
+ * A chat is registered for a RUT only through a link handed out with that RUT's ticket at the kiosk
+ * ({@code https://t.me/<bot>?start=<token>}, usually shown as a QR code). Knowing a RUT is not enough: a bare
+ * {@code /start <RUT>} registers nothing, so nobody can redirect another customer's notifications to their chat.
+ * The token is {@code <RUT>_<expiry>_<HMAC-SHA256>} and needs no storage: it fits Telegram's 64-character start
+ * parameter and stays valid for {@code link-ttl-hours}. Every node must share {@code link-secret}; without one, a
+ * random secret is used and links die with the process.
+ */
+@Component
+public class TelegramLinkTokens {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelegramLinkTokens.class);
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MAC_BYTES = 16;
+    private static final char SEPARATOR = '_';
+
+    private final SecretKeySpec key;
+    private final String botUsername;
+    private final Duration ttl;
+    private final Clock clock;
+
+    @Autowired
+    public TelegramLinkTokens(@Value("${ticketero.notifications.telegram.link-secret:}") String secret,
+                              @Value("${telegram.bot.username}") String botUsername,
+                              @Value("${ticketero.notifications.telegram.link-ttl-hours:24}") long ttlHours) {
+        this(secret, botUsername, Duration.ofHours(ttlHours), Clock.systemUTC());
+    }
+
+    TelegramLinkTokens(String secret, String botUsername, Duration ttl, Clock clock) {
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            logger.warn("ticketero.notifications.telegram.link-secret is not set; Telegram links stop working on restart");
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+        this.botUsername = botUsername;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /**
+     * Q-Insight: The link that registers the chat opening it for {@code nationalId}.
+     * @return The link, or empty if {@code nationalId} is not a RUT.
+     */
+    public Optional<String> linkFor(String nationalId) {
+        return issue(nationalId).map(token -> "https://t.me/" + botUsername + "?start=" + token);
+    }
+
+    Optional<String> issue(String nationalId) {
+        String canonical = TelegramChatRegistry.normalize(nationalId);
+        if (canonical == null) {
+            return Optional.empty();
+        }
+        String body = canonical + SEPARATOR + Long.toString(clock.instant().plus(ttl).getEpochSecond(), 36);
+        return Optional.of(body + SEPARATOR + Base64.getUrlEncoder().withoutPadding().encodeToString(mac(body)));
+    }
+
+    /**
+     * Q-Insight: The RUT a {@code /start} token was issued for.
+     * @return The normalised RUT, or empty if the token is malformed, forged or expired.
+     */
+    public Optional<String> verify(String token) {
+        // Parsed from the front: the MAC is base64url, whose alphabet includes the separator; the RUT and expiry never do.
+        int expiryStart = token.indexOf(SEPARATOR);
+        int macStart = expiryStart > 0 ? token.indexOf(SEPARATOR, expiryStart + 1) : -1;
+        if (macStart < 0) {
+            return Optional.empty();
+        }
+        String body = token.substring(0, macStart);
+        try {
+            byte[] given = Base64.getUrlDecoder().decode(token.substring(macStart + 1));
+            long expiry = Long.parseLong(token.substring(expiryStart + 1, macStart), 36);
+            if (!MessageDigest.isEqual(mac(body), given) || clock.instant().getEpochSecond() > expiry) {
+                return Optional.empty();
+            }
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(TelegramChatRegistry.normalize(token.substring(0, expiryStart)));
+    }
+
+    private byte[] mac(String body) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return Arrays.copyOf(mac.doFinal(body.getBytes(StandardCharsets.UTF_8)), MAC_BYTES);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        }
+    }
+}
@@ -1,158 +1,143 @@
 
 package com.institucion.ticketero.module_notifications.infrastructure;
 
-import com.institucion.ticketero.module_messages.domain.Message;
-import com.institucion.ticketero.module_messages.domain.MessageStatus;
+import com.institucion.ticketero.module_messages.domain.CompiledTemplate;
+import com.institucion.ticketero.module_messages.domain.MessageChannel;
 import com.institucion.ticketero.module_messages.domain.MessageTemplate;
-import com.institucion.ticketero.module_messages.infrastructure.MessageRepository;
-import com.institucion.ticketero.module_notifications.application.NotificationService;
-import com.institucion.ticketero.module_tickets.domain.Ticket;
+import com.institucion.ticketero.module_notifications.application.ChannelRateLimiter;
+import com.institucion.ticketero.module_notifications.application.NotificationChannel;
+import com.institucion.ticketero.module_notifications.application.NotificationCommand;
 import com.pengrad.telegrambot.TelegramBot;
 import com.pengrad.telegrambot.UpdatesListener;
-import com.pengrad.telegrambot.model.Update;
+import com.pengrad.telegrambot.model.request.ParseMode;
 import com.pengrad.telegrambot.request.SendMessage;
-import jakarta.annotation.PostConstruct;
+import com.pengrad.telegrambot.response.SendResponse;
+import okhttp3.OkHttpClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Recover;
-import org.springframework.retry.annotation.Retryable;
-import org.springframework.scheduling.annotation.Async;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-
-import java.time.LocalDateTime;
-import java.util.List;
-
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Q-Insight: Telegram Notification Channel (RF-002).
+ * Notifications reach the customer's Telegram chat: the one given at the kiosk, or the one they registered with
+ * the bot (resolved when the ticket is created). Messages are written to the outbox by the
+ * {@link FanOutNotificationService} and sent by this channel's relay.
+ * Incoming updates are handled by the {@link TelegramUpdateHandler}; chats are found through the {@link TelegramChatRegistry}.
+ * Every Bot API request is bounded by {@code telegram.bot.send-timeout-ms} (connect, write and read), so a slow
+ * api.telegram.org costs the relay a bounded wait per send, which its circuit breaker then counts as a slow call.
+ */
 @Service
-public class TelegramNotificationService implements NotificationService {
+public class TelegramNotificationService implements NotificationChannel {
 
     private static final Logger logger = LoggerFactory.getLogger(TelegramNotificationService.class);
 
     private final TelegramBot bot;
     private final String botUsername;
-    private final String welcomeMessage;
-    private final MessageRepository messageRepository;
+    private final CompiledTemplate welcomeTemplate;
+    private final TelegramChatRegistry chatRegistry;
+    private final TelegramRateLimiter rateLimiter;
+    private final NotificationOutbox outbox;
 
     public TelegramNotificationService(@Value("${telegram.bot.token}") String botToken,
+                                       @Value("${telegram.bot.api-url:https://api.telegram.org/bot}") String apiUrl,
+                                       @Value("${telegram.bot.send-timeout-ms:10000}") long sendTimeoutMillis,
                                        @Value("${telegram.bot.username}") String botUsername,
                                        @Value("${telegram.bot.welcome.message}") String welcomeMessage,
-                                       MessageRepository messageRepository) {
-        this.bot = new TelegramBot(botToken);
+                                       TelegramChatRegistry chatRegistry,
+                                       TelegramRateLimiter rateLimiter,
+                                       NotificationOutbox outbox) {
+        OkHttpClient client = new OkHttpClient.Builder()
+                .connectTimeout(sendTimeoutMillis, TimeUnit.MILLISECONDS)
+                .writeTimeout(sendTimeoutMillis, TimeUnit.MILLISECONDS)
+                .readTimeout(sendTimeoutMillis, TimeUnit.MILLISECONDS)
+                .build();
+        this.bot = new TelegramBot.Builder(botToken).apiUrl(apiUrl).okHttpClient(client).build();
         this.botUsername = botUsername;
-        this.welcomeMessage = welcomeMessage;
-        this.messageRepository = messageRepository;
+        this.welcomeTemplate = CompiledTemplate.compile(welcomeMessage);
+        this.chatRegistry = chatRegistry;
+        this.rateLimiter = rateLimiter;
+        this.outbox = outbox;
     }
 
-    @PostConstruct
-    public void init() {
-        bot.setUpdatesListener(updates -> {
-            for (Update update : updates) {
-                logger.debug("Received Telegram update: {}", update);
-                if (update.message() != null && update.message().text() != null) {
-                    logger.info("Received message: " + update.message().text());
-                } else if (update.myChatMember() != null && "member".equals(update.myChatMember().newChatMember().status().name())) {
-                    logger.info("Bot was added to a chat: " + update.myChatMember().chat().id());
-                }
-            }
-            return UpdatesListener.CONFIRMED_UPDATES_ALL;
-        });
+    /**
+     * Q-Insight: Starts long polling for updates. The listener must return quickly; see {@link TelegramUpdateHandler}.
+     */
+    public void setUpdatesListener(UpdatesListener listener) {
+        bot.setUpdatesListener(listener);
+    }
+
+    public void removeUpdatesListener() {
+        bot.removeGetUpdatesListener();
     }
 
-    @Override
     public String getBotUsername() {
         return botUsername;
     }
 
+    public Optional<String> findChatId(String nationalId) {
+        return chatRegistry.findChatId(nationalId);
+    }
 
-    @Async
     @Override
-    public void sendTicketConfirmation(Ticket ticket, int positionInQueue, long estimatedWaitTimeMinutes) {
-        if (ticket.getTelefono() == null || ticket.getTelefono().isBlank()) {
-            logger.warn("Cannot send confirmation for ticket {}: no Telegram chat ID.", ticket.getTicketNumber());
-            return;
-        }
-
-        String content = String.format(MessageTemplate.TOTEM_TICKET_CREADO.getTemplate(),
-                ticket.getTicketNumber(),
-                positionInQueue,
-                estimatedWaitTimeMinutes);
-
-        Message message = new Message();
-        message.setTicket(ticket);
-        message.setPlantilla(MessageTemplate.TOTEM_TICKET_CREADO);
-        message.setEstadoEnvio(MessageStatus.PENDIENTE);
-        message.setFechaProgramada(LocalDateTime.now());
-        message.setChatId(ticket.getTelefono());
-        message.setContent(content);
-        messageRepository.save(message);
+    public MessageChannel type() {
+        return MessageChannel.TELEGRAM;
     }
 
-    @Async
     @Override
-    public void sendPreArrivalAlert(Ticket ticket) {
-        if (ticket.getTelefono() == null || ticket.getTelefono().isBlank()) {
-            return;
-        }
-
-        String content = String.format(MessageTemplate.TOTEM_PROXIMO_TURNO.getTemplate(), ticket.getTicketNumber());
-
-        Message message = new Message();
-        message.setTicket(ticket);
-        message.setPlantilla(MessageTemplate.TOTEM_PROXIMO_TURNO);
-        message.setEstadoEnvio(MessageStatus.PENDIENTE);
-        message.setFechaProgramada(LocalDateTime.now());
-        message.setChatId(ticket.getTelefono());
-        message.setContent(content);
-        messageRepository.save(message);
+    public Optional<String> recipientFor(NotificationCommand command) {
+        return command.hasChat() ? Optional.of(command.chatId()) : Optional.empty();
     }
 
-    @Async
     @Override
-    public void sendTurnActiveAlert(Ticket ticket) {
-        if (ticket.getTelefono() == null || ticket.getTelefono().isBlank() || ticket.getExecutive() == null) {
-            return;
-        }
-
-        String content = String.format(MessageTemplate.TOTEM_ES_TU_TURNO.getTemplate(),
-                ticket.getTicketNumber(),
-                ticket.getExecutive().getModule(),
-                ticket.getExecutive().getFullName());
-
-        Message message = new Message();
-        message.setTicket(ticket);
-        message.setPlantilla(MessageTemplate.TOTEM_ES_TU_TURNO);
-        message.setEstadoEnvio(MessageStatus.PENDIENTE);
-        message.setFechaProgramada(LocalDateTime.now());
-        message.setChatId(ticket.getTelefono());
-        message.setContent(content);
-        messageRepository.save(message);
+    public ChannelRateLimiter rateLimiter() {
+        return rateLimiter;
     }
 
-    @Scheduled(fixedRate = 60000) // every 60 seconds
-    public void processPendingMessages() {
-        List<Message> pendingMessages = messageRepository.findByEstadoEnvioAndFechaProgramadaBefore(MessageStatus.PENDIENTE, LocalDateTime.now());
-        for (Message message : pendingMessages) {
-            sendMessage(message);
+    /**
+     * Q-Insight: Answers {@code /start}: tells the customer their chat id and, if it came through their ticket's
+     * link, confirms that their tickets will be notified in this chat.
+     * @param chatId The chat that sent {@code /start}.
+     * @param nationalId The normalised RUT the chat was registered for, or {@code null} if it was not.
+     */
+    @Transactional
+    public void sendWelcome(long chatId, String nationalId) {
+        String chat = String.valueOf(chatId);
+        outbox.enqueue(MessageChannel.TELEGRAM, null, chat, MessageTemplate.TELEGRAM_BIENVENIDA, welcomeTemplate.render(chatId));
+        if (nationalId != null) {
+            outbox.enqueue(MessageChannel.TELEGRAM, null, chat, MessageTemplate.TELEGRAM_REGISTRO_CONFIRMADO,
+                    MessageTemplate.TELEGRAM_REGISTRO_CONFIRMADO.render(nationalId));
         }
     }
 
-    @Retryable(value = Exception.class, maxAttempts = 4, backoff = @Backoff(delay = 30000, multiplier = 2))
-    public void sendMessage(Message message) {
-        message.setIntentos(message.getIntentos() + 1);
-        SendMessage request = new SendMessage(message.getChatId(), message.getContent()).parseMode(com.pengrad.telegrambot.model.request.ParseMode.HTML);
-        bot.execute(request);
-        message.setEstadoEnvio(MessageStatus.ENVIADO);
-        message.setFechaEnvio(LocalDateTime.now());
-        logger.info("Successfully sent Telegram message to chatId: {}", message.getChatId());
-        messageRepository.save(message);
-    }
-
-    @Recover
-    public void recover(Exception e, Message message) {
-        logger.error("Failed to send Telegram message to chatId: {} after multiple retries. Reason: {}", message.getChatId(), e.getMessage());
-        message.setEstadoEnvio(MessageStatus.FALLIDO);
-        messageRepository.save(message);
+    /**
+     * Q-Insight: Sends one message through the Bot API.
+     * @return The id Telegram gave the message.
+     * @throws TelegramSendException If the API rejected the message (for a 429 it carries {@code retry_after}) or did
+     * not answer within the timeout.
+     */
+    @Override
+    public String send(String chatId, String content) {
+        SendMessage request = new SendMessage(chatId, content).parseMode(ParseMode.HTML);
+        SendResponse response;
+        try {
+            response = bot.execute(request);
+        } catch (RuntimeException e) {
+            // The client wraps I/O errors, timeouts included.
+            throw new TelegramSendException(String.valueOf(e.getMessage()), e);
+        }
+        if (response == null) {
+            throw new TelegramSendException(0, "no response");
+        }
+        if (!response.isOk()) {
+            Integer retryAfter = response.parameters() != null ? response.parameters().retryAfter() : null;
+            throw new TelegramSendException(response.errorCode(), response.description(), retryAfter != null ? retryAfter : 0);
+        }
+        logger.debug("Sent Telegram message to chatId: {}", chatId);
+        return response.message() != null ? String.valueOf(response.message().messageId()) : null;
     }
 }
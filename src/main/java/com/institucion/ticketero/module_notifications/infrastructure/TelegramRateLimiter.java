@@ -0,0 +1,121 @@
+package com.institucion.ticketero.module_notifications.infrastructure;
+
+import com.institucion.ticketero.module_notifications.application.ChannelRateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Q-Insight: Pacing for the Telegram Bot API.
+ * Telegram limits a bot both overall (about 30 messages per second) and per chat (about one per second), and
+ * answers a burst beyond either with 429s. Every send first takes a slot from a per-chat bucket and then from
+ * the global bucket, so a busy workday opening is spread out instead of rejected.
+ * A 429 pauses every send for the {@code retry_after} the API asked for; {@link #pausedForNanos()} lets callers
+ * reschedule work instead of waiting the pause out.
+ * Pacing waits are short (one slot interval per queued send) and callers park for them on the relay's virtual
+ * threads; the wait is recorded as {@code ticketero.notifications.telegram.throttle.wait}.
+ */
+@Component
+public class TelegramRateLimiter implements ChannelRateLimiter {
+
+    private static final long IDLE_BUCKET_SWEEP_MS = 60_000;
+
+    private final TokenBucketRateLimiter global;
+    private final double perChatPerSecond;
+    private final int perChatBurst;
+    private final Map<String, TokenBucket> chats = new ConcurrentHashMap<>();
+    private final LongSupplier nanoClock;
+    private final Timer throttleWait;
+    private final Counter rateLimited;
+
+    @Autowired
+    public TelegramRateLimiter(@Value("${ticketero.notifications.telegram.rate-limit.global-per-second:30}") double globalPerSecond,
+                               @Value("${ticketero.notifications.telegram.rate-limit.per-chat-per-second:1}") double perChatPerSecond,
+                               @Value("${ticketero.notifications.telegram.rate-limit.per-chat-burst:1}") int perChatBurst,
+                               MeterRegistry meterRegistry) {
+        this(globalPerSecond, perChatPerSecond, perChatBurst, meterRegistry, System::nanoTime);
+    }
+
+    TelegramRateLimiter(double globalPerSecond, double perChatPerSecond, int perChatBurst, MeterRegistry meterRegistry,
+                        LongSupplier nanoClock) {
+        this.global = new TokenBucketRateLimiter(globalPerSecond, Math.max(1, (int) globalPerSecond), nanoClock);
+        this.perChatPerSecond = perChatPerSecond;
+        this.perChatBurst = perChatBurst;
+        this.nanoClock = nanoClock;
+        this.throttleWait = Timer.builder("ticketero.notifications.telegram.throttle.wait")
+                .description("Time a Telegram send waited for the rate limits")
+                .register(meterRegistry);
+        this.rateLimited = Counter.builder("ticketero.notifications.telegram.rate-limited")
+                .description("Sends the Telegram API rejected with 429")
+                .register(meterRegistry);
+        Gauge.builder("ticketero.notifications.telegram.throttled-chats", chats, Map::size)
+                .description("Chats with a recent send still limiting the next one")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Q-Insight: Blocks until {@code chatId} may be sent a message.
+     */
+    @Override
+    public void acquire(String chatId) {
+        long start = reserve(chatId);
+        long waited = start - nanoClock.getAsLong();
+        global.awaitSlot(start);
+        throttleWait.record(Math.max(0, waited), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Q-Insight: Reserves the next send slot for {@code chatId} without waiting.
+     * @return When the slot starts, on the limiter's clock.
+     */
+    long reserve(String chatId) {
+        TokenBucket chat = chats.computeIfAbsent(chatId, id -> new TokenBucket(perChatPerSecond, perChatBurst));
+        long chatStart = chat.reserve(nanoClock.getAsLong());
+        long start = global.reserve(chatStart);
+        if (start > chatStart) {
+            // The global limit pushed this send back; the chat's next slot follows the real one.
+            chat.deferTo(start);
+        }
+        return start;
+    }
+
+    /**
+     * Q-Insight: Applies a 429's {@code retry_after} to every send.
+     */
+    @Override
+    public void onRateLimited(int retryAfterSeconds) {
+        rateLimited.increment();
+        global.onRateLimited(retryAfterSeconds);
+    }
+
+    /**
+     * Q-Insight: How much longer a 429's {@code retry_after} holds sends back, or 0.
+     */
+    @Override
+    public long pausedForNanos() {
+        return global.pausedForNanos();
+    }
+
+    /**
+     * Q-Insight: Forgets chats whose bucket has refilled, so the map holds only recently messaged chats.
+     */
+    @Scheduled(fixedDelay = IDLE_BUCKET_SWEEP_MS)
+    public void evictIdleChats() {
+        long now = nanoClock.getAsLong();
+        chats.values().removeIf(bucket -> bucket.isIdle(now));
+    }
+
+    int trackedChats() {
+        return chats.size();
+    }
+}
@@ -0,0 +1,26 @@
+package com.institucion.ticketero.module_notifications.infrastructure;
+
+import com.institucion.ticketero.module_notifications.application.ChannelSendException;
+
+/**
+ * Q-Insight: A message the Telegram Bot API did not accept.
+ * Carries the API's error code and description so callers can tell throttling from permanent errors.
+ * When the API throttled the bot (HTTP 429) it also says how long to wait before sending again.
+ */
+public class TelegramSendException extends ChannelSendException {
+
+    public TelegramSendException(int errorCode, String description) {
+        this(errorCode, description, 0);
+    }
+
+    public TelegramSendException(int errorCode, String description, int retryAfterSeconds) {
+        super(errorCode, "Telegram API error " + errorCode + ": " + description, retryAfterSeconds);
+    }
+
+    /**
+     * Q-Insight: The request never got an answer (connection refused, timed out); reported as error code 0.
+     */
+    public TelegramSendException(String description, Throwable cause) {
+        super(0, "Telegram API unreachable: " + description, cause);
+    }
+}
@@ -0,0 +1,139 @@
+package com.institucion.ticketero.module_notifications.infrastructure;
+
+import com.pengrad.telegrambot.UpdatesListener;
+import com.pengrad.telegrambot.model.Message;
+import com.pengrad.telegrambot.model.Update;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Q-Insight: Handler for Incoming Telegram Updates.
+ * The long-polling listener only picks the {@code /start} commands out of each batch and hands them to a single
+ * worker thread, so the next poll is not held up by database writes. The batch is confirmed to Telegram as soon as
+ * it is handed over: a {@code /start} lost to a crash is simply sent again by the customer.
+ * A {@code /start} is answered with the chat id. When it carries a valid token from the link printed with a ticket
+ * ({@link TelegramLinkTokens}), the chat is registered for the token's RUT in the {@link TelegramChatRegistry}, so
+ * the customer's next tickets are notified without typing the chat id at the kiosk. A bare RUT registers nothing:
+ * anyone can type a RUT, but only its owner was handed the link.
+ */
+@Component
+public class TelegramUpdateHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelegramUpdateHandler.class);
+    private static final String START_COMMAND = "/start";
+
+    private final TelegramNotificationService telegramNotificationService;
+    private final TelegramChatRegistry chatRegistry;
+    private final TelegramLinkTokens linkTokens;
+    private final ExecutorService executor;
+
+    public TelegramUpdateHandler(TelegramNotificationService telegramNotificationService, TelegramChatRegistry chatRegistry,
+                                 TelegramLinkTokens linkTokens) {
+        this.telegramNotificationService = telegramNotificationService;
+        this.chatRegistry = chatRegistry;
+        this.linkTokens = linkTokens;
+        this.executor = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("telegram-updates").daemon().factory());
+    }
+
+    @PostConstruct
+    public void start() {
+        telegramNotificationService.setUpdatesListener(this::onUpdates);
+    }
+
+    /**
+     * Q-Insight: Listener callback, on the polling thread.
+     */
+    int onUpdates(List<Update> updates) {
+        List<StartCommand> commands = new ArrayList<>();
+        for (Update update : updates) {
+            Message message = update.message();
+            if (message != null && message.text() != null) {
+                String payload = startPayload(message.text());
+                if (payload != null) {
+                    commands.add(new StartCommand(message.chat().id(), payload));
+                } else {
+                    logger.debug("Ignoring message from chat {}", message.chat().id());
+                }
+            } else if (update.myChatMember() != null && "member".equals(update.myChatMember().newChatMember().status().name())) {
+                logger.info("Bot was added to a chat: {}", update.myChatMember().chat().id());
+            }
+        }
+        if (!commands.isEmpty()) {
+            executor.execute(() -> process(commands));
+        }
+        return UpdatesListener.CONFIRMED_UPDATES_ALL;
+    }
+
+    /**
+     * Q-Insight: Registers every chat that sent a valid link token with one write, then answers each command.
+     * If a chat sent several tokens, or a RUT's token came from several chats, the last one wins: each of them
+     * was handed the link by the RUT's owner.
+     */
+    void process(List<StartCommand> commands) {
+        try {
+            Map<String, String> registrations = new LinkedHashMap<>();
+            List<String> nationalIds = new ArrayList<>(commands.size());
+            for (StartCommand command : commands) {
+                String nationalId = linkTokens.verify(command.payload()).orElse(null);
+                if (nationalId != null) {
+                    registrations.put(nationalId, String.valueOf(command.chatId()));
+                }
+                nationalIds.add(nationalId);
+            }
+            chatRegistry.registerAll(registrations);
+            for (int i = 0; i < commands.size(); i++) {
+                telegramNotificationService.sendWelcome(commands.get(i).chatId(), nationalIds.get(i));
+            }
+            logger.info("Answered {} /start commands, registered {} chats", commands.size(), registrations.size());
+            if (registrations.size() < commands.size()) {
+                logger.debug("{} /start commands carried no valid link token", commands.size() - registrations.size());
+            }
+        } catch (RuntimeException e) {
+            logger.error("Failed to process {} /start commands", commands.size(), e);
+        }
+    }
+
+    /**
+     * Q-Insight: The argument of a {@code /start} command ({@code ""} if it has none), or {@code null} if the
+     * text is not one. Accepts the {@code /start@BotName} form Telegram uses in group chats.
+     */
+    static String startPayload(String text) {
+        String trimmed = text.strip();
+        if (!trimmed.startsWith(START_COMMAND)) {
+            return null;
+        }
+        int end = START_COMMAND.length();
+        if (end < trimmed.length() && trimmed.charAt(end) == '@') {
+            while (end < trimmed.length() && !Character.isWhitespace(trimmed.charAt(end))) {
+                end++;
+            }
+        } else if (end < trimmed.length() && !Character.isWhitespace(trimmed.charAt(end))) {
+            // "/started" and the like.
+            return null;
+        }
+        return trimmed.substring(end).strip();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        telegramNotificationService.removeUpdatesListener();
+        executor.shutdown();
+        if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    record StartCommand(long chatId, String payload) {
+    }
+}
@@ -0,0 +1,60 @@
+package com.institucion.ticketero.module_notifications.infrastructure;
+
+/**
+ * Q-Insight: Token Bucket Kept as a Single Timestamp.
+ * Tracks the theoretical time the bucket is next empty (the generic cell rate algorithm), so a bucket is one
+ * {@code long} no matter how many callers share it. Callers reserve a send slot and are told when it starts;
+ * they wait outside the bucket's lock, so waiting callers never hold it up.
+ * All times are in nanoseconds on the caller's clock.
+ */
+final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstToleranceNanos;
+    // When the bucket would be empty again if nothing else were reserved; guarded by this.
+    private long emptyAt;
+
+    /**
+     * @param permitsPerSecond Sustained rate.
+     * @param burst Permits available at once after the bucket has been idle.
+     */
+    TokenBucket(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("A token bucket needs a positive rate and burst");
+        }
+        this.intervalNanos = (long) (1_000_000_000L / permitsPerSecond);
+        this.burstToleranceNanos = (burst - 1) * intervalNanos;
+        this.emptyAt = Long.MIN_VALUE / 2;
+    }
+
+    /**
+     * Q-Insight: Reserves the first slot at or after {@code earliest}.
+     * @return When the reserved slot starts.
+     */
+    synchronized long reserve(long earliest) {
+        long start = Math.max(earliest, emptyAt - burstToleranceNanos);
+        emptyAt = Math.max(emptyAt, start) + intervalNanos;
+        return start;
+    }
+
+    /**
+     * Q-Insight: Moves a slot reserved earlier to {@code start}, when its caller actually used it.
+     */
+    synchronized void deferTo(long start) {
+        emptyAt = Math.max(emptyAt, start + intervalNanos);
+    }
+
+    /**
+     * Q-Insight: Hands out no slot before {@code until}; the bucket refills from empty after that.
+     */
+    synchronized void pauseUntil(long until) {
+        emptyAt = Math.max(emptyAt, until + burstToleranceNanos);
+    }
+
+    /**
+     * Q-Insight: True when the bucket is full again, i.e. forgetting it changes nothing.
+     */
+    synchronized boolean isIdle(long now) {
+        return emptyAt <= now;
+    }
+}
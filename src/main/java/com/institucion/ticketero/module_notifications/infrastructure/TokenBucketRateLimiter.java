@@ -0,0 +1,66 @@
+package com.institucion.ticketero.module_notifications.infrastructure;
+
+import com.institucion.ticketero.module_notifications.application.ChannelRateLimiter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * Q-Insight: Pacing for a Provider with a Single Overall Limit.
+ * For channels whose provider limits the account as a whole (SMS gateways, SMTP relays) rather than each
+ * recipient: one {@link TokenBucket} shared by every send. A "too many requests" answer pauses the bucket.
+ * The {@link TelegramRateLimiter} uses one as its global limit, under its per-chat buckets.
+ */
+public class TokenBucketRateLimiter implements ChannelRateLimiter {
+
+    private final TokenBucket bucket;
+    private final LongSupplier nanoClock;
+    // Starts at "now": a sentinel such as Long.MIN_VALUE would overflow when the clock is subtracted from it.
+    private volatile long pausedUntil;
+
+    public TokenBucketRateLimiter(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(double permitsPerSecond, int burst, LongSupplier nanoClock) {
+        this.bucket = new TokenBucket(permitsPerSecond, burst);
+        this.nanoClock = nanoClock;
+        this.pausedUntil = nanoClock.getAsLong();
+    }
+
+    @Override
+    public void acquire(String recipient) {
+        awaitSlot(reserve(nanoClock.getAsLong()));
+    }
+
+    /**
+     * Q-Insight: Reserves the first slot at or after {@code earliest} without waiting.
+     * @return When the slot starts, on the limiter's clock.
+     */
+    long reserve(long earliest) {
+        return bucket.reserve(earliest);
+    }
+
+    /**
+     * Q-Insight: Parks the caller until a reserved slot starts.
+     */
+    void awaitSlot(long start) {
+        long remaining;
+        while ((remaining = start - nanoClock.getAsLong()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    @Override
+    public synchronized void onRateLimited(int retryAfterSeconds) {
+        long until = nanoClock.getAsLong() + TimeUnit.SECONDS.toNanos(retryAfterSeconds);
+        bucket.pauseUntil(until);
+        pausedUntil = Math.max(pausedUntil, until);
+    }
+
+    @Override
+    public long pausedForNanos() {
+        return Math.max(0, pausedUntil - nanoClock.getAsLong());
+    }
+}
@@ -1,10 +1,12 @@
 package com.institucion.ticketero.module_queues.api;
 
 import com.institucion.ticketero.module_queues.application.PublicDashboardService;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -29,4 +31,15 @@ public class PublicDashboardController {
     public ResponseEntity<List<NowServingTicket>> getNowServing() {
         return ResponseEntity.ok(publicDashboardService.getNowServing());
     }
+
+    /**
+     * Endpoint streaming the "Now Serving" data as Server-Sent Events.
+     * Sends a {@code snapshot} event on connect, then {@code assigned} and {@code closed} events as tickets
+     * are called and finished, so screens no longer need to poll.
+     * @return The event stream.
+     */
+    @GetMapping(path = "/now-serving/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNowServing() {
+        return publicDashboardService.streamNowServing();
+    }
 }
@@ -0,0 +1,205 @@
+package com.institucion.ticketero.module_queues.application;
+
+import com.institucion.ticketero.module_executives.api.ExecutiveStatusResponse;
+import com.institucion.ticketero.module_executives.domain.Executive;
+import com.institucion.ticketero.module_executives.domain.ExecutiveStatus;
+import com.institucion.ticketero.module_executives.domain.ExecutiveStatusChangedEvent;
+import com.institucion.ticketero.module_executives.infrastructure.ExecutiveRepository;
+import com.institucion.ticketero.module_queues.api.DashboardMetricsResponse;
+import com.institucion.ticketero.module_queues.domain.AttentionType;
+import com.institucion.ticketero.module_tickets.domain.TicketStatus;
+import com.institucion.ticketero.module_tickets.domain.TicketStatusChangedEvent;
+import com.institucion.ticketero.module_tickets.infrastructure.ExecutiveTicketView;
+import com.institucion.ticketero.module_tickets.infrastructure.StatusCountView;
+import com.institucion.ticketero.module_tickets.infrastructure.TicketRepository;
+import com.institucion.ticketero.module_workday.application.WorkdayService;
+import com.institucion.ticketero.module_workday.domain.Workday;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Q-Insight: In-Memory Snapshot of the Supervisor Dashboard (RF-007).
+ * Keeps the dashboard figures for the active workday (tickets created, tickets per status, and what every
+ * executive is doing) as counters that are moved by {@link TicketStatusChangedEvent}s and
+ * {@link ExecutiveStatusChangedEvent}s after their transactions commit. Queue details come from the live queues.
+ * - Reads return the last materialized {@link DashboardMetricsResponse}, in O(1). A change only marks it dirty;
+ *   the next read rebuilds it from the counters, without SQL.
+ * - Staleness bound: a read made more than {@code ticketero.dashboard.max-staleness-ms} after the last
+ *   reconciliation reloads everything from the database first (four queries), so changes the events miss
+ *   (another node, a new workday, direct SQL) are visible within that bound.
+ */
+@Component
+public class DashboardSnapshot {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardSnapshot.class);
+    private static final List<AttentionType> ALL_ATTENTION_TYPES = List.of(AttentionType.values());
+
+    private final TicketRepository ticketRepository;
+    private final ExecutiveRepository executiveRepository;
+    private final QueueService queueService;
+    private final WorkdayService workdayService;
+    private final long maxStalenessNanos;
+    private final LongSupplier clock;
+
+    private Long workdayId;
+    private long totalTickets;
+    private final Map<TicketStatus, Long> ticketsByStatus = new EnumMap<>(TicketStatus.class);
+    private final Map<Long, ExecutiveStatusResponse> executives = new TreeMap<>();
+    private volatile long reconciledAt;
+    private volatile boolean reconciled;
+    // Last materialized response; null when a change has arrived since.
+    private volatile DashboardMetricsResponse current;
+
+    @Autowired
+    public DashboardSnapshot(TicketRepository ticketRepository, ExecutiveRepository executiveRepository,
+                             QueueService queueService, WorkdayService workdayService,
+                             @Value("${ticketero.dashboard.max-staleness-ms:30000}") long maxStalenessMillis) {
+        this(ticketRepository, executiveRepository, queueService, workdayService, maxStalenessMillis, System::nanoTime);
+    }
+
+    DashboardSnapshot(TicketRepository ticketRepository, ExecutiveRepository executiveRepository,
+                      QueueService queueService, WorkdayService workdayService,
+                      long maxStalenessMillis, LongSupplier clock) {
+        this.ticketRepository = ticketRepository;
+        this.executiveRepository = executiveRepository;
+        this.queueService = queueService;
+        this.workdayService = workdayService;
+        this.maxStalenessNanos = maxStalenessMillis * 1_000_000L;
+        this.clock = clock;
+    }
+
+    /**
+     * Q-Insight: The current dashboard metrics.
+     * Returns the materialized snapshot when nothing changed and the staleness bound holds.
+     */
+    public DashboardMetricsResponse current() {
+        DashboardMetricsResponse snapshot = current;
+        if (snapshot != null && !isStale()) {
+            return snapshot;
+        }
+        synchronized (this) {
+            if (isStale()) {
+                reconcile();
+            }
+            if (current == null) {
+                current = materialize();
+            }
+            return current;
+        }
+    }
+
+    /**
+     * Q-Insight: Reloads every counter from the database.
+     */
+    public synchronized void reconcile() {
+        Workday workday = workdayService.getCurrentActiveWorkday();
+        workdayId = workday.getId();
+        totalTickets = ticketRepository.countByCreatedAtAfter(workday.getStartTime());
+        ticketsByStatus.clear();
+        for (StatusCountView count : ticketRepository.countByStatusForWorkday(workdayId)) {
+            ticketsByStatus.put(count.getStatus(), count.getTotal());
+        }
+
+        Map<Long, String> currentTickets = new LinkedHashMap<>();
+        for (ExecutiveTicketView view : ticketRepository.findExecutiveTickets(TicketStatus.ATENDIENDO)) {
+            currentTickets.putIfAbsent(view.getExecutiveId(), view.getTicketNumber());
+        }
+        executives.clear();
+        for (Executive executive : executiveRepository.findAll()) {
+            executives.put(executive.getId(), new ExecutiveStatusResponse(executive.getId(), executive.getFullName(),
+                    executive.getModule(), executive.getStatus(), currentTickets.get(executive.getId()),
+                    skills(executive.getSupportedAttentionTypes())));
+        }
+
+        reconciledAt = clock.getAsLong();
+        reconciled = true;
+        current = null;
+        logger.debug("Dashboard snapshot reconciled for workday {}", workdayId);
+    }
+
+    @TransactionalEventListener
+    public synchronized void onTicketStatusChanged(TicketStatusChangedEvent event) {
+        if (!reconciled) {
+            return;
+        }
+        if (!event.workdayId().equals(workdayId)) {
+            // A ticket of another workday: the active workday changed, so reload on the next read.
+            reconciled = false;
+            current = null;
+            return;
+        }
+        if (event.previousStatus() == null) {
+            totalTickets++;
+        } else {
+            ticketsByStatus.merge(event.previousStatus(), -1L, Long::sum);
+        }
+        ticketsByStatus.merge(event.newStatus(), 1L, Long::sum);
+
+        if (event.newStatus() == TicketStatus.ATENDIENDO && event.executiveId() != null) {
+            setCurrentTicket(event.executiveId(), event.ticketNumber());
+        } else if (event.previousStatus() == TicketStatus.ATENDIENDO && event.executiveId() != null) {
+            ExecutiveStatusResponse executive = executives.get(event.executiveId());
+            if (executive != null && event.ticketNumber().equals(executive.currentTicketNumber())) {
+                setCurrentTicket(event.executiveId(), null);
+            }
+        }
+        current = null;
+    }
+
+    @TransactionalEventListener
+    public synchronized void onExecutiveStatusChanged(ExecutiveStatusChangedEvent event) {
+        if (!reconciled) {
+            return;
+        }
+        if (event.isRemoved()) {
+            executives.remove(event.executiveId());
+        } else {
+            ExecutiveStatusResponse previous = executives.get(event.executiveId());
+            String currentTicket = previous != null && event.status() == ExecutiveStatus.BUSY ? previous.currentTicketNumber() : null;
+            executives.put(event.executiveId(), new ExecutiveStatusResponse(event.executiveId(), event.fullName(),
+                    event.module(), event.status(), currentTicket, skills(event.skills())));
+        }
+        current = null;
+    }
+
+    private void setCurrentTicket(Long executiveId, String ticketNumber) {
+        ExecutiveStatusResponse executive = executives.get(executiveId);
+        if (executive != null) {
+            executives.put(executiveId, new ExecutiveStatusResponse(executive.id(), executive.fullName(),
+                    executive.module(), executive.status(), ticketNumber, executive.supportedAttentionTypes()));
+        }
+    }
+
+    private boolean isStale() {
+        return !reconciled || clock.getAsLong() - reconciledAt > maxStalenessNanos;
+    }
+
+    private DashboardMetricsResponse materialize() {
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        for (TicketStatus status : TicketStatus.values()) {
+            byStatus.put(status.name(), ticketsByStatus.getOrDefault(status, 0L));
+        }
+        return new DashboardMetricsResponse(totalTickets, byStatus, queueService.getAllQueueStatus(Optional.empty()),
+                new ArrayList<>(executives.values()), ALL_ATTENTION_TYPES);
+    }
+
+    private static Set<AttentionType> skills(Set<AttentionType> skills) {
+        return skills == null || skills.isEmpty() ? Set.of() : Collections.unmodifiableSet(EnumSet.copyOf(skills));
+    }
+}
@@ -0,0 +1,172 @@
+package com.institucion.ticketero.module_queues.application;
+
+import com.institucion.ticketero.module_queues.domain.AttentionType;
+import com.institucion.ticketero.module_queues.domain.LiveQueue;
+import com.institucion.ticketero.module_queues.domain.WaitingTicket;
+import com.institucion.ticketero.module_tickets.domain.TicketStatus;
+import com.institucion.ticketero.module_tickets.domain.TicketStatusChangedEvent;
+import com.institucion.ticketero.module_tickets.infrastructure.QueuedTicketView;
+import com.institucion.ticketero.module_tickets.infrastructure.TicketRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Q-Insight: Live Queue Engine.
+ * Keeps the authoritative in-memory view of every waiting ticket, one {@link LiveQueue} per attention type and workday.
+ * It is rebuilt from the tickets table when the application starts and then kept current from
+ * {@link TicketStatusChangedEvent}s published after each committed transition (create, assign, close, cancel).
+ * Position, head-of-queue and waiting-count questions are answered from memory instead of the database.
+ */
+@Component
+public class LiveQueueEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveQueueEngine.class);
+
+    private final TicketRepository ticketRepository;
+    private volatile Map<AttentionType, ConcurrentNavigableMap<Long, LiveQueue>> queues = emptyQueues();
+
+    public LiveQueueEngine(TicketRepository ticketRepository) {
+        this.ticketRepository = ticketRepository;
+    }
+
+    /**
+     * Q-Insight: Rebuilds all queues from the tickets table.
+     * Runs while the context starts, before the web server accepts requests. The new queues are built
+     * aside and swapped in at once, so readers never observe a half-built state.
+     */
+    @PostConstruct
+    public void rebuild() {
+        Map<AttentionType, ConcurrentNavigableMap<Long, LiveQueue>> rebuilt = emptyQueues();
+        List<QueuedTicketView> waitingTickets = ticketRepository.findQueuedTickets(TicketStatus.EN_ESPERA);
+        for (QueuedTicketView view : waitingTickets) {
+            rebuilt.get(view.getAttentionType())
+                    .computeIfAbsent(view.getWorkdayId(), id -> new LiveQueue())
+                    .add(new WaitingTicket(view.getId(), view.getTicketNumber(), view.getSequenceNumber(), view.getWorkdayId(), view.getCreatedAt()));
+        }
+        queues = rebuilt;
+        logger.info("Live queues rebuilt with {} waiting tickets", waitingTickets.size());
+    }
+
+    /**
+     * Q-Insight: Applies a committed ticket transition.
+     * Tickets entering EN_ESPERA join their queue; tickets leaving it (assigned, cancelled...) are removed.
+     * Runs before other after-commit listeners, so a dispatch pass triggered by the same commit already sees the change.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onTicketStatusChanged(TicketStatusChangedEvent event) {
+        if (event.newStatus() == TicketStatus.EN_ESPERA) {
+            queue(event.attentionType(), event.workdayId())
+                    .add(new WaitingTicket(event.ticketId(), event.ticketNumber(), event.sequenceNumber(), event.workdayId(), event.createdAt()));
+        } else if (event.previousStatus() == TicketStatus.EN_ESPERA) {
+            remove(event.attentionType(), event.workdayId(), event.sequenceNumber());
+        }
+    }
+
+    /**
+     * Q-Insight: Removes a ticket from its queue.
+     * Also used to drop entries found to be stale when the database disagrees with memory.
+     */
+    public void remove(AttentionType attentionType, Long workdayId, long sequenceNumber) {
+        LiveQueue queue = queues.get(attentionType).get(workdayId);
+        if (queue != null) {
+            queue.remove(sequenceNumber);
+        }
+    }
+
+    /**
+     * Q-Insight: Current position of a ticket.
+     * @return The 1-based position within its queue and workday, or 0 if it is not waiting.
+     */
+    public int positionOf(AttentionType attentionType, Long workdayId, long sequenceNumber) {
+        LiveQueue queue = queues.get(attentionType).get(workdayId);
+        return queue != null ? queue.positionOf(sequenceNumber) : 0;
+    }
+
+    /**
+     * Q-Insight: Number of tickets waiting in a queue for a workday.
+     */
+    public int waitingCount(AttentionType attentionType, Long workdayId) {
+        LiveQueue queue = queues.get(attentionType).get(workdayId);
+        return queue != null ? queue.size() : 0;
+    }
+
+    /**
+     * Q-Insight: Number of tickets waiting in a queue, across workdays.
+     */
+    public int waitingCount(AttentionType attentionType) {
+        int total = 0;
+        for (LiveQueue queue : queues.get(attentionType).values()) {
+            total += queue.size();
+        }
+        return total;
+    }
+
+    /**
+     * Q-Insight: Next ticket to serve for an attention type.
+     * Tickets left over from an earlier workday are served before the current workday's tickets.
+     */
+    public Optional<WaitingTicket> head(AttentionType attentionType) {
+        for (LiveQueue queue : queues.get(attentionType).values()) {
+            Optional<WaitingTicket> head = queue.head();
+            if (head.isPresent()) {
+                return head;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Q-Insight: First waiting tickets for an attention type, in serving order across workdays.
+     * @param limit The maximum number of tickets to return.
+     */
+    public List<WaitingTicket> peek(AttentionType attentionType, int limit) {
+        List<WaitingTicket> tickets = new ArrayList<>();
+        for (LiveQueue queue : queues.get(attentionType).values()) {
+            if (tickets.size() >= limit) {
+                break;
+            }
+            tickets.addAll(queue.peek(limit - tickets.size()));
+        }
+        return tickets;
+    }
+
+    /**
+     * Q-Insight: Tickets standing at a given position, one per non-empty queue.
+     * Used to find customers who should receive the pre-arrival alert.
+     */
+    public List<WaitingTicket> ticketsAtPosition(int position) {
+        List<WaitingTicket> tickets = new ArrayList<>();
+        for (ConcurrentNavigableMap<Long, LiveQueue> byWorkday : queues.values()) {
+            for (LiveQueue queue : byWorkday.values()) {
+                queue.ticketAt(position).ifPresent(tickets::add);
+            }
+        }
+        return tickets;
+    }
+
+    private LiveQueue queue(AttentionType attentionType, Long workdayId) {
+        return queues.get(attentionType).computeIfAbsent(workdayId, id -> new LiveQueue());
+    }
+
+    private static Map<AttentionType, ConcurrentNavigableMap<Long, LiveQueue>> emptyQueues() {
+        Map<AttentionType, ConcurrentNavigableMap<Long, LiveQueue>> empty = new EnumMap<>(AttentionType.class);
+        for (AttentionType attentionType : AttentionType.values()) {
+            empty.put(attentionType, new ConcurrentSkipListMap<>());
+        }
+        return empty;
+    }
+}
@@ -0,0 +1,273 @@
+package com.institucion.ticketero.module_queues.application;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.institucion.ticketero.module_executives.domain.Executive;
+import com.institucion.ticketero.module_executives.domain.ExecutiveStatusChangedEvent;
+import com.institucion.ticketero.module_executives.infrastructure.ExecutiveRepository;
+import com.institucion.ticketero.module_queues.api.NowServingTicket;
+import com.institucion.ticketero.module_tickets.domain.TicketStatus;
+import com.institucion.ticketero.module_tickets.domain.TicketStatusChangedEvent;
+import com.institucion.ticketero.module_tickets.infrastructure.ExecutiveTicketView;
+import com.institucion.ticketero.module_tickets.infrastructure.TicketRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Q-Insight: Shared "Now Serving" Board for the Public Screens.
+ * Holds the tickets currently being attended, most recent first, and pushes every change to the screens
+ * subscribed through Server-Sent Events:
+ * - {@code snapshot}: the whole board, sent when a screen subscribes (and after a resync that changed it).
+ * - {@code assigned}: a ticket was called to a module.
+ * - {@code closed}: a ticket left its module.
+ * The board is loaded once at startup and then kept current from ticket and executive events, so neither
+ * {@link #getNowServing()} nor a broadcast touches the database. Each event is serialised once and shared by all
+ * subscribers; each subscriber is written by its own virtual thread, so a slow screen never delays the others.
+ * A subscriber more than {@code MAX_BACKLOG} events behind is disconnected; its browser reconnects and gets a
+ * fresh snapshot.
+ */
+@Component
+public class NowServingBoard {
+
+    private static final Logger logger = LoggerFactory.getLogger(NowServingBoard.class);
+    private static final int MAX_BACKLOG = 64;
+
+    private final TicketRepository ticketRepository;
+    private final ExecutiveRepository executiveRepository;
+    private final ObjectMapper objectMapper;
+    private final long subscriptionTimeoutMillis;
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    // Tickets being attended, oldest first; guarded by this.
+    private final LinkedHashMap<String, NowServingTicket> serving = new LinkedHashMap<>();
+    private final Map<Long, String> executiveModules = new HashMap<>();
+    private long lastEventId;
+    // Immutable view of the board, most recent first.
+    private volatile List<NowServingTicket> snapshot = List.of();
+
+    public NowServingBoard(TicketRepository ticketRepository, ExecutiveRepository executiveRepository, ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry,
+                           @Value("${ticketero.public-dashboard.subscription-timeout-ms:1800000}") long subscriptionTimeoutMillis) {
+        this.ticketRepository = ticketRepository;
+        this.executiveRepository = executiveRepository;
+        this.objectMapper = objectMapper;
+        this.subscriptionTimeoutMillis = subscriptionTimeoutMillis;
+        Gauge.builder("ticketero.public-dashboard.subscribers", subscribers, Set::size)
+                .description("Screens subscribed to the now-serving stream")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Q-Insight: Reloads the board from the tickets table.
+     * Screens are sent a new snapshot if the board changed.
+     */
+    @PostConstruct
+    public synchronized void rebuild() {
+        List<ExecutiveTicketView> views = new ArrayList<>(ticketRepository.findExecutiveTickets(TicketStatus.ATENDIENDO));
+        Collections.reverse(views);
+        LinkedHashMap<String, NowServingTicket> loaded = new LinkedHashMap<>();
+        for (ExecutiveTicketView view : views) {
+            executiveModules.put(view.getExecutiveId(), view.getModule());
+            loaded.put(view.getTicketNumber(), new NowServingTicket(view.getTicketNumber(), view.getModule()));
+        }
+        if (!new ArrayList<>(loaded.values()).equals(new ArrayList<>(serving.values()))) {
+            serving.clear();
+            serving.putAll(loaded);
+            publishSnapshot();
+            broadcast("snapshot", snapshot);
+        }
+        logger.debug("Now-serving board rebuilt with {} tickets", serving.size());
+    }
+
+    /**
+     * Q-Insight: Tickets currently being attended, most recent first, in O(1).
+     */
+    public List<NowServingTicket> getNowServing() {
+        return snapshot;
+    }
+
+    @TransactionalEventListener
+    public synchronized void onExecutiveStatusChanged(ExecutiveStatusChangedEvent event) {
+        if (event.isRemoved()) {
+            executiveModules.remove(event.executiveId());
+        } else {
+            executiveModules.put(event.executiveId(), event.module());
+        }
+    }
+
+    @TransactionalEventListener
+    public synchronized void onTicketStatusChanged(TicketStatusChangedEvent event) {
+        if (event.newStatus() == TicketStatus.ATENDIENDO && event.executiveId() != null) {
+            NowServingTicket ticket = new NowServingTicket(event.ticketNumber(), moduleOf(event.executiveId()));
+            serving.remove(event.ticketNumber());
+            serving.put(event.ticketNumber(), ticket);
+            publishSnapshot();
+            broadcast("assigned", ticket);
+        } else if (event.previousStatus() == TicketStatus.ATENDIENDO) {
+            NowServingTicket ticket = serving.remove(event.ticketNumber());
+            if (ticket != null) {
+                publishSnapshot();
+                broadcast("closed", ticket);
+            }
+        }
+    }
+
+    /**
+     * Q-Insight: Subscribes a screen to the board.
+     * The returned emitter first receives a snapshot, then every change after it.
+     */
+    public SseEmitter subscribe() {
+        return subscribe(new SseEmitter(subscriptionTimeoutMillis));
+    }
+
+    SseEmitter subscribe(SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> subscribers.remove(subscriber));
+        synchronized (this) {
+            // Registered under the board lock, so no change falls between the snapshot and the first delta.
+            subscriber.offer(event("snapshot", snapshot));
+            subscribers.add(subscriber);
+        }
+        return emitter;
+    }
+
+    /**
+     * Q-Insight: Keeps idle connections open through proxies and detects screens that went away.
+     */
+    @Scheduled(fixedRateString = "${ticketero.public-dashboard.heartbeat-ms:20000}")
+    public void heartbeat() {
+        BoardEvent keepAlive = new BoardEvent(0, null, "keep-alive");
+        subscribers.forEach(subscriber -> subscriber.offer(keepAlive));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        senders.shutdown();
+    }
+
+    private String moduleOf(Long executiveId) {
+        return executiveModules.computeIfAbsent(executiveId,
+                id -> executiveRepository.findById(id).map(Executive::getModule).orElse(null));
+    }
+
+    private void publishSnapshot() {
+        List<NowServingTicket> tickets = new ArrayList<>(serving.values());
+        Collections.reverse(tickets);
+        snapshot = List.copyOf(tickets);
+    }
+
+    private void broadcast(String name, Object payload) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        BoardEvent event = event(name, payload);
+        subscribers.forEach(subscriber -> subscriber.offer(event));
+    }
+
+    private BoardEvent event(String name, Object payload) {
+        try {
+            return new BoardEvent(++lastEventId, name, objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise now-serving event " + name, e);
+        }
+    }
+
+    /**
+     * Q-Insight: An event already serialised, shared by every subscriber. A null name marks an SSE comment.
+     */
+    private record BoardEvent(long id, String name, String data) {
+
+        SseEmitter.SseEventBuilder toSse() {
+            if (name == null) {
+                return SseEmitter.event().comment(data);
+            }
+            return SseEmitter.event().id(Long.toString(id)).name(name).data(data);
+        }
+    }
+
+    /**
+     * Q-Insight: One connected screen.
+     * Events are queued and written in order by at most one virtual thread at a time.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Queue<BoardEvent> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger backlog = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(BoardEvent event) {
+            if (backlog.incrementAndGet() > MAX_BACKLOG) {
+                subscribers.remove(this);
+                emitter.complete();
+                return;
+            }
+            pending.add(event);
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RuntimeException e) {
+                    draining.set(false);
+                    subscribers.remove(this);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                BoardEvent event;
+                while ((event = pending.poll()) != null) {
+                    backlog.decrementAndGet();
+                    emitter.send(event.toSse());
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The screen went away; the container completes the emitter.
+                subscribers.remove(this);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            if (!pending.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
@@ -1,22 +1,22 @@
 package com.institucion.ticketero.module_queues.application;
 
 import com.institucion.ticketero.module_queues.api.NowServingTicket;
-import com.institucion.ticketero.module_tickets.domain.TicketStatus;
-import com.institucion.ticketero.module_tickets.infrastructure.TicketRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Service for the public-facing dashboard.
+ * Both the polled endpoint and the event stream are served from the shared {@link NowServingBoard}.
  */
 @Service
 public class PublicDashboardService {
 
-    private final TicketRepository ticketRepository;
+    private final NowServingBoard nowServingBoard;
 
-    public PublicDashboardService(TicketRepository ticketRepository) {
-        this.ticketRepository = ticketRepository;
+    public PublicDashboardService(NowServingBoard nowServingBoard) {
+        this.nowServingBoard = nowServingBoard;
     }
 
     /**
@@ -24,13 +24,14 @@ public class PublicDashboardService {
      * @return A list of tickets currently being attended.
      */
     public List<NowServingTicket> getNowServing() {
-        return ticketRepository
-                .findAllByStatusOrderByAttendedAtDesc(TicketStatus.ATENDIENDO)
-                .stream()
-                .map(ticket -> new NowServingTicket(
-                        ticket.getTicketNumber(),
-                        ticket.getExecutive().getModule()
-                ))
-                .collect(Collectors.toList());
+        return nowServingBoard.getNowServing();
+    }
+
+    /**
+     * Subscribes a screen to the "Now Serving" changes.
+     * @return An emitter that receives the current board, then every ticket assigned or closed.
+     */
+    public SseEmitter streamNowServing() {
+        return nowServingBoard.subscribe();
     }
 }
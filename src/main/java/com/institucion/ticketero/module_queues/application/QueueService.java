@@ -2,8 +2,6 @@ package com.institucion.ticketero.module_queues.application;
 
 import com.institucion.ticketero.module_queues.api.QueueStatusResponse;
 import com.institucion.ticketero.module_queues.domain.AttentionType;
-import com.institucion.ticketero.module_tickets.domain.TicketStatus;
-import com.institucion.ticketero.module_tickets.infrastructure.TicketRepository;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -15,15 +13,15 @@ import java.util.stream.Collectors;
 /**
  * Q-Insight: Application Service for Queues.
  * This service provides logic for querying the state of the attention queues.
- * It acts as an abstraction layer over the underlying data repositories.
+ * Waiting counts come from the in-memory {@link LiveQueueEngine}, so no query hits the tickets table.
  */
 @Service
 public class QueueService {
 
-    private final TicketRepository ticketRepository;
+    private final LiveQueueEngine liveQueueEngine;
 
-    public QueueService(TicketRepository ticketRepository) {
-        this.ticketRepository = ticketRepository;
+    public QueueService(LiveQueueEngine liveQueueEngine) {
+        this.liveQueueEngine = liveQueueEngine;
     }
 
     /**
@@ -45,7 +43,7 @@ public class QueueService {
      * @return A DTO with the metrics for the requested queue.
      */
     public QueueStatusResponse getQueueStatus(AttentionType attentionType, Optional<LocalDateTime> workdayStartTime) {
-        long waitingCustomers = ticketRepository.countByStatus(TicketStatus.EN_ESPERA) + ticketRepository.countByStatus(TicketStatus.PROXIMO);
+        long waitingCustomers = liveQueueEngine.waitingCount(attentionType);
         long averageWaitTime = calculateAverageWaitTime(attentionType, waitingCustomers);
         return new QueueStatusResponse(attentionType, (int) waitingCustomers, averageWaitTime);
     }
@@ -0,0 +1,128 @@
+package com.institucion.ticketero.module_queues.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Q-Insight: Domain Model for a Live Queue.
+ * An in-memory, ordered set of the tickets waiting in one queue (attention type) of one workday.
+ * Tickets are ordered by their per-workday sequence, which is the FIFO order in which they are served.
+ * The head and the size are cached on every write so that reading them is O(1); positions are answered
+ * by a {@link QueueRankIndex} in O(log n).
+ */
+public class LiveQueue {
+
+    private final NavigableMap<Long, WaitingTicket> waiting = new TreeMap<>();
+    private final QueueRankIndex rankIndex = new QueueRankIndex();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile WaitingTicket head;
+    private volatile int size;
+
+    /**
+     * Q-Insight: Adds a ticket to the queue. Adding a ticket that is already waiting has no effect.
+     */
+    public void add(WaitingTicket ticket) {
+        lock.writeLock().lock();
+        try {
+            if (waiting.putIfAbsent(ticket.sequenceNumber(), ticket) == null) {
+                rankIndex.add(ticket.sequenceNumber());
+                refreshCachedState();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Q-Insight: Removes a ticket from the queue.
+     * @return {@code true} if the ticket was waiting.
+     */
+    public boolean remove(long sequenceNumber) {
+        lock.writeLock().lock();
+        try {
+            if (waiting.remove(sequenceNumber) == null) {
+                return false;
+            }
+            rankIndex.remove(sequenceNumber);
+            refreshCachedState();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Q-Insight: Position of a ticket in the queue, in O(log n).
+     * @return The 1-based position, or 0 if the ticket is not waiting.
+     */
+    public int positionOf(long sequenceNumber) {
+        lock.readLock().lock();
+        try {
+            return rankIndex.contains(sequenceNumber) ? rankIndex.rank(sequenceNumber) : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Q-Insight: Ticket standing at a given position, in O(log n).
+     * @param position The 1-based position.
+     */
+    public Optional<WaitingTicket> ticketAt(int position) {
+        if (position < 1) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            long sequenceNumber = rankIndex.select(position);
+            return sequenceNumber > 0 ? Optional.ofNullable(waiting.get(sequenceNumber)) : Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Q-Insight: First tickets of the queue, in serving order.
+     * @param limit The maximum number of tickets to return.
+     */
+    public List<WaitingTicket> peek(int limit) {
+        lock.readLock().lock();
+        try {
+            List<WaitingTicket> tickets = new ArrayList<>(Math.min(limit, waiting.size()));
+            for (WaitingTicket ticket : waiting.values()) {
+                if (tickets.size() >= limit) {
+                    break;
+                }
+                tickets.add(ticket);
+            }
+            return tickets;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Q-Insight: The next ticket to be served, in O(1).
+     */
+    public Optional<WaitingTicket> head() {
+        return Optional.ofNullable(head);
+    }
+
+    /**
+     * Q-Insight: Number of waiting tickets, in O(1).
+     */
+    public int size() {
+        return size;
+    }
+
+    private void refreshCachedState() {
+        var first = waiting.firstEntry();
+        head = first != null ? first.getValue() : null;
+        size = waiting.size();
+    }
+}
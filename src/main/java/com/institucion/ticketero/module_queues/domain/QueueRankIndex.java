@@ -0,0 +1,134 @@
+package com.institucion.ticketero.module_queues.domain;
+
+import java.util.Arrays;
+
+/**
+ * Q-Insight: Order-Statistic Index for a Live Queue.
+ * A Fenwick (binary indexed) tree over per-workday ticket sequences, where slot {@code s} holds 1 while
+ * ticket {@code s} is waiting. Sequences start at 1 and only grow, so they index the tree directly.
+ * - {@link #rank(long)} counts waiting tickets up to a sequence, which is the queue position, in O(log n).
+ * - {@link #select(int)} finds the sequence standing at a position in O(log n).
+ * - Adding and removing a ticket are O(log n); capacity doubles as sequences grow (amortised O(1)).
+ * Not thread-safe: {@link LiveQueue} guards it with its lock.
+ */
+public class QueueRankIndex {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int[] tree = new int[INITIAL_CAPACITY + 1];
+    private long[] present = new long[(INITIAL_CAPACITY >> 6) + 1];
+    private int capacity = INITIAL_CAPACITY;
+    private int size;
+
+    /**
+     * Q-Insight: Marks a sequence as waiting.
+     * @return {@code true} if it was not already waiting.
+     */
+    public boolean add(long sequenceNumber) {
+        int index = toIndex(sequenceNumber);
+        if (index > capacity) {
+            grow(index);
+        }
+        if (isPresent(index)) {
+            return false;
+        }
+        present[index >>> 6] |= 1L << index;
+        update(index, 1);
+        size++;
+        return true;
+    }
+
+    /**
+     * Q-Insight: Clears a sequence once its ticket leaves the queue.
+     * @return {@code true} if it was waiting.
+     */
+    public boolean remove(long sequenceNumber) {
+        if (!contains(sequenceNumber)) {
+            return false;
+        }
+        int index = (int) sequenceNumber;
+        present[index >>> 6] &= ~(1L << index);
+        update(index, -1);
+        size--;
+        return true;
+    }
+
+    public boolean contains(long sequenceNumber) {
+        return sequenceNumber >= 1 && sequenceNumber <= capacity && isPresent((int) sequenceNumber);
+    }
+
+    /**
+     * Q-Insight: Number of waiting sequences less than or equal to the given one.
+     */
+    public int rank(long sequenceNumber) {
+        int index = (int) Math.min(Math.max(sequenceNumber, 0), capacity);
+        int count = 0;
+        for (int i = index; i > 0; i -= i & -i) {
+            count += tree[i];
+        }
+        return count;
+    }
+
+    /**
+     * Q-Insight: Sequence standing at a 1-based position, found by descending the tree.
+     * @return The sequence, or 0 if fewer tickets are waiting.
+     */
+    public long select(int position) {
+        if (position < 1 || position > size) {
+            return 0;
+        }
+        int index = 0;
+        int remaining = position;
+        for (int step = Integer.highestOneBit(capacity); step > 0; step >>= 1) {
+            int next = index + step;
+            if (next <= capacity && tree[next] < remaining) {
+                index = next;
+                remaining -= tree[next];
+            }
+        }
+        return index + 1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void update(int index, int delta) {
+        for (int i = index; i <= capacity; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    private boolean isPresent(int index) {
+        return (present[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Q-Insight: Doubles the capacity until the index fits and rebuilds the tree in O(n) from the presence bits.
+     */
+    private void grow(int index) {
+        int newCapacity = capacity;
+        while (newCapacity < index) {
+            newCapacity <<= 1;
+        }
+        present = Arrays.copyOf(present, (newCapacity >> 6) + 1);
+        tree = new int[newCapacity + 1];
+        capacity = newCapacity;
+        for (int i = 1; i <= capacity; i++) {
+            if (isPresent(i)) {
+                tree[i]++;
+            }
+            int parent = i + (i & -i);
+            if (parent <= capacity) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    private static int toIndex(long sequenceNumber) {
+        if (sequenceNumber < 1) {
+            throw new IllegalArgumentException("Ticket sequence must be positive: " + sequenceNumber);
+        }
+        return Math.toIntExact(sequenceNumber);
+    }
+}
@@ -0,0 +1,21 @@
+package com.institucion.ticketero.module_queues.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * Q-Insight: Domain Value Object for a Waiting Ticket.
+ * The minimal, immutable view of a ticket that the live queues keep in memory.
+ *
+ * @param ticketId The ticket's primary key.
+ * @param ticketNumber The human-readable ticket number.
+ * @param sequenceNumber The per-workday sequence that orders the ticket within its queue.
+ * @param workdayId The workday the ticket belongs to.
+ * @param createdAt When the ticket was created.
+ */
+public record WaitingTicket(
+    Long ticketId,
+    String ticketNumber,
+    long sequenceNumber,
+    Long workdayId,
+    LocalDateTime createdAt
+) {}
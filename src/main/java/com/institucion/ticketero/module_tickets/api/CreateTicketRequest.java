@@ -12,7 +12,7 @@ import jakarta.validation.constraints.NotNull;
  *
  * @param nationalId The customer's unique identifier (e.g., RUT).
  * @param attentionType The desired type of service (e.g., CAJA).
- * @param telefono Optional phone number for notifications.
+ * @param telefono Optional Telegram chat id for notifications; when absent, the chat registered with the bot for {@code nationalId} is used.
  * @param branchOffice The branch office where the ticket is being created.
  */
 public record CreateTicketRequest(
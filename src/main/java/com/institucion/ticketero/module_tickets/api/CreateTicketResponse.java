@@ -14,11 +14,14 @@ import java.util.UUID;
  * @param positionInQueue The customer's initial position in the queue.
  * @param estimatedWaitMinutes The estimated waiting time in minutes.
  * @param queueType The type of queue the ticket belongs to.
+ * @param telegramLink The bot link that registers the customer's Telegram chat for their RUT, or {@code null} if the
+ *                     ticket already has a chat.
  */
 public record CreateTicketResponse(
     UUID codigoReferencia,
     String ticketNumber,
     int positionInQueue,
     long estimatedWaitMinutes,
-    AttentionType queueType
+    AttentionType queueType,
+    String telegramLink
 ) {}
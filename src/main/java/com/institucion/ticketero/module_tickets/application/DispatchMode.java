@@ -0,0 +1,14 @@
+package com.institucion.ticketero.module_tickets.application;
+
+/**
+ * Q-Insight: How dispatch passes find their work.
+ * - {@code LOCAL}: a single application node; free executives and queue heads come from the in-memory
+ *   availability index and live queues.
+ * - {@code CLUSTERED}: several nodes share one database; each pass claims its executives and tickets with
+ *   {@code SELECT ... FOR UPDATE SKIP LOCKED}, so concurrent passes on different nodes never take the same row.
+ * Configured with {@code ticketero.dispatch.mode}.
+ */
+public enum DispatchMode {
+    LOCAL,
+    CLUSTERED
+}
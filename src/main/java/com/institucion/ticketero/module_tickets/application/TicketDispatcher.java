@@ -0,0 +1,126 @@
+package com.institucion.ticketero.module_tickets.application;
+
+import com.institucion.ticketero.module_executives.domain.ExecutiveStatus;
+import com.institucion.ticketero.module_executives.domain.ExecutiveStatusChangedEvent;
+import com.institucion.ticketero.module_tickets.domain.TicketStatus;
+import com.institucion.ticketero.module_tickets.domain.TicketStatusChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Q-Insight: Event-Driven Ticket Dispatcher (RF-004).
+ * Runs a dispatch pass as soon as there may be work to do: a ticket joins a queue or an executive becomes
+ * available (both observed after their transaction commits), plus once when the application is ready.
+ * - Triggers are coalesced: while a pass is pending, further triggers are absorbed by it, so a burst of
+ *   kiosk presses costs one pass rather than one per ticket.
+ * - Passes run one at a time on a dedicated thread, so two passes of this node never compete for the same executive.
+ * - Each pass assigns every available executive it can (see {@link TicketService#assignAvailableExecutives()}).
+ * - With {@code ticketero.dispatch.mode=CLUSTERED}, passes claim their rows from the database instead
+ *   (see {@link TicketService#assignClaimedExecutives()}), so several nodes can dispatch at the same time.
+ *   Triggers are still local: work created on another node is picked up by that node or by the periodic sweep.
+ * Metrics:
+ * - {@code ticketero.dispatch.latency}: time from the oldest trigger served by a pass until the pass commits.
+ * - {@code ticketero.dispatch.assignments}: tickets assigned by dispatch passes.
+ */
+@Component
+public class TicketDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(TicketDispatcher.class);
+    private static final long NOT_PENDING = Long.MIN_VALUE;
+
+    private final TicketService ticketService;
+    private final DispatchMode mode;
+    private final ExecutorService executor;
+    private final Timer dispatchLatency;
+    private final Counter assignments;
+    // System.nanoTime() of the oldest trigger not yet picked up by a pass.
+    private final AtomicLong pendingSince = new AtomicLong(NOT_PENDING);
+
+    public TicketDispatcher(TicketService ticketService, MeterRegistry meterRegistry,
+                            @Value("${ticketero.dispatch.mode:LOCAL}") DispatchMode mode) {
+        this.ticketService = ticketService;
+        this.mode = mode;
+        this.executor = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("ticket-dispatcher").daemon().factory());
+        this.dispatchLatency = Timer.builder("ticketero.dispatch.latency")
+                .description("Time from a dispatch trigger until the dispatch pass that served it commits")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.assignments = Counter.builder("ticketero.dispatch.assignments")
+                .description("Tickets assigned to executives by the dispatcher")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener
+    public void onTicketStatusChanged(TicketStatusChangedEvent event) {
+        if (event.newStatus() == TicketStatus.EN_ESPERA) {
+            requestDispatch();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onExecutiveStatusChanged(ExecutiveStatusChangedEvent event) {
+        if (event.status() == ExecutiveStatus.AVAILABLE) {
+            requestDispatch();
+        }
+    }
+
+    /**
+     * Q-Insight: Serves customers left waiting while the application was down.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        requestDispatch();
+    }
+
+    /**
+     * Q-Insight: Asks for a dispatch pass.
+     * Returns immediately; only the first trigger since the last pass started schedules a new one.
+     */
+    public void requestDispatch() {
+        if (pendingSince.compareAndSet(NOT_PENDING, System.nanoTime())) {
+            executor.execute(this::dispatch);
+        }
+    }
+
+    private void dispatch() {
+        long requestedAt = pendingSince.getAndSet(NOT_PENDING);
+        if (requestedAt == NOT_PENDING) {
+            return;
+        }
+        try {
+            int assigned = mode == DispatchMode.CLUSTERED
+                    ? ticketService.assignClaimedExecutives()
+                    : ticketService.assignAvailableExecutives();
+            assignments.increment(assigned);
+            if (assigned > 0) {
+                logger.debug("Dispatch pass assigned {} tickets", assigned);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Dispatch pass failed", e);
+        } finally {
+            dispatchLatency.record(System.nanoTime() - requestedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.institucion.ticketero.module_tickets.application;
+
+import com.institucion.ticketero.module_queues.domain.AttentionType;
+import com.institucion.ticketero.module_tickets.domain.TicketNumber;
+import com.institucion.ticketero.module_tickets.infrastructure.TicketSequenceRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Q-Insight: In-memory Ticket Number Allocator.
+ * Keeps one counter per (workday, attention type) and hands out sequential numbers without touching
+ * the tickets table. Counters are refilled in blocks from {@link TicketSequenceRepository}, so the
+ * database is hit once per block instead of once per ticket, and numbers can never collide.
+ * A restart discards the unused tail of the current block, which only leaves a gap in the numbering.
+ */
+@Component
+public class TicketNumberAllocator {
+
+    private final TicketSequenceRepository ticketSequenceRepository;
+    private final int blockSize;
+    private final Map<SequenceKey, SequenceBlock> blocks = new ConcurrentHashMap<>();
+    private volatile Long currentWorkdayId;
+
+    public TicketNumberAllocator(TicketSequenceRepository ticketSequenceRepository,
+                                 @Value("${ticketero.tickets.sequence-block-size:20}") int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Sequence block size must be at least 1, got: " + blockSize);
+        }
+        this.ticketSequenceRepository = ticketSequenceRepository;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Q-Insight: Allocates the next ticket number for a queue.
+     * @param workdayId The active workday.
+     * @param attentionType The queue the ticket joins.
+     * @return A ticket number that is unique within the workday.
+     */
+    public TicketNumber next(Long workdayId, AttentionType attentionType) {
+        evictPreviousWorkdays(workdayId);
+        SequenceBlock block = blocks.computeIfAbsent(new SequenceKey(workdayId, attentionType), key -> new SequenceBlock());
+        return new TicketNumber(attentionType, block.next(workdayId, attentionType));
+    }
+
+    /**
+     * Q-Insight: Drops counters of workdays that are no longer active.
+     * Their numbers are never needed again once a newer workday starts issuing tickets.
+     */
+    private void evictPreviousWorkdays(Long workdayId) {
+        if (!workdayId.equals(currentWorkdayId)) {
+            synchronized (blocks) {
+                if (!workdayId.equals(currentWorkdayId)) {
+                    blocks.keySet().removeIf(key -> !key.workdayId().equals(workdayId));
+                    currentWorkdayId = workdayId;
+                }
+            }
+        }
+    }
+
+    private record SequenceKey(Long workdayId, AttentionType attentionType) {}
+
+    /**
+     * A reserved range (next..last] of sequence numbers. A lock rather than a monitor keeps
+     * virtual threads unpinned while a refill waits on the database.
+     */
+    private final class SequenceBlock {
+        private final ReentrantLock lock = new ReentrantLock();
+        private long next = 1;
+        private long last = 0;
+
+        long next(Long workdayId, AttentionType attentionType) {
+            lock.lock();
+            try {
+                if (next > last) {
+                    last = ticketSequenceRepository.reserveBlock(workdayId, attentionType, blockSize);
+                    next = last - blockSize + 1;
+                }
+                return next++;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
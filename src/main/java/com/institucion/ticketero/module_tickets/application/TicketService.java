@@ -1,30 +1,50 @@
 package com.institucion.ticketero.module_tickets.application;
 
 import com.institucion.ticketero.module_audit.application.AuditService;
-import com.institucion.ticketero.module_audit.domain.AuditEvent;
+import com.institucion.ticketero.module_audit.domain.TicketAssignedAudit;
+import com.institucion.ticketero.module_audit.domain.TicketCompletedAudit;
+import com.institucion.ticketero.module_audit.domain.TicketCreatedAudit;
 import com.institucion.ticketero.common.exceptions.ResourceNotFoundException;
 import com.institucion.ticketero.module_executives.domain.Executive;
+import com.institucion.ticketero.module_executives.application.ExecutiveAvailabilityIndex;
 import com.institucion.ticketero.module_executives.domain.ExecutiveStatus;
+import com.institucion.ticketero.module_executives.domain.ExecutiveStatusChangedEvent;
 import com.institucion.ticketero.module_executives.infrastructure.ExecutiveRepository;
 import com.institucion.ticketero.module_notifications.application.NotificationService;
+import com.institucion.ticketero.module_notifications.application.TicketConfirmationCommand;
+import com.institucion.ticketero.module_notifications.application.TurnActiveAlertCommand;
+import com.institucion.ticketero.module_queues.application.LiveQueueEngine;
 import com.institucion.ticketero.module_queues.application.QueueService;
+import com.institucion.ticketero.module_queues.domain.AttentionType;
+import com.institucion.ticketero.module_queues.domain.WaitingTicket;
 import com.institucion.ticketero.module_tickets.api.CreateTicketRequest;
 import com.institucion.ticketero.module_tickets.api.CreateTicketResponse;
 import com.institucion.ticketero.module_tickets.api.TicketStatusResponse;
+import com.institucion.ticketero.module_tickets.domain.AvailableExecutive;
 import com.institucion.ticketero.module_tickets.domain.Ticket;
+import com.institucion.ticketero.module_tickets.domain.TicketAssignment;
+import com.institucion.ticketero.module_tickets.domain.TicketMatcher;
+import com.institucion.ticketero.module_tickets.domain.TicketNumber;
 import com.institucion.ticketero.module_tickets.domain.TicketStatus;
+import com.institucion.ticketero.module_tickets.domain.TicketStatusChangedEvent;
 import com.institucion.ticketero.module_tickets.infrastructure.TicketRepository;
 import com.institucion.ticketero.module_workday.application.WorkdayService;
 import com.institucion.ticketero.module_workday.domain.Workday;
-import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.Arrays;
-import java.util.Optional;
-import java.util.Random;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class TicketService {
@@ -35,17 +55,27 @@ public class TicketService {
     private final QueueService queueService;
     private final WorkdayService workdayService;
     private final AuditService auditService;
-    private static final int MAX_RETRIES = 5;
+    private final TicketNumberAllocator ticketNumberAllocator;
+    private final LiveQueueEngine liveQueueEngine;
+    private final ExecutiveAvailabilityIndex executiveAvailabilityIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TicketMatcher ticketMatcher = new TicketMatcher();
 
     public TicketService(TicketRepository ticketRepository, ExecutiveRepository executiveRepository,
                          NotificationService notificationService, QueueService queueService,
-                         WorkdayService workdayService, AuditService auditService) {
+                         WorkdayService workdayService, AuditService auditService,
+                         TicketNumberAllocator ticketNumberAllocator, LiveQueueEngine liveQueueEngine,
+                         ExecutiveAvailabilityIndex executiveAvailabilityIndex, ApplicationEventPublisher eventPublisher) {
         this.ticketRepository = ticketRepository;
         this.executiveRepository = executiveRepository;
         this.notificationService = notificationService;
         this.queueService = queueService;
         this.workdayService = workdayService;
         this.auditService = auditService;
+        this.ticketNumberAllocator = ticketNumberAllocator;
+        this.liveQueueEngine = liveQueueEngine;
+        this.executiveAvailabilityIndex = executiveAvailabilityIndex;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -54,51 +84,45 @@ public class TicketService {
 
         Ticket ticket = new Ticket();
         ticket.setNationalId(request.nationalId());
-        ticket.setTelefono(request.telefono());
+        ticket.setTelefono(resolveChatId(request));
         ticket.setBranchOffice(request.branchOffice());
         ticket.setAttentionType(request.attentionType());
         ticket.setStatus(TicketStatus.EN_ESPERA);
         ticket.setWorkday(currentWorkday);
 
-        Ticket savedTicket = null;
-        int retries = 0;
-
-        while (savedTicket == null && retries < MAX_RETRIES) {
-            try {
-                String ticketNumber = generateTicketNumber(request.attentionType(), currentWorkday.getId());
-                ticket.setTicketNumber(ticketNumber);
-                
-                savedTicket = ticketRepository.saveAndFlush(ticket);
-
-            } catch (DataIntegrityViolationException e) {
-                retries++;
-                try {
-                    Thread.sleep(50 + new Random().nextInt(50));
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    throw new RuntimeException("Ticket creation interrupted.", ie);
-                }
-            }
-        }
-
-        if (savedTicket == null) {
-            throw new RuntimeException("Failed to create a unique ticket after " + MAX_RETRIES + " retries.");
-        }
+        TicketNumber ticketNumber = ticketNumberAllocator.next(currentWorkday.getId(), request.attentionType());
+        ticket.setSequenceNumber(ticketNumber.sequence());
+        ticket.setTicketNumber(ticketNumber.value());
 
-        long position = ticketRepository.countByAttentionTypeAndWorkdayIdAndStatusAndCreatedAtBefore(
-                savedTicket.getAttentionType(), savedTicket.getWorkday().getId(), TicketStatus.EN_ESPERA, savedTicket.getCreatedAt()) + 1;
-        
+        // Position and ETA are worked out before the insert so the ticket is written exactly once.
+        long position = liveQueueEngine.waitingCount(request.attentionType(), currentWorkday.getId()) + 1;
+        long estimatedWaitTime = queueService.calculateAverageWaitTime(request.attentionType(), position);
         ticket.setPositionInQueue((int) position);
-
-        long estimatedWaitTime = queueService.calculateAverageWaitTime(savedTicket.getAttentionType(), position);
         ticket.setEstimatedWaitMinutes((int) estimatedWaitTime);
-        
-        savedTicket = ticketRepository.save(ticket);
 
-        notificationService.sendTicketConfirmation(savedTicket, (int) position, estimatedWaitTime);
-        auditService.recordEvent(AuditEvent.TICKET_CREADO, "SYSTEM", "TICKET", savedTicket.getId(), "Ticket created with number: " + savedTicket.getTicketNumber());
+        Ticket savedTicket = ticketRepository.save(ticket);
+        eventPublisher.publishEvent(TicketStatusChangedEvent.of(savedTicket, null));
+
+        notificationService.sendTicketConfirmation(TicketConfirmationCommand.of(savedTicket, (int) position, estimatedWaitTime));
+        auditService.recordEvent("SYSTEM", "TICKET", savedTicket.getId(),
+                new TicketCreatedAudit(savedTicket.getTicketNumber(), savedTicket.getAttentionType().name()));
+
+        // A customer without a chat gets the link that registers one; it is their proof of owning the RUT.
+        String telegramLink = savedTicket.getTelefono() == null
+                ? notificationService.telegramLinkFor(request.nationalId()).orElse(null)
+                : null;
+        return new CreateTicketResponse(savedTicket.getCodigoReferencia(), savedTicket.getTicketNumber(), (int) position,
+                estimatedWaitTime, savedTicket.getAttentionType(), telegramLink);
+    }
 
-        return new CreateTicketResponse(savedTicket.getCodigoReferencia(), savedTicket.getTicketNumber(), (int) position, estimatedWaitTime, savedTicket.getAttentionType());
+    /**
+     * Q-Insight: The chat to notify: the one given at the kiosk, else the one the customer registered with the bot.
+     */
+    private String resolveChatId(CreateTicketRequest request) {
+        if (request.telefono() != null && !request.telefono().isBlank()) {
+            return request.telefono();
+        }
+        return notificationService.findChatId(request.nationalId()).orElse(null);
     }
 
     public TicketStatusResponse getTicketStatusByCodigoReferencia(UUID codigoReferencia) {
@@ -109,8 +133,7 @@ public class TicketService {
         long estimatedWaitTime = 0;
 
         if (ticket.getStatus() == TicketStatus.EN_ESPERA) {
-            position = ticketRepository.countByAttentionTypeAndWorkdayIdAndStatusAndCreatedAtBefore(
-                    ticket.getAttentionType(), ticket.getWorkday().getId(), TicketStatus.EN_ESPERA, ticket.getCreatedAt()) + 1;
+            position = liveQueueEngine.positionOf(ticket.getAttentionType(), ticket.getWorkday().getId(), ticket.getSequenceNumber());
             estimatedWaitTime = queueService.calculateAverageWaitTime(ticket.getAttentionType(), position);
         }
 
@@ -136,8 +159,7 @@ public class TicketService {
         long estimatedWaitTime = 0;
 
         if (ticket.getStatus() == TicketStatus.EN_ESPERA) {
-            position = ticketRepository.countByAttentionTypeAndWorkdayIdAndStatusAndCreatedAtBefore(
-                    ticket.getAttentionType(), ticket.getWorkday().getId(), TicketStatus.EN_ESPERA, ticket.getCreatedAt()) + 1;
+            position = liveQueueEngine.positionOf(ticket.getAttentionType(), ticket.getWorkday().getId(), ticket.getSequenceNumber());
             estimatedWaitTime = queueService.calculateAverageWaitTime(ticket.getAttentionType(), position);
         }
 
@@ -155,39 +177,171 @@ public class TicketService {
         );
     }
     
-    private String generateTicketNumber(com.institucion.ticketero.module_queues.domain.AttentionType attentionType, Long workdayId) {
-        String prefix = attentionType.getPrefix();
-        
-        long sequenceNumber = ticketRepository.countByAttentionTypeAndWorkdayId(attentionType, workdayId) + 1;
-        
-        return prefix + "-" + sequenceNumber;
+    /**
+     * Q-Insight: Dispatch pass (RF-004).
+     * Takes every available executive and the head of every queue at once, lets the {@link TicketMatcher} pick a
+     * priority-weighted, skill-respecting assignment, and commits all of it in this single transaction.
+     * Available executives come from the {@link ExecutiveAvailabilityIndex}; when there are none, no SQL is issued.
+     * If a chosen ticket turns out to be no longer waiting, it is dropped from the live queues and the executives
+     * still free are matched again. Triggered by {@link TicketDispatcher}.
+     * @return The number of tickets assigned.
+     */
+    @Transactional
+    public int assignAvailableExecutives() {
+        Map<Long, Executive> freeExecutives = loadAvailableExecutives();
+        Set<Long> claimedTickets = new HashSet<>();
+        int assigned = 0;
+        boolean staleTicketFound = true;
+        while (staleTicketFound && !freeExecutives.isEmpty()) {
+            staleTicketFound = false;
+            List<AvailableExecutive> available = freeExecutives.values().stream()
+                    .map(executive -> new AvailableExecutive(executive.getId(), executive.getSupportedAttentionTypes(), executive.getLastStatusChange()))
+                    .toList();
+            List<TicketAssignment> plan = ticketMatcher.match(available, queueHeads(available, claimedTickets), LocalDateTime.now());
+            if (plan.isEmpty()) {
+                break;
+            }
+
+            Map<Long, Ticket> tickets = ticketRepository.findAllById(plan.stream().map(assignment -> assignment.ticket().ticketId()).toList())
+                    .stream()
+                    .collect(Collectors.toMap(Ticket::getId, Function.identity()));
+            List<Executive> busyExecutives = new ArrayList<>(plan.size());
+            List<Ticket> assignedTickets = new ArrayList<>(plan.size());
+            for (TicketAssignment assignment : plan) {
+                WaitingTicket waiting = assignment.ticket();
+                Ticket ticket = tickets.get(waiting.ticketId());
+                if (ticket == null || ticket.getStatus() != TicketStatus.EN_ESPERA) {
+                    liveQueueEngine.remove(assignment.attentionType(), waiting.workdayId(), waiting.sequenceNumber());
+                    staleTicketFound = true;
+                    continue;
+                }
+                Executive executive = freeExecutives.remove(assignment.executiveId());
+                startAttention(executive, ticket);
+                claimedTickets.add(ticket.getId());
+                busyExecutives.add(executive);
+                assignedTickets.add(ticket);
+            }
+
+            saveAssignments(busyExecutives, assignedTickets);
+            assigned += assignedTickets.size();
+        }
+        return assigned;
     }
 
+    /**
+     * Q-Insight: Dispatch pass for several application nodes sharing one database (RF-004).
+     * The in-memory index and live queues only see changes made on this node, so here the pass claims its
+     * work from the database instead: the available executives, then the first waiting tickets of each queue
+     * they can serve, all with {@code FOR UPDATE SKIP LOCKED}. Rows another node's pass holds are skipped, so
+     * concurrent passes split the work between them and never assign the same ticket or executive twice.
+     * The claimed rows are matched by the {@link TicketMatcher} and committed in this single transaction;
+     * the locks are released when it ends.
+     * @return The number of tickets assigned.
+     */
     @Transactional
-    public void assignNextAvailableTicket() {
-        for (com.institucion.ticketero.module_queues.domain.AttentionType type : Arrays.asList(com.institucion.ticketero.module_queues.domain.AttentionType.values())) {
-            Optional<Executive> executiveOpt = executiveRepository.findFirstByStatusAndSupportedAttentionTypesContainingOrderByLastStatusChangeAsc(ExecutiveStatus.AVAILABLE, type);
-            if (executiveOpt.isPresent()) {
-                Optional<Ticket> ticketOpt = ticketRepository.findFirstByAttentionTypeAndStatusOrderByCreatedAtAsc(type, TicketStatus.EN_ESPERA);
-                if (ticketOpt.isPresent()) {
-                    Executive executive = executiveOpt.get();
-                    Ticket ticket = ticketOpt.get();
-                    executive.setStatus(ExecutiveStatus.BUSY);
-                    executive.setLastStatusChange(LocalDateTime.now());
-                    
-                    ticket.setExecutive(executive);
-                    ticket.setStatus(TicketStatus.ATENDIENDO);
-                    ticket.setAttendedAt(LocalDateTime.now());
-
-                    executiveRepository.save(executive);
-                    ticketRepository.save(ticket);
+    public int assignClaimedExecutives() {
+        List<Executive> executives = executiveRepository.claimAvailableExecutives();
+        if (executives.isEmpty()) {
+            return 0;
+        }
+        Map<Long, Executive> freeExecutives = executives.stream()
+                .collect(Collectors.toMap(Executive::getId, Function.identity(), (a, b) -> a, LinkedHashMap::new));
+        List<AvailableExecutive> available = executives.stream()
+                .map(executive -> new AvailableExecutive(executive.getId(), executive.getSupportedAttentionTypes(), executive.getLastStatusChange()))
+                .toList();
+
+        Map<Long, Ticket> claimedTickets = new LinkedHashMap<>();
+        Map<AttentionType, List<WaitingTicket>> heads = new EnumMap<>(AttentionType.class);
+        for (AttentionType type : AttentionType.values()) {
+            int servers = (int) available.stream().filter(executive -> executive.skills().contains(type)).count();
+            if (servers == 0) {
+                continue;
+            }
+            List<Ticket> tickets = ticketRepository.claimWaitingTickets(type.name(), servers);
+            tickets.forEach(ticket -> claimedTickets.put(ticket.getId(), ticket));
+            heads.put(type, tickets.stream()
+                    .map(ticket -> new WaitingTicket(ticket.getId(), ticket.getTicketNumber(), ticket.getSequenceNumber(),
+                            ticket.getWorkday().getId(), ticket.getCreatedAt()))
+                    .toList());
+        }
 
-                    notificationService.sendTurnActiveAlert(ticket);
-                    auditService.recordEvent(AuditEvent.TICKET_ASIGNADO, "SYSTEM", "TICKET", ticket.getId(), "Ticket " + ticket.getTicketNumber() + " assigned to executive " + executive.getFullName());
-                    return;
-                }
+        List<TicketAssignment> plan = ticketMatcher.match(available, heads, LocalDateTime.now());
+        List<Executive> busyExecutives = new ArrayList<>(plan.size());
+        List<Ticket> assignedTickets = new ArrayList<>(plan.size());
+        for (TicketAssignment assignment : plan) {
+            Executive executive = freeExecutives.get(assignment.executiveId());
+            Ticket ticket = claimedTickets.get(assignment.ticket().ticketId());
+            startAttention(executive, ticket);
+            busyExecutives.add(executive);
+            assignedTickets.add(ticket);
+        }
+        saveAssignments(busyExecutives, assignedTickets);
+        return assignedTickets.size();
+    }
+
+    private void saveAssignments(List<Executive> busyExecutives, List<Ticket> assignedTickets) {
+        executiveRepository.saveAll(busyExecutives);
+        ticketRepository.saveAll(assignedTickets);
+        for (Ticket ticket : assignedTickets) {
+            eventPublisher.publishEvent(ExecutiveStatusChangedEvent.of(ticket.getExecutive()));
+            eventPublisher.publishEvent(TicketStatusChangedEvent.of(ticket, TicketStatus.EN_ESPERA));
+            notificationService.sendTurnActiveAlert(TurnActiveAlertCommand.of(ticket));
+            Executive executive = ticket.getExecutive();
+            auditService.recordEvent("SYSTEM", "TICKET", ticket.getId(),
+                    new TicketAssignedAudit(ticket.getTicketNumber(), executive.getId(), executive.getFullName(), executive.getModule()));
+        }
+    }
+
+    /**
+     * Q-Insight: Loads the executives the availability index lists, longest available first.
+     * Any the database no longer considers available are dropped from the index.
+     */
+    private Map<Long, Executive> loadAvailableExecutives() {
+        List<Long> executiveIds = executiveAvailabilityIndex.availableExecutives();
+        if (executiveIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Executive> executives = executiveRepository.findAllById(executiveIds).stream()
+                .collect(Collectors.toMap(Executive::getId, Function.identity()));
+        Map<Long, Executive> available = new LinkedHashMap<>();
+        for (Long executiveId : executiveIds) {
+            Executive executive = executives.get(executiveId);
+            if (executive != null && executive.getStatus() == ExecutiveStatus.AVAILABLE) {
+                available.put(executiveId, executive);
+            } else {
+                executiveAvailabilityIndex.markUnavailable(executiveId);
+            }
+        }
+        return available;
+    }
+
+    private void startAttention(Executive executive, Ticket ticket) {
+        LocalDateTime now = LocalDateTime.now();
+        executive.setStatus(ExecutiveStatus.BUSY);
+        executive.setLastStatusChange(now);
+
+        ticket.setExecutive(executive);
+        ticket.setStatus(TicketStatus.ATENDIENDO);
+        ticket.setAttendedAt(now);
+    }
+
+    /**
+     * Q-Insight: First waiting tickets of each queue, as many as there are free executives able to serve it.
+     * The live queues only drop assigned tickets once the pass commits, so tickets claimed earlier in it are skipped.
+     */
+    private Map<AttentionType, List<WaitingTicket>> queueHeads(List<AvailableExecutive> available, Set<Long> claimedTickets) {
+        Map<AttentionType, List<WaitingTicket>> heads = new EnumMap<>(AttentionType.class);
+        for (AttentionType type : AttentionType.values()) {
+            int servers = (int) available.stream().filter(executive -> executive.skills().contains(type)).count();
+            if (servers == 0) {
+                continue;
             }
+            heads.put(type, liveQueueEngine.peek(type, servers + claimedTickets.size()).stream()
+                    .filter(waiting -> !claimedTickets.contains(waiting.ticketId()))
+                    .limit(servers)
+                    .toList());
         }
+        return heads;
     }
 
     @Transactional
@@ -205,11 +359,14 @@ public class TicketService {
                     ticket.setStatus(TicketStatus.COMPLETADO);
                     ticket.setClosedAt(LocalDateTime.now());
                     ticketRepository.save(ticket);
-                    auditService.recordEvent(AuditEvent.TICKET_COMPLETADO, executive.getFullName(), "TICKET", ticket.getId(), "Ticket " + ticket.getTicketNumber() + " completed by executive " + executive.getFullName());
+                    eventPublisher.publishEvent(TicketStatusChangedEvent.of(ticket, TicketStatus.ATENDIENDO));
+                    auditService.recordEvent(executive.getFullName(), "TICKET", ticket.getId(),
+                            new TicketCompletedAudit(ticket.getTicketNumber(), executive.getId(), executive.getFullName()));
                 });
 
         executive.setStatus(ExecutiveStatus.AVAILABLE);
         executive.setLastStatusChange(LocalDateTime.now());
         executiveRepository.save(executive);
+        eventPublisher.publishEvent(ExecutiveStatusChangedEvent.of(executive));
     }
 }
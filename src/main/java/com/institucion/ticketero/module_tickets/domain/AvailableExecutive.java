@@ -0,0 +1,17 @@
+package com.institucion.ticketero.module_tickets.domain;
+
+import com.institucion.ticketero.module_queues.domain.AttentionType;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Q-Insight: Value Object for an Executive Taking Part in a Dispatch Pass.
+ * Decouples the matching logic from the Executive entity.
+ *
+ * @param executiveId The executive's primary key.
+ * @param skills The attention types the executive can serve.
+ * @param availableSince When the executive became available; longer-idle executives are preferred.
+ */
+public record AvailableExecutive(Long executiveId, Set<AttentionType> skills, LocalDateTime availableSince) {
+}
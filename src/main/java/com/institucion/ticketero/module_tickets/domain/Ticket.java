@@ -42,6 +42,14 @@ public class Ticket {
     @Column(nullable = false)
     private String ticketNumber;
 
+    /**
+     * Q-Insight: Ticket Sequence.
+     * The numeric part of the ticket number, allocated per workday and attention type.
+     * It defines the FIFO order of the ticket within its queue.
+     */
+    @Column(nullable = false, updatable = false)
+    private Long sequenceNumber;
+
     /**
      * Q-Insight: Customer Identifier.
      * Stores the customer's RUT/ID. Marked as sensitive data in RNF-005, will require encryption.
@@ -182,6 +190,14 @@ public class Ticket {
         this.ticketNumber = ticketNumber;
     }
 
+    public Long getSequenceNumber() {
+        return sequenceNumber;
+    }
+
+    public void setSequenceNumber(Long sequenceNumber) {
+        this.sequenceNumber = sequenceNumber;
+    }
+
     public String getNationalId() {
         return nationalId;
     }
@@ -0,0 +1,14 @@
+package com.institucion.ticketero.module_tickets.domain;
+
+import com.institucion.ticketero.module_queues.domain.AttentionType;
+import com.institucion.ticketero.module_queues.domain.WaitingTicket;
+
+/**
+ * Q-Insight: Value Object for one Executive-Ticket Pair chosen by the {@link TicketMatcher}.
+ *
+ * @param executiveId The executive who will serve the ticket.
+ * @param attentionType The queue the ticket is taken from.
+ * @param ticket The waiting ticket.
+ */
+public record TicketAssignment(Long executiveId, AttentionType attentionType, WaitingTicket ticket) {
+}
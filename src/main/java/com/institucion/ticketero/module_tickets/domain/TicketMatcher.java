@@ -0,0 +1,170 @@
+package com.institucion.ticketero.module_tickets.domain;
+
+import com.institucion.ticketero.module_queues.domain.AttentionType;
+import com.institucion.ticketero.module_queues.domain.WaitingTicket;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Q-Insight: Batch Matching of Waiting Tickets to Available Executives (RF-004).
+ * Looks at every available executive and the head of every queue at once and picks the set of tickets to serve
+ * as a bipartite matching, where a ticket may only go to an executive who supports its attention type.
+ * - Each ticket weighs {@code priority * seconds waited}, so higher-priority queues go first while a long wait
+ *   in a lower-priority queue still ages its way to the front. Within a queue older tickets always weigh more,
+ *   so every queue is still served in FIFO order.
+ * - Tickets are taken by decreasing weight and kept whenever the chosen set can still be matched (found with an
+ *   augmenting path, re-seating earlier choices if needed). Matchable ticket sets form a transversal matroid,
+ *   so this greedy yields a maximum-weight set, which is also maximum-cardinality: no executive is left idle
+ *   while a ticket they could serve waits.
+ * - Free executives are tried longest idle first.
+ * Only the first {@code k} tickets of each queue are considered, where {@code k} is the number of executives
+ * able to serve it; nothing behind them could be assigned in this pass anyway.
+ * This class is stateless and thread-safe.
+ */
+public class TicketMatcher {
+
+    /**
+     * Q-Insight: Computes the assignment for one dispatch pass.
+     * @param executives The available executives.
+     * @param queueHeads The first waiting tickets of each queue, in serving order.
+     * @param now The reference time used to weigh waiting time.
+     * @return The chosen pairs, highest-weight tickets first.
+     */
+    public List<TicketAssignment> match(List<AvailableExecutive> executives,
+                                        Map<AttentionType, List<WaitingTicket>> queueHeads,
+                                        LocalDateTime now) {
+        if (executives.isEmpty()) {
+            return List.of();
+        }
+        List<AvailableExecutive> byIdleTime = new ArrayList<>(executives);
+        byIdleTime.sort(Comparator.comparing(AvailableExecutive::availableSince, Comparator.nullsFirst(Comparator.naturalOrder())));
+
+        Map<AttentionType, int[]> executivesBySkill = executivesBySkill(byIdleTime);
+        List<Candidate> candidates = new ArrayList<>();
+        for (Map.Entry<AttentionType, int[]> skill : executivesBySkill.entrySet()) {
+            List<WaitingTicket> heads = queueHeads.getOrDefault(skill.getKey(), List.of());
+            int limit = Math.min(heads.size(), skill.getValue().length);
+            for (int i = 0; i < limit; i++) {
+                candidates.add(new Candidate(skill.getKey(), heads.get(i), weight(skill.getKey(), heads.get(i), now)));
+            }
+        }
+        candidates.sort(Comparator.comparingDouble(Candidate::weight).reversed()
+                .thenComparing(candidate -> candidate.ticket().createdAt(), Comparator.nullsLast(Comparator.naturalOrder())));
+
+        Matching matching = new Matching(candidates, executivesBySkill, byIdleTime.size());
+        Set<AttentionType> saturated = EnumSet.noneOf(AttentionType.class);
+        int matched = 0;
+        for (int candidate = 0; candidate < candidates.size() && matched < byIdleTime.size(); candidate++) {
+            AttentionType type = candidates.get(candidate).attentionType();
+            // Tickets of one queue are interchangeable for matching: once one cannot be seated, none behind it can.
+            if (saturated.contains(type)) {
+                continue;
+            }
+            if (matching.seat(candidate)) {
+                matched++;
+            } else {
+                saturated.add(type);
+            }
+        }
+
+        List<TicketAssignment> assignments = new ArrayList<>(matched);
+        for (int candidate = 0; candidate < candidates.size(); candidate++) {
+            int executive = matching.executiveOf[candidate];
+            if (executive >= 0) {
+                Candidate chosen = candidates.get(candidate);
+                assignments.add(new TicketAssignment(byIdleTime.get(executive).executiveId(), chosen.attentionType(), chosen.ticket()));
+            }
+        }
+        return assignments;
+    }
+
+    /**
+     * Q-Insight: Weight of serving a ticket now: its queue's priority times the seconds it has waited (at least one).
+     */
+    static double weight(AttentionType attentionType, WaitingTicket ticket, LocalDateTime now) {
+        long waitedSeconds = ticket.createdAt() != null ? Duration.between(ticket.createdAt(), now).toSeconds() : 0;
+        return (double) attentionType.getPriority() * Math.max(1, waitedSeconds);
+    }
+
+    private static Map<AttentionType, int[]> executivesBySkill(List<AvailableExecutive> executives) {
+        Map<AttentionType, int[]> bySkill = new EnumMap<>(AttentionType.class);
+        for (AttentionType type : AttentionType.values()) {
+            int[] eligible = new int[executives.size()];
+            int count = 0;
+            for (int i = 0; i < executives.size(); i++) {
+                if (executives.get(i).skills().contains(type)) {
+                    eligible[count++] = i;
+                }
+            }
+            if (count > 0) {
+                bySkill.put(type, Arrays.copyOf(eligible, count));
+            }
+        }
+        return bySkill;
+    }
+
+    private record Candidate(AttentionType attentionType, WaitingTicket ticket, double weight) {
+    }
+
+    /**
+     * Q-Insight: Working state of one matching, using Kuhn's augmenting paths.
+     */
+    private static final class Matching {
+
+        private final List<Candidate> candidates;
+        private final Map<AttentionType, int[]> executivesBySkill;
+        private final int[] executiveOf;
+        private final int[] candidateOf;
+        private final int[] visitedStamp;
+        private int stamp;
+
+        private Matching(List<Candidate> candidates, Map<AttentionType, int[]> executivesBySkill, int executives) {
+            this.candidates = candidates;
+            this.executivesBySkill = executivesBySkill;
+            this.executiveOf = new int[candidates.size()];
+            this.candidateOf = new int[executives];
+            this.visitedStamp = new int[executives];
+            Arrays.fill(executiveOf, -1);
+            Arrays.fill(candidateOf, -1);
+        }
+
+        private boolean seat(int candidate) {
+            stamp++;
+            return augment(candidate);
+        }
+
+        private boolean augment(int candidate) {
+            int[] eligible = executivesBySkill.get(candidates.get(candidate).attentionType());
+            for (int executive : eligible) {
+                if (candidateOf[executive] < 0) {
+                    pair(candidate, executive);
+                    return true;
+                }
+            }
+            for (int executive : eligible) {
+                if (visitedStamp[executive] != stamp) {
+                    visitedStamp[executive] = stamp;
+                    if (augment(candidateOf[executive])) {
+                        pair(candidate, executive);
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private void pair(int candidate, int executive) {
+            candidateOf[executive] = candidate;
+            executiveOf[candidate] = executive;
+        }
+    }
+}
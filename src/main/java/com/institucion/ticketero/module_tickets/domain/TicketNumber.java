@@ -0,0 +1,21 @@
+package com.institucion.ticketero.module_tickets.domain;
+
+import com.institucion.ticketero.module_queues.domain.AttentionType;
+
+/**
+ * Q-Insight: Domain Value Object for Ticket Numbers.
+ * Pairs the per-workday sequence of a queue with its human-readable form (e.g., "C-17").
+ *
+ * @param attentionType The queue the number belongs to.
+ * @param sequence The per-workday sequence within that queue, starting at 1.
+ */
+public record TicketNumber(AttentionType attentionType, long sequence) {
+
+    /**
+     * Q-Insight: Human-readable ticket number.
+     * @return The queue prefix followed by the sequence, e.g. "C-17".
+     */
+    public String value() {
+        return attentionType.getPrefix() + "-" + sequence;
+    }
+}
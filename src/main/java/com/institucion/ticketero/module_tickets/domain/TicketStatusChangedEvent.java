@@ -0,0 +1,52 @@
+package com.institucion.ticketero.module_tickets.domain;
+
+import com.institucion.ticketero.module_queues.domain.AttentionType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Q-Insight: Domain Event for Ticket Lifecycle Transitions.
+ * Published by the ticket module every time a ticket is created or changes status, so that other modules
+ * (live queues, dispatching, dashboards) can keep their in-memory views up to date without querying the tickets table.
+ * Listeners are expected to react after the surrounding transaction commits.
+ *
+ * @param ticketId The ticket's primary key.
+ * @param ticketNumber The human-readable ticket number.
+ * @param sequenceNumber The per-workday sequence that orders the ticket within its queue.
+ * @param attentionType The queue the ticket belongs to.
+ * @param workdayId The workday the ticket belongs to.
+ * @param createdAt When the ticket was created.
+ * @param previousStatus The status before the transition, or {@code null} for a newly created ticket.
+ * @param newStatus The status after the transition.
+ * @param executiveId The assigned executive, if any.
+ */
+public record TicketStatusChangedEvent(
+    Long ticketId,
+    String ticketNumber,
+    long sequenceNumber,
+    AttentionType attentionType,
+    Long workdayId,
+    LocalDateTime createdAt,
+    TicketStatus previousStatus,
+    TicketStatus newStatus,
+    Long executiveId
+) {
+
+    /**
+     * Q-Insight: Builds the event from the ticket's current state.
+     * Must be called inside the transaction, while the ticket is still attached.
+     */
+    public static TicketStatusChangedEvent of(Ticket ticket, TicketStatus previousStatus) {
+        return new TicketStatusChangedEvent(
+                ticket.getId(),
+                ticket.getTicketNumber(),
+                ticket.getSequenceNumber(),
+                ticket.getAttentionType(),
+                ticket.getWorkday().getId(),
+                ticket.getCreatedAt(),
+                previousStatus,
+                ticket.getStatus(),
+                ticket.getExecutive() != null ? ticket.getExecutive().getId() : null
+        );
+    }
+}
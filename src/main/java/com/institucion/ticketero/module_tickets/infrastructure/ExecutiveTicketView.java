@@ -0,0 +1,15 @@
+package com.institucion.ticketero.module_tickets.infrastructure;
+
+/**
+ * Q-Insight: Projection of the ticket an executive is holding.
+ * Lets the tickets being served by every executive, and the module serving them, be read with one query
+ * without loading entities.
+ */
+public interface ExecutiveTicketView {
+
+    Long getExecutiveId();
+
+    String getTicketNumber();
+
+    String getModule();
+}
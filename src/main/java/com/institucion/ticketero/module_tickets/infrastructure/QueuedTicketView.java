@@ -0,0 +1,24 @@
+package com.institucion.ticketero.module_tickets.infrastructure;
+
+import com.institucion.ticketero.module_queues.domain.AttentionType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Q-Insight: Projection of a waiting ticket.
+ * Carries only the columns needed to rebuild the live queues, so no entity or association is loaded.
+ */
+public interface QueuedTicketView {
+
+    Long getId();
+
+    String getTicketNumber();
+
+    Long getSequenceNumber();
+
+    AttentionType getAttentionType();
+
+    Long getWorkdayId();
+
+    LocalDateTime getCreatedAt();
+}
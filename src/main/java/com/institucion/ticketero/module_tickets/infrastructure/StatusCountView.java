@@ -0,0 +1,14 @@
+package com.institucion.ticketero.module_tickets.infrastructure;
+
+import com.institucion.ticketero.module_tickets.domain.TicketStatus;
+
+/**
+ * Q-Insight: Projection of a ticket count for one status.
+ * Lets all status counts of a workday be read with a single grouped query.
+ */
+public interface StatusCountView {
+
+    TicketStatus getStatus();
+
+    long getTotal();
+}
@@ -5,6 +5,7 @@ import com.institucion.ticketero.module_tickets.domain.Ticket;
 import com.institucion.ticketero.module_tickets.domain.TicketStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -23,22 +24,6 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
 
     Optional<Ticket> findByCodigoReferencia(UUID codigoReferencia);
 
-    /**
-     * Q-Insight: Counts tickets by status and type.
-     * A crucial query for calculating a customer's position in a queue (RF-003).
-     * It counts how many tickets of the same attention type were created before the given ticket's creation time.
-     */
-    long countByAttentionTypeAndStatusAndCreatedAtBefore(
-            AttentionType attentionType, TicketStatus status, LocalDateTime createdAt);
-
-    /**
-     * Q-Insight: Finds the next available ticket in a queue.
-     * This query is the core of the ticket assignment logic (RF-004).
-     * It finds the oldest ticket with PENDING status for a given attention type, respecting FIFO order.
-     */
-    Optional<Ticket> findFirstByAttentionTypeAndStatusOrderByCreatedAtAsc(
-            AttentionType attentionType, TicketStatus status);
-
     /**
      * Q-Insight: Finds a ticket by its human-readable number.
      * Used for the customer-facing status check functionality (RF-006).
@@ -53,6 +38,24 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
 
     long countByStatusAndWorkdayId(TicketStatus status, Long workdayId);
 
+    /**
+     * Q-Insight: Counts the tickets of a workday in every status at once.
+     * Statuses without tickets are absent from the result.
+     */
+    @Query("SELECT t.status AS status, COUNT(t) AS total FROM Ticket t WHERE t.workday.id = :workdayId GROUP BY t.status")
+    List<StatusCountView> countByStatusForWorkday(@Param("workdayId") Long workdayId);
+
+    /**
+     * Q-Insight: The ticket held by each executive in a status (ATENDIENDO), most recently attended first, in one query.
+     */
+    @Query("""
+        SELECT e.id AS executiveId, t.ticketNumber AS ticketNumber, e.module AS module
+        FROM Ticket t JOIN t.executive e
+        WHERE t.status = :status
+        ORDER BY t.attendedAt DESC
+    """)
+    List<ExecutiveTicketView> findExecutiveTickets(@Param("status") TicketStatus status);
+
     /**
      * Q-Insight: Counts tickets created within a specific time window.
      * Used for the "total tickets today" metric on the dashboard (RF-007).
@@ -70,37 +73,36 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
     long countByAttentionTypeAndCreatedAtAfter(AttentionType attentionType, LocalDateTime startTime);
 
     /**
-     * Q-Insight: Counts tickets for a specific attention type and workday.
-     * This is used for generating sequential ticket numbers unique per workday.
-     * @param attentionType The type of attention.
-     * @param workdayId The ID of the workday.
-     * @return The count of matching tickets.
-     */
-    long countByAttentionTypeAndWorkdayId(AttentionType attentionType, Long workdayId);
-
-    /**
-     * Q-Insight: Counts tickets by status, attention type, workday, and creation time.
-     * A crucial query for calculating a customer's position in a queue, now scoped per workday.
-     * It counts how many tickets of the same attention type and workday were created before the given ticket's creation time.
+     * Q-Insight: Lists the waiting tickets needed to rebuild the live queues.
+     * Returns a lightweight projection instead of entities, ordered by queue sequence.
+     * @param status The status of the tickets to load (EN_ESPERA).
      */
-    long countByAttentionTypeAndWorkdayIdAndStatusAndCreatedAtBefore(
-            AttentionType attentionType, Long workdayId, TicketStatus status, LocalDateTime createdAt);
+    @Query("""
+        SELECT t.id AS id, t.ticketNumber AS ticketNumber, t.sequenceNumber AS sequenceNumber,
+               t.attentionType AS attentionType, t.workday.id AS workdayId, t.createdAt AS createdAt
+        FROM Ticket t
+        WHERE t.status = :status
+        ORDER BY t.sequenceNumber ASC
+    """)
+    List<QueuedTicketView> findQueuedTickets(TicketStatus status);
 
     /**
-     * Q-Insight: Finds tickets that require a pre-arrival notification.
-     * This query selects tickets that are 'nth' in line, triggering the "pre-aviso" notification (RF-002).
-     * The native query is complex because it needs to calculate the rank of tickets within each queue type.
-     * @param position The position in the queue to check for (e.g., 3).
+     * Q-Insight: Claims the first waiting tickets of a queue for a clustered dispatch pass.
+     * The rows stay locked until the pass commits; rows already locked by another node's pass are skipped
+     * rather than waited for, so two nodes never assign the same ticket.
+     * Tickets are claimed in arrival order. Ticket numbers are not used: each node hands out numbers from its own
+     * reserved block, so a later ticket from one node can carry a lower number than an earlier one from another.
+     * @param attentionType The queue, as the stored enum name.
+     * @param limit How many tickets to claim at most.
      */
     @Query(value = """
-        SELECT t.* FROM (
-            SELECT *, RANK() OVER (PARTITION BY attention_type ORDER BY created_at ASC) as rnk
-            FROM tickets
-            WHERE status = 'PENDING'
-        ) t
-        WHERE t.rnk = :position
+        SELECT * FROM tickets
+        WHERE status = 'EN_ESPERA' AND attention_type = :attentionType
+        ORDER BY created_at, id
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
     """, nativeQuery = true)
-    List<Ticket> findTicketsAtPositionInQueue(int position);
+    List<Ticket> claimWaitingTickets(@Param("attentionType") String attentionType, @Param("limit") int limit);
 
     List<Ticket> findByExecutiveIdAndStatus(Long executiveId, TicketStatus status);
 
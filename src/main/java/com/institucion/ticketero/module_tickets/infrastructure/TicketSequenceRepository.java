@@ -0,0 +1,47 @@
+package com.institucion.ticketero.module_tickets.infrastructure;
+
+import com.institucion.ticketero.module_queues.domain.AttentionType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Q-Insight: Infrastructure Repository for Ticket Sequences.
+ * Backs the ticket number allocator with one counter row per (workday, attention type).
+ * There is no JPA entity for the counters; the atomic upsert is issued directly through JDBC.
+ */
+@Repository
+public class TicketSequenceRepository {
+
+    private static final String RESERVE_BLOCK_SQL = """
+        INSERT INTO ticket_sequences (workday_id, attention_type, last_value)
+        VALUES (?, ?, ?)
+        ON CONFLICT (workday_id, attention_type)
+        DO UPDATE SET last_value = ticket_sequences.last_value + EXCLUDED.last_value
+        RETURNING last_value
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TicketSequenceRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Q-Insight: Reserves a block of sequence numbers.
+     * The row lock taken by the upsert serializes concurrent reservations, so two callers can never
+     * receive overlapping blocks. It runs in its own transaction: a reserved block stays consumed even
+     * if the ticket insert that triggered it rolls back, which keeps the in-memory allocator consistent.
+     *
+     * @param workdayId The workday the numbers belong to.
+     * @param attentionType The queue the numbers belong to.
+     * @param blockSize How many numbers to reserve.
+     * @return The last (highest) sequence number of the reserved block.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long reserveBlock(Long workdayId, AttentionType attentionType, int blockSize) {
+        Long lastValue = jdbcTemplate.queryForObject(RESERVE_BLOCK_SQL, Long.class, workdayId, attentionType.name(), blockSize);
+        return lastValue != null ? lastValue : 0L;
+    }
+}
@@ -0,0 +1,31 @@
+-- Due messages claimed by each channel's outbox relay:
+--   SELECT ... FROM messages WHERE canal = ? AND estado_envio IN ('PENDIENTE', 'EN_PROCESO') AND fecha_programada <= ?
+--   ORDER BY fecha_programada, id LIMIT ? FOR UPDATE SKIP LOCKED
+-- Only unsent messages are indexed, so the claim reads the head of the index however many months of sent
+-- messages the table holds.
+CREATE INDEX idx_messages_due ON messages (canal, fecha_programada, id)
+    WHERE estado_envio IN ('PENDIENTE', 'EN_PROCESO');
+
+-- The claim's supersession check (a newer message for the same ticket on the same channel) and the ticket foreign key.
+CREATE INDEX idx_messages_ticket_channel ON messages (ticket_id, canal, id);
+
+-- Old finished messages picked by the retention job.
+CREATE INDEX idx_messages_created_at ON messages (fecha_creacion);
+
+-- Messages Archive Table: finished messages moved out of messages after the retention period.
+-- Same columns as messages, without the foreign key or the outbox indexes.
+CREATE TABLE messages_archive (
+    id BIGINT PRIMARY KEY,
+    ticket_id BIGINT,
+    plantilla VARCHAR(50) NOT NULL,
+    estado_envio VARCHAR(50) NOT NULL,
+    fecha_programada TIMESTAMP NOT NULL,
+    fecha_envio TIMESTAMP,
+    telegram_message_id VARCHAR(255),
+    intentos INTEGER NOT NULL,
+    chat_id VARCHAR(255) NOT NULL,
+    content TEXT,
+    fecha_creacion TIMESTAMP NOT NULL,
+    canal VARCHAR(20) NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
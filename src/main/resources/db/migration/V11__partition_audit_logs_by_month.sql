@@ -0,0 +1,40 @@
+-- audit_logs becomes range-partitioned by month on timestamp, so inserts only ever touch the current month's
+-- small partition and its indexes, and retention drops or detaches whole months instead of deleting rows.
+-- Future months are created ahead of time, and expired ones removed, by AuditPartitionMaintenanceJob.
+-- The primary key of a partitioned table must include the partition key.
+ALTER TABLE audit_logs RENAME TO audit_logs_legacy;
+ALTER TABLE audit_logs_legacy RENAME CONSTRAINT audit_logs_pkey TO audit_logs_legacy_pkey;
+
+CREATE TABLE audit_logs (
+    id BIGINT NOT NULL DEFAULT nextval('audit_logs_id_seq'),
+    timestamp TIMESTAMP NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    actor VARCHAR(255),
+    entity_type VARCHAR(255),
+    entity_id BIGINT,
+    details TEXT,
+    PRIMARY KEY (id, timestamp)
+) PARTITION BY RANGE (timestamp);
+
+ALTER SEQUENCE audit_logs_id_seq OWNED BY audit_logs.id;
+
+-- Catches rows outside every monthly partition (clock skew, a job that did not run) so inserts never fail.
+CREATE TABLE audit_logs_default PARTITION OF audit_logs DEFAULT;
+
+-- One partition per month from the oldest existing event through two months ahead.
+DO $$
+DECLARE
+    month DATE := date_trunc('month', COALESCE((SELECT min(timestamp) FROM audit_logs_legacy), now()))::DATE;
+    last_month DATE := (date_trunc('month', now()) + INTERVAL '2 months')::DATE;
+BEGIN
+    WHILE month <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF audit_logs FOR VALUES FROM (%L) TO (%L)',
+                       'audit_logs_' || to_char(month, 'YYYY_MM'), month, (month + INTERVAL '1 month')::DATE);
+        month := (month + INTERVAL '1 month')::DATE;
+    END LOOP;
+END $$;
+
+INSERT INTO audit_logs (id, timestamp, event_type, actor, entity_type, entity_id, details)
+SELECT id, timestamp, event_type, actor, entity_type, entity_id, details FROM audit_logs_legacy;
+
+DROP TABLE audit_logs_legacy;
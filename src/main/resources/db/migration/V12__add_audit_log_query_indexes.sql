@@ -0,0 +1,9 @@
+-- Indexes for GET /api/audit, which pages newest first with a seek on (timestamp, id):
+--   ... WHERE <filters> AND (timestamp, id) < (?, ?) ORDER BY timestamp DESC, id DESC LIMIT ?
+-- Each filter gets an index that starts with it and ends with (timestamp, id), so a page is one index range scan
+-- of LIMIT entries whatever the table size. Created on the partitioned table, they are created on every partition,
+-- present and future.
+CREATE INDEX idx_audit_logs_timestamp ON audit_logs (timestamp, id);
+CREATE INDEX idx_audit_logs_entity ON audit_logs (entity_type, entity_id, timestamp, id);
+CREATE INDEX idx_audit_logs_event_type ON audit_logs (event_type, timestamp, id);
+CREATE INDEX idx_audit_logs_actor ON audit_logs (actor, timestamp, id);
@@ -0,0 +1,6 @@
+-- Structured audit payloads: one JSON object per event, its fields given by the event's record (AuditPayload).
+-- details keeps the text of entries written before; new entries leave it NULL and are rendered from payload when read.
+ALTER TABLE audit_logs ADD COLUMN payload JSONB;
+
+-- Investigating a ticket by its number: GET /api/audit?ticketNumber=...
+CREATE INDEX idx_audit_logs_ticket_number ON audit_logs ((payload ->> 'ticketNumber'), timestamp, id);
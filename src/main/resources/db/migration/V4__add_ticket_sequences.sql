@@ -0,0 +1,21 @@
+-- Ticket Sequences Table: One counter row per (workday, attention type).
+-- Ticket numbers are handed out in blocks reserved from this row, so concurrent
+-- kiosks never compete for the same number.
+CREATE TABLE ticket_sequences (
+    workday_id BIGINT NOT NULL,
+    attention_type VARCHAR(50) NOT NULL,
+    last_value BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (workday_id, attention_type),
+    FOREIGN KEY (workday_id) REFERENCES workdays(id)
+);
+
+-- Numeric part of the ticket number, kept as its own column for ordering.
+ALTER TABLE tickets ADD COLUMN sequence_number BIGINT;
+UPDATE tickets SET sequence_number = CAST(split_part(ticket_number, '-', 2) AS BIGINT);
+ALTER TABLE tickets ALTER COLUMN sequence_number SET NOT NULL;
+
+-- Seed the counters for workdays that already have tickets.
+INSERT INTO ticket_sequences (workday_id, attention_type, last_value)
+SELECT workday_id, attention_type, MAX(sequence_number)
+FROM tickets
+GROUP BY workday_id, attention_type;
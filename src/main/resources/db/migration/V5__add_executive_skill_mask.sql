@@ -0,0 +1,18 @@
+-- Executive skills as a bitmask column instead of the executive_attention_types join table.
+-- Bit n is set when the executive supports the attention type with ordinal n:
+-- CAJA = 1, PERSONAL_BANKER = 2, EMPRESAS = 4, GERENCIA = 8.
+ALTER TABLE executives ADD COLUMN skill_mask INTEGER NOT NULL DEFAULT 0;
+
+UPDATE executives e
+SET skill_mask = COALESCE((
+    SELECT SUM(CASE eat.attention_type
+                   WHEN 'CAJA' THEN 1
+                   WHEN 'PERSONAL_BANKER' THEN 2
+                   WHEN 'EMPRESAS' THEN 4
+                   WHEN 'GERENCIA' THEN 8
+                   ELSE 0
+               END)
+    FROM executive_attention_types eat
+    WHERE eat.executive_id = e.id), 0);
+
+DROP TABLE executive_attention_types;
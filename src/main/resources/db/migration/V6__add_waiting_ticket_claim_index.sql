@@ -0,0 +1,11 @@
+-- Queue heads claimed by clustered dispatch passes:
+--   SELECT ... FROM tickets WHERE status = 'EN_ESPERA' AND attention_type = ?
+--   ORDER BY created_at, id LIMIT ? FOR UPDATE SKIP LOCKED
+-- Arrival order rather than ticket number: with several nodes, numbers come from per-node blocks.
+-- Only waiting tickets are indexed, so the index stays small however many tickets are closed.
+CREATE INDEX idx_tickets_waiting_queue ON tickets (attention_type, created_at, id)
+    WHERE status = 'EN_ESPERA';
+
+-- Available executives claimed by the same passes, longest available first.
+CREATE INDEX idx_executives_available ON executives (last_status_change NULLS FIRST)
+    WHERE status = 'AVAILABLE';
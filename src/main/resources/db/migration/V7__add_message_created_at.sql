@@ -0,0 +1,3 @@
+-- When a message was enqueued. fecha_programada moves with every retry, so the outbox needs this to drop
+-- messages that are too old to still be useful (estado_envio = 'DESCARTADO').
+ALTER TABLE messages ADD COLUMN fecha_creacion TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
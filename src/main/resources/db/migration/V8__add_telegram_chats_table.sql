@@ -0,0 +1,8 @@
+-- Telegram Chats Table: the chat each customer registered by opening the signed bot link handed out with their
+-- ticket (a bare /start <RUT> registers nothing). Lets a ticket created at the kiosk be notified without the
+-- customer typing their chat id.
+CREATE TABLE telegram_chats (
+    national_id VARCHAR(20) PRIMARY KEY,
+    chat_id VARCHAR(255) NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
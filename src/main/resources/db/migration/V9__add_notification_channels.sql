@@ -0,0 +1,15 @@
+-- Notification channels: a notification fans out to one message per channel the customer has enabled.
+-- chat_id holds the recipient on the message's channel (Telegram chat, phone number or e-mail address), and
+-- telegram_message_id the id the channel's provider gave the message.
+ALTER TABLE messages ADD COLUMN canal VARCHAR(20) NOT NULL DEFAULT 'TELEGRAM';
+
+-- Customer Contacts Table: SMS and e-mail addresses customers asked to be notified at.
+-- Telegram chats are registered through the bot instead (telegram_chats).
+CREATE TABLE customer_contacts (
+    national_id VARCHAR(20) NOT NULL,
+    channel VARCHAR(20) NOT NULL,
+    address VARCHAR(255) NOT NULL,
+    enabled BOOLEAN NOT NULL DEFAULT TRUE,
+    updated_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (national_id, channel)
+);
@@ -0,0 +1,97 @@
+package com.institucion.ticketero.module_audit.application;
+
+import com.institucion.ticketero.common.exceptions.InvalidRequestException;
+import com.institucion.ticketero.module_audit.api.AuditLogResponse;
+import com.institucion.ticketero.module_audit.api.AuditPageResponse;
+import com.institucion.ticketero.module_audit.domain.AuditCursor;
+import com.institucion.ticketero.module_audit.domain.AuditEvent;
+import com.institucion.ticketero.module_audit.domain.AuditLog;
+import com.institucion.ticketero.module_audit.domain.AuditLogFilter;
+import com.institucion.ticketero.module_audit.domain.TicketCreatedAudit;
+import com.institucion.ticketero.module_audit.infrastructure.AuditLogQueryRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuditQueryServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 15, 12, 0);
+    private static final AuditLogFilter TICKET_7 = new AuditLogFilter("TICKET", 7L, null, null, null, null, null);
+
+    @Mock
+    private AuditLogQueryRepository queryRepository;
+
+    @InjectMocks
+    private AuditQueryService auditQueryService;
+
+    @Test
+    void search_whenThereAreMoreEntries_shouldReturnACursorThatSeeksPastTheLastOne() {
+        when(queryRepository.findPage(TICKET_7, null, 3)).thenReturn(entries(10, 9, 8));
+
+        AuditPageResponse page = auditQueryService.search(TICKET_7, null, 2);
+
+        assertEquals(List.of(10L, 9L), page.entries().stream().map(AuditLogResponse::id).toList());
+        assertEquals("Ticket created with number: C-10 (CAJA)", page.entries().get(0).details());
+        assertEquals(new AuditCursor(NOW.plusMinutes(9), 9), AuditCursor.decode(page.nextCursor()));
+    }
+
+    @Test
+    void search_withACursor_shouldContinueFromIt() {
+        AuditCursor cursor = new AuditCursor(NOW.plusMinutes(9), 9);
+        when(queryRepository.findPage(TICKET_7, cursor, AuditQueryService.DEFAULT_PAGE_SIZE + 1)).thenReturn(entries(8));
+
+        AuditPageResponse page = auditQueryService.search(TICKET_7, cursor.encode(), null);
+
+        assertEquals(1, page.entries().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void search_shouldRejectBadCursorsLimitsAndRanges() {
+        assertThrows(InvalidRequestException.class, () -> auditQueryService.search(TICKET_7, "not-a-cursor", null));
+        assertThrows(InvalidRequestException.class, () -> auditQueryService.search(TICKET_7, null, AuditQueryService.MAX_PAGE_SIZE + 1));
+        assertThrows(InvalidRequestException.class, () -> auditQueryService.search(
+                new AuditLogFilter(null, null, null, null, null, NOW, NOW.minusDays(1)), null, null));
+        verifyNoInteractions(queryRepository);
+    }
+
+    @Test
+    void export_shouldWalkEveryChunk() {
+        List<AuditLog> firstChunk = entries(LongStream.range(0, AuditQueryService.EXPORT_CHUNK_SIZE).map(i -> 5_000 - i).toArray());
+        when(queryRepository.findPage(eq(TICKET_7), isNull(), anyInt())).thenReturn(firstChunk);
+        when(queryRepository.findPage(eq(TICKET_7), any(AuditCursor.class), anyInt())).thenReturn(entries(3, 2));
+
+        List<Long> exported = new ArrayList<>();
+        auditQueryService.export(TICKET_7, entry -> exported.add(entry.id()));
+
+        assertEquals(AuditQueryService.EXPORT_CHUNK_SIZE + 2, exported.size());
+        assertEquals(2L, exported.get(exported.size() - 1));
+    }
+
+    private static List<AuditLog> entries(long... ids) {
+        List<AuditLog> entries = new ArrayList<>();
+        for (long id : ids) {
+            entries.add(new AuditLog(id, NOW.plusMinutes(id), AuditEvent.TICKET_CREADO, "SYSTEM", "TICKET", 7L,
+                    new TicketCreatedAudit("C-" + id, "CAJA"), null));
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,43 @@
+package com.institucion.ticketero.module_audit.domain;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AuditPayloadTest {
+
+    private static final List<AuditPayload> ONE_OF_EACH = List.of(
+            new TicketCreatedAudit("C-1", "CAJA"),
+            new TicketAssignedAudit("C-1", 3L, "Ana Perez", "Modulo 3"),
+            new TicketCompletedAudit("C-1", 3L, "Ana Perez"),
+            new TicketCancelledAudit("C-1"),
+            new MessageSentAudit(10L, "TELEGRAM", "TOTEM_TICKET_CREADO"),
+            new MessageFailedAudit(10L, "SMS", 4, "gateway timeout"),
+            new ExecutiveStatusChangedAudit("Ana Perez", "BUSY", "AVAILABLE"),
+            new PositionRecalculatedAudit("C-1", 2));
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void everyEventShouldReadItsPayloadBackFromJson() throws Exception {
+        Set<AuditEvent> covered = EnumSet.noneOf(AuditEvent.class);
+        for (AuditPayload payload : ONE_OF_EACH) {
+            String json = objectMapper.writeValueAsString(payload);
+
+            assertEquals(payload, objectMapper.readValue(json, payload.eventType().payloadType()));
+            covered.add(payload.eventType());
+        }
+        assertEquals(EnumSet.allOf(AuditEvent.class), covered);
+    }
+
+    @Test
+    void payloadsShouldBeStoredAsCompactFieldsAndRenderedAsText() throws Exception {
+        assertEquals("{\"ticketNumber\":\"C-1\",\"attentionType\":\"CAJA\"}", objectMapper.writeValueAsString(ONE_OF_EACH.get(0)));
+        assertEquals("Ticket C-1 assigned to executive Ana Perez at Modulo 3", ONE_OF_EACH.get(1).render());
+    }
+}
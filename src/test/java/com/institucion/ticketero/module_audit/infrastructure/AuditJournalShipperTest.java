@@ -0,0 +1,146 @@
+package com.institucion.ticketero.module_audit.infrastructure;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.institucion.ticketero.module_audit.domain.AuditRecord;
+import com.institucion.ticketero.module_audit.domain.TicketCreatedAudit;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AuditJournalShipperTest {
+
+    @TempDir
+    Path directory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RecordingRepository repository = new RecordingRepository();
+    private AuditJournal journal;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        journal = new AuditJournal(new ObjectMapper(), meterRegistry, directory, 1, AuditJournal.FsyncPolicy.NEVER, 1_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        journal.shutdown();
+    }
+
+    @Test
+    void ship_shouldInsertInBatchesAndAdvanceTheCheckpoint() {
+        AuditJournalShipper shipper = shipper(2);
+        for (long i = 0; i < 5; i++) {
+            journal.submit(record(i));
+        }
+
+        assertEquals(5, shipper.ship());
+
+        assertEquals(List.of(2, 2, 1), repository.batchSizes);
+        assertEquals(new AuditJournalShipper.Checkpoint(0, journal.segments().get(0).committed()), shipper.checkpoint());
+        journal.submit(record(5));
+        assertEquals(1, shipper.ship());
+        assertEquals(6, repository.records.size());
+    }
+
+    @Test
+    void ship_shouldResumeFromTheSavedCheckpointAfterARestart() {
+        journal.submit(record(0));
+        journal.submit(record(1));
+        shipper(10).ship();
+        journal.submit(record(2));
+
+        shipper(10).ship();
+
+        assertEquals(List.of(0L, 1L, 2L), repository.records.stream().map(AuditRecord::entityId).toList());
+    }
+
+    @Test
+    void ship_shouldDeleteSealedSegmentsOnceShipped() {
+        AuditJournalShipper shipper = shipper(500);
+        int count = 0;
+        while (journal.segments().size() < 2) {
+            journal.submit(record(count++));
+        }
+
+        assertEquals(count, shipper.ship());
+
+        assertEquals(1, journal.segments().size());
+        assertFalse(Files.exists(JournalSegment.fileName(directory, 0)));
+        assertEquals(1, shipper.checkpoint().segment());
+    }
+
+    @Test
+    void ship_whenTheInsertFails_shouldKeepTheCheckpointAndRetryLater() {
+        AuditJournalShipper shipper = shipper(10);
+        journal.submit(record(0));
+        repository.failing = true;
+
+        assertThrows(DataAccessResourceFailureException.class, shipper::ship);
+
+        assertEquals(new AuditJournalShipper.Checkpoint(-1, 0), shipper.checkpoint());
+        repository.failing = false;
+        assertEquals(1, shipper.ship());
+        assertEquals(1, repository.records.size());
+    }
+
+    @Test
+    void ship_whenTheCheckpointIsPastTheRecoveredJournal_shouldResumeFromTheRecoveredEnd() throws IOException {
+        journal.submit(record(0));
+        journal.submit(record(1));
+        int recoveredEnd = journal.segments().get(0).committed();
+        // Shipped from memory before a power cut lost the tail it pointed past.
+        Files.writeString(directory.resolve(AuditJournalShipper.CHECKPOINT_FILE), "0 " + (recoveredEnd + 4_096));
+        AuditJournalShipper shipper = shipper(10);
+        assertEquals(new AuditJournalShipper.Checkpoint(0, recoveredEnd), shipper.checkpoint());
+
+        journal.submit(record(2));
+
+        assertEquals(1, shipper.ship());
+        assertEquals(List.of(2L), repository.records.stream().map(AuditRecord::entityId).toList());
+    }
+
+    private AuditJournalShipper shipper(int batchSize) {
+        return new AuditJournalShipper(journal, repository, meterRegistry, batchSize, 60_000);
+    }
+
+    private static AuditRecord record(long entityId) {
+        return new AuditRecord(LocalDateTime.now(), "SYSTEM", "TICKET", entityId, new TicketCreatedAudit("C-" + entityId, "CAJA"));
+    }
+
+    /**
+     * Records every insert, or fails them all like an unreachable database.
+     */
+    private static class RecordingRepository extends AuditLogBatchRepository {
+
+        private final List<AuditRecord> records = new ArrayList<>();
+        private final List<Integer> batchSizes = new ArrayList<>();
+        private boolean failing;
+
+        RecordingRepository() {
+            super(null, null);
+        }
+
+        @Override
+        public void insertAll(List<AuditRecord> batch) {
+            if (failing) {
+                throw new DataAccessResourceFailureException("Connection refused");
+            }
+            batchSizes.add(batch.size());
+            records.addAll(batch);
+        }
+    }
+}
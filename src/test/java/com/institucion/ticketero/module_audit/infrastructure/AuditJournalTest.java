@@ -0,0 +1,108 @@
+package com.institucion.ticketero.module_audit.infrastructure;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.institucion.ticketero.module_audit.domain.AuditRecord;
+import com.institucion.ticketero.module_audit.domain.TicketCreatedAudit;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuditJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AuditJournal journal;
+
+    @AfterEach
+    void tearDown() {
+        journal.shutdown();
+    }
+
+    @Test
+    void submit_shouldKeepRecordsAcrossARestart() throws IOException {
+        journal = open(AuditJournal.FsyncPolicy.EVERY_RECORD);
+        AuditRecord first = record(1);
+        journal.submit(first);
+        journal.submit(record(2));
+        journal.shutdown();
+
+        journal = open(AuditJournal.FsyncPolicy.EVERY_RECORD);
+        journal.submit(record(3));
+
+        List<AuditRecord> records = readAll();
+        assertEquals(List.of(1L, 2L, 3L), records.stream().map(AuditRecord::entityId).toList());
+        assertEquals(first, records.get(0));
+    }
+
+    @Test
+    void open_shouldDropATornOrCorruptedTail() throws IOException {
+        journal = open(AuditJournal.FsyncPolicy.NEVER);
+        journal.submit(record(1));
+        journal.submit(record(2));
+        int tornAt = journal.segments().get(0).committed();
+        journal.submit(record(3));
+        journal.shutdown();
+        // Flip a byte of the third record: its checksum no longer matches.
+        try (FileChannel channel = FileChannel.open(JournalSegment.fileName(directory, 0), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0x7f}), tornAt + JournalSegment.FRAME_HEADER_BYTES + 3);
+        }
+
+        journal = open(AuditJournal.FsyncPolicy.NEVER);
+
+        assertEquals(tornAt, journal.segments().get(0).committed());
+        journal.submit(record(4));
+        assertEquals(List.of(1L, 2L, 4L), readAll().stream().map(AuditRecord::entityId).toList());
+    }
+
+    @Test
+    void submit_whenTheSegmentIsFull_shouldRollToANewOne() throws IOException {
+        journal = open(AuditJournal.FsyncPolicy.NEVER);
+        int count = 0;
+        while (journal.segments().size() < 2) {
+            journal.submit(record(count++));
+        }
+
+        List<JournalSegment> segments = journal.segments();
+        assertTrue(segments.get(0).isSealed());
+        assertFalse(segments.get(1).isSealed());
+        assertTrue(Files.exists(JournalSegment.fileName(directory, 1)));
+        assertEquals(count, readAll().size());
+        assertEquals(count, meterRegistry.get("ticketero.audit.journal.appended").counter().count());
+    }
+
+    private AuditJournal open(AuditJournal.FsyncPolicy fsyncPolicy) throws IOException {
+        return new AuditJournal(new ObjectMapper(), meterRegistry, directory, 1, fsyncPolicy, 1_000);
+    }
+
+    private List<AuditRecord> readAll() {
+        List<AuditRecord> records = new ArrayList<>();
+        for (JournalSegment segment : journal.segments()) {
+            List<ByteBuffer> frames = new ArrayList<>();
+            segment.read(0, Integer.MAX_VALUE, frames);
+            frames.forEach(frame -> records.add(journal.decode(frame)));
+        }
+        return records;
+    }
+
+    private static AuditRecord record(long entityId) {
+        return new AuditRecord(LocalDateTime.of(2026, 10, 17, 9, 30, 15, 123_456_000), "SYSTEM", "TICKET", entityId,
+                new TicketCreatedAudit("C-" + entityId, "CAJA"));
+    }
+}
@@ -0,0 +1,54 @@
+package com.institucion.ticketero.module_audit.infrastructure;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuditPartitionMaintenanceJobTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-06-15T12:00:00Z"), ZoneOffset.UTC);
+
+    @Mock
+    private AuditPartitionRepository partitionRepository;
+
+    @Test
+    void maintain_shouldCreateUpcomingMonthsAndDetachExpiredOnes() {
+        when(partitionRepository.findPartitionMonths()).thenReturn(List.of(
+                YearMonth.of(2023, 5), YearMonth.of(2023, 6), YearMonth.of(2023, 7), YearMonth.of(2024, 6)));
+
+        new AuditPartitionMaintenanceJob(partitionRepository, 2, 12, AuditPartitionMaintenanceJob.ExpiredAction.DETACH, CLOCK).maintain();
+
+        verify(partitionRepository).createPartition(YearMonth.of(2024, 6));
+        verify(partitionRepository).createPartition(YearMonth.of(2024, 7));
+        verify(partitionRepository).createPartition(YearMonth.of(2024, 8));
+        verify(partitionRepository).detachPartition(YearMonth.of(2023, 5));
+        verify(partitionRepository).detachPartition(YearMonth.of(2023, 6));
+        verify(partitionRepository, never()).detachPartition(YearMonth.of(2023, 7));
+        verify(partitionRepository, never()).detachPartition(YearMonth.of(2024, 6));
+    }
+
+    @Test
+    void maintain_withDrop_shouldKeepGoingWhenOnePartitionFails() {
+        when(partitionRepository.findPartitionMonths()).thenReturn(List.of(YearMonth.of(2023, 1), YearMonth.of(2023, 2)));
+        doThrow(new DataIntegrityViolationException("locked")).when(partitionRepository).dropPartition(YearMonth.of(2023, 1));
+
+        new AuditPartitionMaintenanceJob(partitionRepository, 0, 12, AuditPartitionMaintenanceJob.ExpiredAction.DROP, CLOCK).maintain();
+
+        verify(partitionRepository).createPartition(YearMonth.of(2024, 6));
+        verify(partitionRepository).dropPartition(YearMonth.of(2023, 2));
+    }
+}
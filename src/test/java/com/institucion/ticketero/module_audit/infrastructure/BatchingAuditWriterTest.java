@@ -0,0 +1,138 @@
+package com.institucion.ticketero.module_audit.infrastructure;
+
+import com.institucion.ticketero.module_audit.domain.AuditRecord;
+import com.institucion.ticketero.module_audit.domain.TicketCreatedAudit;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchingAuditWriterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RecordingRepository repository = new RecordingRepository();
+    private BatchingAuditWriter writer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        repository.release.countDown();
+        writer.shutdown();
+    }
+
+    @Test
+    void submit_shouldWriteFullBatchesAsOneInsertEach() throws InterruptedException {
+        writer = new BatchingAuditWriter(repository, meterRegistry, 1024, 10, 60_000, AuditOverflowPolicy.BLOCK, 50, 5_000);
+        writer.start();
+
+        for (long i = 0; i < 30; i++) {
+            writer.submit(record(i));
+        }
+
+        repository.awaitRecords(30);
+        assertEquals(List.of(10, 10, 10), repository.batchSizes());
+        assertEquals(30.0, meterRegistry.get("ticketero.audit.written").counter().count());
+    }
+
+    @Test
+    void submit_shouldWriteAPartialBatchAfterTheFlushInterval() throws InterruptedException {
+        writer = new BatchingAuditWriter(repository, meterRegistry, 1024, 100, 50, AuditOverflowPolicy.BLOCK, 50, 5_000);
+        writer.start();
+
+        writer.submit(record(1));
+        writer.submit(record(2));
+
+        repository.awaitRecords(2);
+        assertEquals(List.of(2), repository.batchSizes());
+    }
+
+    @Test
+    void shutdown_shouldFlushEverythingQueued() throws InterruptedException {
+        writer = new BatchingAuditWriter(repository, meterRegistry, 1024, 100, 60_000, AuditOverflowPolicy.BLOCK, 50, 5_000);
+        writer.start();
+        for (long i = 0; i < 42; i++) {
+            writer.submit(record(i));
+        }
+
+        writer.shutdown();
+
+        assertEquals(42, repository.records.size());
+        assertEquals(0L, repository.records.get(0).entityId());
+        // After shutdown, events are written on the caller's thread.
+        writer.submit(record(99));
+        assertEquals(43, repository.records.size());
+    }
+
+    @Test
+    void submit_whenTheBufferIsFullAndThePolicyIsDrop_shouldCountTheDroppedEvents() throws InterruptedException {
+        repository.blocked = true;
+        writer = new BatchingAuditWriter(repository, meterRegistry, 4, 1, 60_000, AuditOverflowPolicy.DROP, 50, 5_000);
+        writer.start();
+        writer.submit(record(0));
+        repository.awaitInsertStarted();
+
+        for (long i = 1; i <= 10; i++) {
+            writer.submit(record(i));
+        }
+
+        assertEquals(6.0, meterRegistry.get("ticketero.audit.dropped").counter().count());
+    }
+
+    private static AuditRecord record(long entityId) {
+        return new AuditRecord(LocalDateTime.now(), "SYSTEM", "TICKET", entityId, new TicketCreatedAudit("C-" + entityId, "CAJA"));
+    }
+
+    /**
+     * Records every insert; can hold the writer inside an insert to let the buffer fill up.
+     */
+    private static class RecordingRepository extends AuditLogBatchRepository {
+
+        private final List<AuditRecord> records = new CopyOnWriteArrayList<>();
+        private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        private final CountDownLatch insertStarted = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private volatile boolean blocked;
+
+        RecordingRepository() {
+            super(null, null);
+        }
+
+        @Override
+        public void insertAll(List<AuditRecord> batch) {
+            insertStarted.countDown();
+            if (blocked) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            batchSizes.add(batch.size());
+            records.addAll(new ArrayList<>(batch));
+        }
+
+        List<Integer> batchSizes() {
+            return batchSizes;
+        }
+
+        void awaitInsertStarted() throws InterruptedException {
+            assertTrue(insertStarted.await(2, TimeUnit.SECONDS));
+        }
+
+        void awaitRecords(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+            while (records.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(count, records.size());
+        }
+    }
+}
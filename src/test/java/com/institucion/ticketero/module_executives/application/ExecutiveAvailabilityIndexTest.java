@@ -0,0 +1,102 @@
+package com.institucion.ticketero.module_executives.application;
+
+import com.institucion.ticketero.module_executives.domain.Executive;
+import com.institucion.ticketero.module_executives.domain.ExecutiveStatus;
+import com.institucion.ticketero.module_executives.domain.ExecutiveStatusChangedEvent;
+import com.institucion.ticketero.module_executives.infrastructure.AttentionTypeMaskConverter;
+import com.institucion.ticketero.module_executives.infrastructure.ExecutiveRepository;
+import com.institucion.ticketero.module_queues.domain.AttentionType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExecutiveAvailabilityIndexTest {
+
+    @Mock
+    private ExecutiveRepository executiveRepository;
+
+    @InjectMocks
+    private ExecutiveAvailabilityIndex executiveAvailabilityIndex;
+
+    @Test
+    void rebuild_shouldIndexAvailableExecutivesBySkillInAvailabilityOrder() {
+        when(executiveRepository.findAllByStatusOrderByLastStatusChangeAsc(ExecutiveStatus.AVAILABLE)).thenReturn(List.of(
+                executive(1L, AttentionType.CAJA, AttentionType.PERSONAL_BANKER),
+                executive(2L, AttentionType.CAJA)));
+
+        executiveAvailabilityIndex.rebuild();
+
+        assertEquals(Optional.of(1L), executiveAvailabilityIndex.nextAvailable(AttentionType.CAJA));
+        assertEquals(2, executiveAvailabilityIndex.availableCount(AttentionType.CAJA));
+        assertEquals(1, executiveAvailabilityIndex.availableCount(AttentionType.PERSONAL_BANKER));
+        assertTrue(executiveAvailabilityIndex.nextAvailable(AttentionType.GERENCIA).isEmpty());
+        assertEquals(List.of(1L, 2L), executiveAvailabilityIndex.availableExecutives());
+    }
+
+    @Test
+    void onExecutiveStatusChanged_shouldMoveExecutivesInAndOutOfTheIndex() {
+        executiveAvailabilityIndex.onExecutiveStatusChanged(event(1L, ExecutiveStatus.AVAILABLE, AttentionType.CAJA));
+        executiveAvailabilityIndex.onExecutiveStatusChanged(event(2L, ExecutiveStatus.AVAILABLE, AttentionType.CAJA));
+
+        executiveAvailabilityIndex.onExecutiveStatusChanged(event(1L, ExecutiveStatus.BUSY, AttentionType.CAJA));
+        assertEquals(Optional.of(2L), executiveAvailabilityIndex.nextAvailable(AttentionType.CAJA));
+
+        executiveAvailabilityIndex.onExecutiveStatusChanged(event(1L, ExecutiveStatus.AVAILABLE, AttentionType.CAJA));
+        assertEquals(List.of(2L, 1L), executiveAvailabilityIndex.availableExecutives());
+
+        executiveAvailabilityIndex.onExecutiveStatusChanged(ExecutiveStatusChangedEvent.removed(2L));
+        executiveAvailabilityIndex.onExecutiveStatusChanged(ExecutiveStatusChangedEvent.removed(1L));
+        assertFalse(executiveAvailabilityIndex.hasAvailableExecutives());
+        assertEquals(0, executiveAvailabilityIndex.availableCount(AttentionType.CAJA));
+    }
+
+    @Test
+    void onExecutiveStatusChanged_withNewSkills_shouldKeepPlaceInUnchangedQueues() {
+        executiveAvailabilityIndex.onExecutiveStatusChanged(event(1L, ExecutiveStatus.AVAILABLE, AttentionType.CAJA));
+        executiveAvailabilityIndex.onExecutiveStatusChanged(event(2L, ExecutiveStatus.AVAILABLE, AttentionType.CAJA));
+
+        executiveAvailabilityIndex.onExecutiveStatusChanged(event(1L, ExecutiveStatus.AVAILABLE, AttentionType.CAJA, AttentionType.GERENCIA));
+
+        assertEquals(Optional.of(1L), executiveAvailabilityIndex.nextAvailable(AttentionType.CAJA));
+        assertEquals(Optional.of(1L), executiveAvailabilityIndex.nextAvailable(AttentionType.GERENCIA));
+
+        executiveAvailabilityIndex.onExecutiveStatusChanged(event(1L, ExecutiveStatus.AVAILABLE, AttentionType.GERENCIA));
+        assertEquals(Optional.of(2L), executiveAvailabilityIndex.nextAvailable(AttentionType.CAJA));
+    }
+
+    @Test
+    void skillMask_shouldRoundTripEverySubsetOfAttentionTypes() {
+        AttentionTypeMaskConverter converter = new AttentionTypeMaskConverter();
+        for (int mask = 0; mask < 1 << AttentionType.values().length; mask++) {
+            Set<AttentionType> skills = converter.convertToEntityAttribute(mask);
+            assertEquals(mask, converter.convertToDatabaseColumn(skills));
+        }
+        assertEquals(EnumSet.of(AttentionType.CAJA, AttentionType.GERENCIA), converter.convertToEntityAttribute(9));
+    }
+
+    private static Executive executive(Long id, AttentionType... skills) {
+        Executive executive = new Executive();
+        executive.setId(id);
+        executive.setStatus(ExecutiveStatus.AVAILABLE);
+        executive.setSupportedAttentionTypes(Set.of(skills));
+        return executive;
+    }
+
+    private static ExecutiveStatusChangedEvent event(Long executiveId, ExecutiveStatus status, AttentionType... skills) {
+        return new ExecutiveStatusChangedEvent(executiveId, "Executive " + executiveId, "Modulo " + executiveId, status, Set.of(skills), LocalDateTime.now());
+    }
+}
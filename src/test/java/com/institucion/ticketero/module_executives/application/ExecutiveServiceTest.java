@@ -5,6 +5,7 @@ import com.institucion.ticketero.module_executives.api.CreateExecutiveRequest;
 import com.institucion.ticketero.module_executives.api.ExecutiveDetailsResponse;
 import com.institucion.ticketero.module_executives.api.UpdateExecutiveRequest;
 import com.institucion.ticketero.module_executives.domain.Executive;
+import com.institucion.ticketero.module_executives.domain.ExecutiveStatusChangedEvent;
 import com.institucion.ticketero.module_executives.domain.ExecutiveStatus;
 import com.institucion.ticketero.module_executives.infrastructure.ExecutiveRepository;
 import com.institucion.ticketero.module_queues.domain.AttentionType;
@@ -14,6 +15,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Collections;
 import java.util.HashSet;
@@ -31,6 +33,9 @@ class ExecutiveServiceTest {
     @Mock
     private ExecutiveRepository executiveRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ExecutiveService executiveService;
 
@@ -68,6 +73,7 @@ class ExecutiveServiceTest {
         assertTrue(response.supportedAttentionTypes().contains(AttentionType.PERSONAL_BANKER));
 
         verify(executiveRepository, times(1)).save(any(Executive.class));
+        verify(eventPublisher).publishEvent(any(ExecutiveStatusChangedEvent.class));
     }
 
     @Test
@@ -140,6 +146,7 @@ class ExecutiveServiceTest {
 
         verify(executiveRepository, times(1)).existsById(executiveId);
         verify(executiveRepository, times(1)).deleteById(executiveId);
+        verify(eventPublisher).publishEvent(any(ExecutiveStatusChangedEvent.class));
     }
 
     @Test
@@ -0,0 +1,49 @@
+package com.institucion.ticketero.module_messages.domain;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CompiledTemplateTest {
+
+    @Test
+    void render_shouldMatchStringFormatForEveryMessageTemplate() {
+        assertEquals(String.format(MessageTemplate.TOTEM_TICKET_CREADO.getTemplate(), "C-12", 3, 15L),
+                MessageTemplate.TOTEM_TICKET_CREADO.render("C-12", 3, 15L));
+        assertEquals(String.format(MessageTemplate.TOTEM_PROXIMO_TURNO.getTemplate(), "C-12"),
+                MessageTemplate.TOTEM_PROXIMO_TURNO.render("C-12"));
+        assertEquals(String.format(MessageTemplate.TOTEM_ES_TU_TURNO.getTemplate(), "C-12", "Modulo 4", "Ana Perez"),
+                MessageTemplate.TOTEM_ES_TU_TURNO.render("C-12", "Modulo 4", "Ana Perez"));
+    }
+
+    @Test
+    void render_shouldEscapeInterpolatedValuesButNotTheTemplateMarkup() {
+        CompiledTemplate template = CompiledTemplate.compile("<b>%s</b> 100%% at %d");
+
+        assertEquals("<b>Perez &amp; Hijos &lt;script&gt; &quot;x&quot;</b> 100% at 7",
+                template.render("Perez & Hijos <script> \"x\"", 7));
+    }
+
+    @Test
+    void render_shouldReuseTheBufferWithoutLeakingPreviousOutput() {
+        CompiledTemplate template = CompiledTemplate.compile("[%s]");
+
+        assertEquals("[a much longer first value]", template.render("a much longer first value"));
+        assertEquals("[b]", template.render("b"));
+    }
+
+    @Test
+    void render_shouldRejectWrongArguments() {
+        CompiledTemplate template = CompiledTemplate.compile("%s has %d");
+
+        assertThrows(IllegalArgumentException.class, () -> template.render("only one"));
+        assertThrows(IllegalArgumentException.class, () -> template.render("C-1", "not a number"));
+    }
+
+    @Test
+    void compile_shouldRejectUnsupportedSpecifiers() {
+        assertThrows(IllegalArgumentException.class, () -> CompiledTemplate.compile("%.2f minutes"));
+        assertThrows(IllegalArgumentException.class, () -> CompiledTemplate.compile("trailing %"));
+    }
+}
@@ -0,0 +1,36 @@
+package com.institucion.ticketero.module_messages.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RetryBackoffTest {
+
+    @Test
+    void delayAfter_shouldDoubleUpToTheCap() {
+        RetryBackoff backoff = new RetryBackoff(Duration.ofSeconds(30), 2, Duration.ofSeconds(240), 0.5, () -> 0);
+
+        assertEquals(Duration.ofSeconds(30), backoff.delayAfter(1));
+        assertEquals(Duration.ofSeconds(60), backoff.delayAfter(2));
+        assertEquals(Duration.ofSeconds(120), backoff.delayAfter(3));
+        assertEquals(Duration.ofSeconds(240), backoff.delayAfter(4));
+        assertEquals(Duration.ofSeconds(240), backoff.delayAfter(10));
+    }
+
+    @Test
+    void delayAfter_shouldShortenTheDelayByAtMostTheJitter() {
+        RetryBackoff backoff = new RetryBackoff(Duration.ofSeconds(30), 2, Duration.ofSeconds(240), 0.5, () -> 0.999_999);
+
+        assertEquals(15_000, backoff.delayAfter(1).toMillis(), 1.0);
+        assertEquals(30_000, backoff.delayAfter(2).toMillis(), 1.0);
+    }
+
+    @Test
+    void constructor_shouldRejectAShrinkingSchedule() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new RetryBackoff(Duration.ofSeconds(30), 0.5, Duration.ofSeconds(240), 0));
+    }
+}
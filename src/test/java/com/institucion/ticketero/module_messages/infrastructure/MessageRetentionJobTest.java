@@ -0,0 +1,50 @@
+package com.institucion.ticketero.module_messages.infrastructure;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MessageRetentionJobTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-06-30T12:00:00Z"), ZoneOffset.UTC);
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2024, 5, 31, 12, 0);
+
+    @Mock
+    private MessageArchiveRepository archiveRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void run_shouldMoveChunksUntilOneComesBackShort() throws InterruptedException {
+        when(archiveRepository.archiveChunk(CUTOFF, 100)).thenReturn(100, 100, 42);
+
+        int moved = new MessageRetentionJob(archiveRepository, meterRegistry, 30, 100, 10, 0, CLOCK).run();
+
+        assertEquals(242, moved);
+        verify(archiveRepository, times(3)).archiveChunk(CUTOFF, 100);
+        assertEquals(242.0, meterRegistry.get("ticketero.messages.archived").counter().count());
+    }
+
+    @Test
+    void run_shouldStopAtTheChunkBudget() throws InterruptedException {
+        when(archiveRepository.archiveChunk(CUTOFF, 100)).thenReturn(100);
+
+        int moved = new MessageRetentionJob(archiveRepository, meterRegistry, 30, 100, 2, 0, CLOCK).run();
+
+        assertEquals(200, moved);
+        verify(archiveRepository, times(2)).archiveChunk(CUTOFF, 100);
+    }
+}
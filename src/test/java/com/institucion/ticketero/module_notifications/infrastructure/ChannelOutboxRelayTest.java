@@ -0,0 +1,195 @@
+package com.institucion.ticketero.module_notifications.infrastructure;
+
+import com.institucion.ticketero.module_messages.domain.MessageChannel;
+import com.institucion.ticketero.module_messages.domain.MessageDeliveryResult;
+import com.institucion.ticketero.module_messages.domain.MessageStatus;
+import com.institucion.ticketero.module_messages.domain.OutboxBatch;
+import com.institucion.ticketero.module_messages.domain.OutboxMessage;
+import com.institucion.ticketero.module_messages.domain.RetryBackoff;
+import com.institucion.ticketero.module_messages.infrastructure.MessageOutboxRepository;
+import com.institucion.ticketero.module_notifications.application.NotificationChannel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ChannelOutboxRelayTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Mock
+    private MessageOutboxRepository outboxRepository;
+
+    @Mock
+    private NotificationChannel channel;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TelegramRateLimiter rateLimiter;
+    private ChannelOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new TelegramRateLimiter(1_000, 1_000, 1, meterRegistry);
+        when(channel.type()).thenReturn(MessageChannel.TELEGRAM);
+        when(channel.rateLimiter()).thenReturn(rateLimiter);
+        relay = new ChannelOutboxRelay(channel, outboxRepository, meterRegistry, 10, 4, 1_000, 120_000, 1_800_000,
+                new RetryBackoff(Duration.ofSeconds(30), 2, Duration.ofMinutes(4), 0), MAX_ATTEMPTS,
+                new CircuitBreaker(4, 2, 0.5, TimeUnit.SECONDS.toNanos(30), TimeUnit.SECONDS.toNanos(5), System::nanoTime));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        relay.shutdown();
+    }
+
+    @Test
+    void deliver_shouldSendEveryChatAndReportEachResult() throws InterruptedException {
+        when(channel.send(any(), any())).thenAnswer(invocation -> "tg-" + invocation.getArgument(1));
+
+        List<MessageDeliveryResult> results = sorted(relay.deliver(List.of(
+                new OutboxMessage(1L, "chat-a", "m1", 0),
+                new OutboxMessage(2L, "chat-b", "m2", 0),
+                new OutboxMessage(3L, "chat-a", "m3", 0))));
+
+        assertEquals(3, results.size());
+        assertTrue(results.stream().allMatch(result -> result.status() == MessageStatus.ENVIADO));
+        assertEquals("tg-m3", results.get(2).telegramMessageId());
+    }
+
+    @Test
+    void deliver_whenASendFails_shouldRetryItAndHoldBackLaterMessagesOfTheSameChat() throws InterruptedException {
+        when(channel.send("chat-a", "m1")).thenThrow(new TelegramSendException(500, "Internal Server Error"));
+        when(channel.send("chat-b", "m2")).thenReturn("tg-2");
+
+        List<MessageDeliveryResult> results = sorted(relay.deliver(List.of(
+                new OutboxMessage(1L, "chat-a", "m1", 0),
+                new OutboxMessage(2L, "chat-b", "m2", 0),
+                new OutboxMessage(3L, "chat-a", "m3", 0))));
+
+        assertEquals(MessageStatus.PENDIENTE, results.get(0).status());
+        assertTrue(results.get(0).attempted());
+        assertEquals(MessageStatus.ENVIADO, results.get(1).status());
+        assertEquals(MessageStatus.PENDIENTE, results.get(2).status());
+        assertFalse(results.get(2).attempted());
+        assertFalse(results.get(2).at().isBefore(results.get(0).at()));
+        verify(channel, never()).send("chat-a", "m3");
+    }
+
+    @Test
+    void deliver_afterRepeatedFailures_shouldBackOffExponentially() throws InterruptedException {
+        when(channel.send(any(), any())).thenThrow(new TelegramSendException(502, "Bad Gateway"));
+        LocalDateTime before = LocalDateTime.now();
+
+        MessageDeliveryResult result = relay.deliver(List.of(new OutboxMessage(1L, "chat-a", "m1", 1))).get(0);
+
+        // Second attempt: 30 s * 2.
+        assertEquals(MessageStatus.PENDIENTE, result.status());
+        assertTrue(result.attempted());
+        assertFalse(result.at().isBefore(before.plusSeconds(60)));
+        assertTrue(result.at().isBefore(LocalDateTime.now().plusSeconds(61)));
+    }
+
+    @Test
+    void deliver_whileTelegramAskedUsToWait_shouldRescheduleWithoutSending() throws InterruptedException {
+        rateLimiter.onRateLimited(5);
+
+        MessageDeliveryResult result = relay.deliver(List.of(new OutboxMessage(1L, "chat-a", "m1", 0))).get(0);
+
+        assertEquals(MessageStatus.PENDIENTE, result.status());
+        assertFalse(result.attempted());
+        assertTrue(result.at().isAfter(LocalDateTime.now().plusSeconds(3)));
+        verify(channel, never()).send(any(), any());
+    }
+
+    @Test
+    void deliver_onTheLastAttempt_shouldMarkTheMessageFailed() throws InterruptedException {
+        when(channel.send(any(), any())).thenThrow(new TelegramSendException(400, "Bad Request"));
+
+        List<MessageDeliveryResult> results = relay.deliver(List.of(new OutboxMessage(1L, "chat-a", "m1", MAX_ATTEMPTS - 1)));
+
+        assertEquals(MessageStatus.FALLIDO, results.get(0).status());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void wakeUp_shouldClaimSendAndRecordTheBatch() {
+        when(outboxRepository.claimBatch(eq(MessageChannel.TELEGRAM), anyInt(), any(), any(), any())).thenReturn(new OutboxBatch(List.of(new OutboxMessage(1L, "chat-a", "m1", 0)), 0));
+        when(channel.send("chat-a", "m1")).thenReturn("tg-1");
+
+        relay.wakeUp();
+
+        ArgumentCaptor<List<MessageDeliveryResult>> results = ArgumentCaptor.forClass(List.class);
+        verify(outboxRepository, timeout(2000)).saveResults(results.capture());
+        assertEquals(1, results.getValue().size());
+        assertEquals(MessageStatus.ENVIADO, results.getValue().get(0).status());
+        assertEquals("tg-1", results.getValue().get(0).telegramMessageId());
+    }
+
+    @Test
+    void wakeUp_shouldCountDiscardedMessagesAndSendOnlyTheRest() {
+        when(outboxRepository.claimBatch(eq(MessageChannel.TELEGRAM), anyInt(), any(), any(), any())).thenReturn(new OutboxBatch(List.of(), 2));
+
+        relay.wakeUp();
+
+        verify(outboxRepository, timeout(2000)).claimBatch(eq(MessageChannel.TELEGRAM), anyInt(), any(), any(), any());
+        long deadline = System.nanoTime() + 2_000_000_000L;
+        while (meterRegistry.get("ticketero.notifications.discarded").tag("channel", "telegram").counter().count() < 2 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(2.0, meterRegistry.get("ticketero.notifications.discarded").tag("channel", "telegram").counter().count());
+        verify(outboxRepository, never()).saveResults(any());
+        verify(channel, never()).send(any(), any());
+    }
+
+    @Test
+    void deliver_whenTheProviderKeepsFailing_shouldOpenTheBreakerAndDeferWithoutAttempting() throws InterruptedException {
+        when(channel.send(any(), any())).thenThrow(new TelegramSendException(502, "Bad Gateway"));
+        relay.deliver(List.of(new OutboxMessage(1L, "chat-a", "m1", 0), new OutboxMessage(2L, "chat-b", "m2", 0)));
+
+        MessageDeliveryResult deferred = relay.deliver(List.of(new OutboxMessage(3L, "chat-c", "m3", 0))).get(0);
+
+        assertEquals(MessageStatus.PENDIENTE, deferred.status());
+        assertFalse(deferred.attempted());
+        assertTrue(deferred.at().isAfter(LocalDateTime.now().plusSeconds(20)));
+        verify(channel, never()).send("chat-c", "m3");
+        assertEquals(2.0, meterRegistry.get("ticketero.notifications.breaker.state").tag("channel", "telegram").gauge().value());
+    }
+
+    @Test
+    void deliver_whenAMessageIsRejectedOnItsMerits_shouldKeepTheBreakerClosed() throws InterruptedException {
+        when(channel.send(any(), any())).thenThrow(new TelegramSendException(400, "Bad Request: chat not found"));
+
+        relay.deliver(List.of(new OutboxMessage(1L, "chat-a", "m1", 0), new OutboxMessage(2L, "chat-b", "m2", 0),
+                new OutboxMessage(3L, "chat-c", "m3", 0)));
+
+        assertEquals(0.0, meterRegistry.get("ticketero.notifications.breaker.state").tag("channel", "telegram").gauge().value());
+        assertEquals(3, meterRegistry.get("ticketero.notifications.send.latency").tag("channel", "telegram").timer().count());
+    }
+
+    private static List<MessageDeliveryResult> sorted(List<MessageDeliveryResult> results) {
+        return results.stream().sorted(Comparator.comparingLong(MessageDeliveryResult::messageId)).toList();
+    }
+}
@@ -0,0 +1,111 @@
+package com.institucion.ticketero.module_notifications.infrastructure;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTest {
+
+    private static final long OPEN_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static final long SLOW_NANOS = TimeUnit.SECONDS.toNanos(2);
+    private static final long FAST_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final AtomicLong clock = new AtomicLong();
+    private final CircuitBreaker breaker = new CircuitBreaker(4, 4, 0.5, OPEN_NANOS, SLOW_NANOS, clock::get);
+
+    @Test
+    void shouldStayClosedUntilTheWindowHasEnoughCalls() {
+        fail(3);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void shouldOpenWhenTheFailureRateReachesTheThreshold() {
+        succeed(2);
+        fail(2);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire());
+        assertEquals(OPEN_NANOS, breaker.openForNanos());
+    }
+
+    @Test
+    void shouldOnlyCountTheLastWindowOfCalls() {
+        fail(1);
+        succeed(4);
+        fail(1);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void shouldLetOneProbeThroughAfterTheOpenPeriodAndCloseOnItsSuccess() {
+        fail(4);
+        clock.addAndGet(OPEN_NANOS);
+
+        assertTrue(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire());
+        breaker.onSuccess(FAST_NANOS);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        fail(3);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void shouldCountSlowCallsAgainstTheProvider() {
+        succeed(2);
+        for (int i = 0; i < 2; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.onSuccess(SLOW_NANOS);
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertEquals(0.5, breaker.failureRate());
+    }
+
+    @Test
+    void shouldReopenWhenTheProbeIsSlow() {
+        fail(4);
+        clock.addAndGet(OPEN_NANOS);
+
+        assertTrue(breaker.tryAcquire());
+        breaker.onSuccess(SLOW_NANOS);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    @Test
+    void shouldReopenWhenTheProbeFails() {
+        fail(4);
+        clock.addAndGet(OPEN_NANOS);
+
+        assertTrue(breaker.tryAcquire());
+        breaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertEquals(OPEN_NANOS, breaker.openForNanos());
+    }
+
+    private void fail(int calls) {
+        for (int i = 0; i < calls; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.onFailure();
+        }
+    }
+
+    private void succeed(int calls) {
+        for (int i = 0; i < calls; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.onSuccess(FAST_NANOS);
+        }
+    }
+}
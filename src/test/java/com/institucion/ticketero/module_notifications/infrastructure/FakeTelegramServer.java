@@ -0,0 +1,145 @@
+package com.institucion.ticketero.module_notifications.infrastructure;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A local stand-in for the Telegram Bot API's {@code sendMessage}.
+ * Records every message it accepts, in arrival order, and can be told to throttle the next requests with 429s
+ * the way Telegram does, to fail them, or to answer slowly. Point a bot at {@link #apiUrl()}.
+ */
+class FakeTelegramServer implements AutoCloseable {
+
+    record ReceivedMessage(String chatId, String text, long receivedAtNanos) {
+    }
+
+    private final HttpServer server;
+    private final List<ReceivedMessage> received = new CopyOnWriteArrayList<>();
+    private final AtomicInteger nextMessageId = new AtomicInteger(1);
+    private final AtomicInteger throttledRequests = new AtomicInteger();
+    private final AtomicInteger failedRequests = new AtomicInteger();
+    private final AtomicInteger sendRequests = new AtomicInteger();
+    private volatile int retryAfterSeconds;
+    private volatile int failureStatus;
+    private volatile long latencyMillis;
+
+    FakeTelegramServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+    }
+
+    String apiUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/bot";
+    }
+
+    /**
+     * Answers the next {@code requests} sends with 429 and the given {@code retry_after}.
+     */
+    void throttleNext(int requests, int retryAfterSeconds) {
+        this.retryAfterSeconds = retryAfterSeconds;
+        throttledRequests.set(requests);
+    }
+
+    /**
+     * Answers the next {@code requests} sends with the given error status, as a Bot API outage does.
+     */
+    void failNext(int requests, int status) {
+        this.failureStatus = status;
+        failedRequests.set(requests);
+    }
+
+    /**
+     * Holds every send for {@code millis} before answering it.
+     */
+    void slowDown(long millis) {
+        this.latencyMillis = millis;
+    }
+
+    /**
+     * Every {@code sendMessage} request that reached the server, whatever it was answered.
+     */
+    int sendRequests() {
+        return sendRequests.get();
+    }
+
+    List<ReceivedMessage> received() {
+        return received;
+    }
+
+    List<String> textsFor(String chatId) {
+        return received.stream().filter(message -> message.chatId().equals(chatId)).map(ReceivedMessage::text).toList();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        Map<String, String> form = parseForm(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+        String path = exchange.getRequestURI().getPath();
+        if (!path.endsWith("/sendMessage")) {
+            respond(exchange, 404, "{\"ok\":false,\"error_code\":404,\"description\":\"Not Found\"}");
+            return;
+        }
+        sendRequests.incrementAndGet();
+        pause();
+        if (failedRequests.getAndUpdate(left -> Math.max(0, left - 1)) > 0) {
+            respond(exchange, failureStatus, "{\"ok\":false,\"error_code\":" + failureStatus + ",\"description\":\"Bad Gateway\"}");
+        } else if (throttledRequests.getAndUpdate(left -> Math.max(0, left - 1)) > 0) {
+            respond(exchange, 429, "{\"ok\":false,\"error_code\":429,\"description\":\"Too Many Requests: retry after "
+                    + retryAfterSeconds + "\",\"parameters\":{\"retry_after\":" + retryAfterSeconds + "}}");
+        } else {
+            String chatId = form.get("chat_id");
+            received.add(new ReceivedMessage(chatId, form.get("text"), System.nanoTime()));
+            respond(exchange, 200, "{\"ok\":true,\"result\":{\"message_id\":" + nextMessageId.getAndIncrement()
+                    + ",\"date\":0,\"chat\":{\"id\":" + chatId + ",\"type\":\"private\"}}}");
+        }
+    }
+
+    private void pause() {
+        if (latencyMillis > 0) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, String> parseForm(String body) {
+        Map<String, String> form = new HashMap<>();
+        for (String pair : body.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals > 0) {
+                form.put(URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return form;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,139 @@
+package com.institucion.ticketero.module_notifications.infrastructure;
+
+import com.institucion.ticketero.common.exceptions.InvalidRequestException;
+import com.institucion.ticketero.module_messages.domain.MessageChannel;
+import com.institucion.ticketero.module_messages.domain.MessageTemplate;
+import com.institucion.ticketero.module_notifications.application.NotificationChannel;
+import com.institucion.ticketero.module_notifications.application.PreArrivalAlertCommand;
+import com.institucion.ticketero.module_notifications.application.TicketConfirmationCommand;
+import com.institucion.ticketero.module_notifications.application.TurnActiveAlertCommand;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FanOutNotificationServiceTest {
+
+    @Mock
+    private TelegramNotificationService telegram;
+
+    @Mock
+    private NotificationChannel sms;
+
+    @Mock
+    private CustomerContactDirectory contactDirectory;
+
+    @Mock
+    private NotificationOutbox outbox;
+
+    private final TelegramLinkTokens linkTokens = new TelegramLinkTokens("secret", "ticketero_bot", Duration.ofHours(24),
+            Clock.fixed(Instant.parse("2026-10-17T12:00:00Z"), ZoneOffset.UTC));
+
+    private FanOutNotificationService notificationService;
+
+    @BeforeEach
+    void setUp() {
+        notificationService = new FanOutNotificationService(List.of(telegram, sms), telegram, contactDirectory, outbox, linkTokens);
+    }
+
+    @Test
+    void whenSendTicketConfirmation_thenEveryEnabledChannelGetsItsOwnMessage() {
+        // Given
+        TicketConfirmationCommand command = new TicketConfirmationCommand(1L, "C-123", "12345678-9", "chat123", 5, 20);
+        when(telegram.recipientFor(command)).thenReturn(Optional.of("chat123"));
+        when(telegram.type()).thenReturn(MessageChannel.TELEGRAM);
+        when(telegram.format(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(sms.recipientFor(command)).thenReturn(Optional.of("+56911111111"));
+        when(sms.type()).thenReturn(MessageChannel.SMS);
+        when(sms.format(anyString())).thenReturn("plain text");
+
+        // When
+        notificationService.sendTicketConfirmation(command);
+
+        // Then
+        ArgumentCaptor<String> content = ArgumentCaptor.forClass(String.class);
+        verify(outbox).enqueue(eq(MessageChannel.TELEGRAM), eq(1L), eq("chat123"), eq(MessageTemplate.TOTEM_TICKET_CREADO), content.capture());
+        assertTrue(content.getValue().contains("C-123"));
+        verify(outbox).enqueue(MessageChannel.SMS, 1L, "+56911111111", MessageTemplate.TOTEM_TICKET_CREADO, "plain text");
+    }
+
+    @Test
+    void whenSendTurnActiveAlert_thenOnlyChannelsWithARecipientAreUsed() {
+        // Given
+        TurnActiveAlertCommand command = new TurnActiveAlertCommand(3L, "G-789", "12345678-9", "chat789", "Modulo Test", "John Doe");
+        when(telegram.recipientFor(command)).thenReturn(Optional.of("chat789"));
+        when(telegram.type()).thenReturn(MessageChannel.TELEGRAM);
+        when(telegram.format(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(sms.recipientFor(command)).thenReturn(Optional.empty());
+
+        // When
+        notificationService.sendTurnActiveAlert(command);
+
+        // Then
+        ArgumentCaptor<String> content = ArgumentCaptor.forClass(String.class);
+        verify(outbox).enqueue(eq(MessageChannel.TELEGRAM), eq(3L), eq("chat789"), eq(MessageTemplate.TOTEM_ES_TU_TURNO), content.capture());
+        assertTrue(content.getValue().contains("Modulo Test"));
+        assertTrue(content.getValue().contains("John Doe"));
+        verify(outbox, never()).enqueue(eq(MessageChannel.SMS), any(), any(), any(), any());
+    }
+
+    @Test
+    void whenNoChannelIsEnabled_thenNothingIsEnqueued() {
+        // Given
+        PreArrivalAlertCommand command = new PreArrivalAlertCommand(4L, "C-000", "12345678-9", null);
+        when(telegram.recipientFor(command)).thenReturn(Optional.empty());
+        when(sms.recipientFor(command)).thenReturn(Optional.empty());
+
+        // When
+        notificationService.sendPreArrivalAlert(command);
+
+        // Then
+        verifyNoInteractions(outbox);
+    }
+
+    @Test
+    void whenTheTurnHasNoModule_thenNothingIsEnqueued() {
+        notificationService.sendTurnActiveAlert(new TurnActiveAlertCommand(4L, "C-000", "12345678-9", "chat", null, null));
+
+        verifyNoInteractions(outbox, sms);
+    }
+
+    @Test
+    void updateContact_shouldRejectTelegramAndStoreOtherChannels() {
+        assertThrows(InvalidRequestException.class,
+                () -> notificationService.updateContact("12345678-9", MessageChannel.TELEGRAM, "chat", true));
+        notificationService.updateContact("12345678-9", MessageChannel.SMS, "+56911111111", true);
+
+        verify(contactDirectory).update("12345678-9", MessageChannel.SMS, "+56911111111", true);
+    }
+
+    @Test
+    void telegramLinkFor_shouldLinkToTheBotWithATokenThatRegistersTheRut() {
+        String link = notificationService.telegramLinkFor("12.345.678-9").orElseThrow();
+
+        assertTrue(link.startsWith("https://t.me/ticketero_bot?start="));
+        assertEquals(Optional.of("12345678-9"), linkTokens.verify(link.substring(link.indexOf('=') + 1)));
+        assertEquals(Optional.empty(), notificationService.telegramLinkFor("not-a-rut"));
+    }
+}
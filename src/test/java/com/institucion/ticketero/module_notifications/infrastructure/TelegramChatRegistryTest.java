@@ -0,0 +1,80 @@
+package com.institucion.ticketero.module_notifications.infrastructure;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TelegramChatRegistryTest {
+
+    @Mock
+    private TelegramChatRepository repository;
+
+    private TelegramChatRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new TelegramChatRegistry(repository, 2);
+    }
+
+    @Test
+    void normalize_shouldAcceptCommonSpellingsOfARut() {
+        assertEquals("12345678-K", TelegramChatRegistry.normalize(" 12.345.678-k "));
+        assertEquals("1234567-9", TelegramChatRegistry.normalize("1234567-9"));
+        assertNull(TelegramChatRegistry.normalize("12345678"));
+        assertNull(TelegramChatRegistry.normalize("hello"));
+        assertNull(TelegramChatRegistry.normalize(null));
+    }
+
+    @Test
+    void findChatId_shouldQueryTheDatabaseOnlyOnACacheMiss() {
+        when(repository.findChatId("12345678-9")).thenReturn(Optional.of("101"));
+
+        assertEquals(Optional.of("101"), registry.findChatId("12.345.678-9"));
+        assertEquals(Optional.of("101"), registry.findChatId("12345678-9"));
+
+        verify(repository, times(1)).findChatId("12345678-9");
+    }
+
+    @Test
+    void registerAll_shouldWriteOnceAndServeLookupsFromTheCache() {
+        Map<String, String> chats = Map.of("11111111-1", "101", "22222222-2", "102");
+
+        registry.registerAll(chats);
+
+        assertEquals(Optional.of("101"), registry.findChatId("11111111-1"));
+        assertEquals(Optional.of("102"), registry.findChatId("22222222-2"));
+        verify(repository).upsertAll(chats);
+    }
+
+    @Test
+    void findChatId_shouldEvictTheLeastRecentlyUsedChat() {
+        registry.registerAll(Map.of("11111111-1", "101"));
+        registry.registerAll(Map.of("22222222-2", "102"));
+        registry.findChatId("11111111-1");
+        registry.registerAll(Map.of("33333333-3", "103"));
+        when(repository.findChatId("22222222-2")).thenReturn(Optional.empty());
+
+        assertEquals(Optional.of("101"), registry.findChatId("11111111-1"));
+        assertEquals(Optional.empty(), registry.findChatId("22222222-2"));
+    }
+
+    @Test
+    void findChatId_withAnInvalidRut_shouldNotQuery() {
+        assertEquals(Optional.empty(), registry.findChatId("not-a-rut"));
+
+        verifyNoInteractions(repository);
+    }
+}
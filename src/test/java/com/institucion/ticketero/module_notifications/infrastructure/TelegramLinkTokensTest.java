@@ -0,0 +1,74 @@
+package com.institucion.ticketero.module_notifications.infrastructure;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TelegramLinkTokensTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-17T12:00:00Z");
+
+    private final TelegramLinkTokens tokens = tokensAt(NOW);
+
+    @Test
+    void linkFor_shouldCarryATokenForTheNormalisedRutThatFitsTelegram() {
+        String link = tokens.linkFor("12.345.678-k").orElseThrow();
+
+        assertTrue(link.startsWith("https://t.me/TicketeroBot?start=12345678-K_"));
+        String token = link.substring(link.indexOf('=') + 1);
+        assertTrue(token.length() <= 64 && token.matches("[A-Za-z0-9_-]+"));
+        assertEquals(Optional.of("12345678-K"), tokens.verify(token));
+    }
+
+    @Test
+    void verify_shouldRejectABareRutAndATokenMovedToAnotherRut() {
+        String token = tokens.issue("12345678-9").orElseThrow();
+
+        assertEquals(Optional.empty(), tokens.verify("12345678-9"));
+        assertEquals(Optional.empty(), tokens.verify("11111111-1" + token.substring("12345678-9".length())));
+        assertEquals(Optional.empty(), tokens.verify(token.substring(0, token.length() - 1)));
+        assertEquals(Optional.empty(), tokens.verify(""));
+    }
+
+    @Test
+    void verify_shouldRejectTokensSignedWithAnotherSecretOrExpired() {
+        String token = tokens.issue("12345678-9").orElseThrow();
+
+        TelegramLinkTokens otherSecret = new TelegramLinkTokens("other", "TicketeroBot", Duration.ofHours(1), Clock.fixed(NOW, ZoneOffset.UTC));
+        assertEquals(Optional.empty(), otherSecret.verify(token));
+        assertEquals(Optional.of("12345678-9"), tokensAt(NOW.plus(Duration.ofMinutes(59))).verify(token));
+        assertEquals(Optional.empty(), tokensAt(NOW.plus(Duration.ofMinutes(61))).verify(token));
+    }
+
+    @Test
+    void verify_shouldAcceptEveryIssuedTokenWhateverCharactersItsMacHas() {
+        int macsWithSeparator = 0;
+        for (int id = 10_000_000; id < 10_002_000; id++) {
+            String rut = id + "-" + (id % 10);
+            String token = tokens.issue(rut).orElseThrow();
+            String mac = token.substring(token.indexOf('_', token.indexOf('_') + 1) + 1);
+            if (mac.indexOf('_') >= 0) {
+                macsWithSeparator++;
+            }
+            assertEquals(Optional.of(rut), tokens.verify(token), token);
+        }
+        // Base64url MACs contain '_' often; make sure the loop covered them.
+        assertTrue(macsWithSeparator > 0);
+    }
+
+    @Test
+    void linkFor_shouldRejectWhatIsNotARut() {
+        assertEquals(Optional.empty(), tokens.linkFor("not-a-rut"));
+    }
+
+    private static TelegramLinkTokens tokensAt(Instant now) {
+        return new TelegramLinkTokens("secret", "TicketeroBot", Duration.ofHours(1), Clock.fixed(now, ZoneOffset.UTC));
+    }
+}
@@ -1,21 +1,25 @@
 package com.institucion.ticketero.module_notifications.infrastructure;
 
-import com.institucion.ticketero.module_executives.domain.Executive;
-import com.institucion.ticketero.module_messages.infrastructure.MessageRepository;
-import com.institucion.ticketero.module_tickets.domain.Ticket;
-import com.institucion.ticketero.module_queues.domain.AttentionType;
+import com.institucion.ticketero.module_messages.domain.MessageChannel;
+import com.institucion.ticketero.module_messages.domain.MessageTemplate;
+import com.institucion.ticketero.module_notifications.application.PreArrivalAlertCommand;
+import com.institucion.ticketero.module_notifications.application.TicketConfirmationCommand;
 import com.pengrad.telegrambot.TelegramBot;
-import com.pengrad.telegrambot.request.SendMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,91 +29,53 @@ class TelegramNotificationServiceTest {
     private TelegramBot bot;
 
     @Mock
-    private MessageRepository messageRepository;
+    private TelegramChatRegistry chatRegistry;
+
+    @Mock
+    private NotificationOutbox outbox;
 
-    @InjectMocks
     private TelegramNotificationService notificationService;
 
     @BeforeEach
     void setUp() {
+        notificationService = new TelegramNotificationService("test-token", "http://127.0.0.1:1/bot", 1_000, "fake-bot-username",
+                "Welcome! Your chat id is <code>%d</code>", chatRegistry, new TelegramRateLimiter(30, 1, 1, new SimpleMeterRegistry()),
+                outbox);
         ReflectionTestUtils.setField(notificationService, "bot", bot);
-        ReflectionTestUtils.setField(notificationService, "botUsername", "fake-bot-username");
-        ReflectionTestUtils.setField(notificationService, "welcomeMessage", "Welcome!");
     }
 
     @Test
-    void whenSendTicketConfirmation_thenMessageIsSaved() {
-        // Given
-        Executive executive = new Executive();
-        Ticket ticket = new Ticket();
-        ticket.setTicketNumber("C-123");
-        ticket.setNationalId("RUT123");
-        ticket.setAttentionType(AttentionType.CAJA);
-        ticket.setTelefono("chat123");
-        ticket.setExecutive(executive);
-
-        int positionInQueue = 5;
-        long estimatedWaitTime = 20;
-
-        // When
-        notificationService.sendTicketConfirmation(ticket, positionInQueue, estimatedWaitTime);
-
-        // Then
-        verify(messageRepository, times(1)).save(any());
+    void recipientFor_shouldBeTheChatGivenForTheTicket() {
+        assertEquals(Optional.of("chat123"),
+                notificationService.recipientFor(new TicketConfirmationCommand(1L, "C-123", "12345678-9", "chat123", 5, 20)));
+        assertEquals(Optional.empty(), notificationService.recipientFor(new PreArrivalAlertCommand(4L, "C-000", "12345678-9", " ")));
     }
 
     @Test
-    void whenSendPreArrivalAlert_thenMessageIsSaved() {
-        // Given
-        Ticket ticket = new Ticket();
-        ticket.setTicketNumber("E-456");
-        ticket.setNationalId("RUT456");
-        ticket.setAttentionType(AttentionType.EMPRESAS);
-        ticket.setTelefono("chat456");
-
+    void whenSendWelcomeWithARegisteredRut_thenTheChatIdAndTheRegistrationAreSent() {
         // When
-        notificationService.sendPreArrivalAlert(ticket);
+        notificationService.sendWelcome(424242L, "12345678-9");
 
         // Then
-        verify(messageRepository, times(1)).save(any());
+        verify(outbox).enqueue(MessageChannel.TELEGRAM, null, "424242", MessageTemplate.TELEGRAM_BIENVENIDA,
+                "Welcome! Your chat id is <code>424242</code>");
+        ArgumentCaptor<String> confirmation = ArgumentCaptor.forClass(String.class);
+        verify(outbox).enqueue(eq(MessageChannel.TELEGRAM), isNull(), eq("424242"), eq(MessageTemplate.TELEGRAM_REGISTRO_CONFIRMADO),
+                confirmation.capture());
+        assertTrue(confirmation.getValue().contains("12345678-9"));
     }
 
     @Test
-    void whenSendTurnActiveAlert_thenMessageIsSaved() {
-        // Given
-        Executive executive = new Executive();
-        ReflectionTestUtils.setField(executive, "fullName", "John Doe");
-        ReflectionTestUtils.setField(executive, "module", "Modulo Test");
-
-        Ticket ticket = new Ticket();
-        ticket.setTicketNumber("G-789");
-        ticket.setNationalId("RUT789");
-        ticket.setAttentionType(AttentionType.GERENCIA);
-        ticket.setTelefono("chat789");
-        ticket.setExecutive(executive);
-
-        // When
-        notificationService.sendTurnActiveAlert(ticket);
+    void whenSendWelcomeWithoutARut_thenOnlyTheChatIdIsSent() {
+        notificationService.sendWelcome(424242L, null);
 
-        // Then
-        verify(messageRepository, times(1)).save(any());
+        verify(outbox, times(1)).enqueue(any(), any(), any(), any(), any());
     }
 
     @Test
-    void whenChatIdIsMissing_thenBotIsNotCalled() {
-        // Given a ticket with a null chat ID
-        Ticket ticket = new Ticket();
-        ticket.setTicketNumber("C-000");
-        ticket.setNationalId("RUT000");
-        ticket.setAttentionType(AttentionType.CAJA);
-        ticket.setTelefono(null);
+    void whenFindChatId_thenTheRegistryIsAsked() {
+        when(chatRegistry.findChatId("12.345.678-9")).thenReturn(Optional.of("424242"));
 
-        // When
-        notificationService.sendTicketConfirmation(ticket, 1, 10);
-        notificationService.sendPreArrivalAlert(ticket);
-        notificationService.sendTurnActiveAlert(ticket);
-
-        // Then
-        verify(messageRepository, never()).save(any());
+        assertEquals(Optional.of("424242"), notificationService.findChatId("12.345.678-9"));
     }
 }
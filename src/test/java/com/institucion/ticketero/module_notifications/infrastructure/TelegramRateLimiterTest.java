@@ -0,0 +1,90 @@
+package com.institucion.ticketero.module_notifications.infrastructure;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TelegramRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong(1_000 * SECOND);
+    private final TelegramRateLimiter rateLimiter = new TelegramRateLimiter(4, 1, 1, new SimpleMeterRegistry(), clock::get);
+
+    @Test
+    void reserve_shouldSpaceMessagesToTheSameChat() {
+        long now = clock.get();
+
+        assertEquals(now, rateLimiter.reserve("chat-a"));
+        assertEquals(now + SECOND, rateLimiter.reserve("chat-a"));
+        assertEquals(now + 2 * SECOND, rateLimiter.reserve("chat-a"));
+    }
+
+    @Test
+    void reserve_shouldLetABurstThroughUpToTheGlobalRateAndQueueTheRest() {
+        long now = clock.get();
+
+        for (int chat = 0; chat < 4; chat++) {
+            assertEquals(now, rateLimiter.reserve("chat-" + chat));
+        }
+        assertEquals(now + SECOND / 4, rateLimiter.reserve("chat-4"));
+        assertEquals(now + SECOND / 2, rateLimiter.reserve("chat-5"));
+    }
+
+    @Test
+    void reserve_whenTheGlobalLimitDelaysAChat_shouldSpaceItsNextMessageFromTheRealSend() {
+        long now = clock.get();
+        for (int chat = 0; chat < 4; chat++) {
+            rateLimiter.reserve("chat-" + chat);
+        }
+
+        long delayed = rateLimiter.reserve("chat-a");
+        assertEquals(now + SECOND / 4, delayed);
+        assertEquals(delayed + SECOND, rateLimiter.reserve("chat-a"));
+    }
+
+    @Test
+    void onRateLimited_shouldHoldEverySendForRetryAfterAndRefillFromEmpty() {
+        long now = clock.get();
+
+        rateLimiter.onRateLimited(3);
+
+        assertEquals(now + 3 * SECOND, rateLimiter.reserve("chat-a"));
+        assertEquals(now + 3 * SECOND + SECOND / 4, rateLimiter.reserve("chat-b"));
+    }
+
+    @Test
+    void pausedForNanos_shouldBeZeroUntilRateLimitedAndThenCountDown() {
+        assertEquals(0, rateLimiter.pausedForNanos());
+
+        rateLimiter.onRateLimited(2);
+        assertEquals(2 * SECOND, rateLimiter.pausedForNanos());
+
+        clock.addAndGet(3 * SECOND);
+        assertEquals(0, rateLimiter.pausedForNanos());
+    }
+
+    @Test
+    void pausedForNanos_onTheSystemClock_shouldNotStartPaused() {
+        TelegramRateLimiter systemClock = new TelegramRateLimiter(30, 1, 1, new SimpleMeterRegistry());
+
+        assertEquals(0, systemClock.pausedForNanos());
+    }
+
+    @Test
+    void evictIdleChats_shouldForgetChatsWhoseBucketRefilled() {
+        rateLimiter.reserve("chat-a");
+        rateLimiter.reserve("chat-b");
+
+        rateLimiter.evictIdleChats();
+        assertEquals(2, rateLimiter.trackedChats());
+
+        clock.addAndGet(SECOND);
+        rateLimiter.evictIdleChats();
+        assertEquals(0, rateLimiter.trackedChats());
+    }
+}
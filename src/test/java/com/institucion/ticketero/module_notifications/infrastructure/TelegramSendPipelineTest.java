@@ -0,0 +1,161 @@
+package com.institucion.ticketero.module_notifications.infrastructure;
+
+import com.institucion.ticketero.module_messages.domain.MessageDeliveryResult;
+import com.institucion.ticketero.module_messages.domain.MessageStatus;
+import com.institucion.ticketero.module_messages.domain.OutboxMessage;
+import com.institucion.ticketero.module_messages.domain.RetryBackoff;
+import com.institucion.ticketero.module_messages.infrastructure.MessageOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Sends through the real Bot API client, rate limiter, bulkhead, circuit breaker and relay against {@link FakeTelegramServer}.
+ */
+class TelegramSendPipelineTest {
+
+    private static final int PER_CHAT_PER_SECOND = 10;
+
+    private FakeTelegramServer telegram;
+    private SimpleMeterRegistry meterRegistry;
+    private TelegramRateLimiter rateLimiter;
+    private ChannelOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() throws IOException, InterruptedException {
+        telegram = new FakeTelegramServer();
+        startRelay(8, 1_000, 5_000, new CircuitBreaker(20, 10, 0.5, TimeUnit.SECONDS.toNanos(30), TimeUnit.SECONDS.toNanos(5), System::nanoTime));
+    }
+
+    private void startRelay(int maxConcurrency, long bulkheadWaitMillis, long sendTimeoutMillis, CircuitBreaker circuitBreaker)
+            throws InterruptedException {
+        if (relay != null) {
+            relay.shutdown();
+        }
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new TelegramRateLimiter(1_000, PER_CHAT_PER_SECOND, 1, meterRegistry);
+        TelegramNotificationService telegramNotificationService = new TelegramNotificationService("test-token", telegram.apiUrl(),
+                sendTimeoutMillis, "test-bot", "Welcome %d", mock(TelegramChatRegistry.class), rateLimiter, mock(NotificationOutbox.class));
+        relay = new ChannelOutboxRelay(telegramNotificationService, mock(MessageOutboxRepository.class), meterRegistry,
+                100, maxConcurrency, bulkheadWaitMillis, 120_000, 1_800_000,
+                new RetryBackoff(Duration.ofSeconds(30), 2, Duration.ofMinutes(4), 0), 4, circuitBreaker);
+    }
+
+    private static List<OutboxMessage> oneMessagePerChat(int chats) {
+        return IntStream.rangeClosed(1, chats).mapToObj(i -> new OutboxMessage(i, String.valueOf(100 + i), "your turn", 0)).toList();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        relay.shutdown();
+        telegram.close();
+    }
+
+    @Test
+    void deliver_shouldKeepEachChatInEnqueueOrderAndPaceIt() throws InterruptedException {
+        List<MessageDeliveryResult> results = relay.deliver(List.of(
+                new OutboxMessage(1L, "101", "ticket created", 0),
+                new OutboxMessage(2L, "102", "other chat", 0),
+                new OutboxMessage(3L, "101", "almost your turn", 0),
+                new OutboxMessage(4L, "101", "your turn", 0)));
+
+        assertTrue(results.stream().allMatch(result -> result.status() == MessageStatus.ENVIADO));
+        assertEquals(List.of("ticket created", "almost your turn", "your turn"), telegram.textsFor("101"));
+        List<FakeTelegramServer.ReceivedMessage> chat = telegram.received().stream()
+                .filter(message -> message.chatId().equals("101")).toList();
+        for (int i = 1; i < chat.size(); i++) {
+            long gap = chat.get(i).receivedAtNanos() - chat.get(i - 1).receivedAtNanos();
+            assertTrue(gap >= TimeUnit.SECONDS.toNanos(1) / PER_CHAT_PER_SECOND / 2, "messages to one chat were not paced");
+        }
+        assertTrue(meterRegistry.get("ticketero.notifications.telegram.throttle.wait").timer().count() >= 4);
+    }
+
+    @Test
+    void deliver_whenTelegramThrottles_shouldHonourRetryAfter() throws InterruptedException {
+        telegram.throttleNext(1, 2);
+        LocalDateTime before = LocalDateTime.now();
+
+        List<MessageDeliveryResult> results = relay.deliver(List.of(
+                new OutboxMessage(1L, "101", "ticket created", 0),
+                new OutboxMessage(2L, "101", "your turn", 0))).stream()
+                .sorted(Comparator.comparingLong(MessageDeliveryResult::messageId)).toList();
+
+        assertEquals(MessageStatus.PENDIENTE, results.get(0).status());
+        assertFalse(results.get(0).attempted());
+        assertFalse(results.get(0).at().isBefore(before.plusSeconds(2)));
+        assertEquals(MessageStatus.PENDIENTE, results.get(1).status());
+        assertTrue(telegram.received().isEmpty());
+        // Every chat now waits out retry_after.
+        assertTrue(rateLimiter.reserve("102") - System.nanoTime() > TimeUnit.SECONDS.toNanos(1));
+        assertEquals(1.0, meterRegistry.get("ticketero.notifications.telegram.rate-limited").counter().count());
+    }
+
+    @Test
+    void deliver_whenTelegramKeepsFailing_shouldOpenTheBreakerAndStopCallingIt() throws InterruptedException {
+        startRelay(1, 1_000, 5_000, new CircuitBreaker(4, 4, 0.5, TimeUnit.SECONDS.toNanos(30), TimeUnit.SECONDS.toNanos(5), System::nanoTime));
+        telegram.failNext(100, 502);
+
+        List<MessageDeliveryResult> results = relay.deliver(oneMessagePerChat(8));
+
+        assertTrue(results.stream().allMatch(result -> result.status() == MessageStatus.PENDIENTE));
+        assertEquals(4, results.stream().filter(MessageDeliveryResult::attempted).count());
+        assertEquals(4, telegram.sendRequests());
+        assertEquals("OPEN", relay.status().breakerState());
+        assertEquals(2.0, meterRegistry.get("ticketero.notifications.breaker.state").tag("channel", "telegram").gauge().value());
+    }
+
+    @Test
+    void deliver_whenTelegramAnswersSlowly_shouldOpenTheBreakerOnLatencyAlone() throws InterruptedException {
+        startRelay(1, 5_000, 5_000, new CircuitBreaker(4, 4, 0.5, TimeUnit.SECONDS.toNanos(30), TimeUnit.MILLISECONDS.toNanos(100), System::nanoTime));
+        telegram.slowDown(200);
+
+        List<MessageDeliveryResult> results = relay.deliver(oneMessagePerChat(6));
+
+        assertEquals(4, results.stream().filter(result -> result.status() == MessageStatus.ENVIADO).count());
+        assertEquals(2, results.stream().filter(result -> result.status() == MessageStatus.PENDIENTE && !result.attempted()).count());
+        assertEquals(4, telegram.sendRequests());
+        assertEquals("OPEN", relay.status().breakerState());
+        assertEquals(1.0, relay.status().failureRate());
+    }
+
+    @Test
+    void deliver_whenTelegramDoesNotAnswerInTime_shouldCountAFailedAttempt() throws InterruptedException {
+        startRelay(1, 1_000, 200, new CircuitBreaker(4, 4, 0.5, TimeUnit.SECONDS.toNanos(30), TimeUnit.SECONDS.toNanos(5), System::nanoTime));
+        telegram.slowDown(2_000);
+        long started = System.nanoTime();
+
+        MessageDeliveryResult result = relay.deliver(oneMessagePerChat(1)).get(0);
+
+        assertEquals(MessageStatus.PENDIENTE, result.status());
+        assertTrue(result.attempted());
+        assertTrue(System.nanoTime() - started < TimeUnit.SECONDS.toNanos(2), "the send was not cut short by the timeout");
+    }
+
+    @Test
+    void deliver_whenEveryInFlightSlotIsTaken_shouldDeferInsteadOfQueueing() throws InterruptedException {
+        startRelay(1, 50, 5_000, new CircuitBreaker(20, 10, 0.5, TimeUnit.SECONDS.toNanos(30), TimeUnit.SECONDS.toNanos(5), System::nanoTime));
+        telegram.slowDown(500);
+
+        List<MessageDeliveryResult> results = relay.deliver(oneMessagePerChat(2));
+
+        assertEquals(1, results.stream().filter(result -> result.status() == MessageStatus.ENVIADO).count());
+        assertEquals(1, results.stream().filter(result -> result.status() == MessageStatus.PENDIENTE && !result.attempted()).count());
+        assertEquals(1, telegram.sendRequests());
+        assertEquals(1.0, meterRegistry.get("ticketero.notifications.bulkhead.rejected").tag("channel", "telegram").counter().count());
+        assertEquals(0, relay.status().inFlight());
+    }
+}
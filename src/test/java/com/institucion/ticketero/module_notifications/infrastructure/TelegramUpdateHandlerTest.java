@@ -0,0 +1,64 @@
+package com.institucion.ticketero.module_notifications.infrastructure;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TelegramUpdateHandlerTest {
+
+    @Mock
+    private TelegramNotificationService telegramNotificationService;
+
+    @Mock
+    private TelegramChatRegistry chatRegistry;
+
+    private final TelegramLinkTokens linkTokens = new TelegramLinkTokens("secret", "TicketeroBot", Duration.ofHours(1), Clock.systemUTC());
+    private TelegramUpdateHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        handler = new TelegramUpdateHandler(telegramNotificationService, chatRegistry, linkTokens);
+    }
+
+    @Test
+    void startPayload_shouldRecogniseTheStartCommand() {
+        assertEquals("", TelegramUpdateHandler.startPayload("/start"));
+        assertEquals("12345678-9", TelegramUpdateHandler.startPayload("/start 12345678-9"));
+        assertEquals("12345678-9", TelegramUpdateHandler.startPayload("/start@TicketeroBot  12345678-9 "));
+        assertNull(TelegramUpdateHandler.startPayload("/started"));
+        assertNull(TelegramUpdateHandler.startPayload("hola"));
+    }
+
+    @Test
+    void process_shouldRegisterChatsWithAValidLinkTokenAndAnswerEveryChatWithItsId() {
+        handler.process(List.of(
+                new TelegramUpdateHandler.StartCommand(101L, linkTokens.issue("12.345.678-9").orElseThrow()),
+                new TelegramUpdateHandler.StartCommand(102L, ""),
+                new TelegramUpdateHandler.StartCommand(103L, linkTokens.issue("11111111-k").orElseThrow())));
+
+        verify(chatRegistry).registerAll(Map.of("12345678-9", "101", "11111111-K", "103"));
+        verify(telegramNotificationService).sendWelcome(101L, "12345678-9");
+        verify(telegramNotificationService).sendWelcome(102L, null);
+        verify(telegramNotificationService).sendWelcome(103L, "11111111-K");
+    }
+
+    @Test
+    void process_withABareRut_shouldNotRegisterTheChat() {
+        handler.process(List.of(new TelegramUpdateHandler.StartCommand(666L, "12345678-9")));
+
+        verify(chatRegistry).registerAll(Map.of());
+        verify(telegramNotificationService).sendWelcome(666L, null);
+    }
+}
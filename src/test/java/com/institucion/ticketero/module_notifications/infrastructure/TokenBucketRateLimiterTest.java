@@ -0,0 +1,42 @@
+package com.institucion.ticketero.module_notifications.infrastructure;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TokenBucketRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    // Like System.nanoTime() on a machine that has been up for a while.
+    private final AtomicLong clock = new AtomicLong(86_400 * SECOND);
+    private final TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(2, 1, clock::get);
+
+    @Test
+    void reserve_shouldSpaceSendsAtTheRate() {
+        long now = clock.get();
+
+        assertEquals(now, rateLimiter.reserve(now));
+        assertEquals(now + SECOND / 2, rateLimiter.reserve(now));
+    }
+
+    @Test
+    void pausedForNanos_shouldBeZeroUntilRateLimitedAndThenCountDown() {
+        assertEquals(0, rateLimiter.pausedForNanos());
+
+        rateLimiter.onRateLimited(5);
+        assertEquals(5 * SECOND, rateLimiter.pausedForNanos());
+        assertEquals(clock.get() + 5 * SECOND, rateLimiter.reserve(clock.get()));
+
+        clock.addAndGet(6 * SECOND);
+        assertEquals(0, rateLimiter.pausedForNanos());
+    }
+
+    @Test
+    void pausedForNanos_onTheSystemClock_shouldNotStartPaused() {
+        assertEquals(0, new TokenBucketRateLimiter(10, 1).pausedForNanos());
+    }
+}
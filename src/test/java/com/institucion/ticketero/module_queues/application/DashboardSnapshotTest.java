@@ -0,0 +1,184 @@
+package com.institucion.ticketero.module_queues.application;
+
+import com.institucion.ticketero.module_executives.api.ExecutiveStatusResponse;
+import com.institucion.ticketero.module_executives.domain.Executive;
+import com.institucion.ticketero.module_executives.domain.ExecutiveStatus;
+import com.institucion.ticketero.module_executives.domain.ExecutiveStatusChangedEvent;
+import com.institucion.ticketero.module_executives.infrastructure.ExecutiveRepository;
+import com.institucion.ticketero.module_queues.api.DashboardMetricsResponse;
+import com.institucion.ticketero.module_queues.domain.AttentionType;
+import com.institucion.ticketero.module_tickets.domain.TicketStatus;
+import com.institucion.ticketero.module_tickets.domain.TicketStatusChangedEvent;
+import com.institucion.ticketero.module_tickets.infrastructure.ExecutiveTicketView;
+import com.institucion.ticketero.module_tickets.infrastructure.StatusCountView;
+import com.institucion.ticketero.module_tickets.infrastructure.TicketRepository;
+import com.institucion.ticketero.module_workday.application.WorkdayService;
+import com.institucion.ticketero.module_workday.domain.Workday;
+import com.institucion.ticketero.module_workday.domain.WorkdayStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardSnapshotTest {
+
+    private static final long STALENESS_MS = 30_000;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private ExecutiveRepository executiveRepository;
+
+    @Mock
+    private QueueService queueService;
+
+    @Mock
+    private WorkdayService workdayService;
+
+    private final AtomicLong clock = new AtomicLong();
+    private DashboardSnapshot dashboardSnapshot;
+
+    @BeforeEach
+    void setUp() {
+        dashboardSnapshot = new DashboardSnapshot(ticketRepository, executiveRepository, queueService, workdayService,
+                STALENESS_MS, clock::get);
+        Workday workday = new Workday(LocalDateTime.now().minusHours(1), null, WorkdayStatus.OPEN);
+        workday.setId(1L);
+        when(workdayService.getCurrentActiveWorkday()).thenReturn(workday);
+        when(ticketRepository.countByCreatedAtAfter(any())).thenReturn(3L);
+        when(ticketRepository.countByStatusForWorkday(1L)).thenReturn(List.of(
+                statusCount(TicketStatus.EN_ESPERA, 2), statusCount(TicketStatus.ATENDIENDO, 1)));
+        when(ticketRepository.findExecutiveTickets(TicketStatus.ATENDIENDO)).thenReturn(List.of(executiveTicket(1L, "C-1")));
+        when(executiveRepository.findAll()).thenReturn(List.of(executive(1L, ExecutiveStatus.BUSY), executive(2L, ExecutiveStatus.AVAILABLE)));
+        when(queueService.getAllQueueStatus(Optional.empty())).thenReturn(List.of());
+    }
+
+    @Test
+    void current_shouldLoadOnceAndServeFromMemoryUntilSomethingChanges() {
+        DashboardMetricsResponse first = dashboardSnapshot.current();
+        DashboardMetricsResponse second = dashboardSnapshot.current();
+
+        assertSame(first, second);
+        assertEquals(3, first.totalTicketsToday());
+        assertEquals(2L, first.ticketsByStatus().get("EN_ESPERA"));
+        assertEquals(0L, first.ticketsByStatus().get("COMPLETADO"));
+        assertEquals("C-1", first.executiveDetails().get(0).currentTicketNumber());
+        verify(executiveRepository, times(1)).findAll();
+        verify(queueService, times(1)).getAllQueueStatus(Optional.empty());
+    }
+
+    @Test
+    void ticketAndExecutiveEvents_shouldMoveCountersWithoutQueries() {
+        dashboardSnapshot.current();
+
+        dashboardSnapshot.onTicketStatusChanged(ticketEvent(10L, "C-2", null, TicketStatus.EN_ESPERA, null));
+        dashboardSnapshot.onExecutiveStatusChanged(executiveEvent(2L, ExecutiveStatus.BUSY));
+        dashboardSnapshot.onTicketStatusChanged(ticketEvent(10L, "C-2", TicketStatus.EN_ESPERA, TicketStatus.ATENDIENDO, 2L));
+        dashboardSnapshot.onTicketStatusChanged(ticketEvent(9L, "C-1", TicketStatus.ATENDIENDO, TicketStatus.COMPLETADO, 1L));
+        dashboardSnapshot.onExecutiveStatusChanged(executiveEvent(1L, ExecutiveStatus.AVAILABLE));
+        DashboardMetricsResponse metrics = dashboardSnapshot.current();
+
+        assertEquals(4, metrics.totalTicketsToday());
+        assertEquals(2L, metrics.ticketsByStatus().get("EN_ESPERA"));
+        assertEquals(1L, metrics.ticketsByStatus().get("ATENDIENDO"));
+        assertEquals(1L, metrics.ticketsByStatus().get("COMPLETADO"));
+        ExecutiveStatusResponse first = metrics.executiveDetails().get(0);
+        ExecutiveStatusResponse second = metrics.executiveDetails().get(1);
+        assertEquals(ExecutiveStatus.AVAILABLE, first.status());
+        assertNull(first.currentTicketNumber());
+        assertEquals(ExecutiveStatus.BUSY, second.status());
+        assertEquals("C-2", second.currentTicketNumber());
+        verify(executiveRepository, times(1)).findAll();
+    }
+
+    @Test
+    void current_shouldReconcileWithDatabaseOnceTheStalenessBoundIsExceeded() {
+        dashboardSnapshot.current();
+
+        clock.addAndGet(STALENESS_MS * 1_000_000L);
+        dashboardSnapshot.current();
+        verify(executiveRepository, times(1)).findAll();
+
+        clock.addAndGet(1);
+        dashboardSnapshot.current();
+        verify(executiveRepository, times(2)).findAll();
+    }
+
+    @Test
+    void onExecutiveStatusChanged_forDeletedExecutive_shouldDropTheRow() {
+        dashboardSnapshot.current();
+
+        dashboardSnapshot.onExecutiveStatusChanged(ExecutiveStatusChangedEvent.removed(2L));
+
+        assertEquals(1, dashboardSnapshot.current().executiveDetails().size());
+    }
+
+    private static Executive executive(Long id, ExecutiveStatus status) {
+        Executive executive = new Executive();
+        executive.setId(id);
+        executive.setFullName("Executive " + id);
+        executive.setModule("Modulo " + id);
+        executive.setStatus(status);
+        executive.setSupportedAttentionTypes(Set.of(AttentionType.CAJA));
+        return executive;
+    }
+
+    private static ExecutiveStatusChangedEvent executiveEvent(Long id, ExecutiveStatus status) {
+        return new ExecutiveStatusChangedEvent(id, "Executive " + id, "Modulo " + id, status, Set.of(AttentionType.CAJA), LocalDateTime.now());
+    }
+
+    private static TicketStatusChangedEvent ticketEvent(Long ticketId, String ticketNumber, TicketStatus previous, TicketStatus next, Long executiveId) {
+        return new TicketStatusChangedEvent(ticketId, ticketNumber, ticketId, AttentionType.CAJA, 1L, LocalDateTime.now(),
+                previous, next, executiveId);
+    }
+
+    private static StatusCountView statusCount(TicketStatus status, long total) {
+        return new StatusCountView() {
+            @Override
+            public TicketStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public long getTotal() {
+                return total;
+            }
+        };
+    }
+
+    private static ExecutiveTicketView executiveTicket(Long executiveId, String ticketNumber) {
+        return new ExecutiveTicketView() {
+            @Override
+            public Long getExecutiveId() {
+                return executiveId;
+            }
+
+            @Override
+            public String getTicketNumber() {
+                return ticketNumber;
+            }
+
+            @Override
+            public String getModule() {
+                return "Modulo " + executiveId;
+            }
+        };
+    }
+}
@@ -0,0 +1,119 @@
+package com.institucion.ticketero.module_queues.application;
+
+import com.institucion.ticketero.module_queues.domain.AttentionType;
+import com.institucion.ticketero.module_queues.domain.WaitingTicket;
+import com.institucion.ticketero.module_tickets.domain.TicketStatus;
+import com.institucion.ticketero.module_tickets.domain.TicketStatusChangedEvent;
+import com.institucion.ticketero.module_tickets.infrastructure.QueuedTicketView;
+import com.institucion.ticketero.module_tickets.infrastructure.TicketRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LiveQueueEngineTest {
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @InjectMocks
+    private LiveQueueEngine liveQueueEngine;
+
+    @Test
+    void rebuild_shouldLoadWaitingTicketsFromDatabase() {
+        when(ticketRepository.findQueuedTickets(TicketStatus.EN_ESPERA)).thenReturn(List.of(
+                view(1L, AttentionType.CAJA, 1L, 1),
+                view(2L, AttentionType.CAJA, 1L, 2),
+                view(3L, AttentionType.EMPRESAS, 1L, 1)));
+
+        liveQueueEngine.rebuild();
+
+        assertEquals(2, liveQueueEngine.waitingCount(AttentionType.CAJA));
+        assertEquals(1, liveQueueEngine.waitingCount(AttentionType.EMPRESAS));
+        assertEquals(2, liveQueueEngine.positionOf(AttentionType.CAJA, 1L, 2));
+        assertEquals(1L, liveQueueEngine.head(AttentionType.CAJA).map(WaitingTicket::ticketId).orElseThrow());
+    }
+
+    @Test
+    void onTicketStatusChanged_shouldTrackPositionsAsTicketsJoinAndLeave() {
+        for (long sequence = 1; sequence <= 3; sequence++) {
+            liveQueueEngine.onTicketStatusChanged(event(sequence, sequence, null, TicketStatus.EN_ESPERA));
+        }
+        assertEquals(3, liveQueueEngine.positionOf(AttentionType.CAJA, 1L, 3));
+
+        liveQueueEngine.onTicketStatusChanged(event(1L, 1, TicketStatus.EN_ESPERA, TicketStatus.ATENDIENDO));
+
+        assertEquals(2, liveQueueEngine.waitingCount(AttentionType.CAJA, 1L));
+        assertEquals(0, liveQueueEngine.positionOf(AttentionType.CAJA, 1L, 1));
+        assertEquals(2, liveQueueEngine.positionOf(AttentionType.CAJA, 1L, 3));
+        assertEquals(Optional.of(2L), liveQueueEngine.head(AttentionType.CAJA).map(WaitingTicket::ticketId));
+    }
+
+    @Test
+    void onTicketStatusChanged_shouldIgnoreTransitionsOutsideTheQueue() {
+        liveQueueEngine.onTicketStatusChanged(event(1L, 1, TicketStatus.ATENDIENDO, TicketStatus.COMPLETADO));
+
+        assertEquals(0, liveQueueEngine.waitingCount(AttentionType.CAJA));
+        assertTrue(liveQueueEngine.head(AttentionType.CAJA).isEmpty());
+    }
+
+    @Test
+    void head_shouldServeEarlierWorkdaysFirst() {
+        liveQueueEngine.onTicketStatusChanged(new TicketStatusChangedEvent(20L, "C-1", 1, AttentionType.CAJA, 2L,
+                LocalDateTime.now(), null, TicketStatus.EN_ESPERA, null));
+        liveQueueEngine.onTicketStatusChanged(new TicketStatusChangedEvent(10L, "C-7", 7, AttentionType.CAJA, 1L,
+                LocalDateTime.now(), null, TicketStatus.EN_ESPERA, null));
+
+        assertEquals(Optional.of(10L), liveQueueEngine.head(AttentionType.CAJA).map(WaitingTicket::ticketId));
+        assertEquals(2, liveQueueEngine.ticketsAtPosition(1).size());
+    }
+
+    private static TicketStatusChangedEvent event(Long ticketId, long sequence, TicketStatus previous, TicketStatus next) {
+        return new TicketStatusChangedEvent(ticketId, "C-" + sequence, sequence, AttentionType.CAJA, 1L,
+                LocalDateTime.now(), previous, next, null);
+    }
+
+    private static QueuedTicketView view(Long id, AttentionType type, Long workdayId, long sequence) {
+        return new QueuedTicketView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getTicketNumber() {
+                return type.getPrefix() + "-" + sequence;
+            }
+
+            @Override
+            public Long getSequenceNumber() {
+                return sequence;
+            }
+
+            @Override
+            public AttentionType getAttentionType() {
+                return type;
+            }
+
+            @Override
+            public Long getWorkdayId() {
+                return workdayId;
+            }
+
+            @Override
+            public LocalDateTime getCreatedAt() {
+                return LocalDateTime.now();
+            }
+        };
+    }
+}
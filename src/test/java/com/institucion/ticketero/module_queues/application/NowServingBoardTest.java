@@ -0,0 +1,164 @@
+package com.institucion.ticketero.module_queues.application;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.institucion.ticketero.module_executives.domain.ExecutiveStatus;
+import com.institucion.ticketero.module_executives.domain.ExecutiveStatusChangedEvent;
+import com.institucion.ticketero.module_executives.infrastructure.ExecutiveRepository;
+import com.institucion.ticketero.module_queues.api.NowServingTicket;
+import com.institucion.ticketero.module_queues.domain.AttentionType;
+import com.institucion.ticketero.module_tickets.domain.TicketStatus;
+import com.institucion.ticketero.module_tickets.domain.TicketStatusChangedEvent;
+import com.institucion.ticketero.module_tickets.infrastructure.ExecutiveTicketView;
+import com.institucion.ticketero.module_tickets.infrastructure.TicketRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class NowServingBoardTest {
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private ExecutiveRepository executiveRepository;
+
+    private NowServingBoard nowServingBoard;
+
+    @BeforeEach
+    void setUp() {
+        nowServingBoard = new NowServingBoard(ticketRepository, executiveRepository, new ObjectMapper(), new SimpleMeterRegistry(), 60_000);
+        when(ticketRepository.findExecutiveTickets(TicketStatus.ATENDIENDO)).thenReturn(List.of(serving(2L, "C-2", "Modulo 2"), serving(1L, "C-1", "Modulo 1")));
+        nowServingBoard.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        nowServingBoard.shutdown();
+    }
+
+    @Test
+    void rebuild_shouldListAttendedTicketsMostRecentFirst() {
+        assertEquals(List.of(new NowServingTicket("C-2", "Modulo 2"), new NowServingTicket("C-1", "Modulo 1")),
+                nowServingBoard.getNowServing());
+    }
+
+    @Test
+    void ticketEvents_shouldUpdateTheBoardWithoutQueries() {
+        nowServingBoard.onExecutiveStatusChanged(executiveEvent(3L, ExecutiveStatus.BUSY));
+        nowServingBoard.onTicketStatusChanged(ticketEvent("C-3", TicketStatus.EN_ESPERA, TicketStatus.ATENDIENDO, 3L));
+        nowServingBoard.onTicketStatusChanged(ticketEvent("C-1", TicketStatus.ATENDIENDO, TicketStatus.COMPLETADO, 1L));
+
+        assertEquals(List.of(new NowServingTicket("C-3", "Modulo 3"), new NowServingTicket("C-2", "Modulo 2")),
+                nowServingBoard.getNowServing());
+        verifyNoInteractions(executiveRepository);
+    }
+
+    @Test
+    void subscribe_shouldSendSnapshotThenDeltasInOrder() throws InterruptedException {
+        CapturingEmitter emitter = new CapturingEmitter();
+        nowServingBoard.subscribe(emitter);
+
+        nowServingBoard.onExecutiveStatusChanged(executiveEvent(3L, ExecutiveStatus.BUSY));
+        nowServingBoard.onTicketStatusChanged(ticketEvent("C-3", TicketStatus.EN_ESPERA, TicketStatus.ATENDIENDO, 3L));
+        nowServingBoard.onTicketStatusChanged(ticketEvent("C-2", TicketStatus.ATENDIENDO, TicketStatus.COMPLETADO, 2L));
+        // Not on the board: nothing is sent.
+        nowServingBoard.onTicketStatusChanged(ticketEvent("C-9", TicketStatus.EN_ESPERA, TicketStatus.CANCELADO, null));
+
+        List<String> events = emitter.await(3);
+        assertTrue(events.get(0).contains("event:snapshot"));
+        assertTrue(events.get(0).contains("{\"ticketNumber\":\"C-2\",\"module\":\"Modulo 2\"}"));
+        assertTrue(events.get(1).contains("event:assigned"));
+        assertTrue(events.get(1).contains("\"C-3\""));
+        assertTrue(events.get(2).contains("event:closed"));
+        assertTrue(events.get(2).contains("\"C-2\""));
+        Thread.sleep(100);
+        assertEquals(3, emitter.events.size());
+    }
+
+    @Test
+    void subscribe_shouldIsolateSubscribersThatFail() throws InterruptedException {
+        CapturingEmitter broken = new CapturingEmitter();
+        broken.failing = true;
+        CapturingEmitter healthy = new CapturingEmitter();
+        nowServingBoard.subscribe(broken);
+        nowServingBoard.subscribe(healthy);
+
+        nowServingBoard.onTicketStatusChanged(ticketEvent("C-1", TicketStatus.ATENDIENDO, TicketStatus.COMPLETADO, 1L));
+
+        assertEquals(2, healthy.await(2).size());
+    }
+
+    private static ExecutiveTicketView serving(Long executiveId, String ticketNumber, String module) {
+        return new ExecutiveTicketView() {
+            @Override
+            public Long getExecutiveId() {
+                return executiveId;
+            }
+
+            @Override
+            public String getTicketNumber() {
+                return ticketNumber;
+            }
+
+            @Override
+            public String getModule() {
+                return module;
+            }
+        };
+    }
+
+    private static ExecutiveStatusChangedEvent executiveEvent(Long id, ExecutiveStatus status) {
+        return new ExecutiveStatusChangedEvent(id, "Executive " + id, "Modulo " + id, status, Set.of(AttentionType.CAJA), LocalDateTime.now());
+    }
+
+    private static TicketStatusChangedEvent ticketEvent(String ticketNumber, TicketStatus previous, TicketStatus next, Long executiveId) {
+        return new TicketStatusChangedEvent(1L, ticketNumber, 1, AttentionType.CAJA, 1L, LocalDateTime.now(),
+                previous, next, executiveId);
+    }
+
+    /**
+     * Records the text of every event instead of writing it to a response.
+     */
+    private static class CapturingEmitter extends SseEmitter {
+
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private volatile boolean failing;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            StringBuilder text = new StringBuilder();
+            builder.build().forEach(part -> text.append(part.getData()));
+            events.add(text.toString());
+        }
+
+        List<String> await(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+            while (events.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(count, events.size());
+            return events;
+        }
+    }
+}
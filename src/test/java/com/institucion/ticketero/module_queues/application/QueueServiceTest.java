@@ -2,8 +2,6 @@ package com.institucion.ticketero.module_queues.application;
 
 import com.institucion.ticketero.module_queues.api.QueueStatusResponse;
 import com.institucion.ticketero.module_queues.domain.AttentionType;
-import com.institucion.ticketero.module_tickets.domain.TicketStatus;
-import com.institucion.ticketero.module_tickets.infrastructure.TicketRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -16,15 +14,13 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class QueueServiceTest {
 
     @Mock
-    private TicketRepository ticketRepository;
+    private LiveQueueEngine liveQueueEngine;
 
     @InjectMocks
     private QueueService queueService;
@@ -32,12 +28,13 @@ class QueueServiceTest {
     @Test
     void getAllQueueStatus_shouldReturnStatusForAllQueues() {
         LocalDateTime startTime = LocalDateTime.now();
-        when(ticketRepository.countByStatus(eq(TicketStatus.EN_ESPERA))).thenReturn(5L);
-        when(ticketRepository.countByStatus(eq(TicketStatus.PROXIMO))).thenReturn(2L);
+        when(liveQueueEngine.waitingCount(AttentionType.CAJA)).thenReturn(5);
 
         List<QueueStatusResponse> responses = queueService.getAllQueueStatus(Optional.of(startTime));
 
         assertEquals(AttentionType.values().length, responses.size());
+        assertEquals(5, responses.get(0).waitingCustomers());
+        assertEquals(0, responses.get(1).waitingCustomers());
     }
 
     @Test
@@ -47,9 +44,8 @@ class QueueServiceTest {
         long waitingCustomers = 5;
         long expectedWaitTime = waitingCustomers * attentionType.getAverageServiceTimeMinutes();
 
-        when(ticketRepository.countByStatus(eq(TicketStatus.EN_ESPERA))).thenReturn(3L);
-        when(ticketRepository.countByStatus(eq(TicketStatus.PROXIMO))).thenReturn(2L);
-        
+        when(liveQueueEngine.waitingCount(attentionType)).thenReturn(5);
+
         QueueStatusResponse response = queueService.getQueueStatus(attentionType, Optional.of(startTime));
         
         assertNotNull(response);
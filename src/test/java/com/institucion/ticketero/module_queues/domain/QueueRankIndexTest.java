@@ -0,0 +1,80 @@
+package com.institucion.ticketero.module_queues.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QueueRankIndexTest {
+
+    @Test
+    void rankAndSelect_shouldFollowAddsAndRemovals() {
+        QueueRankIndex index = new QueueRankIndex();
+        for (long sequence = 1; sequence <= 5; sequence++) {
+            assertTrue(index.add(sequence));
+        }
+        assertFalse(index.add(3));
+
+        assertTrue(index.remove(2));
+        assertFalse(index.remove(2));
+
+        assertEquals(4, index.size());
+        assertEquals(2, index.rank(3));
+        assertEquals(4, index.rank(5));
+        assertEquals(3, index.select(2));
+        assertEquals(0, index.select(5));
+    }
+
+    @Test
+    void add_shouldGrowPastInitialCapacityWithoutLosingState() {
+        QueueRankIndex index = new QueueRankIndex();
+        index.add(10);
+        index.add(40);
+
+        index.add(100_000);
+
+        assertEquals(3, index.size());
+        assertEquals(2, index.rank(99_999));
+        assertEquals(100_000, index.select(3));
+        assertTrue(index.contains(40));
+    }
+
+    @Test
+    void add_shouldRejectNonPositiveSequences() {
+        QueueRankIndex index = new QueueRankIndex();
+        assertThrows(IllegalArgumentException.class, () -> index.add(0));
+        assertFalse(index.contains(-1));
+        assertFalse(index.remove(0));
+    }
+
+    @Test
+    void rankAndSelect_shouldMatchSortedSetUnderRandomOperations() {
+        QueueRankIndex index = new QueueRankIndex();
+        TreeSet<Long> expected = new TreeSet<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20_000; i++) {
+            long sequence = 1 + random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(sequence), index.remove(sequence));
+            } else {
+                assertEquals(expected.add(sequence), index.add(sequence));
+            }
+        }
+
+        assertEquals(expected.size(), index.size());
+        List<Long> ordered = new ArrayList<>(expected);
+        for (int position = 1; position <= ordered.size(); position++) {
+            long sequence = ordered.get(position - 1);
+            assertEquals(sequence, index.select(position));
+            assertEquals(position, index.rank(sequence));
+        }
+    }
+}
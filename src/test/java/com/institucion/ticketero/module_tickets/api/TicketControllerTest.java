@@ -36,7 +36,7 @@ class TicketControllerTest {
     void testCreateTicket() throws Exception {
         // Given
         CreateTicketRequest request = new CreateTicketRequest("12345678-9", AttentionType.CAJA, "12345", "Main Branch");
-        CreateTicketResponse response = new CreateTicketResponse(UUID.randomUUID(), "C-1", 1, 5, AttentionType.CAJA);
+        CreateTicketResponse response = new CreateTicketResponse(UUID.randomUUID(), "C-1", 1, 5, AttentionType.CAJA, null);
         when(ticketService.createTicket(any(CreateTicketRequest.class))).thenReturn(response);
 
         // When/Then
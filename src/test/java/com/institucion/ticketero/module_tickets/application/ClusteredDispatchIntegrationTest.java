@@ -0,0 +1,214 @@
+package com.institucion.ticketero.module_tickets.application;
+
+import com.institucion.ticketero.TicketeroApplication;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Q-Insight: Two application nodes dispatching against one database.
+ * Starts two full application contexts in clustered dispatch mode on the same Postgres container and runs
+ * their dispatch passes at the same time, round after round, until every ticket has been served. After each
+ * round no executive may hold more than one ticket, and after the last one every ticket must have been
+ * assigned exactly once. Tickets must also be served in arrival order across nodes, even when their numbers
+ * come from two nodes' interleaved blocks.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ClusteredDispatchIntegrationTest {
+
+    private static final int EXECUTIVES = 20;
+    private static final int TICKETS = 150;
+    private static final int ORDERED_EXECUTIVES = 3;
+    private static final int ORDERED_TICKETS = 30;
+    private static final int SEQUENCE_BLOCK_SIZE = 20;
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16");
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = startNode();
+        nodeB = startNode();
+        jdbcTemplate = nodeA.getBean(JdbcTemplate.class);
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (nodeA != null) {
+            nodeA.close();
+        }
+    }
+
+    @Test
+    void concurrentPassesOnTwoNodes_shouldNeverAssignATicketOrExecutiveTwice() throws Exception {
+        seedExecutivesAndTickets();
+        TicketService serviceA = nodeA.getBean(TicketService.class);
+        TicketService serviceB = nodeB.getBean(TicketService.class);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        int totalAssigned = 0;
+        try {
+            for (int round = 0; round < TICKETS && waitingTickets() > 0; round++) {
+                int assigned = dispatchOnBothNodes(executor, serviceA, serviceB);
+                totalAssigned += assigned;
+
+                assertEquals(0, executivesWithMoreThanOneTicket(), "an executive was given two tickets");
+                assertEquals(assigned, count("SELECT COUNT(*) FROM tickets WHERE status = 'ATENDIENDO'"));
+                assertEquals(assigned, count("SELECT COUNT(*) FROM executives WHERE status = 'BUSY'"));
+                completeAttendedTickets();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(0, waitingTickets());
+        assertEquals(TICKETS, totalAssigned);
+        assertEquals(TICKETS, count("SELECT COUNT(*) FROM tickets WHERE status = 'COMPLETADO'"));
+    }
+
+    @Test
+    void concurrentPassesOnTwoNodes_shouldServeTicketsInArrivalOrderWhateverTheirNumbers() throws Exception {
+        seedInterleavedBlocks();
+        TicketService serviceA = nodeA.getBean(TicketService.class);
+        TicketService serviceB = nodeB.getBean(TicketService.class);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < ORDERED_TICKETS && waitingTickets() > 0; round++) {
+                dispatchOnBothNodes(executor, serviceA, serviceB);
+
+                assertEquals(0, count("""
+                        SELECT COUNT(*) FROM tickets served
+                        JOIN tickets waiting ON waiting.attention_type = served.attention_type AND waiting.status = 'EN_ESPERA'
+                        WHERE served.status = 'ATENDIENDO' AND waiting.created_at < served.created_at
+                        """), "a ticket was served ahead of one that arrived earlier");
+                completeAttendedTickets();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(0, waitingTickets());
+    }
+
+    private static int dispatchOnBothNodes(ExecutorService executor, TicketService serviceA, TicketService serviceB) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        Future<Integer> a = executor.submit(() -> {
+            start.await();
+            return serviceA.assignClaimedExecutives();
+        });
+        Future<Integer> b = executor.submit(() -> {
+            start.await();
+            return serviceB.assignClaimedExecutives();
+        });
+        start.countDown();
+        return a.get() + b.get();
+    }
+
+    private static ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(TicketeroApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "spring.datasource.username=" + postgres.getUsername(),
+                        "spring.datasource.password=" + postgres.getPassword(),
+                        "spring.jpa.show-sql=false",
+                        "ticketero.dispatch.mode=CLUSTERED",
+                        // Passes are driven by the test only.
+                        "ticketero.dispatch.sweep-interval-ms=3600000")
+                .run();
+    }
+
+    private static void seedExecutivesAndTickets() {
+        // Only the executives seeded here take part.
+        jdbcTemplate.update("UPDATE executives SET status = 'OFFLINE'");
+        Long workdayId = jdbcTemplate.queryForObject(
+                "INSERT INTO workdays (start_time, status) VALUES (NOW(), 'OPEN') RETURNING id", Long.class);
+        for (int i = 1; i <= EXECUTIVES; i++) {
+            // Overlapping skills so both nodes compete for the same queues.
+            int skillMask = i % 3 == 0 ? 15 : (i % 2 == 0 ? 1 : 3);
+            jdbcTemplate.update("""
+                    INSERT INTO executives (full_name, module, status, last_status_change, skill_mask)
+                    VALUES (?, ?, 'AVAILABLE', NOW() - make_interval(secs => ?), ?)
+                    """, "Cluster Executive " + i, "Cluster " + i, i, skillMask);
+        }
+        List<String> types = List.of("CAJA", "PERSONAL_BANKER", "EMPRESAS", "GERENCIA");
+        for (int i = 1; i <= TICKETS; i++) {
+            String type = i % 5 == 0 ? types.get(i / 5 % types.size()) : "CAJA";
+            jdbcTemplate.update("""
+                    INSERT INTO tickets (codigo_referencia, ticket_number, national_id, status, attention_type,
+                                         created_at, workday_id, sequence_number)
+                    VALUES (gen_random_uuid(), ?, '11111111-1', 'EN_ESPERA', ?, NOW(), ?, ?)
+                    """, type + "-" + i, type, workdayId, i);
+        }
+    }
+
+    /**
+     * Tickets alternate between two nodes as they arrive: node A numbers them from its block 1..20, node B from
+     * its block 21..40, so number order and arrival order disagree.
+     */
+    private static void seedInterleavedBlocks() {
+        jdbcTemplate.update("UPDATE executives SET status = 'OFFLINE'");
+        Long workdayId = jdbcTemplate.queryForObject(
+                "INSERT INTO workdays (start_time, status) VALUES (NOW(), 'OPEN') RETURNING id", Long.class);
+        for (int i = 1; i <= ORDERED_EXECUTIVES; i++) {
+            jdbcTemplate.update("""
+                    INSERT INTO executives (full_name, module, status, last_status_change, skill_mask)
+                    VALUES (?, ?, 'AVAILABLE', NOW() - make_interval(secs => ?), 1)
+                    """, "Ordering Executive " + i, "Ordering " + i, i);
+        }
+        for (int i = 1; i <= ORDERED_TICKETS; i++) {
+            long sequence = i % 2 == 1 ? (i + 1) / 2 : SEQUENCE_BLOCK_SIZE + i / 2;
+            jdbcTemplate.update("""
+                    INSERT INTO tickets (codigo_referencia, ticket_number, national_id, status, attention_type,
+                                         created_at, workday_id, sequence_number)
+                    VALUES (gen_random_uuid(), ?, '11111111-1', 'EN_ESPERA', 'CAJA', NOW() - make_interval(secs => ?), ?, ?)
+                    """, "C-" + sequence, ORDERED_TICKETS - i + 1, workdayId, sequence);
+        }
+    }
+
+    private static void completeAttendedTickets() {
+        jdbcTemplate.update("UPDATE tickets SET status = 'COMPLETADO', closed_at = NOW() WHERE status = 'ATENDIENDO'");
+        jdbcTemplate.update("UPDATE executives SET status = 'AVAILABLE', last_status_change = NOW() WHERE status = 'BUSY'");
+    }
+
+    private static long waitingTickets() {
+        return count("SELECT COUNT(*) FROM tickets WHERE status = 'EN_ESPERA'");
+    }
+
+    private static long executivesWithMoreThanOneTicket() {
+        return count("""
+                SELECT COUNT(*) FROM (
+                    SELECT executive_id FROM tickets WHERE status = 'ATENDIENDO'
+                    GROUP BY executive_id HAVING COUNT(*) > 1
+                ) doubled
+                """);
+    }
+
+    private static long count(String sql) {
+        Long value = jdbcTemplate.queryForObject(sql, Long.class);
+        assertTrue(value != null);
+        return value;
+    }
+}
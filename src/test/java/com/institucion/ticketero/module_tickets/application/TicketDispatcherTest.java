@@ -0,0 +1,110 @@
+package com.institucion.ticketero.module_tickets.application;
+
+import com.institucion.ticketero.module_executives.domain.ExecutiveStatus;
+import com.institucion.ticketero.module_executives.domain.ExecutiveStatusChangedEvent;
+import com.institucion.ticketero.module_queues.domain.AttentionType;
+import com.institucion.ticketero.module_tickets.domain.TicketStatus;
+import com.institucion.ticketero.module_tickets.domain.TicketStatusChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TicketDispatcherTest {
+
+    @Mock
+    private TicketService ticketService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TicketDispatcher ticketDispatcher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ticketDispatcher = new TicketDispatcher(ticketService, meterRegistry, DispatchMode.LOCAL);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        ticketDispatcher.shutdown();
+    }
+
+    @Test
+    void onExecutiveStatusChanged_shouldRunDispatchPassAndRecordMetrics() {
+        when(ticketService.assignAvailableExecutives()).thenReturn(2);
+
+        ticketDispatcher.onExecutiveStatusChanged(new ExecutiveStatusChangedEvent(1L, "Executive 1", "Modulo 1", ExecutiveStatus.BUSY, Set.of(AttentionType.CAJA), LocalDateTime.now()));
+        ticketDispatcher.onExecutiveStatusChanged(new ExecutiveStatusChangedEvent(2L, "Executive 2", "Modulo 2", ExecutiveStatus.AVAILABLE, Set.of(AttentionType.CAJA), LocalDateTime.now()));
+
+        verify(ticketService, timeout(1000)).assignAvailableExecutives();
+        verify(ticketService, after(100).times(1)).assignAvailableExecutives();
+        assertEquals(1, meterRegistry.get("ticketero.dispatch.latency").timer().count());
+        assertEquals(2.0, meterRegistry.get("ticketero.dispatch.assignments").counter().count());
+    }
+
+    @Test
+    void onTicketStatusChanged_shouldOnlyDispatchForTicketsJoiningAQueue() {
+        ticketDispatcher.onTicketStatusChanged(event(TicketStatus.EN_ESPERA, TicketStatus.ATENDIENDO));
+        verify(ticketService, after(100).never()).assignAvailableExecutives();
+
+        ticketDispatcher.onTicketStatusChanged(event(null, TicketStatus.EN_ESPERA));
+        verify(ticketService, timeout(1000)).assignAvailableExecutives();
+    }
+
+    @Test
+    void requestDispatch_shouldCoalesceTriggersArrivingDuringAPass() throws InterruptedException {
+        CountDownLatch passStarted = new CountDownLatch(1);
+        CountDownLatch releasePass = new CountDownLatch(1);
+        when(ticketService.assignAvailableExecutives()).thenAnswer(invocation -> {
+            passStarted.countDown();
+            releasePass.await(1, TimeUnit.SECONDS);
+            return 0;
+        }).thenReturn(0);
+
+        ticketDispatcher.requestDispatch();
+        assertTrue(passStarted.await(1, TimeUnit.SECONDS));
+        for (int i = 0; i < 50; i++) {
+            ticketDispatcher.requestDispatch();
+        }
+        releasePass.countDown();
+
+        verify(ticketService, timeout(1000).times(2)).assignAvailableExecutives();
+        verify(ticketService, after(100).times(2)).assignAvailableExecutives();
+    }
+
+    @Test
+    void requestDispatch_inClusteredMode_shouldClaimRowsInsteadOfUsingTheIndex() throws InterruptedException {
+        TicketDispatcher clustered = new TicketDispatcher(ticketService, meterRegistry, DispatchMode.CLUSTERED);
+        try {
+            clustered.requestDispatch();
+
+            verify(ticketService, timeout(1000)).assignClaimedExecutives();
+            verify(ticketService, never()).assignAvailableExecutives();
+        } finally {
+            clustered.shutdown();
+        }
+    }
+
+    private static TicketStatusChangedEvent event(TicketStatus previousStatus, TicketStatus newStatus) {
+        return new TicketStatusChangedEvent(1L, "C-1", 1, AttentionType.CAJA, 1L, LocalDateTime.now(),
+                previousStatus, newStatus, null);
+    }
+}
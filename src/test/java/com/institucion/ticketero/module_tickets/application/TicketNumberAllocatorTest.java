@@ -0,0 +1,202 @@
+package com.institucion.ticketero.module_tickets.application;
+
+import com.institucion.ticketero.module_audit.application.AuditService;
+import com.institucion.ticketero.module_executives.infrastructure.ExecutiveRepository;
+import com.institucion.ticketero.module_notifications.application.NotificationService;
+import com.institucion.ticketero.module_executives.application.ExecutiveAvailabilityIndex;
+import com.institucion.ticketero.module_queues.application.LiveQueueEngine;
+import com.institucion.ticketero.module_queues.application.QueueService;
+import com.institucion.ticketero.module_queues.domain.AttentionType;
+import com.institucion.ticketero.module_tickets.api.CreateTicketRequest;
+import com.institucion.ticketero.module_tickets.domain.Ticket;
+import com.institucion.ticketero.module_tickets.domain.TicketNumber;
+import com.institucion.ticketero.module_tickets.infrastructure.TicketRepository;
+import com.institucion.ticketero.module_tickets.infrastructure.TicketSequenceRepository;
+import com.institucion.ticketero.module_workday.application.WorkdayService;
+import com.institucion.ticketero.module_workday.domain.Workday;
+import com.institucion.ticketero.module_workday.domain.WorkdayStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TicketNumberAllocatorTest {
+
+    private static final int BLOCK_SIZE = 20;
+
+    @Mock
+    private TicketSequenceRepository ticketSequenceRepository;
+
+    private final Map<String, AtomicLong> counterRows = new ConcurrentHashMap<>();
+
+    private TicketNumberAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        allocator = new TicketNumberAllocator(ticketSequenceRepository, BLOCK_SIZE);
+    }
+
+    /**
+     * Emulates the counter row upsert: each call atomically adds the block size and returns the new value.
+     */
+    private void stubCounterRows() {
+        when(ticketSequenceRepository.reserveBlock(anyLong(), any(AttentionType.class), anyInt())).thenAnswer(invocation -> {
+            String key = invocation.getArgument(0) + ":" + invocation.getArgument(1);
+            int blockSize = invocation.getArgument(2);
+            return counterRows.computeIfAbsent(key, k -> new AtomicLong()).addAndGet(blockSize);
+        });
+    }
+
+    @Test
+    void next_shouldHandOutSequentialNumbersPerQueue() {
+        stubCounterRows();
+
+        assertEquals("C-1", allocator.next(1L, AttentionType.CAJA).value());
+        assertEquals("C-2", allocator.next(1L, AttentionType.CAJA).value());
+        assertEquals("G-1", allocator.next(1L, AttentionType.GERENCIA).value());
+        assertEquals("C-3", allocator.next(1L, AttentionType.CAJA).value());
+    }
+
+    @Test
+    void next_shouldReserveOneBlockPerBlockSizeNumbers() {
+        stubCounterRows();
+
+        for (int i = 1; i <= BLOCK_SIZE * 2 + 1; i++) {
+            assertEquals(i, allocator.next(1L, AttentionType.CAJA).sequence());
+        }
+
+        verify(ticketSequenceRepository, times(3)).reserveBlock(1L, AttentionType.CAJA, BLOCK_SIZE);
+    }
+
+    @Test
+    void next_shouldContinueFromSeededCounterRow() {
+        when(ticketSequenceRepository.reserveBlock(1L, AttentionType.EMPRESAS, BLOCK_SIZE)).thenReturn(57L);
+
+        TicketNumber ticketNumber = allocator.next(1L, AttentionType.EMPRESAS);
+
+        assertEquals(38, ticketNumber.sequence());
+        assertEquals("E-38", ticketNumber.value());
+    }
+
+    @Test
+    void next_shouldStartFreshCountersForANewWorkday() {
+        stubCounterRows();
+
+        allocator.next(1L, AttentionType.CAJA);
+        allocator.next(1L, AttentionType.CAJA);
+
+        assertEquals("C-1", allocator.next(2L, AttentionType.CAJA).value());
+    }
+
+    @Test
+    void constructor_withNonPositiveBlockSize_shouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new TicketNumberAllocator(ticketSequenceRepository, 0));
+    }
+
+    @Test
+    void next_underParallelLoad_shouldNeverRepeatANumber() throws Exception {
+        stubCounterRows();
+        int callsPerType = 2_500;
+        List<AttentionType> types = List.of(AttentionType.CAJA, AttentionType.PERSONAL_BANKER);
+        Set<String> issued = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(32)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (AttentionType type : types) {
+                for (int i = 0; i < callsPerType; i++) {
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        return issued.add(allocator.next(1L, type).value());
+                    }));
+                }
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                assertTrue((Boolean) future.get());
+            }
+        }
+
+        assertEquals(callsPerType * types.size(), issued.size());
+        for (AttentionType type : types) {
+            for (int i = 1; i <= callsPerType; i++) {
+                assertTrue(issued.contains(type.getPrefix() + "-" + i), "Missing number " + type.getPrefix() + "-" + i);
+            }
+        }
+    }
+
+    @Test
+    void createTicket_underParallelLoad_shouldAssignUniqueNumbersWithoutRetries() throws Exception {
+        stubCounterRows();
+        TicketRepository ticketRepository = mock(TicketRepository.class);
+        WorkdayService workdayService = mock(WorkdayService.class);
+        QueueService queueService = mock(QueueService.class);
+        TicketService ticketService = new TicketService(ticketRepository,
+                mock(ExecutiveRepository.class),
+                mock(NotificationService.class),
+                queueService, workdayService,
+                mock(AuditService.class),
+                allocator,
+                mock(LiveQueueEngine.class),
+                mock(ExecutiveAvailabilityIndex.class),
+                mock(ApplicationEventPublisher.class));
+
+        Workday workday = new Workday(LocalDateTime.now(), null, WorkdayStatus.OPEN);
+        workday.setId(1L);
+        AtomicLong ids = new AtomicLong();
+        when(workdayService.getCurrentActiveWorkday()).thenReturn(workday);
+        when(ticketRepository.save(any(Ticket.class))).thenAnswer(invocation -> {
+            Ticket ticket = invocation.getArgument(0);
+            ticket.setId(ids.incrementAndGet());
+            ticket.setCreatedAt(LocalDateTime.now());
+            return ticket;
+        });
+
+        int calls = 4_000;
+        Set<String> issued = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newFixedThreadPool(64)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < calls; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    CreateTicketRequest request = new CreateTicketRequest("12345678-9", AttentionType.CAJA, null, "Main Branch");
+                    return issued.add(ticketService.createTicket(request).ticketNumber());
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                assertTrue((Boolean) future.get());
+            }
+        }
+
+        assertEquals(calls, issued.size());
+        verify(ticketRepository, times(calls)).save(any(Ticket.class));
+    }
+}
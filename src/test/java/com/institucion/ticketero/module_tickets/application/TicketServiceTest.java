@@ -1,34 +1,50 @@
 package com.institucion.ticketero.module_tickets.application;
 
 import com.institucion.ticketero.module_audit.application.AuditService;
+import com.institucion.ticketero.module_executives.application.ExecutiveAvailabilityIndex;
 import com.institucion.ticketero.module_executives.domain.Executive;
+import com.institucion.ticketero.module_executives.domain.ExecutiveStatusChangedEvent;
 import com.institucion.ticketero.module_executives.domain.ExecutiveStatus;
 import com.institucion.ticketero.module_executives.infrastructure.ExecutiveRepository;
 import com.institucion.ticketero.module_notifications.application.NotificationService;
+import com.institucion.ticketero.module_notifications.application.TicketConfirmationCommand;
+import com.institucion.ticketero.module_notifications.application.TurnActiveAlertCommand;
+import com.institucion.ticketero.module_queues.application.LiveQueueEngine;
 import com.institucion.ticketero.module_queues.application.QueueService;
 import com.institucion.ticketero.module_queues.domain.AttentionType;
+import com.institucion.ticketero.module_queues.domain.WaitingTicket;
 import com.institucion.ticketero.module_tickets.api.CreateTicketRequest;
 import com.institucion.ticketero.module_tickets.api.CreateTicketResponse;
 import com.institucion.ticketero.module_tickets.api.TicketStatusResponse;
 import com.institucion.ticketero.module_tickets.domain.Ticket;
+import com.institucion.ticketero.module_tickets.domain.TicketNumber;
 import com.institucion.ticketero.module_tickets.domain.TicketStatus;
+import com.institucion.ticketero.module_tickets.domain.TicketStatusChangedEvent;
 import com.institucion.ticketero.module_tickets.infrastructure.TicketRepository;
 import com.institucion.ticketero.module_workday.application.WorkdayService;
 import com.institucion.ticketero.module_workday.domain.Workday;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -52,6 +68,18 @@ class TicketServiceTest {
     @Mock
     private AuditService auditService;
 
+    @Mock
+    private TicketNumberAllocator ticketNumberAllocator;
+
+    @Mock
+    private LiveQueueEngine liveQueueEngine;
+
+    @Mock
+    private ExecutiveAvailabilityIndex executiveAvailabilityIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private TicketService ticketService;
 
@@ -69,19 +97,18 @@ class TicketServiceTest {
         savedTicket.setId(1L);
         savedTicket.setCodigoReferencia(UUID.randomUUID());
         savedTicket.setTicketNumber("C-1");
+        savedTicket.setSequenceNumber(1L);
         savedTicket.setAttentionType(AttentionType.CAJA);
         savedTicket.setStatus(TicketStatus.EN_ESPERA);
         savedTicket.setCreatedAt(LocalDateTime.now());
         savedTicket.setWorkday(mockWorkday);
 
-        // Mock for generateTicketNumber
-        when(ticketRepository.countByAttentionTypeAndWorkdayId(any(AttentionType.class), any(Long.class))).thenReturn(0L);
+        // Mock for ticket number allocation
+        when(ticketNumberAllocator.next(1L, AttentionType.CAJA)).thenReturn(new TicketNumber(AttentionType.CAJA, 1));
 
-        when(ticketRepository.saveAndFlush(any(Ticket.class))).thenReturn(savedTicket);
         when(ticketRepository.save(any(Ticket.class))).thenReturn(savedTicket);
         // Mock for position calculation
-        when(ticketRepository.countByAttentionTypeAndWorkdayIdAndStatusAndCreatedAtBefore(
-                any(AttentionType.class), any(Long.class), any(TicketStatus.class), any(LocalDateTime.class))).thenReturn(4L);
+        when(liveQueueEngine.waitingCount(AttentionType.CAJA, 1L)).thenReturn(4);
         when(queueService.calculateAverageWaitTime(any(), any(Long.class))).thenReturn(20L);
 
         // When
@@ -92,8 +119,50 @@ class TicketServiceTest {
         assertEquals(5, response.positionInQueue());
         assertEquals(20, response.estimatedWaitMinutes());
 
-        verify(notificationService).sendTicketConfirmation(any(Ticket.class), any(Integer.class), any(Long.class));
-        verify(auditService).recordEvent(any(), any(), any(), any(), any());
+        verify(ticketRepository, times(1)).save(any(Ticket.class));
+        verify(ticketRepository, never()).saveAndFlush(any(Ticket.class));
+        verify(eventPublisher).publishEvent(any(TicketStatusChangedEvent.class));
+        verify(notificationService).sendTicketConfirmation(any(TicketConfirmationCommand.class));
+        verify(auditService).recordEvent(any(), any(), any(), any());
+        verify(notificationService, never()).findChatId(any());
+    }
+
+    @Test
+    void createTicket_withoutTelefono_shouldNotifyTheChatRegisteredForTheNationalId() {
+        // Given
+        CreateTicketRequest request = new CreateTicketRequest("12345678-9", AttentionType.CAJA, null, "Main Branch");
+        Workday workday = new Workday();
+        workday.setId(1L);
+        when(workdayService.getCurrentActiveWorkday()).thenReturn(workday);
+        when(ticketNumberAllocator.next(1L, AttentionType.CAJA)).thenReturn(new TicketNumber(AttentionType.CAJA, 1));
+        when(notificationService.findChatId("12345678-9")).thenReturn(Optional.of("424242"));
+        when(ticketRepository.save(any(Ticket.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        ticketService.createTicket(request);
+
+        // Then
+        ArgumentCaptor<TicketConfirmationCommand> command = ArgumentCaptor.forClass(TicketConfirmationCommand.class);
+        verify(notificationService).sendTicketConfirmation(command.capture());
+        assertEquals("424242", command.getValue().chatId());
+    }
+
+    @Test
+    void createTicket_withoutAnyChat_shouldHandOutTheLinkThatRegistersOne() {
+        // Given
+        CreateTicketRequest request = new CreateTicketRequest("12345678-9", AttentionType.CAJA, null, "Main Branch");
+        Workday workday = new Workday();
+        workday.setId(1L);
+        when(workdayService.getCurrentActiveWorkday()).thenReturn(workday);
+        when(ticketNumberAllocator.next(1L, AttentionType.CAJA)).thenReturn(new TicketNumber(AttentionType.CAJA, 1));
+        when(notificationService.telegramLinkFor("12345678-9")).thenReturn(Optional.of("https://t.me/bot?start=token"));
+        when(ticketRepository.save(any(Ticket.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        CreateTicketResponse response = ticketService.createTicket(request);
+
+        // Then
+        assertEquals("https://t.me/bot?start=token", response.telegramLink());
     }
 
     @Test
@@ -103,13 +172,13 @@ class TicketServiceTest {
         mockWorkday.setId(1L);
         Ticket ticket = new Ticket();
         ticket.setTicketNumber("C-1");
+        ticket.setSequenceNumber(1L);
         ticket.setStatus(TicketStatus.EN_ESPERA);
         ticket.setWorkday(mockWorkday);
         ticket.setAttentionType(AttentionType.CAJA);
         ticket.setCreatedAt(LocalDateTime.now());
         when(ticketRepository.findByTicketNumber("C-1")).thenReturn(Optional.of(ticket));
-        when(ticketRepository.countByAttentionTypeAndWorkdayIdAndStatusAndCreatedAtBefore(
-                any(AttentionType.class), any(Long.class), any(TicketStatus.class), any(LocalDateTime.class))).thenReturn(0L);
+        when(liveQueueEngine.positionOf(AttentionType.CAJA, 1L, 1L)).thenReturn(1);
         when(queueService.calculateAverageWaitTime(any(), any(Long.class))).thenReturn(5L);
 
         // When
@@ -123,28 +192,135 @@ class TicketServiceTest {
     }
 
     @Test
-    void testAssignNextAvailableTicket() {
+    void testAssignAvailableExecutives() {
         // Given
-        Executive executive = new Executive();
-        executive.setId(1L);
-        executive.setStatus(ExecutiveStatus.AVAILABLE);
-        Workday mockWorkday = new Workday();
-        mockWorkday.setId(1L);
-        Ticket ticket = new Ticket();
-        ticket.setId(1L);
-        ticket.setStatus(TicketStatus.EN_ESPERA);
-        ticket.setWorkday(mockWorkday);
-        when(executiveRepository.findFirstByStatusAndSupportedAttentionTypesContainingOrderByLastStatusChangeAsc(any(), any())).thenReturn(Optional.of(executive));
-        when(ticketRepository.findFirstByAttentionTypeAndStatusOrderByCreatedAtAsc(any(), any())).thenReturn(Optional.of(ticket));
+        Executive executive = availableExecutive(1L, AttentionType.CAJA);
+        Ticket ticket = waitingTicket(1L, AttentionType.CAJA);
+        stubAvailableExecutives(List.of(executive));
+        when(liveQueueEngine.peek(AttentionType.CAJA, 1)).thenReturn(List.of(waiting(ticket)));
+        when(ticketRepository.findAllById(List.of(1L))).thenReturn(List.of(ticket));
 
         // When
-        ticketService.assignNextAvailableTicket();
+        int assigned = ticketService.assignAvailableExecutives();
 
         // Then
-        verify(executiveRepository, times(1)).save(any(Executive.class));
-        verify(ticketRepository, times(1)).save(any(Ticket.class));
-        verify(notificationService, times(1)).sendTurnActiveAlert(any(Ticket.class));
-        verify(auditService, times(1)).recordEvent(any(), any(), any(), any(), any());
+        assertEquals(1, assigned);
+        assertEquals(ExecutiveStatus.BUSY, executive.getStatus());
+        assertEquals(TicketStatus.ATENDIENDO, ticket.getStatus());
+        assertEquals(executive, ticket.getExecutive());
+        verify(executiveRepository, times(1)).saveAll(List.of(executive));
+        verify(ticketRepository, times(1)).saveAll(List.of(ticket));
+        verify(eventPublisher, times(1)).publishEvent(any(TicketStatusChangedEvent.class));
+        verify(eventPublisher, times(1)).publishEvent(any(ExecutiveStatusChangedEvent.class));
+        verify(notificationService, times(1)).sendTurnActiveAlert(
+                new TurnActiveAlertCommand(1L, ticket.getTicketNumber(), ticket.getNationalId(), ticket.getTelefono(), executive.getModule(), "Executive 1"));
+        verify(auditService, times(1)).recordEvent(any(), any(), any(), any());
+    }
+
+    @Test
+    void testAssignAvailableExecutives_shouldServeEveryFreeExecutiveInOnePass() {
+        // Given
+        List<Executive> executives = new ArrayList<>();
+        List<Ticket> tickets = new ArrayList<>();
+        for (long id = 1; id <= 3; id++) {
+            executives.add(availableExecutive(id, AttentionType.CAJA));
+            tickets.add(waitingTicket(id, AttentionType.CAJA));
+        }
+        stubAvailableExecutives(executives);
+        when(liveQueueEngine.peek(AttentionType.CAJA, 3)).thenReturn(tickets.stream().map(TicketServiceTest::waiting).toList());
+        when(ticketRepository.findAllById(anyList())).thenReturn(tickets);
+
+        // When
+        int assigned = ticketService.assignAvailableExecutives();
+
+        // Then
+        assertEquals(3, assigned);
+        tickets.forEach(ticket -> assertEquals(TicketStatus.ATENDIENDO, ticket.getStatus()));
+        verify(notificationService, times(3)).sendTurnActiveAlert(any(TurnActiveAlertCommand.class));
+    }
+
+    @Test
+    void testAssignAvailableExecutives_shouldPreferHigherPriorityQueue() {
+        // Given
+        Executive executive = availableExecutive(1L, AttentionType.CAJA, AttentionType.GERENCIA);
+        Ticket caja = waitingTicket(1L, AttentionType.CAJA);
+        Ticket gerencia = waitingTicket(2L, AttentionType.GERENCIA);
+        stubAvailableExecutives(List.of(executive));
+        when(liveQueueEngine.peek(AttentionType.CAJA, 1)).thenReturn(List.of(waiting(caja)));
+        when(liveQueueEngine.peek(AttentionType.GERENCIA, 1)).thenReturn(List.of(waiting(gerencia)));
+        when(ticketRepository.findAllById(List.of(2L))).thenReturn(List.of(gerencia));
+
+        // When
+        int assigned = ticketService.assignAvailableExecutives();
+
+        // Then
+        assertEquals(1, assigned);
+        assertEquals(TicketStatus.ATENDIENDO, gerencia.getStatus());
+        assertEquals(TicketStatus.EN_ESPERA, caja.getStatus());
+    }
+
+    @Test
+    void testAssignAvailableExecutives_shouldDropStaleTicketsAndMatchAgain() {
+        // Given
+        Executive executive = availableExecutive(1L, AttentionType.CAJA);
+        Ticket cancelled = waitingTicket(1L, AttentionType.CAJA);
+        cancelled.setStatus(TicketStatus.CANCELADO);
+        Ticket next = waitingTicket(2L, AttentionType.CAJA);
+        stubAvailableExecutives(List.of(executive));
+        when(liveQueueEngine.peek(AttentionType.CAJA, 1))
+                .thenReturn(List.of(waiting(cancelled)))
+                .thenReturn(List.of(waiting(next)));
+        when(ticketRepository.findAllById(List.of(1L))).thenReturn(List.of(cancelled));
+        when(ticketRepository.findAllById(List.of(2L))).thenReturn(List.of(next));
+
+        // When
+        int assigned = ticketService.assignAvailableExecutives();
+
+        // Then
+        assertEquals(1, assigned);
+        verify(liveQueueEngine).remove(AttentionType.CAJA, 1L, 1L);
+        assertEquals(TicketStatus.ATENDIENDO, next.getStatus());
+    }
+
+    @Test
+    void testAssignAvailableExecutives_withoutAvailableExecutives_shouldNotQueryDatabase() {
+        when(executiveAvailabilityIndex.availableExecutives()).thenReturn(List.of());
+
+        assertEquals(0, ticketService.assignAvailableExecutives());
+
+        verifyNoInteractions(executiveRepository, ticketRepository, liveQueueEngine);
+    }
+
+    @Test
+    void testAssignClaimedExecutives_shouldMatchOnlyClaimedRows() {
+        // Given
+        Executive cajaOnly = availableExecutive(1L, AttentionType.CAJA);
+        Executive both = availableExecutive(2L, AttentionType.CAJA, AttentionType.GERENCIA);
+        Ticket caja = waitingTicket(1L, AttentionType.CAJA);
+        Ticket gerencia = waitingTicket(2L, AttentionType.GERENCIA);
+        when(executiveRepository.claimAvailableExecutives()).thenReturn(List.of(cajaOnly, both));
+        when(ticketRepository.claimWaitingTickets("CAJA", 2)).thenReturn(List.of(caja));
+        when(ticketRepository.claimWaitingTickets("GERENCIA", 1)).thenReturn(List.of(gerencia));
+
+        // When
+        int assigned = ticketService.assignClaimedExecutives();
+
+        // Then
+        assertEquals(2, assigned);
+        assertEquals(cajaOnly, caja.getExecutive());
+        assertEquals(both, gerencia.getExecutive());
+        verify(ticketRepository).saveAll(anyList());
+        verify(notificationService, times(2)).sendTurnActiveAlert(any(TurnActiveAlertCommand.class));
+        verifyNoInteractions(executiveAvailabilityIndex, liveQueueEngine);
+    }
+
+    @Test
+    void testAssignClaimedExecutives_withoutClaimableExecutives_shouldNotClaimTickets() {
+        when(executiveRepository.claimAvailableExecutives()).thenReturn(List.of());
+
+        assertEquals(0, ticketService.assignClaimedExecutives());
+
+        verifyNoInteractions(ticketRepository, eventPublisher);
     }
 
     @Test
@@ -153,8 +329,13 @@ class TicketServiceTest {
         Executive executive = new Executive();
         executive.setId(1L);
         executive.setStatus(ExecutiveStatus.BUSY);
+        Workday mockWorkday = new Workday();
+        mockWorkday.setId(1L);
         Ticket ticket = new Ticket();
         ticket.setId(1L);
+        ticket.setSequenceNumber(1L);
+        ticket.setAttentionType(AttentionType.CAJA);
+        ticket.setWorkday(mockWorkday);
         ticket.setStatus(TicketStatus.ATENDIENDO);
         when(executiveRepository.findById(1L)).thenReturn(Optional.of(executive));
         when(ticketRepository.findByExecutiveIdAndStatus(1L, TicketStatus.ATENDIENDO)).thenReturn(java.util.List.of(ticket));
@@ -165,6 +346,42 @@ class TicketServiceTest {
         // Then
         verify(executiveRepository).save(any(Executive.class));
         verify(ticketRepository).save(any(Ticket.class));
-        verify(auditService).recordEvent(any(), any(), any(), any(), any());
+        verify(eventPublisher).publishEvent(any(ExecutiveStatusChangedEvent.class));
+        verify(auditService).recordEvent(any(), any(), any(), any());
+    }
+
+    private void stubAvailableExecutives(List<Executive> executives) {
+        List<Long> ids = executives.stream().map(Executive::getId).toList();
+        when(executiveAvailabilityIndex.availableExecutives()).thenReturn(ids);
+        when(executiveRepository.findAllById(ids)).thenReturn(executives);
+    }
+
+    private static Executive availableExecutive(Long id, AttentionType... skills) {
+        Executive executive = new Executive();
+        executive.setId(id);
+        executive.setFullName("Executive " + id);
+        executive.setStatus(ExecutiveStatus.AVAILABLE);
+        executive.setLastStatusChange(LocalDateTime.now().minusMinutes(10 - id));
+        executive.setSupportedAttentionTypes(Set.of(skills));
+        return executive;
+    }
+
+    private static Ticket waitingTicket(Long id, AttentionType attentionType) {
+        Workday workday = new Workday();
+        workday.setId(1L);
+        Ticket ticket = new Ticket();
+        ticket.setId(id);
+        ticket.setSequenceNumber(id);
+        ticket.setTicketNumber(attentionType.getPrefix() + "-" + id);
+        ticket.setAttentionType(attentionType);
+        ticket.setStatus(TicketStatus.EN_ESPERA);
+        ticket.setWorkday(workday);
+        ticket.setCreatedAt(LocalDateTime.now().minusMinutes(5));
+        return ticket;
+    }
+
+    private static WaitingTicket waiting(Ticket ticket) {
+        return new WaitingTicket(ticket.getId(), ticket.getTicketNumber(), ticket.getSequenceNumber(),
+                ticket.getWorkday().getId(), ticket.getCreatedAt());
     }
 }
@@ -0,0 +1,101 @@
+package com.institucion.ticketero.module_tickets.domain;
+
+import com.institucion.ticketero.module_queues.domain.AttentionType;
+import com.institucion.ticketero.module_queues.domain.WaitingTicket;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TicketMatcherTest {
+
+    private final LocalDateTime now = LocalDateTime.now();
+    private final TicketMatcher ticketMatcher = new TicketMatcher();
+
+    @Test
+    void match_shouldReseatEarlierChoicesToServeOverlappingSkills() {
+        // The versatile executive is the longest idle and would take GERENCIA first; the specialist can only
+        // serve GERENCIA, so an optimal matching moves the versatile executive to CAJA.
+        AvailableExecutive versatile = executive(1L, 30, AttentionType.CAJA, AttentionType.GERENCIA);
+        AvailableExecutive specialist = executive(2L, 10, AttentionType.GERENCIA);
+
+        List<TicketAssignment> assignments = ticketMatcher.match(List.of(versatile, specialist), Map.of(
+                AttentionType.CAJA, List.of(ticket(10L, 1, 5)),
+                AttentionType.GERENCIA, List.of(ticket(20L, 1, 5))), now);
+
+        Map<Long, Long> ticketByExecutive = assignments.stream()
+                .collect(Collectors.toMap(TicketAssignment::executiveId, assignment -> assignment.ticket().ticketId()));
+        assertEquals(Map.of(1L, 10L, 2L, 20L), ticketByExecutive);
+    }
+
+    @Test
+    void match_shouldPreferHigherPriorityUnlessLowerPriorityWaitedMuchLonger() {
+        AvailableExecutive executive = executive(1L, 5, AttentionType.CAJA, AttentionType.EMPRESAS);
+
+        List<TicketAssignment> fresh = ticketMatcher.match(List.of(executive), Map.of(
+                AttentionType.CAJA, List.of(ticket(10L, 1, 10)),
+                AttentionType.EMPRESAS, List.of(ticket(20L, 1, 5))), now);
+        assertEquals(20L, fresh.get(0).ticket().ticketId());
+
+        List<TicketAssignment> aged = ticketMatcher.match(List.of(executive), Map.of(
+                AttentionType.CAJA, List.of(ticket(10L, 1, 40)),
+                AttentionType.EMPRESAS, List.of(ticket(20L, 1, 5))), now);
+        assertEquals(10L, aged.get(0).ticket().ticketId());
+    }
+
+    @Test
+    void match_shouldKeepFifoWithinQueueAndPreferLongestIdleExecutive() {
+        AvailableExecutive recent = executive(1L, 1, AttentionType.CAJA);
+        AvailableExecutive idle = executive(2L, 20, AttentionType.CAJA);
+
+        List<TicketAssignment> assignments = ticketMatcher.match(List.of(recent, idle), Map.of(
+                AttentionType.CAJA, List.of(ticket(10L, 1, 9), ticket(11L, 2, 8), ticket(12L, 3, 7))), now);
+
+        assertEquals(2, assignments.size());
+        assertEquals(10L, assignments.get(0).ticket().ticketId());
+        assertEquals(2L, assignments.get(0).executiveId());
+        assertEquals(11L, assignments.get(1).ticket().ticketId());
+    }
+
+    @Test
+    void match_shouldServeAsManyTicketsAsPossible() {
+        List<AvailableExecutive> executives = List.of(
+                executive(1L, 4, AttentionType.CAJA, AttentionType.PERSONAL_BANKER),
+                executive(2L, 3, AttentionType.PERSONAL_BANKER, AttentionType.EMPRESAS),
+                executive(3L, 2, AttentionType.EMPRESAS, AttentionType.GERENCIA),
+                executive(4L, 1, AttentionType.GERENCIA));
+
+        List<TicketAssignment> assignments = ticketMatcher.match(executives, Map.of(
+                AttentionType.CAJA, List.of(ticket(10L, 1, 1)),
+                AttentionType.PERSONAL_BANKER, List.of(ticket(20L, 1, 1)),
+                AttentionType.EMPRESAS, List.of(ticket(30L, 1, 1)),
+                AttentionType.GERENCIA, List.of(ticket(40L, 1, 1))), now);
+
+        assertEquals(4, assignments.size());
+        for (TicketAssignment assignment : assignments) {
+            AvailableExecutive executive = executives.get((int) (assignment.executiveId() - 1));
+            assertTrue(executive.skills().contains(assignment.attentionType()));
+        }
+        assertEquals(4, assignments.stream().map(TicketAssignment::executiveId).distinct().count());
+    }
+
+    @Test
+    void match_withoutExecutivesOrTickets_shouldReturnNothing() {
+        assertTrue(ticketMatcher.match(List.of(), Map.of(AttentionType.CAJA, List.of(ticket(1L, 1, 1))), now).isEmpty());
+        assertTrue(ticketMatcher.match(List.of(executive(1L, 1, AttentionType.CAJA)), Map.of(), now).isEmpty());
+    }
+
+    private AvailableExecutive executive(Long id, int idleMinutes, AttentionType... skills) {
+        return new AvailableExecutive(id, Set.of(skills), now.minusMinutes(idleMinutes));
+    }
+
+    private WaitingTicket ticket(Long id, long sequence, int waitedMinutes) {
+        return new WaitingTicket(id, "T-" + sequence, sequence, 1L, now.minusMinutes(waitedMinutes));
+    }
+}